@@ -0,0 +1,55 @@
+package com.rishirajdhr.flagship.auth.jwt;
+
+import com.rishirajdhr.flagship.auth.AppUserPrincipal;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of issuing a JWT and of authenticating one. With a verified token cache size of
+ * {@code 0} every authentication parses and verifies the token; otherwise the token is verified
+ * once and later authentications are served from the cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTServiceBenchmark {
+  @Param({"0", "10000"})
+  private int verifiedTokenCacheSize;
+
+  private JWTService jwtService;
+  private AppUserPrincipal principal;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtService = new JWTService(verifiedTokenCacheSize);
+    principal = new AppUserPrincipal(42L, "benchmark-user", null, List.of("USER"));
+    token = jwtService.generateToken(principal);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtService.generateToken(principal);
+  }
+
+  @Benchmark
+  public AppUserPrincipal authenticate() {
+    return jwtService.authenticate(token);
+  }
+}
@@ -0,0 +1,128 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.FlagshipApplication;
+import com.rishirajdhr.flagship.auth.AppUser;
+import com.rishirajdhr.flagship.auth.AppUserRepository;
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.project.ProjectService;
+import com.rishirajdhr.flagship.sdkkey.SdkKeyFilter;
+import com.rishirajdhr.flagship.sdkkey.SdkKeyService;
+import com.rishirajdhr.flagship.targeting.TargetingCondition;
+import com.rishirajdhr.flagship.targeting.TargetingOperator;
+import com.rishirajdhr.flagship.targeting.TargetingRule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the round trip of a single-flag evaluation made with an SDK key over loopback HTTP,
+ * with the application running against an in-memory H2 database. The evaluation is served either
+ * by {@link FlagEvaluationFilter} or, with the fast path disabled, by the security filter chain
+ * and {@link FlagController#evaluateFlag}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlagEvaluationFilterBenchmark {
+  private static final int FLAG_COUNT = 100;
+  private static final String[] CONTEXTS = {
+      "{\"userId\":\"user-1\",\"country\":\"CA\",\"plan\":\"pro\",\"version\":\"1.2.3\"}",
+      "{\"userId\":\"user-2\",\"country\":\"DE\",\"plan\":\"free\",\"version\":\"1.2.3\"}",
+      "{\"userId\":\"user-3\",\"country\":\"US\",\"attributes\":{\"beta\":\"true\"}}",
+      ""
+  };
+
+  @Param({"true", "false"})
+  private boolean fastPath;
+
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .build();
+  private ConfigurableApplicationContext context;
+  private HttpRequest[] requests;
+  private int next;
+
+  @Setup
+  public void setUp() throws IOException, InterruptedException {
+    // Command line arguments take precedence over application.yml.
+    context = new SpringApplicationBuilder(FlagshipApplication.class).run(
+        "--server.port=0",
+        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;NON_KEYWORDS=KEY,VALUE",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.jpa.show-sql=false",
+        "--logging.level.root=WARN",
+        "--flagship.flags.evaluation-fast-path=" + fastPath);
+    FlagService flagService = context.getBean(FlagService.class);
+
+    AppUser owner = context.getBean(AppUserRepository.class)
+        .save(new AppUser("benchmark-user", ""));
+    Project project = context.getBean(ProjectService.class).createProject("benchmark", "", owner);
+    String sdkKey = context.getBean(SdkKeyService.class)
+        .createProjectSdkKey("benchmark", project).key();
+
+    List<TargetingRule> rules = List.of(new TargetingRule(
+        List.of(new TargetingCondition("country", TargetingOperator.IN, List.of("CA", "US"))),
+        true, null));
+    String baseUri = "http://localhost:"
+                     + context.getEnvironment().getRequiredProperty("local.server.port")
+                     + "/api/projects/" + project.getId() + "/flags/";
+    requests = new HttpRequest[FLAG_COUNT * CONTEXTS.length];
+    for (int i = 0; i < FLAG_COUNT; i++) {
+      String key = "flag-" + i;
+      flagService.createProjectFlag(key, "Flag " + i, "", true, rules, 50, null, List.of(), null,
+                                    null, project);
+      for (int j = 0; j < CONTEXTS.length; j++) {
+        requests[i * CONTEXTS.length + j] = HttpRequest.newBuilder(
+                URI.create(baseUri + key + "/evaluate"))
+            .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(CONTEXTS[j]))
+            .build();
+      }
+    }
+
+    for (HttpRequest request : requests) {
+      int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+      if (status != 200) {
+        throw new IllegalStateException("Evaluation failed with status " + status);
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public byte[] evaluateWithSdkKey() throws IOException, InterruptedException {
+    HttpRequest request = requests[next++ % requests.length];
+    return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).body();
+  }
+}
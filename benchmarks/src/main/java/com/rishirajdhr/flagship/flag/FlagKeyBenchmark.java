@@ -0,0 +1,68 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.auth.AppUser;
+import com.rishirajdhr.flagship.project.Project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of validating flag keys against {@link FlagKeys#PATTERN}, both directly and
+ * through {@link Flag#setKey}, for a mix of short, long and invalid keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlagKeyBenchmark {
+  private static final String[] VALID_KEYS = {
+      "new-ui",
+      "dark_mode",
+      "checkout-v2-rollout",
+      "enable-the-new-recommendations-carousel-on-the-home-page-for-logged-in-users"
+  };
+
+  private static final String[] INVALID_KEYS = {
+      "New-UI",
+      "dark-mode-",
+      "2fa",
+      "enable-the-new-recommendations-carousel-on-the-home-page-for-logged-in-users!"
+  };
+
+  private Flag flag;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    Project project = new Project("benchmark", "", new AppUser("benchmark-user", ""));
+    flag = new Flag("new-ui", "New UI", "", true, project);
+  }
+
+  @Benchmark
+  public boolean isValid() {
+    return FlagKeys.isValid(VALID_KEYS[next++ & 3]);
+  }
+
+  @Benchmark
+  public boolean isValidRejected() {
+    return FlagKeys.isValid(INVALID_KEYS[next++ & 3]);
+  }
+
+  @Benchmark
+  public Flag setKey() {
+    flag.setKey(VALID_KEYS[next++ & 3]);
+    return flag;
+  }
+}
@@ -0,0 +1,98 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.rishirajdhr.flagship.auth.AppUser;
+import com.rishirajdhr.flagship.flag.dto.FlagResponse;
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.targeting.TargetingCondition;
+import com.rishirajdhr.flagship.targeting.TargetingOperator;
+import com.rishirajdhr.flagship.targeting.TargetingRule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of building the responses for a list of flags with {@link FlagResponse#fromFlag}
+ * and of serializing them with Jackson, as the flag listing endpoints do. Each flag has a targeting
+ * rule and two string variants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlagResponseBenchmark {
+  @Param({"100", "10000"})
+  private int flagCount;
+
+  private ObjectMapper objectMapper;
+  private List<Flag> flags;
+  private List<FlagResponse> responses;
+
+  @Setup
+  public void setUp() {
+    objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    Project project = new Project("benchmark", "", new AppUser("benchmark-user", ""));
+    List<TargetingRule> rules = List.of(new TargetingRule(
+        List.of(new TargetingCondition("country", TargetingOperator.IN, List.of("CA", "US"))),
+        true, "treatment"));
+    List<FlagVariant> variants = List.of(
+        new FlagVariant("control", VariantType.STRING, TextNode.valueOf("blue")),
+        new FlagVariant("treatment", VariantType.STRING, TextNode.valueOf("green")));
+
+    flags = new ArrayList<>(flagCount);
+    for (int i = 0; i < flagCount; i++) {
+      Flag flag = new Flag("flag-" + i, "Flag " + i, "Benchmark flag " + i, i % 2 == 0, project);
+      flag.setRules(rules);
+      flag.setRolloutPercentage(50);
+      flag.setRolloutSalt("salt-" + i);
+      flag.setVariants(variants, "treatment", "control");
+      flags.add(flag);
+    }
+    responses = toResponses();
+  }
+
+  @Benchmark
+  public List<FlagResponse> fromFlag() {
+    return toResponses();
+  }
+
+  @Benchmark
+  public byte[] serialize() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(responses);
+  }
+
+  @Benchmark
+  public byte[] fromFlagAndSerialize() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(toResponses());
+  }
+
+  private List<FlagResponse> toResponses() {
+    List<FlagResponse> result = new ArrayList<>(flags.size());
+    for (Flag flag : flags) {
+      result.add(FlagResponse.fromFlag(flag));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,117 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.FlagshipApplication;
+import com.rishirajdhr.flagship.auth.AppUser;
+import com.rishirajdhr.flagship.auth.AppUserRepository;
+import com.rishirajdhr.flagship.flag.dto.FlagEvaluationResult;
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.project.ProjectService;
+import com.rishirajdhr.flagship.targeting.EvaluationContext;
+import com.rishirajdhr.flagship.targeting.TargetingCondition;
+import com.rishirajdhr.flagship.targeting.TargetingOperator;
+import com.rishirajdhr.flagship.targeting.TargetingRule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of evaluating flags through {@link FlagService}, with the application running
+ * against an in-memory H2 database. Evaluations are served either from the in-memory snapshot of
+ * the project's flags or, for comparison, by loading and compiling the flag from the repository on
+ * every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlagServiceBenchmark {
+  private static final int FLAG_COUNT = 100;
+  private static final int BATCH_SIZE = 10;
+
+  private ConfigurableApplicationContext context;
+  private FlagService flagService;
+  private Project project;
+  private String[] keys;
+  private List<String> batchKeys;
+  private EvaluationContext[] contexts;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    // Command line arguments take precedence over application.yml.
+    context = new SpringApplicationBuilder(FlagshipApplication.class).run(
+        "--server.port=0",
+        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;NON_KEYWORDS=KEY,VALUE",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.jpa.show-sql=false",
+        "--logging.level.root=WARN");
+    flagService = context.getBean(FlagService.class);
+
+    AppUser owner = context.getBean(AppUserRepository.class)
+        .save(new AppUser("benchmark-user", ""));
+    project = context.getBean(ProjectService.class).createProject("benchmark", "", owner);
+
+    List<TargetingRule> rules = List.of(new TargetingRule(
+        List.of(new TargetingCondition("country", TargetingOperator.IN, List.of("CA", "US"))),
+        true, null));
+    keys = new String[FLAG_COUNT];
+    for (int i = 0; i < FLAG_COUNT; i++) {
+      keys[i] = "flag-" + i;
+      flagService.createProjectFlag(keys[i], "Flag " + i, "", true, rules, 50, null, List.of(),
+                                    null, null, project);
+    }
+    batchKeys = new ArrayList<>(List.of(keys).subList(0, BATCH_SIZE));
+
+    contexts = new EvaluationContext[64];
+    for (int i = 0; i < contexts.length; i++) {
+      contexts[i] = new EvaluationContext(
+          "user-" + i, i % 3 == 0 ? "CA" : "DE", "pro", "1.2.3", Map.of());
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Optional<FlagState> evaluateFromSnapshot() {
+    int i = next++;
+    return flagService.evaluateProjectFlag(
+        keys[i % FLAG_COUNT], project.getId(), contexts[i & (contexts.length - 1)]);
+  }
+
+  @Benchmark
+  public List<FlagEvaluationResult> evaluateBatchFromSnapshot() {
+    return flagService.evaluateProjectFlags(
+        batchKeys, project.getId(), contexts[next++ & (contexts.length - 1)]);
+  }
+
+  @Benchmark
+  public FlagState evaluateFromRepository() {
+    Flag flag = flagService.getProjectFlagByKey(keys[next++ % FLAG_COUNT], project).orElseThrow();
+    return flagService.createFlagState(flag);
+  }
+}
@@ -0,0 +1,141 @@
+package com.rishirajdhr.flagship.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Drives closed-loop HTTP traffic: each worker thread sends a request, waits for the response and
+ * immediately sends the next one, so the offered load grows with the number of threads. The
+ * latency of every request is recorded.
+ */
+final class LoadGenerator {
+  private final HttpClient httpClient;
+
+  /**
+   * Create a load generator.
+   *
+   * @param httpClient the client used to send the requests
+   */
+  LoadGenerator(HttpClient httpClient) {
+    this.httpClient = httpClient;
+  }
+
+  /**
+   * Run a phase of traffic.
+   *
+   * @param threads the number of concurrent workers
+   * @param duration how long to send requests for
+   * @param requests the function that builds the next request from a random source
+   * @return the recorded latencies and errors
+   * @throws InterruptedException if interrupted while waiting for the workers
+   */
+  Result run(int threads, Duration duration, Function<ThreadLocalRandom, HttpRequest> requests)
+      throws InterruptedException {
+    long stopAt = System.nanoTime() + duration.toNanos();
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Worker>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> new Worker().run(stopAt, requests)));
+      }
+
+      long[] latencies = new long[0];
+      long errors = 0;
+      for (Future<Worker> future : futures) {
+        Worker worker = future.get();
+        int offset = latencies.length;
+        latencies = Arrays.copyOf(latencies, offset + worker.count);
+        System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+        errors += worker.errors;
+      }
+      Arrays.sort(latencies);
+      return new Result(latencies, errors, duration);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Load generator worker failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Represents the outcome of a phase of traffic.
+   *
+   * @param latencies the latency of every recorded request in nanoseconds, in ascending order
+   * @param errors the number of requests that failed or had a non-2xx status
+   * @param duration how long requests were sent for
+   */
+  record Result(long[] latencies, long errors, Duration duration) {
+    /**
+     * Get the number of recorded requests.
+     *
+     * @return the number of requests
+     */
+    long requests() {
+      return latencies.length;
+    }
+
+    /**
+     * Get a latency percentile.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in nanoseconds, or 0 if no request was recorded
+     */
+    long percentile(double percentile) {
+      if (latencies.length == 0) return 0;
+      int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+      return latencies[Math.max(0, Math.min(index, latencies.length - 1))];
+    }
+  }
+
+  /**
+   * Sends requests in a loop and records their latencies in a growable array.
+   */
+  private final class Worker {
+    private long[] latencies = new long[1 << 14];
+    private int count;
+    private long errors;
+
+    Worker run(long stopAt, Function<ThreadLocalRandom, HttpRequest> requests) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      long now = System.nanoTime();
+      while (now < stopAt) {
+        HttpRequest request = requests.apply(random);
+        boolean failed;
+        try {
+          HttpResponse<Void> response =
+              httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+          failed = response.statusCode() / 100 != 2;
+        } catch (IOException e) {
+          failed = true;
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+
+        long end = System.nanoTime();
+        record(end - now, failed);
+        now = end;
+      }
+      return this;
+    }
+
+    private void record(long latency, boolean failed) {
+      if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+      latencies[count++] = latency;
+      if (failed) errors++;
+    }
+  }
+}
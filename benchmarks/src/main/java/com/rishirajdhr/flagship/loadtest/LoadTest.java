@@ -0,0 +1,217 @@
+package com.rishirajdhr.flagship.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rishirajdhr.flagship.FlagshipApplication;
+import com.rishirajdhr.flagship.auth.AppUser;
+import com.rishirajdhr.flagship.auth.AppUserPrincipal;
+import com.rishirajdhr.flagship.auth.AppUserRepository;
+import com.rishirajdhr.flagship.auth.AppUserService;
+import com.rishirajdhr.flagship.auth.jwt.JWTService;
+import com.rishirajdhr.flagship.flag.FlagService;
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.project.ProjectService;
+import com.rishirajdhr.flagship.targeting.TargetingCondition;
+import com.rishirajdhr.flagship.targeting.TargetingOperator;
+import com.rishirajdhr.flagship.targeting.TargetingRule;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Boots the full application on an in-memory H2 database with the {@code load-test} profile, seeds
+ * users, projects and flags, and drives concurrent traffic at the flag evaluation and listing
+ * endpoints. Each scenario is run once per configured thread count, so the sweep shows where
+ * throughput stops growing and latency starts to climb. The client runs in the same JVM as the
+ * server, so on a machine with few cores the results are a lower bound.
+ *
+ * <p>The test is configured with {@code --loadtest.*} arguments:
+ *
+ * <ul>
+ *   <li>{@code users}, {@code projects-per-user}, {@code flags-per-project}: the seeded data</li>
+ *   <li>{@code scenarios}: a comma-separated subset of {@code evaluate,list}</li>
+ *   <li>{@code threads}: a comma-separated list of concurrency levels</li>
+ *   <li>{@code warmup}, {@code duration}: how long each phase warms up and is measured for</li>
+ *   <li>{@code result}: the file the results are written to as JSON</li>
+ * </ul>
+ *
+ * <p>Run it from the repository root with:
+ *
+ * <pre>
+ * mvn install -DskipTests
+ * mvn -pl benchmarks -P load-test exec:exec -Dloadtest.args="--loadtest.threads=1,16,64"
+ * </pre>
+ */
+public final class LoadTest {
+  private static final String PASSWORD = "load-test-password";
+
+  private final ConfigurableApplicationContext context;
+  private final Environment environment;
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .enable(SerializationFeature.INDENT_OUTPUT);
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .build();
+  private final List<Target> targets = new ArrayList<>();
+  private String baseUri;
+  private String[] flagKeys;
+
+  private LoadTest(ConfigurableApplicationContext context) {
+    this.context = context;
+    this.environment = context.getEnvironment();
+  }
+
+  /**
+   * Run the load test.
+   *
+   * @param args the application arguments, including the {@code --loadtest.*} settings
+   * @throws Exception if the load test fails
+   */
+  public static void main(String[] args) throws Exception {
+    ConfigurableApplicationContext context = new SpringApplicationBuilder(FlagshipApplication.class)
+        .profiles("load-test")
+        .run(args);
+    try {
+      new LoadTest(context).run();
+    } finally {
+      context.close();
+    }
+  }
+
+  private void run() throws IOException, InterruptedException {
+    baseUri = "http://localhost:" + environment.getRequiredProperty("local.server.port");
+    seed(setting("users", Integer.class, 10), setting("projects-per-user", Integer.class, 2),
+         setting("flags-per-project", Integer.class, 50));
+
+    Duration warmup = setting("warmup", Duration.class, Duration.ofSeconds(10));
+    Duration duration = setting("duration", Duration.class, Duration.ofSeconds(15));
+    Statistics statistics =
+        context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    LoadGenerator generator = new LoadGenerator(httpClient);
+
+    List<LoadTestReport> reports = new ArrayList<>();
+    System.out.println(LoadTestReport.HEADER);
+    for (String scenario : setting("scenarios", String[].class, new String[] {"evaluate", "list"})) {
+      Function<ThreadLocalRandom, HttpRequest> requests = switch (scenario) {
+        case "evaluate" -> this::evaluateRequest;
+        case "list" -> this::listRequest;
+        default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+      };
+
+      for (int threads : setting("threads", int[].class, new int[] {1, 4, 16, 64})) {
+        generator.run(threads, warmup, requests);
+        long statementsBefore = statistics.getPrepareStatementCount();
+        LoadGenerator.Result result = generator.run(threads, duration, requests);
+        long statements = statistics.getPrepareStatementCount() - statementsBefore;
+
+        LoadTestReport report = LoadTestReport.of(scenario, threads, result, statements);
+        reports.add(report);
+        System.out.println(report.toRow());
+      }
+    }
+
+    Path resultFile = Path.of(setting("result", String.class, "load-test-result.json"));
+    Map<String, Object> output = new LinkedHashMap<>();
+    output.put("users", setting("users", Integer.class, 10));
+    output.put("projectsPerUser", setting("projects-per-user", Integer.class, 2));
+    output.put("flagsPerProject", setting("flags-per-project", Integer.class, 50));
+    output.put("warmup", warmup.toString());
+    output.put("duration", duration.toString());
+    output.put("results", reports);
+    Files.createDirectories(resultFile.toAbsolutePath().getParent());
+    objectMapper.writeValue(resultFile.toFile(), output);
+    System.out.println("Results written to " + resultFile.toAbsolutePath());
+  }
+
+  /**
+   * Create the users, projects and flags the traffic is sent to. Every flag has a targeting rule
+   * and a partial rollout, so evaluations exercise the whole plan.
+   *
+   * @param users the number of users
+   * @param projectsPerUser the number of projects of each user
+   * @param flagsPerProject the number of flags in each project
+   */
+  private void seed(int users, int projectsPerUser, int flagsPerProject) {
+    AppUserService appUserService = context.getBean(AppUserService.class);
+    AppUserRepository appUserRepository = context.getBean(AppUserRepository.class);
+    JWTService jwtService = context.getBean(JWTService.class);
+    ProjectService projectService = context.getBean(ProjectService.class);
+    FlagService flagService = context.getBean(FlagService.class);
+
+    List<TargetingRule> rules = List.of(new TargetingRule(
+        List.of(new TargetingCondition("country", TargetingOperator.IN, List.of("CA", "US"))),
+        true, null));
+    flagKeys = new String[flagsPerProject];
+    for (int i = 0; i < flagsPerProject; i++) {
+      flagKeys[i] = "flag-" + i;
+    }
+
+    for (int u = 0; u < users; u++) {
+      AppUserPrincipal principal = appUserService.createUser("load-test-user-" + u, PASSWORD);
+      AppUser owner = appUserRepository.getReferenceById(principal.getId());
+      String authorization = "Bearer " + jwtService.generateToken(principal);
+      for (int p = 0; p < projectsPerUser; p++) {
+        Project project = projectService.createProject("project-" + p, "", owner);
+        for (String key : flagKeys) {
+          flagService.createProjectFlag(key, key, "", true, rules, 50, null, List.of(), null,
+                                        null, project);
+        }
+        targets.add(new Target(project.getId(), authorization));
+      }
+    }
+  }
+
+  private HttpRequest evaluateRequest(ThreadLocalRandom random) {
+    Target target = targets.get(random.nextInt(targets.size()));
+    String key = flagKeys[random.nextInt(flagKeys.length)];
+    String body = "{\"userId\":\"user-" + random.nextInt(1_000_000) + "\",\"country\":\""
+        + (random.nextBoolean() ? "CA" : "DE") + "\"}";
+    return HttpRequest.newBuilder(
+            URI.create(baseUri + "/api/projects/" + target.projectId() + "/flags/" + key
+                       + "/evaluate"))
+        .header("Authorization", target.authorization())
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private HttpRequest listRequest(ThreadLocalRandom random) {
+    Target target = targets.get(random.nextInt(targets.size()));
+    return HttpRequest.newBuilder(
+            URI.create(baseUri + "/api/projects/" + target.projectId() + "/flags?limit=50"))
+        .header("Authorization", target.authorization())
+        .GET()
+        .build();
+  }
+
+  private <T> T setting(String name, Class<T> type, T defaultValue) {
+    return environment.getProperty("loadtest." + name, type, defaultValue);
+  }
+
+  /**
+   * Represents a project traffic is sent to, along with the credentials of its owner.
+   *
+   * @param projectId the ID of the project
+   * @param authorization the {@code Authorization} header of the project's owner
+   */
+  private record Target(Long projectId, String authorization) {}
+}
@@ -0,0 +1,67 @@
+package com.rishirajdhr.flagship.loadtest;
+
+/**
+ * Represents the results of one phase of a load test.
+ *
+ * @param scenario the name of the scenario, either {@code evaluate} or {@code list}
+ * @param threads the number of concurrent workers
+ * @param requests the number of recorded requests
+ * @param errors the number of recorded requests that failed
+ * @param throughput the number of recorded requests per second
+ * @param p50Micros the median latency in microseconds
+ * @param p99Micros the 99th percentile latency in microseconds
+ * @param p999Micros the 99.9th percentile latency in microseconds
+ * @param maxMicros the maximum latency in microseconds
+ * @param sqlStatementsPerRequest the number of SQL statements prepared per recorded request
+ */
+record LoadTestReport(
+    String scenario,
+    int threads,
+    long requests,
+    long errors,
+    double throughput,
+    double p50Micros,
+    double p99Micros,
+    double p999Micros,
+    double maxMicros,
+    double sqlStatementsPerRequest) {
+  /**
+   * The header of the table {@link #toRow} formats reports for.
+   */
+  static final String HEADER = String.format(
+      "%-9s %7s %10s %7s %12s %10s %10s %10s %10s %8s",
+      "scenario", "threads", "requests", "errors", "req/s", "p50 us", "p99 us", "p999 us",
+      "max us", "sql/req");
+
+  /**
+   * Create the report of a phase of traffic.
+   *
+   * @param scenario the name of the scenario
+   * @param threads the number of concurrent workers
+   * @param result the recorded latencies and errors
+   * @param sqlStatements the number of SQL statements prepared while requests were recorded
+   * @return the report
+   */
+  static LoadTestReport of(String scenario, int threads, LoadGenerator.Result result,
+                           long sqlStatements) {
+    long requests = result.requests();
+    return new LoadTestReport(
+        scenario, threads, requests, result.errors(),
+        requests / (result.duration().toNanos() / 1e9),
+        result.percentile(50) / 1e3, result.percentile(99) / 1e3,
+        result.percentile(99.9) / 1e3, result.percentile(100) / 1e3,
+        requests == 0 ? 0 : (double) sqlStatements / requests);
+  }
+
+  /**
+   * Format the report as a row of a table.
+   *
+   * @return the formatted row
+   */
+  String toRow() {
+    return String.format(
+        "%-9s %7d %10d %7d %12.0f %10.0f %10.0f %10.0f %10.0f %8.2f",
+        scenario, threads, requests, errors, throughput, p50Micros, p99Micros, p999Micros,
+        maxMicros, sqlStatementsPerRequest);
+  }
+}
@@ -0,0 +1,55 @@
+package com.rishirajdhr.flagship.targeting;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of assigning a user to a rollout bucket. Run it from the repository root with:
+ *
+ * <pre>
+ * mvn install -DskipTests
+ * mvn -pl benchmarks exec:exec -Djmh.args="RolloutBenchmark -prof gc"
+ * </pre>
+ *
+ * <p>The {@code gc} profiler reports the bytes allocated per operation, which should be zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RolloutBenchmark {
+  private Rollout rollout;
+  private String[] users;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    rollout = Rollout.of("new-checkout", "3f9a1c2e-5b7d-4e21-9c0a-8d6f4b2e1a7c", 25);
+    users = new String[1024];
+    for (int i = 0; i < users.length; i++) {
+      users[i] = "user-" + (i * 7919);
+    }
+  }
+
+  @Benchmark
+  public int bucket() {
+    return rollout.bucket(users[next++ & (users.length - 1)]);
+  }
+
+  @Benchmark
+  public boolean includes() {
+    return rollout.includes(users[next++ & (users.length - 1)]);
+  }
+}
@@ -0,0 +1,31 @@
+package com.rishirajdhr.flagship.flag;
+
+import java.util.regex.Pattern;
+
+/**
+ * Defines the rules that the keys of feature flags, and of the segments they target, follow:
+ *
+ * <ul>
+ *   <li>A key must only contain lowercase alphabets (a-z), digits (0-9), hyphens (-), or underscores (_).</li>
+ *   <li>A key must start with a lowercase alphabet.</li>
+ *   <li>A key must not end with a hyphen (-) or underscore (_).</li>
+ * </ul>
+ */
+public final class FlagKeys {
+  /** The regular expression that every valid key matches. */
+  public static final String PATTERN = "^[a-z]+(?:[-_][a-z0-9]+)*$";
+
+  private static final Pattern KEY_PATTERN = Pattern.compile(PATTERN);
+
+  private FlagKeys() {}
+
+  /**
+   * Check whether a key is valid.
+   *
+   * @param key the key to check
+   * @return {@code true} if the key is valid, {@code false} if it is {@code null} or invalid
+   */
+  public static boolean isValid(String key) {
+    return key != null && KEY_PATTERN.matcher(key).matches();
+  }
+}
@@ -0,0 +1,26 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Represents the state of a feature flag. The variant and its value are only present for flags
+ * with variants, and are omitted from the JSON representation otherwise.
+ *
+ * @param flag the key of the flag
+ * @param enabled the state of the flag - {@code true} if enabled, {@code false} otherwise
+ * @param variant the key of the served variant, or {@code null} if the flag has no variants
+ * @param value the value of the served variant, or {@code null} if the flag has no variants
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FlagState(String flag, boolean enabled, String variant, JsonNode value) {
+  /**
+   * Create the state of a feature flag without variants.
+   *
+   * @param flag the key of the flag
+   * @param enabled the state of the flag - {@code true} if enabled, {@code false} otherwise
+   */
+  public FlagState(String flag, boolean enabled) {
+    this(flag, enabled, null, null);
+  }
+}
@@ -0,0 +1,84 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.flag.dto.FlagDefinition;
+import com.rishirajdhr.flagship.targeting.EvaluationContext;
+import com.rishirajdhr.flagship.targeting.Rollout;
+import com.rishirajdhr.flagship.targeting.SegmentResolver;
+import com.rishirajdhr.flagship.targeting.TargetingPlan;
+import com.rishirajdhr.flagship.targeting.exceptions.InvalidTargetingRuleException;
+
+/**
+ * Represents the immutable, compiled evaluation of a {@link FlagDefinition}. A disabled flag is
+ * off for every context; an enabled flag serves the state of its first targeting rule that matches
+ * the context, or, if no rule matches, is on for the users included in its percentage rollout.
+ *
+ * <p>The server and the SDK evaluate flags with this class, so a flag evaluated locally by the SDK
+ * is served the same state as one evaluated by the server.
+ */
+public final class FlagTargeting {
+  private final boolean enabled;
+  private final TargetingPlan targeting;
+  private final FlagState[] ruleStates;
+  private final Rollout rollout;
+  private final FlagState onState;
+  private final FlagState offState;
+
+  private FlagTargeting(boolean enabled, TargetingPlan targeting, FlagState[] ruleStates,
+                        Rollout rollout, FlagState onState, FlagState offState) {
+    this.enabled = enabled;
+    this.targeting = targeting;
+    this.ruleStates = ruleStates;
+    this.rollout = rollout;
+    this.onState = onState;
+    this.offState = offState;
+  }
+
+  /**
+   * Compile the definition of a feature flag.
+   *
+   * @param key the key of the flag
+   * @param definition the definition of the flag
+   * @param segments the resolver of the segments the flag's rules reference
+   * @return the compiled flag
+   * @throws InvalidTargetingRuleException if one of the rules is malformed, references an unknown
+   *     segment, or has no state
+   * @throws IllegalArgumentException if the rollout percentage is out of range
+   */
+  public static FlagTargeting compile(String key, FlagDefinition definition,
+                                      SegmentResolver segments)
+      throws InvalidTargetingRuleException, IllegalArgumentException {
+    TargetingPlan targeting = TargetingPlan.compile(definition.rules(), segments);
+    if (definition.ruleStates().size() != targeting.size()) {
+      throw new InvalidTargetingRuleException("every rule needs a state");
+    }
+
+    return new FlagTargeting(
+        definition.enabled(), targeting, definition.ruleStates().toArray(new FlagState[0]),
+        Rollout.of(key, definition.rolloutSalt(), definition.rolloutPercentage()),
+        definition.onState(), definition.offState());
+  }
+
+  /**
+   * Get the state of the flag for a context without any attributes, which no targeting rule
+   * matches and which is only included in a full rollout.
+   *
+   * @return the default flag state
+   */
+  public FlagState getDefaultState() {
+    return enabled && rollout.includes(null) ? onState : offState;
+  }
+
+  /**
+   * Evaluate the flag for a context.
+   *
+   * @param context the evaluation context
+   * @return the evaluated flag state
+   */
+  public FlagState evaluate(EvaluationContext context) {
+    if (!enabled) return offState;
+
+    int rule = targeting.match(context);
+    if (rule >= 0) return ruleStates[rule];
+    return rollout.includes(context.userId()) ? onState : offState;
+  }
+}
@@ -0,0 +1,37 @@
+package com.rishirajdhr.flagship.flag.dto;
+
+import com.rishirajdhr.flagship.flag.FlagState;
+import com.rishirajdhr.flagship.targeting.TargetingRule;
+
+import java.util.List;
+
+/**
+ * Represents everything needed to evaluate a feature flag for any context. The variants of the
+ * flag are resolved into the states it can serve, so a definition can be evaluated without
+ * validating or parsing variants.
+ *
+ * @param enabled the flag status - {@code true} if enabled, {@code false} otherwise
+ * @param rules the targeting rules of the flag, in evaluation order
+ * @param rolloutPercentage the percentage of users the flag is on for when no rule matches
+ * @param rolloutSalt the salt that assigns users to rollout buckets
+ * @param onState the state served when the flag is on
+ * @param offState the state served when the flag is off
+ * @param ruleStates the states served by the targeting rules, in the order of the rules
+ */
+public record FlagDefinition(
+    boolean enabled,
+    List<TargetingRule> rules,
+    int rolloutPercentage,
+    String rolloutSalt,
+    FlagState onState,
+    FlagState offState,
+    List<FlagState> ruleStates) {
+  /**
+   * Create a new flag definition. Missing lists of rules and rule states are replaced with empty
+   * lists.
+   */
+  public FlagDefinition {
+    if (rules == null) rules = List.of();
+    if (ruleStates == null) ruleStates = List.of();
+  }
+}
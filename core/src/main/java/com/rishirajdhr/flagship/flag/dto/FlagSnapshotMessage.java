@@ -0,0 +1,37 @@
+package com.rishirajdhr.flagship.flag.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.rishirajdhr.flagship.flag.FlagState;
+
+import java.util.Map;
+
+/**
+ * Represents a message that carries the state of every flag of a project. The definitions, which
+ * let a client evaluate the flags for any context, are only present in the messages sent to SDKs,
+ * and are omitted from the JSON representation otherwise.
+ *
+ * @param version the version of the project's flags
+ * @param flags the evaluated states of all the flags, keyed by flag key
+ * @param definitions the definitions of all the flags, keyed by flag key
+ */
+public record FlagSnapshotMessage(
+    long version,
+    Map<String, FlagState> flags,
+    @JsonInclude(JsonInclude.Include.NON_EMPTY) Map<String, FlagDefinition> definitions) {
+  /**
+   * Create a new snapshot message. A missing map of definitions is replaced with an empty map.
+   */
+  public FlagSnapshotMessage {
+    if (definitions == null) definitions = Map.of();
+  }
+
+  /**
+   * Create a snapshot message without definitions.
+   *
+   * @param version the version of the project's flags
+   * @param flags the evaluated states of all the flags, keyed by flag key
+   */
+  public FlagSnapshotMessage(long version, Map<String, FlagState> flags) {
+    this(version, flags, Map.of());
+  }
+}
@@ -0,0 +1,37 @@
+package com.rishirajdhr.flagship.targeting;
+
+import java.util.Map;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * Represents the attributes of the user or client a feature flag is evaluated for. Any attribute
+ * may be omitted.
+ *
+ * @param userId the ID of the user
+ * @param country the country of the user
+ * @param plan the plan the user is subscribed to
+ * @param version the semantic version of the client application
+ * @param attributes the custom attributes, keyed by attribute name
+ */
+public record EvaluationContext(
+    String userId,
+    String country,
+    String plan,
+    String version,
+
+    @Size(max = 100)
+    Map<String, String> attributes
+) {
+  /** The context without any attributes. */
+  public static final EvaluationContext EMPTY =
+      new EvaluationContext(null, null, null, null, Map.of());
+
+  /**
+   * Create a new evaluation context. A missing map of custom attributes is replaced with an empty
+   * map.
+   */
+  public EvaluationContext {
+    if (attributes == null) attributes = Map.of();
+  }
+}
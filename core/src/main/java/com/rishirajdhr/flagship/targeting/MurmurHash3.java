@@ -0,0 +1,57 @@
+package com.rishirajdhr.flagship.targeting;
+
+/**
+ * Provides the mixing steps of the 32-bit MurmurHash3 function, so callers can hash a sequence of
+ * characters incrementally without copying them into a buffer. Characters are hashed as UTF-16
+ * code units, two to a 32-bit block, with the low unit first.
+ */
+final class MurmurHash3 {
+  private static final int C1 = 0xcc9e2d51;
+  private static final int C2 = 0x1b873593;
+
+  private MurmurHash3() {}
+
+  /**
+   * Mix a block into the block key.
+   *
+   * @param k1 the block
+   * @return the mixed block key
+   */
+  static int mixK1(int k1) {
+    k1 *= C1;
+    k1 = Integer.rotateLeft(k1, 15);
+    k1 *= C2;
+    return k1;
+  }
+
+  /**
+   * Mix a block key into the running hash.
+   *
+   * @param h1 the running hash
+   * @param k1 the mixed block key
+   * @return the updated running hash
+   */
+  static int mixH1(int h1, int k1) {
+    h1 ^= k1;
+    h1 = Integer.rotateLeft(h1, 13);
+    h1 = h1 * 5 + 0xe6546b64;
+    return h1;
+  }
+
+  /**
+   * Finalize the running hash, forcing all of its bits to avalanche.
+   *
+   * @param h1 the running hash
+   * @param length the number of hashed bytes
+   * @return the final hash
+   */
+  static int finalize(int h1, int length) {
+    h1 ^= length;
+    h1 ^= h1 >>> 16;
+    h1 *= 0x85ebca6b;
+    h1 ^= h1 >>> 13;
+    h1 *= 0xc2b2ae35;
+    h1 ^= h1 >>> 16;
+    return h1;
+  }
+}
@@ -0,0 +1,135 @@
+package com.rishirajdhr.flagship.targeting;
+
+/**
+ * Represents a percentage rollout of a feature flag. Each user key is hashed together with the
+ * flag key and a salt into one of {@value #BUCKETS} buckets, and a user is included when their
+ * bucket falls below the rollout percentage. A user's bucket never changes unless the salt does,
+ * so users included at a percentage stay included as the percentage grows.
+ *
+ * <p>The hash state of the flag key and salt is computed once, so bucketing a user only hashes the
+ * user key, and does so without allocating.
+ */
+public final class Rollout {
+  /** The number of buckets users are spread over. */
+  public static final int BUCKETS = 10_000;
+
+  /** The rollout that includes every user. */
+  public static final Rollout FULL = new Rollout(100, 0, 0, false, '\0');
+
+  private static final char SEPARATOR = ':';
+
+  private final int percentage;
+  private final int prefixHash;
+  private final int prefixLength;
+  private final boolean prefixPending;
+  private final char prefixPendingChar;
+
+  private Rollout(int percentage, int prefixHash, int prefixLength, boolean prefixPending,
+                  char prefixPendingChar) {
+    this.percentage = percentage;
+    this.prefixHash = prefixHash;
+    this.prefixLength = prefixLength;
+    this.prefixPending = prefixPending;
+    this.prefixPendingChar = prefixPendingChar;
+  }
+
+  /**
+   * Create a rollout of a feature flag.
+   *
+   * @param flagKey the key of the flag
+   * @param salt the salt that decides which users fall in which bucket
+   * @param percentage the percentage of users to include, from 0 to 100
+   * @return the created rollout
+   * @throws IllegalArgumentException if the percentage is out of range
+   */
+  public static Rollout of(String flagKey, String salt, int percentage)
+      throws IllegalArgumentException {
+    if (percentage < 0 || percentage > 100) {
+      throw new IllegalArgumentException("Rollout percentage must be between 0 and 100");
+    }
+    if (percentage == 100) return FULL;
+
+    Hasher hasher = new Hasher();
+    hasher.update(flagKey);
+    hasher.update(SEPARATOR);
+    hasher.update(salt);
+    hasher.update(SEPARATOR);
+    return new Rollout(percentage, hasher.h1, hasher.length, hasher.pending, hasher.pendingChar);
+  }
+
+  /**
+   * Get the percentage of users included in the rollout.
+   *
+   * @return the rollout percentage, from 0 to 100
+   */
+  public int getPercentage() {
+    return percentage;
+  }
+
+  /**
+   * Get the bucket a user falls in.
+   *
+   * @param userKey the key of the user
+   * @return the bucket, from 0 inclusive to {@value #BUCKETS} exclusive
+   */
+  public int bucket(String userKey) {
+    int h1 = prefixHash;
+    boolean pending = prefixPending;
+    char pendingChar = prefixPendingChar;
+
+    for (int i = 0; i < userKey.length(); i++) {
+      char c = userKey.charAt(i);
+      if (pending) {
+        h1 = MurmurHash3.mixH1(h1, MurmurHash3.mixK1(pendingChar | (c << 16)));
+        pending = false;
+      } else {
+        pendingChar = c;
+        pending = true;
+      }
+    }
+    if (pending) h1 ^= MurmurHash3.mixK1(pendingChar);
+
+    int hash = MurmurHash3.finalize(h1, 2 * (prefixLength + userKey.length()));
+    return Integer.remainderUnsigned(hash, BUCKETS);
+  }
+
+  /**
+   * Check whether a user is included in the rollout. A user without a key is only included in a
+   * full rollout.
+   *
+   * @param userKey the key of the user, or {@code null} if the user is not identified
+   * @return {@code true} if the user is included, {@code false} otherwise
+   */
+  public boolean includes(String userKey) {
+    if (percentage == 100) return true;
+    if (percentage == 0 || userKey == null) return false;
+    return bucket(userKey) < percentage * (BUCKETS / 100);
+  }
+
+  /**
+   * Represents the running state of an incremental hash, used to hash the rollout's prefix once.
+   */
+  private static final class Hasher {
+    private int h1;
+    private int length;
+    private boolean pending;
+    private char pendingChar;
+
+    private void update(String chars) {
+      for (int i = 0; i < chars.length(); i++) {
+        update(chars.charAt(i));
+      }
+    }
+
+    private void update(char c) {
+      if (pending) {
+        h1 = MurmurHash3.mixH1(h1, MurmurHash3.mixK1(pendingChar | (c << 16)));
+        pending = false;
+      } else {
+        pendingChar = c;
+        pending = true;
+      }
+      length++;
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.rishirajdhr.flagship.targeting;
+
+import java.util.function.Predicate;
+
+/**
+ * Resolves the segments referenced by targeting rules to their membership tests. A membership test
+ * is resolved once, when the rules are compiled, and must reflect later changes to the segment's
+ * members on its own, so that a segment can change without recompiling the rules.
+ */
+@FunctionalInterface
+public interface SegmentResolver {
+  /** The resolver that knows no segments. */
+  SegmentResolver NONE = key -> null;
+
+  /** The resolver that treats every segment as empty. */
+  SegmentResolver EMPTY = key -> member -> false;
+
+  /**
+   * Resolve a segment by its key.
+   *
+   * @param key the key of the segment
+   * @return the membership test of the segment, or {@code null} if no segment has the key
+   */
+  Predicate<String> resolve(String key);
+}
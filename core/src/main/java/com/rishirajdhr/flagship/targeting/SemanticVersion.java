@@ -0,0 +1,59 @@
+package com.rishirajdhr.flagship.targeting;
+
+/**
+ * Parses semantic versions into sortable numbers without allocating, so version conditions can be
+ * checked on every evaluation. A version is parsed from its {@code major.minor.patch} core, with an
+ * optional {@code v} prefix; missing minor and patch numbers are zero, build metadata is ignored
+ * and a pre-release version sorts below the release with the same core.
+ */
+final class SemanticVersion {
+  private static final int COMPONENT_BITS = 20;
+  private static final int MAX_COMPONENT = (1 << COMPONENT_BITS) - 1;
+
+  private SemanticVersion() {}
+
+  /**
+   * Parse a semantic version into a number that sorts in the same order as the version.
+   *
+   * @param version the version to parse
+   * @return the non-negative sortable number, or {@code -1} if the version is not valid
+   */
+  static long parse(String version) {
+    int length = version.length();
+    int index = length > 0 && version.charAt(0) == 'v' ? 1 : 0;
+    long result = 0;
+
+    for (int component = 0; component < 3; component++) {
+      int value = 0;
+      int start = index;
+      while (index < length && isDigit(version.charAt(index))) {
+        value = value * 10 + (version.charAt(index) - '0');
+        if (value > MAX_COMPONENT) return -1;
+        index++;
+      }
+      if (index == start) return -1;
+      result = (result << COMPONENT_BITS) | value;
+
+      if (index == length || version.charAt(index) != '.') {
+        result <<= COMPONENT_BITS * (2 - component);
+        break;
+      }
+      if (component == 2) return -1;
+      index++;
+    }
+
+    if (index == length || version.charAt(index) == '+') return (result << 1) | 1;
+    return version.charAt(index) == '-' ? result << 1 : -1;
+  }
+
+  /**
+   * Check if a character is an ASCII digit. {@link Character#isDigit} also accepts digits of other
+   * scripts, which do not have the value {@code c - '0'}.
+   *
+   * @param c the character to check
+   * @return {@code true} if the character is one of {@code 0} to {@code 9}
+   */
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+}
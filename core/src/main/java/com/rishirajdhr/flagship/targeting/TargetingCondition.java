@@ -0,0 +1,29 @@
+package com.rishirajdhr.flagship.targeting;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Represents a condition on one attribute of the evaluation context. A condition on an attribute
+ * that is missing from the context never matches.
+ *
+ * @param attribute the name of the attribute, either {@code userId}, {@code country},
+ *     {@code plan}, {@code version} or the name of a custom attribute
+ * @param operator the comparison to make between the attribute and the values
+ * @param values the values to compare the attribute with
+ */
+public record TargetingCondition(
+    @NotNull
+    @NotBlank
+    String attribute,
+
+    @NotNull
+    TargetingOperator operator,
+
+    @NotNull
+    @Size(min = 1, max = 10000)
+    List<@NotNull String> values
+) {}
@@ -0,0 +1,31 @@
+package com.rishirajdhr.flagship.targeting;
+
+/**
+ * Represents the comparison a targeting condition makes between an attribute of the evaluation
+ * context and the condition's values.
+ */
+public enum TargetingOperator {
+  /** The attribute equals the single value of the condition. */
+  EQUALS,
+
+  /** The attribute equals one of the values of the condition. */
+  IN,
+
+  /** The attribute equals none of the values of the condition. */
+  NOT_IN,
+
+  /** The attribute is a semantic version greater than or equal to the value of the condition. */
+  SEMVER_GTE,
+
+  /** The attribute is a semantic version lower than the value of the condition. */
+  SEMVER_LT,
+
+  /** The attribute entirely matches the regular expression that is the value of the condition. */
+  REGEX,
+
+  /** The attribute is a member of the segment whose key is the value of the condition. */
+  IN_SEGMENT,
+
+  /** The attribute is not a member of the segment whose key is the value of the condition. */
+  NOT_IN_SEGMENT
+}
@@ -0,0 +1,225 @@
+package com.rishirajdhr.flagship.targeting;
+
+import com.rishirajdhr.flagship.targeting.exceptions.InvalidTargetingRuleException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Represents an immutable, compiled form of a list of targeting rules. The rules are compiled once,
+ * into conditions that read their attribute with a pre-resolved accessor and compare it with
+ * pre-built sets, pre-parsed versions and precompiled regular expressions, so matching a context
+ * does not interpret the rules or allocate.
+ */
+public final class TargetingPlan {
+  /** The plan without any rules, which matches no context. */
+  public static final TargetingPlan EMPTY = new TargetingPlan(new Condition[0][]);
+
+  private final Condition[][] rules;
+
+  private TargetingPlan(Condition[][] rules) {
+    this.rules = rules;
+  }
+
+  /**
+   * Compile a list of targeting rules that do not reference any segment into a plan.
+   *
+   * @param rules the rules to compile, in evaluation order
+   * @return the compiled plan
+   * @throws InvalidTargetingRuleException if a rule is malformed or references a segment
+   */
+  public static TargetingPlan compile(List<TargetingRule> rules)
+      throws InvalidTargetingRuleException {
+    return compile(rules, SegmentResolver.NONE);
+  }
+
+  /**
+   * Compile a list of targeting rules into a plan.
+   *
+   * @param rules the rules to compile, in evaluation order
+   * @param segments the resolver of the segments the rules reference
+   * @return the compiled plan
+   * @throws InvalidTargetingRuleException if a rule is malformed or references an unknown segment
+   */
+  public static TargetingPlan compile(List<TargetingRule> rules, SegmentResolver segments)
+      throws InvalidTargetingRuleException {
+    if (rules == null || rules.isEmpty()) return EMPTY;
+
+    Condition[][] compiledRules = new Condition[rules.size()][];
+    for (int i = 0; i < compiledRules.length; i++) {
+      List<TargetingCondition> conditions = rules.get(i).conditions();
+      compiledRules[i] = new Condition[conditions.size()];
+      for (int j = 0; j < conditions.size(); j++) {
+        compiledRules[i][j] = compileCondition(conditions.get(j), segments);
+      }
+    }
+    return new TargetingPlan(compiledRules);
+  }
+
+  /**
+   * Find the first rule that matches an evaluation context.
+   *
+   * @param context the evaluation context
+   * @return the index of the first matching rule, or {@code -1} if no rule matches
+   */
+  public int match(EvaluationContext context) {
+    for (int i = 0; i < rules.length; i++) {
+      if (matchesAll(rules[i], context)) return i;
+    }
+    return -1;
+  }
+
+  /**
+   * Get the number of rules in the plan.
+   *
+   * @return the number of rules
+   */
+  public int size() {
+    return rules.length;
+  }
+
+  private static boolean matchesAll(Condition[] conditions, EvaluationContext context) {
+    for (Condition condition : conditions) {
+      if (!condition.matches(context)) return false;
+    }
+    return true;
+  }
+
+  private static Condition compileCondition(TargetingCondition condition,
+                                            SegmentResolver segments)
+      throws InvalidTargetingRuleException {
+    Function<EvaluationContext, String> attribute = compileAttribute(condition.attribute());
+    List<String> values = condition.values();
+
+    switch (condition.operator()) {
+      case EQUALS -> {
+        String expected = singleValue(condition);
+        return context -> expected.equals(attribute.apply(context));
+      }
+      case IN -> {
+        Set<String> expected = Set.copyOf(values);
+        return context -> {
+          String actual = attribute.apply(context);
+          return actual != null && expected.contains(actual);
+        };
+      }
+      case NOT_IN -> {
+        Set<String> excluded = Set.copyOf(values);
+        return context -> {
+          String actual = attribute.apply(context);
+          return actual != null && !excluded.contains(actual);
+        };
+      }
+      case SEMVER_GTE -> {
+        long expected = parseVersion(condition);
+        return context -> {
+          String actual = attribute.apply(context);
+          return actual != null && SemanticVersion.parse(actual) >= expected;
+        };
+      }
+      case SEMVER_LT -> {
+        long expected = parseVersion(condition);
+        return context -> {
+          String actual = attribute.apply(context);
+          if (actual == null) return false;
+          long parsed = SemanticVersion.parse(actual);
+          return parsed >= 0 && parsed < expected;
+        };
+      }
+      case REGEX -> {
+        Pattern pattern = compilePattern(condition);
+        // A matcher is reused per thread, so matching does not allocate one on every evaluation.
+        ThreadLocal<Matcher> matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+        return context -> {
+          String actual = attribute.apply(context);
+          return actual != null && matchers.get().reset(actual).matches();
+        };
+      }
+      case IN_SEGMENT -> {
+        Predicate<String> segment = resolveSegment(condition, segments);
+        return context -> {
+          String actual = attribute.apply(context);
+          return actual != null && segment.test(actual);
+        };
+      }
+      case NOT_IN_SEGMENT -> {
+        Predicate<String> segment = resolveSegment(condition, segments);
+        return context -> {
+          String actual = attribute.apply(context);
+          return actual != null && !segment.test(actual);
+        };
+      }
+      default -> throw new InvalidTargetingRuleException(
+          "unsupported operator " + condition.operator());
+    }
+  }
+
+  private static Function<EvaluationContext, String> compileAttribute(String name) {
+    return switch (name) {
+      case "userId" -> EvaluationContext::userId;
+      case "country" -> EvaluationContext::country;
+      case "plan" -> EvaluationContext::plan;
+      case "version" -> EvaluationContext::version;
+      default -> context -> context.attributes().get(name);
+    };
+  }
+
+  private static String singleValue(TargetingCondition condition)
+      throws InvalidTargetingRuleException {
+    if (condition.values().size() != 1) {
+      throw new InvalidTargetingRuleException(
+          condition.operator() + " on " + condition.attribute() + " takes exactly one value");
+    }
+    return condition.values().get(0);
+  }
+
+  private static long parseVersion(TargetingCondition condition)
+      throws InvalidTargetingRuleException {
+    String value = singleValue(condition);
+    long version = SemanticVersion.parse(value);
+    if (version < 0) {
+      throw new InvalidTargetingRuleException("malformed semantic version " + value);
+    }
+    return version;
+  }
+
+  private static Pattern compilePattern(TargetingCondition condition)
+      throws InvalidTargetingRuleException {
+    String value = singleValue(condition);
+    try {
+      return Pattern.compile(value);
+    } catch (PatternSyntaxException e) {
+      throw new InvalidTargetingRuleException("malformed regular expression " + value);
+    }
+  }
+
+  private static Predicate<String> resolveSegment(TargetingCondition condition,
+                                                  SegmentResolver segments)
+      throws InvalidTargetingRuleException {
+    String key = singleValue(condition);
+    Predicate<String> segment = segments.resolve(key);
+    if (segment == null) {
+      throw new InvalidTargetingRuleException("unknown segment " + key);
+    }
+    return segment;
+  }
+
+  /**
+   * Represents a compiled targeting condition.
+   */
+  @FunctionalInterface
+  private interface Condition {
+    /**
+     * Check whether the condition matches an evaluation context.
+     *
+     * @param context the evaluation context
+     * @return {@code true} if the condition matches, {@code false} otherwise
+     */
+    boolean matches(EvaluationContext context);
+  }
+}
@@ -0,0 +1,28 @@
+package com.rishirajdhr.flagship.targeting;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Represents a targeting rule of a feature flag. A rule matches an evaluation context when all of
+ * its conditions match, and the first matching rule of a flag decides the flag's state.
+ *
+ * @param conditions the conditions that must all match
+ * @param enabled the flag state served to a matching context - {@code true} if enabled,
+ *     {@code false} otherwise
+ * @param variant the key of the flag variant served to a matching context, or {@code null} for
+ *     the flag's default or off variant
+ */
+public record TargetingRule(
+    @NotNull
+    @Size(min = 1, max = 100)
+    List<@NotNull @Valid TargetingCondition> conditions,
+
+    boolean enabled,
+
+    @Size(max = 255)
+    String variant
+) {}
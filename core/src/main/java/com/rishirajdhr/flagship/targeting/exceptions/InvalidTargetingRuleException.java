@@ -0,0 +1,16 @@
+package com.rishirajdhr.flagship.targeting.exceptions;
+
+/**
+ * Represents an exception when a targeting rule cannot be compiled, for example because one of its
+ * regular expressions or semantic versions is malformed.
+ */
+public class InvalidTargetingRuleException extends RuntimeException {
+  /**
+   * Create an exception when a targeting rule is invalid.
+   *
+   * @param message the description of the problem with the rule
+   */
+  public InvalidTargetingRuleException(String message) {
+    super("Invalid targeting rule: " + message);
+  }
+}
@@ -0,0 +1,23 @@
+package com.rishirajdhr.flagship.flag;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlagKeysTests {
+  @Test
+  void acceptsLowercaseKeysWithSeparators() {
+    assertThat(FlagKeys.isValid("new-ui")).isTrue();
+    assertThat(FlagKeys.isValid("beta_search2")).isTrue();
+  }
+
+  @Test
+  void rejectsMalformedKeys() {
+    assertThat(FlagKeys.isValid(null)).isFalse();
+    assertThat(FlagKeys.isValid("")).isFalse();
+    assertThat(FlagKeys.isValid("New-UI")).isFalse();
+    assertThat(FlagKeys.isValid("2fa")).isFalse();
+    assertThat(FlagKeys.isValid("new-")).isFalse();
+    assertThat(FlagKeys.isValid("new--ui")).isFalse();
+  }
+}
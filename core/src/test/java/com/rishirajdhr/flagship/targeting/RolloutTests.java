@@ -0,0 +1,59 @@
+package com.rishirajdhr.flagship.targeting;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RolloutTests {
+  private static final int USERS = 200_000;
+
+  @Test
+  void spreadsUsersUniformlyOverBuckets() {
+    Rollout rollout = Rollout.of("new-checkout", "c0ffee", 50);
+    int[] counts = new int[100];
+    for (int i = 0; i < USERS; i++) {
+      counts[rollout.bucket("user-" + i) / (Rollout.BUCKETS / 100)]++;
+    }
+
+    double expected = USERS / 100.0;
+    double chiSquare = 0;
+    for (int count : counts) {
+      chiSquare += (count - expected) * (count - expected) / expected;
+    }
+    // The critical value of the chi-square distribution with 99 degrees of freedom at p = 0.001.
+    assertThat(chiSquare).isLessThan(148.23);
+  }
+
+  @Test
+  void keepsIncludedUsersAsPercentageGrows() {
+    int includedAtFive = 0;
+    for (int i = 0; i < USERS; i++) {
+      String user = "user-" + i;
+      boolean atFive = Rollout.of("new-checkout", "c0ffee", 5).includes(user);
+      if (atFive) {
+        includedAtFive++;
+        assertThat(Rollout.of("new-checkout", "c0ffee", 25).includes(user)).isTrue();
+      }
+    }
+    assertThat(includedAtFive).isBetween(USERS * 45 / 1000, USERS * 55 / 1000);
+  }
+
+  @Test
+  void assignsUsersIndependentlyPerSalt() {
+    Rollout first = Rollout.of("new-checkout", "first", 50);
+    Rollout second = Rollout.of("new-checkout", "second", 50);
+    int inBoth = 0;
+    for (int i = 0; i < USERS; i++) {
+      String user = "user-" + i;
+      if (first.includes(user) && second.includes(user)) inBoth++;
+    }
+    assertThat(inBoth).isBetween(USERS * 24 / 100, USERS * 26 / 100);
+  }
+
+  @Test
+  void onlyFullRolloutIncludesAnonymousUsers() {
+    assertThat(Rollout.of("new-checkout", "c0ffee", 100).includes(null)).isTrue();
+    assertThat(Rollout.of("new-checkout", "c0ffee", 99).includes(null)).isFalse();
+    assertThat(Rollout.of("new-checkout", "c0ffee", 0).includes("user-1")).isFalse();
+  }
+}
@@ -0,0 +1,62 @@
+package com.rishirajdhr.flagship.targeting;
+
+import com.rishirajdhr.flagship.targeting.exceptions.InvalidTargetingRuleException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TargetingPlanTests {
+  private static final TargetingPlan PLAN = TargetingPlan.compile(List.of(
+      rule(new TargetingCondition("country", TargetingOperator.IN, List.of("US", "CA")),
+           new TargetingCondition("version", TargetingOperator.SEMVER_GTE, List.of("2.1.0"))),
+      rule(new TargetingCondition("userId", TargetingOperator.REGEX, List.of("qa-\\d+"))),
+      rule(new TargetingCondition("team", TargetingOperator.EQUALS, List.of("core")))));
+
+  @Test
+  void matchesFirstRuleWhoseConditionsAllMatch() {
+    assertThat(PLAN.match(context("qa-1", "US", "2.3.0", Map.of()))).isZero();
+    assertThat(PLAN.match(context("qa-1", "US", "2.0.9", Map.of()))).isEqualTo(1);
+    assertThat(PLAN.match(context(null, null, null, Map.of("team", "core")))).isEqualTo(2);
+  }
+
+  @Test
+  void missingAttributesNeverMatch() {
+    assertThat(PLAN.match(EvaluationContext.EMPTY)).isEqualTo(-1);
+    assertThat(PLAN.match(context("qa-x", "FR", "not-a-version", Map.of()))).isEqualTo(-1);
+  }
+
+  @Test
+  void ordersSemanticVersionsNumerically() {
+    assertThat(SemanticVersion.parse("1.10.0")).isGreaterThan(SemanticVersion.parse("1.9.9"));
+    assertThat(SemanticVersion.parse("v2")).isEqualTo(SemanticVersion.parse("2.0.0"));
+    assertThat(SemanticVersion.parse("2.0.0-rc.1")).isLessThan(SemanticVersion.parse("2.0.0"));
+    assertThat(SemanticVersion.parse("2.0.0+build.5")).isEqualTo(SemanticVersion.parse("2.0.0"));
+    assertThat(SemanticVersion.parse("1.2.3.4")).isNegative();
+    assertThat(SemanticVersion.parse("\u0661.\u0662.3")).isNegative();
+    assertThat(SemanticVersion.parse("\uff12.0.0")).isNegative();
+  }
+
+  @Test
+  void rejectsMalformedRules() {
+    assertThatThrownBy(() -> TargetingPlan.compile(List.of(
+        rule(new TargetingCondition("userId", TargetingOperator.REGEX, List.of("("))))))
+        .isInstanceOf(InvalidTargetingRuleException.class);
+    assertThatThrownBy(() -> TargetingPlan.compile(List.of(
+        rule(new TargetingCondition("version", TargetingOperator.SEMVER_LT, List.of("x.1"))))))
+        .isInstanceOf(InvalidTargetingRuleException.class);
+  }
+
+  private static TargetingRule rule(TargetingCondition... conditions) {
+    return new TargetingRule(List.of(conditions), true, null);
+  }
+
+  private static EvaluationContext context(String userId, String country, String version,
+                                           Map<String, String> attributes) {
+    return new EvaluationContext(userId, country, null, version, attributes);
+  }
+}
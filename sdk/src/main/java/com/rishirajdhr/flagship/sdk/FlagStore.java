@@ -0,0 +1,71 @@
+package com.rishirajdhr.flagship.sdk;
+
+import com.rishirajdhr.flagship.flag.FlagState;
+import com.rishirajdhr.flagship.flag.FlagTargeting;
+
+import java.util.Map;
+
+/**
+ * Holds the latest snapshot of a project's flag states and compiled flags in memory. The snapshot
+ * is immutable and replaced as a whole through a single volatile reference, so reads never lock
+ * and always see the flags of one consistent version.
+ */
+final class FlagStore {
+  /**
+   * Represents an immutable snapshot of a project's flags.
+   *
+   * @param version the version of the project's flags, or {@code -1} before the first fetch
+   * @param eTag the entity tag the server sent with the snapshot, or {@code null}
+   * @param states the flag states for a context without any attributes, keyed by flag key
+   * @param targetings the flags that can be evaluated locally, compiled and keyed by flag key
+   */
+  record Snapshot(long version, String eTag, Map<String, FlagState> states,
+                  Map<String, FlagTargeting> targetings) {
+    static final Snapshot EMPTY = new Snapshot(-1, null, Map.of(), Map.of());
+  }
+
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+  /**
+   * Get the current snapshot.
+   *
+   * @return the current snapshot
+   */
+  Snapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Get the state of a flag in the current snapshot.
+   *
+   * @param key the key of the flag
+   * @return the flag state, or {@code null} if the flag is unknown
+   */
+  FlagState getState(String key) {
+    return snapshot.states().get(key);
+  }
+
+  /**
+   * Get a compiled flag in the current snapshot.
+   *
+   * @param key the key of the flag
+   * @return the compiled flag, or {@code null} if the flag is unknown or cannot be evaluated
+   *     locally
+   */
+  FlagTargeting getTargeting(String key) {
+    return snapshot.targetings().get(key);
+  }
+
+  /**
+   * Replace the current snapshot.
+   *
+   * @param version the version of the project's flags
+   * @param eTag the entity tag the server sent with the snapshot, or {@code null}
+   * @param states the flag states for a context without any attributes, keyed by flag key
+   * @param targetings the flags that can be evaluated locally, compiled and keyed by flag key
+   */
+  void replace(long version, String eTag, Map<String, FlagState> states,
+               Map<String, FlagTargeting> targetings) {
+    snapshot = new Snapshot(version, eTag, Map.copyOf(states), Map.copyOf(targetings));
+  }
+}
@@ -0,0 +1,336 @@
+package com.rishirajdhr.flagship.sdk;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rishirajdhr.flagship.flag.FlagState;
+import com.rishirajdhr.flagship.flag.FlagTargeting;
+import com.rishirajdhr.flagship.flag.dto.FlagDefinition;
+import com.rishirajdhr.flagship.flag.dto.FlagSnapshotMessage;
+import com.rishirajdhr.flagship.targeting.EvaluationContext;
+import com.rishirajdhr.flagship.targeting.SegmentResolver;
+import com.rishirajdhr.flagship.targeting.exceptions.InvalidTargetingRuleException;
+
+import java.io.IOException;
+import java.lang.System.Logger.Level;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates the feature flags of a Flagship project locally.
+ *
+ * <p>The client fetches the definition of every flag of the project once, keeps it in memory, and
+ * refreshes it in the background by polling the server with the {@code ETag} of its copy, so an
+ * unchanged project costs a {@code 304 Not Modified} and no body. Flag checks evaluate the
+ * in-memory copy without locking or I/O, with the same targeting rules, percentage rollouts and
+ * variants as the server. If a refresh fails, the client keeps serving its last copy.
+ *
+ * <p>Flags whose rules target segments cannot be evaluated for a context locally, because the
+ * members of segments are not sent to clients. Such flags are treated as unknown by the methods
+ * that take an {@link EvaluationContext}, and a warning is logged when they are fetched.
+ *
+ * <pre>{@code
+ * try (FlagshipClient flags = FlagshipClient.builder(baseUri, projectId, sdkKey).build()) {
+ *   EvaluationContext user = new EvaluationContext("user-1", "CA", "pro", "2.1.0", Map.of());
+ *   if (flags.isEnabled("new-checkout", user)) { ... }
+ * }
+ * }</pre>
+ */
+public final class FlagshipClient implements AutoCloseable {
+  /** The header that carries the SDK key. */
+  static final String SDK_KEY_HEADER = "X-Flagship-SDK-Key";
+
+  private static final System.Logger LOGGER = System.getLogger(FlagshipClient.class.getName());
+
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+  private final URI statesUri;
+  private final String sdkKey;
+  private final Duration requestTimeout;
+  private final FlagStore store = new FlagStore();
+  private final ScheduledExecutorService scheduler;
+
+  private FlagshipClient(Builder builder) {
+    this.httpClient = builder.httpClient != null
+        ? builder.httpClient
+        : HttpClient.newBuilder().connectTimeout(builder.requestTimeout).build();
+    this.objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    this.statesUri = withTrailingSlash(builder.baseUri).resolve(
+        "api/projects/" + builder.projectId + "/flags/states");
+    this.sdkKey = builder.sdkKey;
+    this.requestTimeout = builder.requestTimeout;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "flagship-refresh");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Create a builder for a client of a project.
+   *
+   * @param baseUri the base URI of the Flagship server, including any path the server is mounted
+   *     at, for example {@code https://example.com/flagship/}
+   * @param projectId the ID of the project
+   * @param sdkKey the SDK key of the project
+   * @return the builder
+   */
+  public static Builder builder(URI baseUri, long projectId, String sdkKey) {
+    return new Builder(baseUri, projectId, sdkKey);
+  }
+
+  /**
+   * Check whether a flag is enabled for a context without any attributes, which no targeting rule
+   * matches and which is only included in a full rollout. Unknown flags are disabled.
+   *
+   * @param key the key of the flag
+   * @return {@code true} if the flag is enabled, {@code false} otherwise
+   */
+  public boolean isEnabled(String key) {
+    return isEnabled(key, false);
+  }
+
+  /**
+   * Check whether a flag is enabled for a context without any attributes.
+   *
+   * @param key the key of the flag
+   * @param defaultValue the value to return if the flag is unknown, for example before the first
+   *     successful fetch
+   * @return {@code true} if the flag is enabled, {@code false} if it is disabled, or the default
+   *     value if it is unknown
+   */
+  public boolean isEnabled(String key, boolean defaultValue) {
+    FlagState state = store.getState(key);
+    return state == null ? defaultValue : state.enabled();
+  }
+
+  /**
+   * Get the state of a flag for a context without any attributes, including its variant if it has
+   * any.
+   *
+   * @param key the key of the flag
+   * @return an {@link Optional} containing the flag state if the flag is known
+   */
+  public Optional<FlagState> getState(String key) {
+    return Optional.ofNullable(store.getState(key));
+  }
+
+  /**
+   * Check whether a flag is enabled for a context. Unknown flags, and flags that cannot be
+   * evaluated locally, are disabled.
+   *
+   * @param key the key of the flag
+   * @param context the attributes of the user or client the flag is evaluated for
+   * @return {@code true} if the flag is enabled, {@code false} otherwise
+   */
+  public boolean isEnabled(String key, EvaluationContext context) {
+    return isEnabled(key, context, false);
+  }
+
+  /**
+   * Check whether a flag is enabled for a context.
+   *
+   * @param key the key of the flag
+   * @param context the attributes of the user or client the flag is evaluated for
+   * @param defaultValue the value to return if the flag is unknown or cannot be evaluated locally
+   * @return {@code true} if the flag is enabled, {@code false} if it is disabled, or the default
+   *     value if it is unknown or cannot be evaluated locally
+   */
+  public boolean isEnabled(String key, EvaluationContext context, boolean defaultValue) {
+    FlagTargeting targeting = store.getTargeting(key);
+    return targeting == null ? defaultValue : targeting.evaluate(context).enabled();
+  }
+
+  /**
+   * Get the state of a flag for a context, including the variant served to the context if the flag
+   * has any.
+   *
+   * @param key the key of the flag
+   * @param context the attributes of the user or client the flag is evaluated for
+   * @return an {@link Optional} containing the flag state if the flag is known and can be
+   *     evaluated locally
+   */
+  public Optional<FlagState> getState(String key, EvaluationContext context) {
+    FlagTargeting targeting = store.getTargeting(key);
+    return targeting == null ? Optional.empty() : Optional.of(targeting.evaluate(context));
+  }
+
+  /**
+   * Get the version of the project's flags the client is at.
+   *
+   * @return the flags version, or {@code -1} if no snapshot has been fetched yet
+   */
+  public long getVersion() {
+    return store.getSnapshot().version();
+  }
+
+  /**
+   * Fetch the project's flag states now, unless the client's copy is current.
+   *
+   * @return {@code true} if new states were fetched, {@code false} if the copy was current
+   * @throws IOException if the request fails or the server answers with an error
+   * @throws InterruptedException if the thread is interrupted while waiting for the response
+   */
+  public boolean refresh() throws IOException, InterruptedException {
+    FlagStore.Snapshot current = store.getSnapshot();
+    HttpRequest.Builder request = HttpRequest.newBuilder(statesUri)
+        .timeout(requestTimeout)
+        .header("Accept", "application/json")
+        .header(SDK_KEY_HEADER, sdkKey)
+        .GET();
+    if (current.eTag() != null) {
+      request.header("If-None-Match", current.eTag());
+    }
+
+    HttpResponse<byte[]> response =
+        httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    if (response.statusCode() == 304) return false;
+    if (response.statusCode() != 200) {
+      throw new IOException("Flagship server answered with status " + response.statusCode());
+    }
+
+    FlagSnapshotMessage message =
+        objectMapper.readValue(response.body(), FlagSnapshotMessage.class);
+    store.replace(message.version(),
+                  response.headers().firstValue("ETag").orElse(null),
+                  message.flags(),
+                  compile(message.definitions()));
+    return true;
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Start refreshing the flag states in the background.
+   *
+   * @param pollInterval the interval between two refreshes
+   */
+  private void start(Duration pollInterval) {
+    scheduler.scheduleWithFixedDelay(this::refreshQuietly, pollInterval.toMillis(),
+                                     pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Refresh the flag states, logging a failure instead of throwing it, so the client keeps its
+   * last copy and tries again on the next poll.
+   */
+  private void refreshQuietly() {
+    try {
+      refresh();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException | RuntimeException e) {
+      LOGGER.log(Level.WARNING, "Could not refresh flag states from " + statesUri, e);
+    }
+  }
+
+  /**
+   * Compile the definitions of the flags. A flag that cannot be compiled, because its rules target
+   * segments, is left out and logged.
+   *
+   * @param definitions the flag definitions, keyed by flag key
+   * @return the compiled flags, keyed by flag key
+   */
+  private static Map<String, FlagTargeting> compile(Map<String, FlagDefinition> definitions) {
+    Map<String, FlagTargeting> targetings = new HashMap<>();
+    definitions.forEach((key, definition) -> {
+      try {
+        targetings.put(key, FlagTargeting.compile(key, definition, SegmentResolver.NONE));
+      } catch (InvalidTargetingRuleException | IllegalArgumentException e) {
+        LOGGER.log(Level.WARNING, "Flag " + key + " cannot be evaluated locally: "
+                                  + e.getMessage());
+      }
+    });
+    return targetings;
+  }
+
+  /**
+   * Make sure a base URI ends with a slash, so relative paths are resolved below its path instead
+   * of replacing its last segment.
+   *
+   * @param baseUri the base URI of the Flagship server
+   * @return the base URI, ending with a slash
+   */
+  private static URI withTrailingSlash(URI baseUri) {
+    String uri = baseUri.toString();
+    return uri.endsWith("/") ? baseUri : URI.create(uri + "/");
+  }
+
+  /**
+   * Builds a {@link FlagshipClient}.
+   */
+  public static final class Builder {
+    private final URI baseUri;
+    private final long projectId;
+    private final String sdkKey;
+    private Duration pollInterval = Duration.ofSeconds(30);
+    private Duration requestTimeout = Duration.ofSeconds(10);
+    private HttpClient httpClient;
+
+    private Builder(URI baseUri, long projectId, String sdkKey) {
+      this.baseUri = Objects.requireNonNull(baseUri, "baseUri");
+      this.projectId = projectId;
+      this.sdkKey = Objects.requireNonNull(sdkKey, "sdkKey");
+    }
+
+    /**
+     * Set the interval between two background refreshes. Defaults to 30 seconds.
+     *
+     * @param pollInterval the poll interval
+     * @return this builder
+     */
+    public Builder pollInterval(Duration pollInterval) {
+      this.pollInterval = Objects.requireNonNull(pollInterval, "pollInterval");
+      return this;
+    }
+
+    /**
+     * Set the timeout of a request to the server. Defaults to 10 seconds.
+     *
+     * @param requestTimeout the request timeout
+     * @return this builder
+     */
+    public Builder requestTimeout(Duration requestTimeout) {
+      this.requestTimeout = Objects.requireNonNull(requestTimeout, "requestTimeout");
+      return this;
+    }
+
+    /**
+     * Set the HTTP client used to reach the server. Defaults to a new client.
+     *
+     * @param httpClient the HTTP client
+     * @return this builder
+     */
+    public Builder httpClient(HttpClient httpClient) {
+      this.httpClient = Objects.requireNonNull(httpClient, "httpClient");
+      return this;
+    }
+
+    /**
+     * Build the client, fetch the flag states once, and start refreshing them in the background.
+     * If the first fetch fails, the client starts without any flags and keeps trying on every
+     * poll.
+     *
+     * @return the started client
+     */
+    public FlagshipClient build() {
+      FlagshipClient client = new FlagshipClient(this);
+      client.refreshQuietly();
+      client.start(pollInterval);
+      return client;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.rishirajdhr.flagship.sdk;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves the flag states and definitions of a single project in-process, the way the Flagship
+ * server does, so the SDK can be tested without running the server.
+ */
+class FakeFlagshipServer implements AutoCloseable {
+  static final long PROJECT_ID = 7;
+  static final String SDK_KEY = "fs_sdk_test";
+
+  private final HttpServer server;
+  private final String basePath;
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger notModified = new AtomicInteger();
+  private volatile long version;
+  private volatile String states = "{}";
+  private volatile String definitions = "{}";
+  private volatile int failureStatus;
+
+  FakeFlagshipServer() throws IOException {
+    this("");
+  }
+
+  /**
+   * Start a server that is mounted below a path, the way a server behind a reverse proxy is.
+   *
+   * @param basePath the path the server is mounted at, without a trailing slash
+   */
+  FakeFlagshipServer(String basePath) throws IOException {
+    this.basePath = basePath;
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(basePath + "/api/projects/" + PROJECT_ID + "/flags/states", this::handle);
+    server.start();
+  }
+
+  URI getBaseUri() {
+    return URI.create("http://localhost:" + server.getAddress().getPort() + basePath);
+  }
+
+  /**
+   * Publish a new version of the project's flag states.
+   *
+   * @param version the version of the project's flags
+   * @param states the JSON object of flag states, keyed by flag key
+   */
+  void publish(long version, String states) {
+    publish(version, states, "{}");
+  }
+
+  /**
+   * Publish a new version of the project's flag states and definitions.
+   *
+   * @param version the version of the project's flags
+   * @param states the JSON object of flag states, keyed by flag key
+   * @param definitions the JSON object of flag definitions, keyed by flag key
+   */
+  void publish(long version, String states, String definitions) {
+    this.states = states;
+    this.definitions = definitions;
+    this.version = version;
+  }
+
+  /**
+   * Answer every request with an error status, or with the states again if the status is 0.
+   *
+   * @param status the error status
+   */
+  void failWith(int status) {
+    this.failureStatus = status;
+  }
+
+  int getRequestCount() {
+    return requests.get();
+  }
+
+  int getNotModifiedCount() {
+    return notModified.get();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    String eTag = "\"" + PROJECT_ID + "-" + version + "\"";
+    if (!SDK_KEY.equals(exchange.getRequestHeaders().getFirst("X-Flagship-SDK-Key"))) {
+      respond(exchange, 401, null);
+    } else if (failureStatus != 0) {
+      respond(exchange, failureStatus, null);
+    } else if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+      notModified.incrementAndGet();
+      exchange.getResponseHeaders().set("ETag", eTag);
+      exchange.sendResponseHeaders(304, -1);
+      exchange.close();
+    } else {
+      exchange.getResponseHeaders().set("ETag", eTag);
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      respond(exchange, 200, "{\"version\":" + version + ",\"flags\":" + states
+                             + ",\"definitions\":" + definitions + "}");
+    }
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
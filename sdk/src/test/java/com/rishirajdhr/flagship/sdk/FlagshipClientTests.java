@@ -0,0 +1,175 @@
+package com.rishirajdhr.flagship.sdk;
+
+import com.rishirajdhr.flagship.targeting.EvaluationContext;
+import com.rishirajdhr.flagship.targeting.Rollout;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlagshipClientTests {
+  private static final String STATES = """
+      {"new-ui":{"flag":"New UI","enabled":true},
+       "dark-mode":{"flag":"Dark Mode","enabled":false},
+       "checkout":{"flag":"Checkout","enabled":true,"variant":"large","value":{"size":50}}}""";
+
+  private FakeFlagshipServer server;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new FakeFlagshipServer();
+    server.publish(3, STATES);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.close();
+  }
+
+  @Test
+  void evaluatesFlagsFromFetchedStates() {
+    try (FlagshipClient client = client(Duration.ofHours(1), FakeFlagshipServer.SDK_KEY)) {
+      assertThat(client.getVersion()).isEqualTo(3);
+      assertThat(client.isEnabled("new-ui")).isTrue();
+      assertThat(client.isEnabled("dark-mode", true)).isFalse();
+      assertThat(client.isEnabled("missing")).isFalse();
+      assertThat(client.isEnabled("missing", true)).isTrue();
+      assertThat(client.getState("checkout")).hasValueSatisfying(state -> {
+        assertThat(state.variant()).isEqualTo("large");
+        assertThat(state.value().get("size").asInt()).isEqualTo(50);
+      });
+    }
+  }
+
+  @Test
+  void evaluatesFlagsForContextLocally() throws Exception {
+    server.publish(6, """
+        {"checkout":{"flag":"Checkout","enabled":false,"variant":"small","value":{"size":10}}}""",
+                   """
+        {"checkout":{
+          "enabled":true,
+          "rules":[{"conditions":[{"attribute":"country","operator":"IN","values":["CA"]}],
+                    "enabled":true,"variant":"large"}],
+          "rolloutPercentage":50,
+          "rolloutSalt":"salt",
+          "onState":{"flag":"Checkout","enabled":true,"variant":"medium","value":{"size":30}},
+          "offState":{"flag":"Checkout","enabled":false,"variant":"small","value":{"size":10}},
+          "ruleStates":[{"flag":"Checkout","enabled":true,"variant":"large",
+                         "value":{"size":50}}]}}""");
+    Rollout rollout = Rollout.of("checkout", "salt", 50);
+
+    try (FlagshipClient client = client(Duration.ofHours(1), FakeFlagshipServer.SDK_KEY)) {
+      EvaluationContext canadian = new EvaluationContext("user-1", "CA", null, null, Map.of());
+      assertThat(client.isEnabled("checkout", canadian)).isTrue();
+      assertThat(client.getState("checkout", canadian))
+          .hasValueSatisfying(state -> assertThat(state.variant()).isEqualTo("large"));
+
+      for (int i = 0; i < 100; i++) {
+        String userId = "user-" + i;
+        EvaluationContext context = new EvaluationContext(userId, "US", null, null, Map.of());
+        assertThat(client.isEnabled("checkout", context)).isEqualTo(rollout.includes(userId));
+      }
+      assertThat(client.isEnabled("checkout", EvaluationContext.EMPTY))
+          .isEqualTo(client.isEnabled("checkout"));
+      assertThat(client.isEnabled("missing", canadian, true)).isTrue();
+    }
+  }
+
+  @Test
+  void flagsTargetingSegmentsAreNotEvaluatedLocally() {
+    server.publish(6, "{\"beta\":{\"flag\":\"Beta\",\"enabled\":false}}", """
+        {"beta":{
+          "enabled":true,
+          "rules":[{"conditions":[{"attribute":"userId","operator":"IN_SEGMENT",
+                                   "values":["testers"]}],"enabled":true}],
+          "rolloutPercentage":0,
+          "rolloutSalt":"salt",
+          "onState":{"flag":"Beta","enabled":true},
+          "offState":{"flag":"Beta","enabled":false},
+          "ruleStates":[{"flag":"Beta","enabled":true}]}}""");
+
+    try (FlagshipClient client = client(Duration.ofHours(1), FakeFlagshipServer.SDK_KEY)) {
+      EvaluationContext tester = new EvaluationContext("user-1", null, null, null, Map.of());
+      assertThat(client.getState("beta", tester)).isEmpty();
+      assertThat(client.isEnabled("beta", tester, true)).isTrue();
+      assertThat(client.getState("beta")).isPresent();
+    }
+  }
+
+  @Test
+  void refreshSkipsUnchangedStatesWithETag() throws Exception {
+    try (FlagshipClient client = client(Duration.ofHours(1), FakeFlagshipServer.SDK_KEY)) {
+      assertThat(client.refresh()).isFalse();
+      assertThat(server.getNotModifiedCount()).isEqualTo(1);
+
+      server.publish(4, "{\"new-ui\":{\"flag\":\"New UI\",\"enabled\":false}}");
+      assertThat(client.refresh()).isTrue();
+      assertThat(client.getVersion()).isEqualTo(4);
+      assertThat(client.isEnabled("new-ui")).isFalse();
+      assertThat(client.getState("dark-mode")).isEmpty();
+    }
+  }
+
+  @Test
+  void refreshesInTheBackground() throws Exception {
+    try (FlagshipClient client = client(Duration.ofMillis(20), FakeFlagshipServer.SDK_KEY)) {
+      server.publish(5, "{\"dark-mode\":{\"flag\":\"Dark Mode\",\"enabled\":true}}");
+
+      long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+      while (client.getVersion() != 5 && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(client.isEnabled("dark-mode")).isTrue();
+    }
+  }
+
+  @Test
+  void keepsLastStatesWhenServerFails() throws Exception {
+    try (FlagshipClient client = client(Duration.ofHours(1), FakeFlagshipServer.SDK_KEY)) {
+      server.failWith(503);
+
+      assertThatThrownBy(client::refresh).isInstanceOf(IOException.class);
+      assertThat(client.isEnabled("new-ui")).isTrue();
+    }
+  }
+
+  @Test
+  void startsWithoutFlagsWhenKeyIsRejected() {
+    try (FlagshipClient client = client(Duration.ofHours(1), "fs_sdk_wrong")) {
+      assertThat(client.getVersion()).isEqualTo(-1);
+      assertThat(client.isEnabled("new-ui")).isFalse();
+    }
+  }
+
+  @Test
+  void fetchesStatesBelowBasePath() throws IOException {
+    try (FakeFlagshipServer mounted = new FakeFlagshipServer("/flagship")) {
+      mounted.publish(2, STATES);
+
+      for (String baseUri : List.of(mounted.getBaseUri().toString(),
+                                    mounted.getBaseUri() + "/")) {
+        try (FlagshipClient client = FlagshipClient.builder(
+                URI.create(baseUri), FakeFlagshipServer.PROJECT_ID, FakeFlagshipServer.SDK_KEY)
+            .pollInterval(Duration.ofHours(1))
+            .build()) {
+          assertThat(client.getVersion()).isEqualTo(2);
+        }
+      }
+    }
+  }
+
+  private FlagshipClient client(Duration pollInterval, String sdkKey) {
+    return FlagshipClient.builder(server.getBaseUri(), FakeFlagshipServer.PROJECT_ID, sdkKey)
+        .pollInterval(pollInterval)
+        .build();
+  }
+}
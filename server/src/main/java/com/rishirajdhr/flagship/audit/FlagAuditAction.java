@@ -0,0 +1,15 @@
+package com.rishirajdhr.flagship.audit;
+
+/**
+ * Represents the kind of change recorded by a {@link FlagAuditEntry}.
+ */
+public enum FlagAuditAction {
+  /** The flag was created. */
+  CREATED,
+
+  /** The flag was updated. */
+  UPDATED,
+
+  /** The flag was deleted. */
+  DELETED
+}
@@ -0,0 +1,69 @@
+package com.rishirajdhr.flagship.audit;
+
+import com.rishirajdhr.flagship.audit.dto.FlagAuditEntryResponse;
+import com.rishirajdhr.flagship.auth.AppUserProvider;
+import com.rishirajdhr.flagship.auth.exceptions.UnauthenticatedException;
+import com.rishirajdhr.flagship.auth.exceptions.UnauthorizedException;
+import com.rishirajdhr.flagship.pagination.PageResponse;
+import com.rishirajdhr.flagship.pagination.Pagination;
+import com.rishirajdhr.flagship.project.ProjectService;
+import com.rishirajdhr.flagship.project.exceptions.ProjectNotFoundException;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Exposes REST endpoints to read the audit log of a project's feature flags.
+ */
+@RestController
+@RequestMapping("/api/projects/{projectId}/audit")
+public class FlagAuditController {
+  private final FlagAuditService flagAuditService;
+  private final ProjectService projectService;
+  private final AppUserProvider appUserProvider;
+
+  /**
+   * Create a new flag audit controller.
+   *
+   * @param flagAuditService the flag audit business logic service
+   * @param projectService the project business logic service
+   * @param appUserProvider the provider that supplies information about the logged-in user
+   */
+  public FlagAuditController(FlagAuditService flagAuditService, ProjectService projectService,
+                             AppUserProvider appUserProvider) {
+    this.flagAuditService = flagAuditService;
+    this.projectService = projectService;
+    this.appUserProvider = appUserProvider;
+  }
+
+  /**
+   * Get a page of the flag change history of a project, newest first. Entries written in the last
+   * moments may not be listed yet, since the log is written in the background.
+   *
+   * @param projectId the ID of the project
+   * @param flagKey the key of the flag to get the history of, or {@code null} for every flag
+   * @param cursor the cursor of the page from the previous response, or {@code null} for the first
+   *     page
+   * @param limit the maximum number of entries on the page
+   * @return the page of audit entries
+   * @throws ProjectNotFoundException if no project is found with the given ID
+   * @throws UnauthenticatedException if there is no authenticated user
+   * @throws UnauthorizedException if the authenticated user is not authorized to access the project
+   */
+  @GetMapping
+  public PageResponse<FlagAuditEntryResponse> getProjectHistory(
+      @PathVariable Long projectId,
+      @RequestParam(required = false) String flagKey,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "" + Pagination.DEFAULT_LIMIT) int limit)
+      throws ProjectNotFoundException, UnauthenticatedException, UnauthorizedException {
+    Long userId = appUserProvider.getLoggedInUserId();
+    if (userId == null) throw new UnauthenticatedException();
+
+    projectService.getAuthorizedProject(projectId, userId);
+    return flagAuditService.getProjectHistory(projectId, flagKey, cursor, limit);
+  }
+}
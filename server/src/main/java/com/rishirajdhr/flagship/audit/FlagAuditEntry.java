@@ -0,0 +1,157 @@
+package com.rishirajdhr.flagship.audit;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Represents one change to a feature flag in the append-only audit log: who made it, when, and
+ * the flag's values before and after it. Entries are inserted in batches by {@link FlagAuditLog}
+ * and never updated, so they outlive the flags they describe.
+ */
+@Entity
+@Immutable
+@Table(indexes = {
+    @Index(columnList = "project_id, id"),
+    @Index(columnList = "project_id, flag_key, id")
+})
+public class FlagAuditEntry {
+
+  @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long projectId;
+
+  @Column(nullable = false)
+  private Long flagId;
+
+  @Column(nullable = false)
+  private String flagKey;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private FlagAuditAction action;
+
+  private Long actorId;
+
+  private String actor;
+
+  @Column(nullable = false)
+  private Instant occurredAt;
+
+  @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+  private String beforeState;
+
+  @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+  private String afterState;
+
+  /**
+   * No-arg constructor used by JPA to instantiate a {@link FlagAuditEntry} object.
+   */
+  protected FlagAuditEntry() {}
+
+  /**
+   * Get the ID of the entry, which increases with the order in which entries are written.
+   *
+   * @return the entry ID
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * Get the ID of the changed flag's project.
+   *
+   * @return the project ID
+   */
+  public Long getProjectId() {
+    return projectId;
+  }
+
+  /**
+   * Get the ID of the changed flag.
+   *
+   * @return the flag ID
+   */
+  public Long getFlagId() {
+    return flagId;
+  }
+
+  /**
+   * Get the key of the changed flag.
+   *
+   * @return the flag key
+   */
+  public String getFlagKey() {
+    return flagKey;
+  }
+
+  /**
+   * Get the kind of change.
+   *
+   * @return the audit action
+   */
+  public FlagAuditAction getAction() {
+    return action;
+  }
+
+  /**
+   * Get the ID of the user who made the change.
+   *
+   * @return the user ID, or {@code null} if the change was not made by a user
+   */
+  public Long getActorId() {
+    return actorId;
+  }
+
+  /**
+   * Get the username of the user who made the change.
+   *
+   * @return the username, or {@code null} if the change was not made by a user
+   */
+  public String getActor() {
+    return actor;
+  }
+
+  /**
+   * Get the time of the change.
+   *
+   * @return the time of the change
+   */
+  public Instant getOccurredAt() {
+    return occurredAt;
+  }
+
+  /**
+   * Get the flag's values before the change, as JSON.
+   *
+   * @return the JSON of the {@link FlagAuditState} before the change, or {@code null} if the flag
+   *     was created
+   */
+  public String getBeforeState() {
+    return beforeState;
+  }
+
+  /**
+   * Get the flag's values after the change, as JSON.
+   *
+   * @return the JSON of the {@link FlagAuditState} after the change, or {@code null} if the flag
+   *     was deleted
+   */
+  public String getAfterState() {
+    return afterState;
+  }
+}
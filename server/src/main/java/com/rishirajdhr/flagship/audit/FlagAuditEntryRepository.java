@@ -0,0 +1,56 @@
+package com.rishirajdhr.flagship.audit;
+
+import com.rishirajdhr.flagship.audit.dto.FlagAuditEntryResponse;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+/**
+ * Represents a repository to read {@link FlagAuditEntry} entities. Entries are written by
+ * {@link FlagAuditLog} with batched JDBC inserts, not through this repository.
+ */
+public interface FlagAuditEntryRepository extends JpaRepository<FlagAuditEntry, Long> {
+  /**
+   * Get a page of the audit entries of a project, newest first. The page starts before a given
+   * entry, so it is read from the {@code (project_id, id)} index at the same cost no matter how
+   * deep it is.
+   *
+   * @param projectId the ID of the project
+   * @param beforeId the exclusive upper bound of the entry IDs
+   * @param limit the maximum number of entries to return
+   * @return a list of the entry responses, newest first
+   */
+  @Query("""
+      select new com.rishirajdhr.flagship.audit.dto.FlagAuditEntryResponse(
+          e.id, e.flagId, e.flagKey, e.action, e.actorId, e.actor, e.occurredAt, e.beforeState,
+          e.afterState)
+      from FlagAuditEntry e
+      where e.projectId = :projectId and e.id < :beforeId
+      order by e.id desc
+      """)
+  List<FlagAuditEntryResponse> findPageByProjectId(Long projectId, Long beforeId, Limit limit);
+
+  /**
+   * Get a page of the audit entries of one flag key in a project, newest first. The entries of
+   * every flag that had the key are included, even if it was deleted and created again.
+   *
+   * @param projectId the ID of the project
+   * @param flagKey the key of the flag
+   * @param beforeId the exclusive upper bound of the entry IDs
+   * @param limit the maximum number of entries to return
+   * @return a list of the entry responses, newest first
+   */
+  @Query("""
+      select new com.rishirajdhr.flagship.audit.dto.FlagAuditEntryResponse(
+          e.id, e.flagId, e.flagKey, e.action, e.actorId, e.actor, e.occurredAt, e.beforeState,
+          e.afterState)
+      from FlagAuditEntry e
+      where e.projectId = :projectId and e.flagKey = :flagKey and e.id < :beforeId
+      order by e.id desc
+      """)
+  List<FlagAuditEntryResponse> findPageByProjectIdAndFlagKey(Long projectId, String flagKey,
+                                                             Long beforeId, Limit limit);
+}
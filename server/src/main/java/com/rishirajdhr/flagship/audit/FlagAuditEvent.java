@@ -0,0 +1,75 @@
+package com.rishirajdhr.flagship.audit;
+
+import com.rishirajdhr.flagship.flag.Flag;
+
+import java.time.Instant;
+
+/**
+ * Represents a change to a feature flag that is recorded in the audit log once the transaction
+ * that made it commits.
+ *
+ * @param projectId the ID of the flag's project
+ * @param flagId the ID of the flag
+ * @param flagKey the key of the flag
+ * @param action the kind of change
+ * @param before the flag's values before the change, or {@code null} if it was created
+ * @param after the flag's values after the change, or {@code null} if it was deleted
+ * @param occurredAt the time of the change
+ */
+public record FlagAuditEvent(
+    Long projectId,
+    Long flagId,
+    String flagKey,
+    FlagAuditAction action,
+    FlagAuditState before,
+    FlagAuditState after,
+    Instant occurredAt) {
+  /**
+   * Create the event for a created flag.
+   *
+   * @param flag the created flag
+   * @return the audit event
+   */
+  public static FlagAuditEvent created(Flag flag) {
+    return of(flag, FlagAuditAction.CREATED, null, FlagAuditState.of(flag));
+  }
+
+  /**
+   * Create the event for an updated flag.
+   *
+   * @param before the flag's values before the update
+   * @param flag the updated flag
+   * @return the audit event
+   */
+  public static FlagAuditEvent updated(FlagAuditState before, Flag flag) {
+    return updated(before, FlagAuditState.of(flag), flag);
+  }
+
+  /**
+   * Create the event for a flag updated without changing its entity, such as by a bulk update.
+   *
+   * @param before the flag's values before the update
+   * @param after the flag's values after the update
+   * @param flag the flag as it was loaded before the update
+   * @return the audit event
+   */
+  public static FlagAuditEvent updated(FlagAuditState before, FlagAuditState after, Flag flag) {
+    return of(flag, FlagAuditAction.UPDATED, before, after);
+  }
+
+  /**
+   * Create the event for a deleted flag.
+   *
+   * @param flag the deleted flag
+   * @return the audit event
+   */
+  public static FlagAuditEvent deleted(Flag flag) {
+    return of(flag, FlagAuditAction.DELETED, FlagAuditState.of(flag), null);
+  }
+
+  private static FlagAuditEvent of(Flag flag, FlagAuditAction action, FlagAuditState before,
+                                   FlagAuditState after) {
+    return new FlagAuditEvent(flag.getProject().getId(), flag.getId(), flag.getKey(), action,
+                              before, after, Instant.now());
+  }
+}
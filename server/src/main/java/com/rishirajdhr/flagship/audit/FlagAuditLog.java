@@ -0,0 +1,336 @@
+package com.rishirajdhr.flagship.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rishirajdhr.flagship.auth.AppUserProvider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records committed {@link FlagAuditEvent}s as {@link FlagAuditEntry} rows without adding a write
+ * to the transaction that changed the flag.
+ *
+ * <p>Once a change commits, its entry is put in a bounded in-memory buffer and the request moves
+ * on. A background thread takes whatever has accumulated, up to a batch, and appends it with one
+ * batched insert, so a burst of changes costs a handful of round trips instead of one per change.
+ * When the buffer is full the committing thread waits a bounded time for room; an entry that still
+ * does not fit is dropped, logged and counted, so a stalled database cannot hang requests.
+ *
+ * <p>A batch that cannot be written is kept and retried. Once it has failed the configured number
+ * of times, its entries are written one by one, and an entry the database rejects on its own is
+ * dead-lettered: logged with its values, counted and discarded, so one bad row cannot stall the
+ * log. While the database is unreachable nothing is dead-lettered and the batch keeps being
+ * retried. On shutdown the writer is stopped and every buffered entry is written before the data
+ * source closes.
+ */
+@Component
+@ManagedResource(objectName = "com.rishirajdhr.flagship:type=FlagAuditLog")
+public class FlagAuditLog implements DisposableBean {
+  private static final Logger LOGGER = LoggerFactory.getLogger(FlagAuditLog.class);
+
+  private static final long POLL_INTERVAL_MILLIS = 1000;
+  private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+  private static final String INSERT_ENTRY = """
+      insert into flag_audit_entry
+          (project_id, flag_id, flag_key, action, actor_id, actor, occurred_at, before_state,
+           after_state)
+      values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate writeTransaction;
+  private final ObjectMapper objectMapper;
+  private final AppUserProvider appUserProvider;
+  private final BlockingQueue<Object[]> buffer;
+  private final int batchSize;
+  private final Duration retryDelay;
+  private final Duration appendTimeout;
+  private final int maxBatchAttempts;
+  private final Thread writer;
+  private final Object writeLock = new Object();
+  private final List<Object[]> batch = new ArrayList<>();
+  private final LongAdder writtenEntries = new LongAdder();
+  private final LongAdder failedWrites = new LongAdder();
+  private final LongAdder blockedAppends = new LongAdder();
+  private final LongAdder droppedEntries = new LongAdder();
+  private final LongAdder deadLetteredEntries = new LongAdder();
+  private int batchAttempts;
+  private volatile boolean closed;
+
+  /**
+   * Create a new flag audit log and start its writer thread.
+   *
+   * @param jdbcTemplate the template used to insert entries in batches
+   * @param transactionManager the transaction manager used to write each batch
+   * @param objectMapper the mapper used to serialize the flag's values
+   * @param appUserProvider the provider that supplies the user who made a change
+   * @param bufferSize the number of entries that can wait to be written
+   * @param batchSize the maximum number of entries written with one statement
+   * @param retryDelay how long the writer waits before retrying a batch that failed
+   * @param appendTimeout how long a committed change waits for room in a full buffer
+   * @param maxBatchAttempts the number of failed writes after which a batch is written entry by
+   *                         entry and the entries the database rejects are dead-lettered
+   */
+  public FlagAuditLog(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                      ObjectMapper objectMapper, AppUserProvider appUserProvider,
+                      @Value("${flagship.audit.buffer-size:8192}") int bufferSize,
+                      @Value("${flagship.audit.batch-size:500}") int batchSize,
+                      @Value("${flagship.audit.retry-delay:5s}") Duration retryDelay,
+                      @Value("${flagship.audit.append-timeout:100ms}") Duration appendTimeout,
+                      @Value("${flagship.audit.max-batch-attempts:3}") int maxBatchAttempts) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.writeTransaction = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.appUserProvider = appUserProvider;
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    this.batchSize = batchSize;
+    this.retryDelay = retryDelay;
+    this.appendTimeout = appendTimeout;
+    this.maxBatchAttempts = maxBatchAttempts;
+    this.writer = new CustomizableThreadFactory("flag-audit-writer-").newThread(this::runWriter);
+    this.writer.start();
+  }
+
+  /**
+   * Append the entry of a flag change once the transaction that made it has committed. The actor
+   * is read here, on the thread of the request that made the change.
+   *
+   * @param event the committed flag change
+   */
+  @TransactionalEventListener
+  public void onFlagAudit(FlagAuditEvent event) {
+    Object[] row = toRow(event);
+    if (closed) {
+      writeNow(row);
+      return;
+    }
+    if (buffer.offer(row)) return;
+
+    blockedAppends.increment();
+    try {
+      if (buffer.offer(row, appendTimeout.toMillis(), TimeUnit.MILLISECONDS)) return;
+
+      droppedEntries.increment();
+      LOGGER.error("Flag audit buffer is full, dropped the {} entry of flag {} in project {}",
+                   event.action(), event.flagKey(), event.projectId());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      writeNow(row);
+    }
+  }
+
+  /**
+   * Write every buffered entry to the database, including a batch the writer failed to write.
+   *
+   * @throws org.springframework.dao.DataAccessException if a batch cannot be written; the unwritten
+   *     entries are kept for the next flush, and are written one by one once the batch has failed
+   *     too often
+   */
+  @ManagedOperation(description = "Write the buffered audit entries to the database")
+  public void flush() {
+    synchronized (writeLock) {
+      while (true) {
+        buffer.drainTo(batch, batchSize - batch.size());
+        if (batch.isEmpty()) return;
+
+        writeBatch();
+      }
+    }
+  }
+
+  /**
+   * Stop the writer thread and write every entry still in the buffer. Entries appended after this
+   * point are written synchronously.
+   */
+  @Override
+  public void destroy() throws InterruptedException {
+    // The writer is not interrupted, so a batch it is writing is not cut off mid-statement
+    closed = true;
+    writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      LOGGER.error("Could not write {} flag audit entries on shutdown", getPendingEntries(), e);
+    }
+  }
+
+  @ManagedAttribute(description = "Number of audit entries waiting to be written")
+  public int getPendingEntries() {
+    synchronized (writeLock) {
+      return buffer.size() + batch.size();
+    }
+  }
+
+  @ManagedAttribute(description = "Number of audit entries written to the database")
+  public long getWrittenEntries() {
+    return writtenEntries.sum();
+  }
+
+  @ManagedAttribute(description = "Number of batch writes that failed and were retried")
+  public long getFailedWrites() {
+    return failedWrites.sum();
+  }
+
+  @ManagedAttribute(description = "Number of appends that waited for room in a full buffer")
+  public long getBlockedAppends() {
+    return blockedAppends.sum();
+  }
+
+  @ManagedAttribute(description = "Number of audit entries dropped because the buffer stayed full")
+  public long getDroppedEntries() {
+    return droppedEntries.sum();
+  }
+
+  @ManagedAttribute(description = "Number of audit entries the database rejected on their own")
+  public long getDeadLetteredEntries() {
+    return deadLetteredEntries.sum();
+  }
+
+  /**
+   * Write batches as entries arrive until the log is closed. While a batch is being written, the
+   * next one accumulates in the buffer, so the batches grow with the rate of changes.
+   */
+  private void runWriter() {
+    while (!closed) {
+      try {
+        if (getPendingEntries() == 0) {
+          Object[] row = buffer.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+          if (row == null) continue;
+
+          synchronized (writeLock) {
+            batch.add(row);
+          }
+        }
+        flush();
+      } catch (InterruptedException e) {
+        return;
+      } catch (RuntimeException e) {
+        LOGGER.warn("Could not write flag audit entries, retrying in {}", retryDelay, e);
+        try {
+          Thread.sleep(retryDelay.toMillis());
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Write the current batch in one transaction and clear it, or entry by entry once it has failed
+   * too often. Must be called while holding the write lock.
+   */
+  private void writeBatch() {
+    if (batchAttempts >= maxBatchAttempts) {
+      writeEntriesSeparately();
+      return;
+    }
+
+    try {
+      writeTransaction.executeWithoutResult(
+          status -> jdbcTemplate.batchUpdate(INSERT_ENTRY, batch));
+    } catch (RuntimeException e) {
+      failedWrites.increment();
+      batchAttempts++;
+      throw e;
+    }
+    writtenEntries.add(batch.size());
+    batch.clear();
+    batchAttempts = 0;
+  }
+
+  /**
+   * Write the entries of the current batch one by one, and dead-letter each entry the database
+   * rejects. If the database cannot be reached, the entries not yet written are kept for a retry.
+   * Must be called while holding the write lock.
+   */
+  private void writeEntriesSeparately() {
+    Iterator<Object[]> rows = batch.iterator();
+    while (rows.hasNext()) {
+      Object[] row = rows.next();
+      try {
+        writeNow(row);
+      } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+        failedWrites.increment();
+        throw e;
+      } catch (RuntimeException e) {
+        deadLetteredEntries.increment();
+        LOGGER.error("Dropped a flag audit entry the database rejected: {}",
+                     Arrays.toString(row), e);
+      }
+      rows.remove();
+    }
+    batchAttempts = 0;
+  }
+
+  /**
+   * Write a single entry directly, bypassing the buffer.
+   *
+   * @param row the entry's insert parameters
+   */
+  private void writeNow(Object[] row) {
+    writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(INSERT_ENTRY, row));
+    writtenEntries.increment();
+  }
+
+  /**
+   * Create the insert parameters of the entry for a flag change.
+   *
+   * @param event the flag change
+   * @return the entry's insert parameters
+   */
+  private Object[] toRow(FlagAuditEvent event) {
+    return new Object[] {
+        event.projectId(),
+        event.flagId(),
+        event.flagKey(),
+        event.action().name(),
+        appUserProvider.getLoggedInUserId(),
+        appUserProvider.getUsername(),
+        OffsetDateTime.ofInstant(event.occurredAt(), ZoneOffset.UTC),
+        toJson(event.before()),
+        toJson(event.after())
+    };
+  }
+
+  /**
+   * Serialize the values of a flag to JSON.
+   *
+   * @param state the flag's values, or {@code null}
+   * @return the JSON of the values, or {@code null} if there are none
+   */
+  private String toJson(FlagAuditState state) {
+    if (state == null) return null;
+
+    try {
+      return objectMapper.writeValueAsString(state);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize the flag audit state", e);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.rishirajdhr.flagship.audit;
+
+import com.rishirajdhr.flagship.audit.dto.FlagAuditEntryResponse;
+import com.rishirajdhr.flagship.pagination.PageCursor;
+import com.rishirajdhr.flagship.pagination.PageResponse;
+import com.rishirajdhr.flagship.pagination.Pagination;
+import com.rishirajdhr.flagship.pagination.exceptions.InvalidCursorException;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Provides business logic to read the audit log of feature flag changes.
+ */
+@Service
+public class FlagAuditService {
+  private static final String SORT = "ID";
+
+  private final FlagAuditEntryRepository flagAuditEntryRepository;
+
+  /**
+   * Create a new flag audit service.
+   *
+   * @param flagAuditEntryRepository the repository that provides database access to
+   *     {@link FlagAuditEntry} entities
+   */
+  public FlagAuditService(FlagAuditEntryRepository flagAuditEntryRepository) {
+    this.flagAuditEntryRepository = flagAuditEntryRepository;
+  }
+
+  /**
+   * Get a page of the flag change history of a project, newest first.
+   *
+   * @param projectId the ID of the project
+   * @param flagKey the key of the flag to get the history of, or {@code null} for every flag
+   * @param cursor the cursor of the page to get, or {@code null} for the first page
+   * @param limit the maximum number of entries on the page
+   * @return the page of audit entry responses
+   * @throws InvalidCursorException if the cursor is invalid
+   */
+  public PageResponse<FlagAuditEntryResponse> getProjectHistory(Long projectId, String flagKey,
+                                                                String cursor, int limit)
+      throws InvalidCursorException {
+    int pageSize = Pagination.clampLimit(limit);
+    Limit fetchLimit = Limit.of(pageSize + 1);
+    long beforeId = Long.MAX_VALUE;
+    if (cursor != null) {
+      try {
+        beforeId = Long.parseLong(PageCursor.decode(cursor, SORT, 1).values().get(0));
+      } catch (NumberFormatException e) {
+        throw new InvalidCursorException(cursor);
+      }
+    }
+
+    List<FlagAuditEntryResponse> rows = flagKey == null
+        ? flagAuditEntryRepository.findPageByProjectId(projectId, beforeId, fetchLimit)
+        : flagAuditEntryRepository.findPageByProjectIdAndFlagKey(
+            projectId, flagKey, beforeId, fetchLimit);
+    return PageResponse.of(rows, pageSize, entry -> PageCursor.of(SORT, entry.id().toString()));
+  }
+}
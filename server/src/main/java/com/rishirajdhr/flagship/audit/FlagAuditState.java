@@ -0,0 +1,75 @@
+package com.rishirajdhr.flagship.audit;
+
+import com.rishirajdhr.flagship.flag.Flag;
+import com.rishirajdhr.flagship.flag.FlagVariant;
+import com.rishirajdhr.flagship.targeting.TargetingRule;
+
+import java.util.List;
+
+/**
+ * Represents the configurable values of a feature flag at one point in time, as recorded before and
+ * after a change in the audit log.
+ *
+ * @param key the flag key
+ * @param name the flag name
+ * @param description the flag description
+ * @param enabled the flag status - {@code true} if the flag is enabled, false otherwise
+ * @param rules the targeting rules of the flag, in evaluation order
+ * @param rolloutPercentage the percentage of users the flag is rolled out to when no rule matches
+ * @param rolloutSalt the salt that assigns users to rollout buckets
+ * @param variants the variants the flag can serve
+ * @param defaultVariant the key of the variant served when the flag is on
+ * @param offVariant the key of the variant served when the flag is off
+ */
+public record FlagAuditState(
+    String key,
+    String name,
+    String description,
+    boolean enabled,
+    List<TargetingRule> rules,
+    int rolloutPercentage,
+    String rolloutSalt,
+    List<FlagVariant> variants,
+    String defaultVariant,
+    String offVariant) {
+  /**
+   * Capture the current values of a flag.
+   *
+   * @param flag the flag to capture
+   * @return the flag's values
+   */
+  public static FlagAuditState of(Flag flag) {
+    return new FlagAuditState(
+        flag.getKey(),
+        flag.getName(),
+        flag.getDescription(),
+        flag.isEnabled(),
+        List.copyOf(flag.getRules()),
+        flag.getRolloutPercentage(),
+        flag.getRolloutSalt(),
+        List.copyOf(flag.getVariants()),
+        flag.getDefaultVariant(),
+        flag.getOffVariant());
+  }
+
+  /**
+   * Get these values with the status and description replaced by the given ones.
+   *
+   * @param enabled the new status, or {@code null} to keep the status
+   * @param description the new description, or {@code null} to keep the description
+   * @return the changed values
+   */
+  public FlagAuditState withChanges(Boolean enabled, String description) {
+    return new FlagAuditState(
+        key,
+        name,
+        description == null ? this.description : description,
+        enabled == null ? this.enabled : enabled,
+        rules,
+        rolloutPercentage,
+        rolloutSalt,
+        variants,
+        defaultVariant,
+        offVariant);
+  }
+}
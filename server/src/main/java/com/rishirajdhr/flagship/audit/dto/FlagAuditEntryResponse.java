@@ -0,0 +1,31 @@
+package com.rishirajdhr.flagship.audit.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.rishirajdhr.flagship.audit.FlagAuditAction;
+
+import java.time.Instant;
+
+/**
+ * Represents the data for an audit log entry sent in a response to an audit request. The flag's
+ * values before and after the change are passed through as the JSON they were stored as.
+ *
+ * @param id the entry ID
+ * @param flagId the ID of the changed flag
+ * @param flagKey the key of the changed flag
+ * @param action the kind of change
+ * @param actorId the ID of the user who made the change, or {@code null}
+ * @param actor the username of the user who made the change, or {@code null}
+ * @param occurredAt the time of the change
+ * @param before the flag's values before the change, or {@code null} if it was created
+ * @param after the flag's values after the change, or {@code null} if it was deleted
+ */
+public record FlagAuditEntryResponse(
+    Long id,
+    Long flagId,
+    String flagKey,
+    FlagAuditAction action,
+    Long actorId,
+    String actor,
+    Instant occurredAt,
+    @JsonRawValue String before,
+    @JsonRawValue String after) {}
@@ -0,0 +1,76 @@
+package com.rishirajdhr.flagship.auth;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Represents an authenticated application user. The principal carries everything needed to
+ * identify and authorize the user, so requests can be authenticated from a token without loading
+ * the {@link AppUser} entity.
+ */
+public class AppUserPrincipal implements UserDetails {
+  private final Long id;
+  private final String username;
+  private final String password;
+  private final List<String> roles;
+  private final List<GrantedAuthority> authorities;
+
+  /**
+   * Create a principal for an authenticated application user.
+   *
+   * @param id the ID of the user
+   * @param username the username of the user
+   * @param password the encoded password of the user, or {@code null} if it is not known
+   * @param roles the roles of the user, without the {@code ROLE_} prefix
+   */
+  public AppUserPrincipal(Long id, String username, String password, List<String> roles) {
+    this.id = id;
+    this.username = username;
+    this.password = password;
+    this.roles = List.copyOf(roles);
+    this.authorities = AuthorityUtils.createAuthorityList(
+        this.roles.stream().map(role -> "ROLE_" + role).toList());
+  }
+
+  /**
+   * Get the ID of the user.
+   *
+   * @return the user's ID
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * Get the roles of the user, without the {@code ROLE_} prefix.
+   *
+   * @return the user's roles
+   */
+  public List<String> getRoles() {
+    return roles;
+  }
+
+  @Override
+  public String getUsername() {
+    return username;
+  }
+
+  @Override
+  public String getPassword() {
+    return password;
+  }
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return authorities;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("AppUserPrincipal(id=%s, username='%s', roles=%s)", id, username, roles);
+  }
+}
@@ -35,14 +35,31 @@ public class AppUserProvider {
   }
 
   /**
-   * Get the currently logged-in application user.
+   * Get the ID of the logged-in user. The ID is read from the authenticated principal, so no
+   * database query is made.
    *
-   * @return the currently logged-in user if exists, {@code null} otherwise
+   * @return the user ID if a user is logged-in, {@code null} otherwise
    */
-  public AppUser getLoggedInAppUser() {
-    String username = getUsername();
-    if (username == null) return null;
+  public Long getLoggedInUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !authentication.isAuthenticated()) return null;
+
+    return (authentication.getPrincipal() instanceof AppUserPrincipal principal)
+        ? principal.getId()
+        : null;
+  }
+
+  /**
+   * Get a reference to the currently logged-in application user. The reference is not loaded
+   * from the database until one of its fields other than the ID is accessed, so it can be used to
+   * associate entities with the user without a query.
+   *
+   * @return a reference to the currently logged-in user if exists, {@code null} otherwise
+   */
+  public AppUser getLoggedInAppUserReference() {
+    Long userId = getLoggedInUserId();
+    if (userId == null) return null;
 
-    return appUserRepository.findUserByUsername(username).orElse(null);
+    return appUserRepository.getReferenceById(userId);
   }
 }
@@ -8,25 +8,43 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
- * Encapsulates business logic for application users.
+ * Encapsulates business logic for application users. The time spent hashing and checking passwords
+ * is recorded by the {@value #PASSWORD_TIMER} timer.
  */
 @Service
 public class AppUserService implements UserDetailsService {
+  /**
+   * The name of the password hashing timer.
+   */
+  public static final String PASSWORD_TIMER = "flagship.auth.password";
+
+  private static final List<String> USER_ROLES = List.of("USER");
+
   private final AppUserRepository repository;
   private final PasswordEncoder passwordEncoder;
+  private final Timer encodeTimer;
+  private final Timer matchTimer;
 
   /**
    * Create a new service to access and modify application users.
    *
    * @param repository the repository that provides database access to {@link AppUser} entities.
    * @param passwordEncoder the password encoder configured for the application.
+   * @param meterRegistry the registry the password hashing timers are registered with.
    */
-  public AppUserService(AppUserRepository repository, PasswordEncoder passwordEncoder) {
+  public AppUserService(AppUserRepository repository, PasswordEncoder passwordEncoder,
+                        MeterRegistry meterRegistry) {
     this.repository = repository;
     this.passwordEncoder = passwordEncoder;
+    this.encodeTimer = registerPasswordTimer(meterRegistry, "encode");
+    this.matchTimer = registerPasswordTimer(meterRegistry, "match");
   }
 
   @Override
@@ -43,10 +61,10 @@ public class AppUserService implements UserDetailsService {
    *
    * @param username the username of the new user
    * @param rawPassword the raw, non-encoded password of the new user
-   * @return the {@link UserDetails} object representing the newly created user
+   * @return the {@link AppUserPrincipal} object representing the newly created user
    */
-  public UserDetails createUser(String username, String rawPassword) {
-    String encodedPassword = passwordEncoder.encode(rawPassword);
+  public AppUserPrincipal createUser(String username, String rawPassword) {
+    String encodedPassword = encodeTimer.record(() -> passwordEncoder.encode(rawPassword));
     AppUser appUser = new AppUser(username, encodedPassword);
     return buildUserDetailsFromUser(repository.save(appUser));
   }
@@ -56,17 +74,17 @@ public class AppUserService implements UserDetailsService {
    *
    * @param username the username of the existing user
    * @param rawPassword the raw, non-encoded password of the existing user
-   * @return the {@link UserDetails} object representing the logged-in user
+   * @return the {@link AppUserPrincipal} object representing the logged-in user
    * @throws InvalidCredentialsException if the credentials are invalid
    */
-  public UserDetails loginUser(String username, String rawPassword) throws InvalidCredentialsException {
+  public AppUserPrincipal loginUser(String username, String rawPassword) throws InvalidCredentialsException {
     Optional<AppUser> result = repository.findUserByUsername(username);
     if (result.isEmpty()) {
       throw new InvalidCredentialsException();
     }
 
     AppUser appUser = result.get();
-    if (!passwordEncoder.matches(rawPassword, appUser.getPassword())) {
+    if (!matchTimer.record(() -> passwordEncoder.matches(rawPassword, appUser.getPassword()))) {
       throw new InvalidCredentialsException();
     }
 
@@ -74,16 +92,27 @@ public class AppUserService implements UserDetailsService {
   }
 
   /**
-   * Build a {@link UserDetails} object representing an application user.
+   * Build an {@link AppUserPrincipal} object representing an application user.
    *
    * @param appUser the user to build the object for
-   * @return the newly built {@link UserDetails} object for the user
+   * @return the newly built {@link AppUserPrincipal} object for the user
+   */
+  private AppUserPrincipal buildUserDetailsFromUser(AppUser appUser) {
+    return new AppUserPrincipal(
+        appUser.getId(), appUser.getUsername(), appUser.getPassword(), USER_ROLES);
+  }
+
+  /**
+   * Register a timer for a password hashing operation.
+   *
+   * @param meterRegistry the registry to register the timer with
+   * @param operation the operation, either {@code encode} or {@code match}
+   * @return the registered timer
    */
-  private UserDetails buildUserDetailsFromUser(AppUser appUser) {
-    return org.springframework.security.core.userdetails.User
-        .withUsername(appUser.getUsername())
-        .password(appUser.getPassword())
-        .roles("USER")
-        .build();
+  private static Timer registerPasswordTimer(MeterRegistry meterRegistry, String operation) {
+    return Timer.builder(PASSWORD_TIMER)
+        .description("Time taken to hash or check a password")
+        .tag("operation", operation)
+        .register(meterRegistry);
   }
 }
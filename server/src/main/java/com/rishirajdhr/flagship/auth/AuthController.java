@@ -5,7 +5,6 @@ import com.rishirajdhr.flagship.auth.dto.AuthResponse;
 import com.rishirajdhr.flagship.auth.dto.SignupRequest;
 import com.rishirajdhr.flagship.auth.jwt.JWTService;
 
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -43,8 +42,8 @@ public class AuthController {
   public AuthResponse signupUser(@RequestBody @Valid SignupRequest signupRequest) {
     String username = signupRequest.username();
     String rawPassword = signupRequest.password();
-    UserDetails userDetails = appUserService.createUser(username, rawPassword);
-    String token = jwtService.generateToken(userDetails);
+    AppUserPrincipal principal = appUserService.createUser(username, rawPassword);
+    String token = jwtService.generateToken(principal);
     return new AuthResponse(token);
   }
 
@@ -58,8 +57,8 @@ public class AuthController {
   public AuthResponse loginUser(@RequestBody @Valid LoginRequest loginRequest) {
     String username = loginRequest.username();
     String rawPassword = loginRequest.password();
-    UserDetails userDetails = appUserService.loginUser(username, rawPassword);
-    String token = jwtService.generateToken(userDetails);
+    AppUserPrincipal principal = appUserService.loginUser(username, rawPassword);
+    String token = jwtService.generateToken(principal);
     return new AuthResponse(token);
   }
 }
@@ -2,9 +2,12 @@ package com.rishirajdhr.flagship.auth.config;
 
 import com.rishirajdhr.flagship.auth.AuthEntryPoint;
 import com.rishirajdhr.flagship.auth.jwt.JWTFilter;
+import com.rishirajdhr.flagship.sdkkey.SdkKeyAuthentication;
+import com.rishirajdhr.flagship.sdkkey.SdkKeyFilter;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -15,22 +18,30 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
+
 /** Configures Spring Security options for Web security. */
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig {
+  private static final String USER_ROLE = "USER";
+
   private final AuthEntryPoint authEntryPoint;
   private final JWTFilter jwtFilter;
+  private final SdkKeyFilter sdkKeyFilter;
 
   /**
    * Create a web security configuration for the application.
    *
    * @param authEntryPoint the authentication entry point to use for handling authentication errors
    * @param jwtFilter the JWT-based filter to use for authenticating incoming HTTP requests
+   * @param sdkKeyFilter the SDK key-based filter to use for authenticating evaluation requests
    */
-  public WebSecurityConfig(AuthEntryPoint authEntryPoint, JWTFilter jwtFilter) {
+  public WebSecurityConfig(AuthEntryPoint authEntryPoint, JWTFilter jwtFilter,
+                           SdkKeyFilter sdkKeyFilter) {
     this.authEntryPoint = authEntryPoint;
     this.jwtFilter = jwtFilter;
+    this.sdkKeyFilter = sdkKeyFilter;
   }
 
   @Bean
@@ -40,11 +51,31 @@ public class WebSecurityConfig {
         .authorizeHttpRequests(
             (authorize) ->
                 authorize
+                    // Async dispatches resume requests that were already authorized, such as flag
+                    // streams that completed or timed out.
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
                     .requestMatchers("/api/login", "/api/signup")
                     .permitAll()
+                    // Health checks and metric scrapes are made without credentials; restrict
+                    // access to them at the network level.
+                    .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus")
+                    .permitAll()
+                    // SDK keys only grant access to the evaluation endpoints.
+                    .requestMatchers(HttpMethod.POST,
+                                     "/api/projects/*/flags/evaluate",
+                                     "/api/projects/*/flags/*/evaluate")
+                    .hasAnyRole(USER_ROLE, SdkKeyAuthentication.ROLE)
+                    .requestMatchers(HttpMethod.GET,
+                                     "/api/projects/*/flags/snapshot",
+                                     "/api/projects/*/flags/states",
+                                     "/api/projects/*/flags/changes",
+                                     "/api/projects/*/flags/stream")
+                    .hasAnyRole(USER_ROLE, SdkKeyAuthentication.ROLE)
                     .anyRequest()
-                    .authenticated())
+                    .hasRole(USER_ROLE))
         .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterBefore(sdkKeyFilter, UsernamePasswordAuthenticationFilter.class)
         .exceptionHandling(
             exceptionHandling -> exceptionHandling.authenticationEntryPoint(authEntryPoint));
 
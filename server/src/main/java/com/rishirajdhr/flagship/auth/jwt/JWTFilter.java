@@ -1,18 +1,20 @@
 package com.rishirajdhr.flagship.auth.jwt;
 
+import com.rishirajdhr.flagship.auth.AppUserPrincipal;
 import com.rishirajdhr.flagship.auth.exceptions.UnauthenticatedException;
 
 import org.springframework.security.authentication.InsufficientAuthenticationException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,27 +23,36 @@ import jakarta.servlet.http.HttpServletResponse;
 /**
  * Represents a Spring Security filter that intercepts incoming HTTP requests and attempts to
  * authenticate them based on a JSON Web Token (JWT) provided in the {@code Authorization} header.
+ * The authenticated principal is built from the token's claims, so no user is loaded.
+ *
+ * <p>The time taken to authenticate a token is recorded by the {@value #AUTHENTICATION_TIMER}
+ * timer, tagged with whether the token was accepted.
  */
 @Component
 public class JWTFilter extends OncePerRequestFilter {
+  /**
+   * The name of the token authentication timer.
+   */
+  public static final String AUTHENTICATION_TIMER = "flagship.auth.jwt.authentication";
+
   private final AuthenticationEntryPoint authenticationEntryPoint;
   private final JWTService jwtService;
-  private final UserDetailsService userDetailsService;
+  private final Timer successTimer;
+  private final Timer failureTimer;
 
   /**
    * Create a filter that attempts to authenticate incoming HTTP requests based on a JWT.
    *
    * @param authenticationEntryPoint the authentication entry point that handles auth errors
    * @param jwtService the service that provides utilities to work with JWTs
-   * @param userDetailsService the service that provides the required user information
+   * @param meterRegistry the registry the authentication timers are registered with
    */
-  public JWTFilter(
-      AuthenticationEntryPoint authenticationEntryPoint,
-      JWTService jwtService,
-      UserDetailsService userDetailsService) {
+  public JWTFilter(AuthenticationEntryPoint authenticationEntryPoint, JWTService jwtService,
+                   MeterRegistry meterRegistry) {
     this.authenticationEntryPoint = authenticationEntryPoint;
     this.jwtService = jwtService;
-    this.userDetailsService = userDetailsService;
+    this.successTimer = registerTimer(meterRegistry, "success");
+    this.failureTimer = registerTimer(meterRegistry, "failure");
   }
 
   @Override
@@ -60,16 +71,11 @@ public class JWTFilter extends OncePerRequestFilter {
       }
 
       String token = authorizationHeader.substring(AUTHORIZATION_HEADER_VALUE_PREFIX.length());
-      String username = jwtService.extractUsername(token);
-      if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        boolean isTokenValid = jwtService.validateToken(token, userDetails);
-        if (isTokenValid) {
-          UsernamePasswordAuthenticationToken authenticationToken =
-              new UsernamePasswordAuthenticationToken(
-                  userDetails, null, userDetails.getAuthorities());
-          SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-        }
+      if (SecurityContextHolder.getContext().getAuthentication() == null) {
+        AppUserPrincipal principal = authenticate(token);
+        UsernamePasswordAuthenticationToken authenticationToken =
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
       }
 
       filterChain.doFilter(request, response);
@@ -78,4 +84,30 @@ public class JWTFilter extends OncePerRequestFilter {
           request, response, new InsufficientAuthenticationException(e.getMessage()));
     }
   }
+
+  /**
+   * Authenticate a token, recording how long it took.
+   *
+   * @param token the token to authenticate
+   * @return the principal of the token's user
+   * @throws UnauthenticatedException if the token is invalid
+   */
+  private AppUserPrincipal authenticate(String token) throws UnauthenticatedException {
+    long start = System.nanoTime();
+    try {
+      AppUserPrincipal principal = jwtService.authenticate(token);
+      successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return principal;
+    } catch (UnauthenticatedException e) {
+      failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+  }
+
+  private static Timer registerTimer(MeterRegistry meterRegistry, String outcome) {
+    return Timer.builder(AUTHENTICATION_TIMER)
+        .description("Time taken to authenticate a JWT")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
 }
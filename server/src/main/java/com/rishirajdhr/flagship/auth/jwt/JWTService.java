@@ -0,0 +1,97 @@
+package com.rishirajdhr.flagship.auth.jwt;
+
+import com.rishirajdhr.flagship.auth.AppUserPrincipal;
+import com.rishirajdhr.flagship.auth.exceptions.UnauthenticatedException;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/** Provides utilities to work with JSON Web Tokens (JWTs) for authorization. */
+@Service
+public class JWTService {
+  private static final String USER_ID_CLAIM = "uid";
+  private static final String ROLES_CLAIM = "roles";
+
+  private final SecretKey secretKey = Jwts.SIG.HS256.key().build();
+  private final JwtParser jwtParser = Jwts.parser().verifyWith(secretKey).build();
+  private final long VALID_DURATION_MS = 3600_000; // 1 hour
+  private final VerifiedTokenCache verifiedTokenCache;
+
+  /**
+   * Create a new service to work with JWTs.
+   *
+   * @param verifiedTokenCacheSize the maximum number of verified tokens to cache
+   */
+  public JWTService(
+      @Value("${flagship.jwt.verified-token-cache-size:10000}") int verifiedTokenCacheSize) {
+    this.verifiedTokenCache = new VerifiedTokenCache(verifiedTokenCacheSize);
+  }
+
+  /**
+   * Generate a JWT for an application user. The token carries the user's ID, username and roles,
+   * so that it can be authenticated without loading the user.
+   *
+   * @param principal the principal of the application user
+   * @return the generated JWT
+   */
+  public String generateToken(AppUserPrincipal principal) {
+    return Jwts.builder()
+        .subject(principal.getUsername())
+        .claim(USER_ID_CLAIM, principal.getId())
+        .claim(ROLES_CLAIM, principal.getRoles())
+        .issuedAt(new Date())
+        .expiration(new Date(System.currentTimeMillis() + VALID_DURATION_MS))
+        .signWith(secretKey)
+        .compact();
+  }
+
+  /**
+   * Authenticate a JWT and build the principal of the user it was issued to. The token is verified
+   * once, and the principal is built from its claims without querying the database.
+   *
+   * @param token the token to authenticate
+   * @return the principal of the token's user
+   * @throws UnauthenticatedException if the token is invalid, expired or missing required claims
+   */
+  public AppUserPrincipal authenticate(String token) throws UnauthenticatedException {
+    Instant now = Instant.now();
+    AppUserPrincipal cached = verifiedTokenCache.get(token, now);
+    if (cached != null) return cached;
+
+    Claims claims = parseToken(token);
+    Long userId = claims.get(USER_ID_CLAIM, Long.class);
+    List<?> roles = claims.get(ROLES_CLAIM, List.class);
+    if (claims.getSubject() == null || userId == null || roles == null) {
+      throw new UnauthenticatedException();
+    }
+
+    AppUserPrincipal principal = new AppUserPrincipal(
+        userId, claims.getSubject(), null, roles.stream().map(String::valueOf).toList());
+    verifiedTokenCache.put(token, principal, claims.getExpiration().toInstant());
+    return principal;
+  }
+
+  /**
+   * Parse a JWT and extract the encoded payload. The signature and expiry of the token are
+   * verified while parsing.
+   *
+   * @param token the token to parse
+   * @return the decoded JWT payload
+   */
+  private Claims parseToken(String token) throws UnauthenticatedException {
+    try {
+      return jwtParser.parseSignedClaims(token).getPayload();
+    } catch (JwtException | IllegalArgumentException e) {
+      throw new UnauthenticatedException();
+    }
+  }
+}
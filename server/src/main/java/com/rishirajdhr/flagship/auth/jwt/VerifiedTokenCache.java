@@ -0,0 +1,95 @@
+package com.rishirajdhr.flagship.auth.jwt;
+
+import com.rishirajdhr.flagship.auth.AppUserPrincipal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the principals of recently verified JWTs, so repeated requests with the same token skip
+ * signature verification and claim parsing. Tokens are keyed by their hash rather than stored as
+ * is, and entries are never returned past the token's expiry. When the cache is full, the least
+ * recently used token is evicted, so a newly verified token is always cached.
+ */
+class VerifiedTokenCache {
+  private final Map<String, Entry> entries;
+
+  /**
+   * Create a new cache of verified tokens.
+   *
+   * @param maxSize the maximum number of tokens to hold
+   */
+  VerifiedTokenCache(int maxSize) {
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Get the principal of a verified token.
+   *
+   * @param token the token
+   * @param now the current time
+   * @return the principal if the token was verified and has not expired, {@code null} otherwise
+   */
+  AppUserPrincipal get(String token, Instant now) {
+    String key = hash(token);
+    synchronized (entries) {
+      Entry entry = entries.get(key);
+      if (entry == null) return null;
+
+      if (!entry.expiresAt().isAfter(now)) {
+        entries.remove(key);
+        return null;
+      }
+      return entry.principal();
+    }
+  }
+
+  /**
+   * Add the principal of a verified token. When the cache is full, the least recently used token
+   * is evicted.
+   *
+   * @param token the token
+   * @param principal the principal built from the token's claims
+   * @param expiresAt the expiry time of the token
+   */
+  void put(String token, AppUserPrincipal principal, Instant expiresAt) {
+    String key = hash(token);
+    synchronized (entries) {
+      entries.put(key, new Entry(principal, expiresAt));
+    }
+  }
+
+  /**
+   * Hash a token for use as a cache key.
+   *
+   * @param token the token
+   * @return the Base64-encoded SHA-256 hash of the token
+   */
+  private static String hash(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  /**
+   * Represents a cached principal and the expiry of its token.
+   *
+   * @param principal the principal built from the token's claims
+   * @param expiresAt the expiry time of the token
+   */
+  private record Entry(AppUserPrincipal principal, Instant expiresAt) {}
+}
@@ -0,0 +1,25 @@
+package com.rishirajdhr.flagship.flag;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Represents the payload for applying the same change to several feature flags of a project at
+ * once. The flags are selected by ID, by key, or both, and the payload may omit the fields that do
+ * not need to be updated.
+ *
+ * @param ids the IDs of the flags to update
+ * @param keys the keys of the flags to update
+ * @param enabled the updated status of the flags - {@code true} if enabled, {@code false} otherwise
+ * @param description the updated description of the flags
+ */
+public record BulkUpdateFlags(
+    @Nullable @Size(max = 1000) List<@NotNull Long> ids,
+    @Nullable @Size(max = 1000) List<@NotNull @NotBlank String> keys,
+    @Nullable Boolean enabled,
+    @Nullable String description) {}
@@ -0,0 +1,102 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.project.Project;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * Represents a tombstone for a deleted feature flag, so that clients syncing changes since an
+ * earlier version learn about the deletion.
+ */
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {
+    @Index(columnList = "project_id, change_version"),
+    @Index(columnList = "deleted_at")
+})
+public class DeletedFlag {
+
+  @Id @GeneratedValue
+  private Long id;
+
+  @CreatedDate
+  private Instant deletedAt;
+
+  @Column(nullable = false)
+  private String key;
+
+  @Column(nullable = false)
+  private long changeVersion;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "project_id", referencedColumnName = "id", nullable = false)
+  private Project project;
+
+  /**
+   * No-arg constructor used by JPA to instantiate a {@link DeletedFlag} object.
+   */
+  protected DeletedFlag() {}
+
+  /**
+   * Create a tombstone for a deleted feature flag.
+   *
+   * @param key the key of the deleted flag
+   * @param changeVersion the version of the project's flags in which the flag was deleted
+   * @param project the project of the deleted flag
+   */
+  public DeletedFlag(String key, long changeVersion, Project project) {
+    this.key = key;
+    this.changeVersion = changeVersion;
+    this.project = project;
+  }
+
+  /**
+   * Get the ID of the tombstone.
+   *
+   * @return the tombstone's ID
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * Get the timestamp when the flag was deleted.
+   *
+   * @return the {@link Instant} representing the deletion time
+   */
+  public Instant getDeletedAt() {
+    return deletedAt;
+  }
+
+  /**
+   * Get the key of the deleted flag.
+   *
+   * @return the deleted flag's key
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * Get the version of the project's flags in which the flag was deleted.
+   *
+   * @return the flags version of the deletion
+   */
+  public long getChangeVersion() {
+    return changeVersion;
+  }
+}
@@ -0,0 +1,56 @@
+package com.rishirajdhr.flagship.flag;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Deletes the {@link DeletedFlag} tombstones that are older than the retention period, so the
+ * tombstones of a project do not grow without bound.
+ *
+ * <p>Before the tombstones are deleted, every affected project records the latest version of its
+ * flags whose tombstones were pruned. Clients that sync changes from an earlier version may have
+ * missed a deletion and are sent every flag instead.
+ */
+@Component
+public class DeletedFlagPruner {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DeletedFlagPruner.class);
+
+  private final DeletedFlagRepository deletedFlagRepository;
+  private final Duration retention;
+
+  /**
+   * Create a new pruner of deleted flag tombstones.
+   *
+   * @param deletedFlagRepository the repository that provides database access to
+   *                              {@link DeletedFlag} entities
+   * @param retention how long tombstones are kept
+   */
+  public DeletedFlagPruner(
+      DeletedFlagRepository deletedFlagRepository,
+      @Value("${flagship.flags.tombstone-retention:30d}") Duration retention) {
+    this.deletedFlagRepository = deletedFlagRepository;
+    this.retention = retention;
+  }
+
+  /**
+   * Delete the tombstones of the flags deleted before the retention period.
+   *
+   * @return the number of deleted tombstones
+   */
+  @Scheduled(fixedDelayString = "${flagship.flags.tombstone-prune-interval:1h}")
+  @Transactional
+  public int prune() {
+    Instant before = Instant.now().minus(retention);
+    deletedFlagRepository.updatePrunedFlagsVersions(before);
+    int pruned = deletedFlagRepository.deleteByDeletedAtBefore(before);
+    if (pruned > 0) LOGGER.info("Pruned {} deleted flag tombstones", pruned);
+    return pruned;
+  }
+}
@@ -0,0 +1,53 @@
+package com.rishirajdhr.flagship.flag;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Represents a repository to access and modify {@link DeletedFlag} tombstones.
+ */
+public interface DeletedFlagRepository extends JpaRepository<DeletedFlag, Long> {
+  /**
+   * Get the keys of the flags of a project that were deleted between two versions.
+   *
+   * @param projectId the ID of the project
+   * @param after the exclusive lower bound of the flags version
+   * @param upTo the inclusive upper bound of the flags version
+   * @return the distinct keys of the deleted flags
+   */
+  @Query("""
+      select distinct d.key from DeletedFlag d
+      where d.project.id = :projectId and d.changeVersion > :after
+        and d.changeVersion <= :upTo""")
+  List<String> findDeletedKeysBetween(Long projectId, long after, long upTo);
+
+  /**
+   * Record on every project the latest version of its flags whose tombstones were deleted before a
+   * given time. Must be called in the transaction that deletes those tombstones.
+   *
+   * @param before the exclusive upper bound of the deletion times
+   * @return the number of updated projects
+   */
+  @Modifying
+  @Query("""
+      update Project p set p.prunedFlagsVersion = (
+          select max(d.changeVersion) from DeletedFlag d
+          where d.project = p and d.deletedAt < :before)
+      where exists (
+          select 1 from DeletedFlag d where d.project = p and d.deletedAt < :before)""")
+  int updatePrunedFlagsVersions(Instant before);
+
+  /**
+   * Delete the tombstones of the flags deleted before a given time.
+   *
+   * @param before the exclusive upper bound of the deletion times
+   * @return the number of deleted tombstones
+   */
+  @Modifying
+  @Query("delete from DeletedFlag d where d.deletedAt < :before")
+  int deleteByDeletedAtBefore(Instant before);
+}
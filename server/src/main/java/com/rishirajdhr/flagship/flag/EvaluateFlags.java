@@ -0,0 +1,25 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.targeting.EvaluationContext;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Represents the payload for evaluating several feature flags of a project at once.
+ *
+ * @param keys the keys of the flags to evaluate
+ * @param context the context to evaluate the flags for, or {@code null} for an empty context
+ */
+public record EvaluateFlags(
+    @NotNull
+    @Size(min = 1, max = 1000)
+    List<@NotNull @NotBlank String> keys,
+
+    @Valid
+    EvaluationContext context
+) {}
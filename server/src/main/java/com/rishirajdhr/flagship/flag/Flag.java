@@ -1,19 +1,26 @@
 package com.rishirajdhr.flagship.flag;
 
 import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.targeting.TargetingRule;
 
 import java.time.Instant;
-import java.util.regex.Pattern;
+import java.util.Collections;
+import java.util.List;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -23,10 +30,13 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 */
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(uniqueConstraints = @UniqueConstraint(columnNames = { "key", "project_id" }))
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = { "key", "project_id" }),
+       indexes = {
+           @Index(columnList = "project_id, change_version"),
+           @Index(columnList = "project_id, key"),
+           @Index(columnList = "project_id, updated_at, id")
+       })
 public class Flag {
-  private static final Pattern FLAG_KEY_PATTERN = Pattern.compile("^[a-z]+(?:[-_][a-z0-9]+)*$");
-
   @Id @GeneratedValue
   private Long id;
 
@@ -42,6 +52,27 @@ public class Flag {
   private String description;
   private boolean enabled;
 
+  @Column(nullable = false, columnDefinition = "bigint default 0")
+  private long changeVersion;
+
+  @Version
+  @Column(nullable = false, columnDefinition = "bigint default 0")
+  private long version;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  private List<TargetingRule> rules;
+
+  @Column(nullable = false, columnDefinition = "integer default 100")
+  private int rolloutPercentage = 100;
+
+  private String rolloutSalt;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  private List<FlagVariant> variants;
+
+  private String defaultVariant;
+  private String offVariant;
+
   @ManyToOne
   @JoinColumn(name = "project_id", referencedColumnName = "id", nullable = false)
   private Project project;
@@ -141,6 +172,89 @@ public class Flag {
     return enabled;
   }
 
+  /**
+   * Get the version of the project's flags in which this feature flag was last changed.
+   *
+   * @return the flags version of the latest change
+   */
+  public long getChangeVersion() {
+    return changeVersion;
+  }
+
+  /**
+   * Get the optimistic lock version of the feature flag, which is incremented by every update.
+   * Updates and deletes check it, so a change based on a stale copy of the flag fails instead of
+   * overwriting a newer change.
+   *
+   * @return the feature flag's version
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Get the strong entity tag of the feature flag, which changes whenever the flag is updated.
+   *
+   * @return the quoted entity tag, derived from the flag ID and version
+   */
+  public String getETag() {
+    return "\"" + id + "-" + version + "\"";
+  }
+
+  /**
+   * Get the targeting rules of the feature flag, in evaluation order.
+   *
+   * @return an unmodifiable list of the feature flag's targeting rules
+   */
+  public List<TargetingRule> getRules() {
+    return rules == null ? List.of() : Collections.unmodifiableList(rules);
+  }
+
+  /**
+   * Get the percentage of users the feature flag is rolled out to when no targeting rule matches.
+   *
+   * @return the rollout percentage, from 0 to 100
+   */
+  public int getRolloutPercentage() {
+    return rolloutPercentage;
+  }
+
+  /**
+   * Get the salt hashed with user keys to assign users to rollout buckets.
+   *
+   * @return the feature flag's rollout salt
+   */
+  public String getRolloutSalt() {
+    return rolloutSalt == null ? "" : rolloutSalt;
+  }
+
+  /**
+   * Get the variants the feature flag can serve.
+   *
+   * @return an unmodifiable list of the feature flag's variants, empty for a plain boolean flag
+   */
+  public List<FlagVariant> getVariants() {
+    return variants == null ? List.of() : Collections.unmodifiableList(variants);
+  }
+
+  /**
+   * Get the key of the variant served when the feature flag is on for a context.
+   *
+   * @return the default variant key, or {@code null} if the flag has no variants
+   */
+  public String getDefaultVariant() {
+    return defaultVariant;
+  }
+
+  /**
+   * Get the key of the variant served when the feature flag is off for a context.
+   *
+   * @return the off variant key, or {@code null} if the flag has no variants
+   */
+  public String getOffVariant() {
+    return offVariant;
+  }
+
   /**
    * Set the key of the feature flag.
    *
@@ -171,6 +285,49 @@ public class Flag {
     this.description = validateDescription(description);
   }
 
+  /**
+   * Set the targeting rules of the feature flag.
+   *
+   * @param rules the targeting rules to be set, in evaluation order
+   */
+  public void setRules(List<TargetingRule> rules) {
+    this.rules = List.copyOf(rules);
+  }
+
+  /**
+   * Set the percentage of users the feature flag is rolled out to when no targeting rule matches.
+   *
+   * @param rolloutPercentage the rollout percentage to be set, from 0 to 100
+   * @throws IllegalArgumentException if the percentage is out of range
+   */
+  public void setRolloutPercentage(int rolloutPercentage) throws IllegalArgumentException {
+    this.rolloutPercentage = validateRolloutPercentage(rolloutPercentage);
+  }
+
+  /**
+   * Set the salt hashed with user keys to assign users to rollout buckets. Changing the salt
+   * reassigns every user to a new bucket.
+   *
+   * @param rolloutSalt the rollout salt to be set
+   */
+  public void setRolloutSalt(String rolloutSalt) {
+    this.rolloutSalt = rolloutSalt;
+  }
+
+  /**
+   * Set the variants the feature flag can serve, along with the variants served when the flag is
+   * on or off for a context.
+   *
+   * @param variants the variants to be set, empty for a plain boolean flag
+   * @param defaultVariant the key of the variant served when the flag is on
+   * @param offVariant the key of the variant served when the flag is off
+   */
+  public void setVariants(List<FlagVariant> variants, String defaultVariant, String offVariant) {
+    this.variants = List.copyOf(variants);
+    this.defaultVariant = defaultVariant;
+    this.offVariant = offVariant;
+  }
+
   /**
    * Set the status of the feature flag.
    *
@@ -180,6 +337,15 @@ public class Flag {
     this.enabled = enabled;
   }
 
+  /**
+   * Set the version of the project's flags in which this feature flag was last changed.
+   *
+   * @param changeVersion the flags version of the latest change
+   */
+  public void setChangeVersion(long changeVersion) {
+    this.changeVersion = changeVersion;
+  }
+
   @Override
   public String toString() {
     return String.format("Flag(id=%s, name='%s', enabled=%b)", id, name, enabled);
@@ -220,13 +386,7 @@ public class Flag {
   }
 
   /**
-   * Validate a feature flag key according to the following rules:
-   *
-   * <ul>
-   *   <li>The key must only contain lowercase alphabets (a-z), digits (0-9), hyphens (-), or underscores (_).</li>
-   *   <li>The key must start with a lowercase alphabet.</li>
-   *   <li>The key must not end with a hyphen (-) or underscore (_).</li>
-   * </ul>
+   * Validate a feature flag key according to the rules in {@link FlagKeys}.
    *
    * @param key the key to validate
    * @return the validated key
@@ -237,10 +397,24 @@ public class Flag {
       throw new IllegalArgumentException("Key cannot be null");
     }
 
-    if (!FLAG_KEY_PATTERN.matcher(key).matches()) {
+    if (!FlagKeys.isValid(key)) {
       throw new IllegalArgumentException("Key is not valid");
     }
 
     return key;
   }
+
+  /**
+   * Validate a rollout percentage.
+   *
+   * @param rolloutPercentage the rollout percentage to validate
+   * @return the validated rollout percentage
+   * @throws IllegalArgumentException if the percentage is not between 0 and 100
+   */
+  private int validateRolloutPercentage(int rolloutPercentage) throws IllegalArgumentException {
+    if (rolloutPercentage < 0 || rolloutPercentage > 100) {
+      throw new IllegalArgumentException("Flag rollout percentage must be between 0 and 100");
+    }
+    return rolloutPercentage;
+  }
 }
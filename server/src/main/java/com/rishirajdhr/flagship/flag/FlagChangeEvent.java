@@ -0,0 +1,11 @@
+package com.rishirajdhr.flagship.flag;
+
+/**
+ * Represents a change to one or more feature flags of a project. The event is published by
+ * {@link FlagService} from within the transaction that modifies the flags, so listeners can react
+ * once the change is committed.
+ *
+ * @param projectId the ID of the project whose flags changed
+ * @param version the version of the project's flags after the change
+ */
+public record FlagChangeEvent(Long projectId, long version) {}
@@ -0,0 +1,304 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rishirajdhr.flagship.flag.dto.FlagChangeMessage;
+import com.rishirajdhr.flagship.flag.dto.FlagSnapshotMessage;
+import com.rishirajdhr.flagship.sdkkey.SdkKeyChangeEvent;
+import com.rishirajdhr.flagship.sdkkey.SdkKeyIndex;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams changes to the feature flags of a project to connected clients as Server-Sent Events.
+ *
+ * <p>A new subscriber first receives a {@code snapshot} event with the state of every flag, and then
+ * a {@code change} event for every committed change with only the flags that were updated or
+ * deleted. Each event is serialized once and shared by all the subscribers of a project.
+ * Connections are held with asynchronous requests, so idle subscribers do not occupy a thread.
+ *
+ * <p>Events are written by a pool of writer threads. Heartbeats and the checks of the connected
+ * subscribers run on a separate thread that only buffers events, so they keep running while every
+ * writer is blocked. A subscriber is closed once a single write to it has been blocked for longer
+ * than the write timeout, and once the SDK key it connected with is revoked or expires. The
+ * writer thread of a closed subscriber is released when the servlet container's own write timeout
+ * fails the blocked write.
+ */
+@Component
+public class FlagChangeStream implements DisposableBean {
+  private static final String SNAPSHOT_EVENT = "snapshot";
+  private static final String CHANGE_EVENT = "change";
+  private static final Duration CHECK_INTERVAL = Duration.ofSeconds(1);
+
+  private final FlagSnapshotCache flagSnapshotCache;
+  private final SdkKeyIndex sdkKeyIndex;
+  private final ObjectMapper objectMapper;
+  private final ConcurrentMap<Long, Set<FlagStreamSubscriber>> subscribers =
+      new ConcurrentHashMap<>();
+  private final ExecutorService executor;
+  private final ScheduledExecutorService scheduler;
+  private final Duration timeout;
+  private final long writeTimeoutNanos;
+  private final int bufferSize;
+  private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+
+  /**
+   * Create a new stream of flag changes.
+   *
+   * @param flagSnapshotCache the cache that provides the current flag snapshot of a project
+   * @param sdkKeyIndex the index used to check that the SDK keys of subscribers are still active
+   * @param objectMapper the mapper used to serialize events
+   * @param threads the number of threads used to write events to clients
+   * @param bufferSize the maximum number of events buffered for a single client
+   * @param timeout the time after which a connection is closed and the client has to reconnect
+   * @param writeTimeout the longest time a single write to a client may be blocked before the
+   *                     client is closed
+   * @param heartbeatInterval the interval at which idle connections are sent a heartbeat
+   */
+  public FlagChangeStream(
+      FlagSnapshotCache flagSnapshotCache, SdkKeyIndex sdkKeyIndex, ObjectMapper objectMapper,
+      @Value("${flagship.stream.threads:4}") int threads,
+      @Value("${flagship.stream.buffer-size:32}") int bufferSize,
+      @Value("${flagship.stream.timeout:30m}") Duration timeout,
+      @Value("${flagship.stream.write-timeout:10s}") Duration writeTimeout,
+      @Value("${flagship.stream.heartbeat-interval:30s}") Duration heartbeatInterval) {
+    this.flagSnapshotCache = flagSnapshotCache;
+    this.sdkKeyIndex = sdkKeyIndex;
+    this.objectMapper = objectMapper;
+    this.bufferSize = bufferSize;
+    this.timeout = timeout;
+    this.writeTimeoutNanos = writeTimeout.toNanos();
+    this.executor =
+        Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("flag-stream-"));
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(
+        new CustomizableThreadFactory("flag-stream-monitor-"));
+    this.scheduler.scheduleAtFixedRate(this::sendHeartbeats, heartbeatInterval.toMillis(),
+                                       heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    this.scheduler.scheduleWithFixedDelay(this::checkSubscribers, CHECK_INTERVAL.toMillis(),
+                                          CHECK_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Subscribe to the changes of a project's flags.
+   *
+   * @param projectId the ID of the project
+   * @param keyHash the hash of the SDK key the client connected with, or {@code null} if the client
+   *                connected as a user
+   * @return the emitter that writes the project's flag events to the client
+   */
+  public SseEmitter subscribe(Long projectId, String keyHash) {
+    SseEmitter emitter = new SseEmitter(timeout.toMillis());
+    FlagStreamSubscriber subscriber =
+        new FlagStreamSubscriber(projectId, keyHash, emitter, bufferSize, executor);
+    emitter.onCompletion(() -> unsubscribe(subscriber));
+    emitter.onTimeout(subscriber::close);
+    emitter.onError(e -> subscriber.close());
+
+    // Register before reading the snapshot, so that no change committed in between is missed.
+    subscribers.computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+    synchronized (subscriber) {
+      FlagSnapshot snapshot = flagSnapshotCache.getSnapshot(projectId);
+      subscriber.send(snapshotEvent(snapshot), snapshot.getVersion());
+    }
+    return emitter;
+  }
+
+  /**
+   * Send the changes between two snapshots of a project's flags to its subscribers. Subscribers
+   * that are not at the version of the previous snapshot are sent the full snapshot instead.
+   *
+   * @param event the snapshot swap
+   */
+  @EventListener
+  public void onSnapshotUpdated(FlagSnapshotUpdatedEvent event) {
+    FlagSnapshot previous = event.previous();
+    FlagSnapshot current = event.current();
+    Set<FlagStreamSubscriber> projectSubscribers = subscribers.get(current.getProjectId());
+    if (projectSubscribers == null || projectSubscribers.isEmpty()) return;
+
+    Set<DataWithMediaType> changeEvent = changeEvent(previous, current);
+    Set<DataWithMediaType> snapshotEvent = null;
+    for (FlagStreamSubscriber subscriber : projectSubscribers) {
+      synchronized (subscriber) {
+        long version = subscriber.getVersion();
+        if (version >= current.getVersion()) continue;
+
+        if (version == previous.getVersion()) {
+          subscriber.send(changeEvent, current.getVersion());
+        } else {
+          if (snapshotEvent == null) snapshotEvent = snapshotEvent(current);
+          subscriber.send(snapshotEvent, current.getVersion());
+        }
+      }
+    }
+  }
+
+  /**
+   * Close the subscribers of a project whose SDK key is no longer active, once a change to one of
+   * the project's SDK keys has been committed.
+   *
+   * @param event the committed SDK key change
+   */
+  @TransactionalEventListener
+  public void onSdkKeyChange(SdkKeyChangeEvent event) {
+    Set<FlagStreamSubscriber> projectSubscribers = subscribers.get(event.projectId());
+    if (projectSubscribers == null) return;
+
+    for (FlagStreamSubscriber subscriber : projectSubscribers) {
+      if (isRevoked(subscriber)) evict(subscriber);
+    }
+  }
+
+  /**
+   * Get the number of clients connected to a project's flag stream.
+   *
+   * @param projectId the ID of the project
+   * @return the number of connected clients
+   */
+  public int getSubscriberCount(Long projectId) {
+    Set<FlagStreamSubscriber> projectSubscribers = subscribers.get(projectId);
+    return projectSubscribers == null ? 0 : projectSubscribers.size();
+  }
+
+  @Override
+  public void destroy() {
+    scheduler.shutdownNow();
+    executor.shutdownNow();
+    subscribers.values().forEach(projectSubscribers -> projectSubscribers.forEach(
+        subscriber -> subscriber.getEmitter().complete()));
+  }
+
+  /**
+   * Remove a subscriber once its connection is closed.
+   *
+   * @param subscriber the subscriber to remove
+   */
+  private void unsubscribe(FlagStreamSubscriber subscriber) {
+    subscribers.computeIfPresent(subscriber.getProjectId(), (projectId, projectSubscribers) -> {
+      projectSubscribers.remove(subscriber);
+      return projectSubscribers.isEmpty() ? null : projectSubscribers;
+    });
+  }
+
+  /**
+   * Remove a subscriber from its project and close its connection, so it is sent no more events.
+   *
+   * @param subscriber the subscriber to evict
+   */
+  private void evict(FlagStreamSubscriber subscriber) {
+    unsubscribe(subscriber);
+    subscriber.close();
+  }
+
+  /**
+   * Check whether the SDK key a subscriber connected with is no longer active.
+   *
+   * @param subscriber the subscriber to check
+   * @return {@code true} if the subscriber connected with an SDK key that was revoked or expired
+   */
+  private boolean isRevoked(FlagStreamSubscriber subscriber) {
+    return subscriber.getKeyHash() != null
+           && sdkKeyIndex.findProjectIdByHash(subscriber.getKeyHash()).isEmpty();
+  }
+
+  /**
+   * Evict every subscriber whose current write has been blocked for longer than the write timeout
+   * or whose SDK key is no longer active. Keys revoked on other nodes are seen once the SDK key
+   * index is refreshed.
+   */
+  private void checkSubscribers() {
+    long now = System.nanoTime();
+    subscribers.values().forEach(projectSubscribers -> projectSubscribers.forEach(subscriber -> {
+      if (subscriber.isWriteStalled(now, writeTimeoutNanos) || isRevoked(subscriber)) {
+        evict(subscriber);
+      }
+    }));
+  }
+
+  /**
+   * Send a heartbeat to every subscriber, so that idle connections are kept open by proxies and
+   * broken connections are detected.
+   */
+  private void sendHeartbeats() {
+    subscribers.values().forEach(projectSubscribers -> projectSubscribers.forEach(
+        subscriber -> subscriber.send(heartbeat)));
+  }
+
+  /**
+   * Build the event that carries the state of every flag in a snapshot.
+   *
+   * @param snapshot the snapshot to send
+   * @return the built event
+   */
+  private Set<DataWithMediaType> snapshotEvent(FlagSnapshot snapshot) {
+    FlagSnapshotMessage message =
+        new FlagSnapshotMessage(snapshot.getVersion(), snapshot.getStates());
+    return buildEvent(SNAPSHOT_EVENT, snapshot.getVersion(), message);
+  }
+
+  /**
+   * Build the event that carries the flags changed between two snapshots.
+   *
+   * @param previous the earlier snapshot
+   * @param current the later snapshot
+   * @return the built event
+   */
+  private Set<DataWithMediaType> changeEvent(FlagSnapshot previous, FlagSnapshot current) {
+    Map<String, FlagState> updated = new HashMap<>();
+    current.getStates().forEach((key, state) -> {
+      if (!state.equals(previous.getStates().get(key))) updated.put(key, state);
+    });
+
+    List<String> deleted = new ArrayList<>();
+    for (String key : previous.getStates().keySet()) {
+      if (!current.getStates().containsKey(key)) deleted.add(key);
+    }
+
+    FlagChangeMessage message =
+        new FlagChangeMessage(previous.getVersion(), current.getVersion(), updated, deleted);
+    return buildEvent(CHANGE_EVENT, current.getVersion(), message);
+  }
+
+  /**
+   * Build a named event with a JSON payload. The payload is serialized once, so the event can be
+   * shared by all the subscribers it is sent to.
+   *
+   * @param name the name of the event
+   * @param version the version of the project's flags, used as the event ID
+   * @param payload the payload of the event
+   * @return the built event
+   */
+  private Set<DataWithMediaType> buildEvent(String name, long version, Object payload) {
+    try {
+      String data = objectMapper.writeValueAsString(payload);
+      return SseEmitter.event()
+          .id(String.valueOf(version))
+          .name(name)
+          .data(data, MediaType.APPLICATION_JSON)
+          .build();
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize flag stream event", e);
+    }
+  }
+}
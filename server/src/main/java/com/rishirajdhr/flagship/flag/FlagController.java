@@ -0,0 +1,394 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.auth.AppUserProvider;
+import com.rishirajdhr.flagship.auth.exceptions.UnauthenticatedException;
+import com.rishirajdhr.flagship.auth.exceptions.UnauthorizedException;
+import com.rishirajdhr.flagship.flag.dto.FlagBulkUpdateResponse;
+import com.rishirajdhr.flagship.flag.dto.FlagChangesResponse;
+import com.rishirajdhr.flagship.flag.dto.FlagEvaluationCount;
+import com.rishirajdhr.flagship.flag.dto.FlagEvaluationResult;
+import com.rishirajdhr.flagship.flag.dto.FlagImportResponse;
+import com.rishirajdhr.flagship.flag.dto.FlagResponse;
+import com.rishirajdhr.flagship.flag.dto.FlagSnapshotMessage;
+import com.rishirajdhr.flagship.flag.exceptions.FlagNotFoundException;
+import com.rishirajdhr.flagship.pagination.PageResponse;
+import com.rishirajdhr.flagship.pagination.Pagination;
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.project.ProjectService;
+import com.rishirajdhr.flagship.project.exceptions.ProjectNotFoundException;
+import com.rishirajdhr.flagship.sdkkey.SdkKeyProvider;
+import com.rishirajdhr.flagship.targeting.EvaluationContext;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.validation.Valid;
+
+/**
+ * Exposes REST endpoints to access {@link Flag} entities.
+ */
+@RestController
+@RequestMapping("/api/projects/{projectId}/flags")
+public class FlagController {
+  private static final int MAX_EVALUATION_MINUTES = 30 * 24 * 60;
+
+  private final FlagService flagService;
+  private final FlagChangeStream flagChangeStream;
+  private final FlagTransferService flagTransferService;
+  private final ProjectService projectService;
+  private final AppUserProvider appUserProvider;
+  private final SdkKeyProvider sdkKeyProvider;
+
+  /**
+   * Create a new Flag controller.
+   *
+   * @param flagService the {@link Flag} business logic service
+   * @param flagChangeStream the stream of changes to the flags of a project
+   * @param flagTransferService the service that exports and imports the flags of a project
+   * @param projectService the {@link Project} business logic service
+   * @param appUserProvider the provider that supplies information about the logged-in user
+   * @param sdkKeyProvider the provider that supplies the project of the request's SDK key
+   */
+  public FlagController(FlagService flagService, FlagChangeStream flagChangeStream,
+                        FlagTransferService flagTransferService, ProjectService projectService,
+                        AppUserProvider appUserProvider, SdkKeyProvider sdkKeyProvider) {
+    this.flagService = flagService;
+    this.flagChangeStream = flagChangeStream;
+    this.flagTransferService = flagTransferService;
+    this.projectService = projectService;
+    this.appUserProvider = appUserProvider;
+    this.sdkKeyProvider = sdkKeyProvider;
+  }
+
+  /**
+   * Create a new feature flag for a project
+   *
+   * @param projectId the ID of the project
+   * @param newFlag the data for the new flag to be created
+   * @return the newly created flag, with its entity tag in the {@code ETag} header
+   */
+  @PostMapping
+  public ResponseEntity<FlagResponse> createProjectFlag(@PathVariable Long projectId,
+                                                        @RequestBody @Valid NewFlag newFlag) {
+    Project project = getAuthorizedProject(projectId);
+    Flag flag = flagService.createProjectFlag(
+        newFlag.key(), newFlag.name(), newFlag.description(), newFlag.enabled(),
+        newFlag.rules() == null ? List.of() : newFlag.rules(),
+        newFlag.rolloutPercentage() == null ? 100 : newFlag.rolloutPercentage(),
+        newFlag.rolloutSalt(),
+        newFlag.variants() == null ? List.of() : newFlag.variants(),
+        newFlag.defaultVariant(), newFlag.offVariant(), project);
+    return ResponseEntity.ok().eTag(flag.getETag()).body(FlagResponse.fromFlag(flag));
+  }
+
+  /**
+   * Get a page of the feature flags for a project. Pages are read with a keyset cursor, so every
+   * page costs the same no matter how deep it is.
+   *
+   * @param projectId the ID of the project
+   * @param prefix the prefix the flag keys must start with, or {@code null} for every flag
+   * @param sort the order to list the flags in
+   * @param cursor the cursor of the page from the previous response, or {@code null} for the first
+   *     page
+   * @param limit the maximum number of flags on the page
+   * @return the page of project feature flags
+   */
+  @GetMapping
+  public PageResponse<FlagResponse> getProjectFlags(
+      @PathVariable Long projectId,
+      @RequestParam(required = false) String prefix,
+      @RequestParam(defaultValue = "KEY") FlagSort sort,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "" + Pagination.DEFAULT_LIMIT) int limit) {
+    getAuthorizedProject(projectId);
+    return flagService.getProjectFlags(projectId, prefix, sort, cursor, limit);
+  }
+
+  /**
+   * Get whether each feature flag of a project is enabled. The response carries a strong
+   * {@code ETag} derived from the version of the project's flags, and a request whose
+   * {@code If-None-Match} header matches the current version is answered with
+   * {@code 304 Not Modified} and no body.
+   *
+   * @param projectId the ID of the project
+   * @param webRequest the current request, used to check the {@code If-None-Match} header
+   * @return a map of flag key to flag status, or {@code null} if the client's copy is current
+   */
+  @GetMapping("/snapshot")
+  public Map<String, Boolean> getProjectFlagSnapshot(@PathVariable Long projectId,
+                                                     WebRequest webRequest) {
+    FlagSnapshot snapshot = flagService.getProjectFlagSnapshot(getEvaluationProjectId(projectId));
+    if (webRequest.checkNotModified(snapshot.getETag())) return null;
+
+    return snapshot.getEnabledStates();
+  }
+
+  /**
+   * Get the state of every feature flag of a project, for a context without any attributes, and
+   * the definition of every flag, along with the version of the project's flags. This is the
+   * snapshot SDKs evaluate flags from locally; like {@link #getProjectFlagSnapshot}, it is tagged
+   * with an {@code ETag} and answered with {@code 304 Not Modified} when the client's copy is
+   * current.
+   *
+   * @param projectId the ID of the project
+   * @param webRequest the current request, used to check the {@code If-None-Match} header
+   * @return the versioned flag states, or {@code null} if the client's copy is current
+   */
+  @GetMapping("/states")
+  public FlagSnapshotMessage getProjectFlagStates(@PathVariable Long projectId,
+                                                  WebRequest webRequest) {
+    FlagSnapshot snapshot = flagService.getProjectFlagSnapshot(getEvaluationProjectId(projectId));
+    if (webRequest.checkNotModified(snapshot.getETag())) return null;
+
+    return new FlagSnapshotMessage(
+        snapshot.getVersion(), snapshot.getStates(), snapshot.getDefinitions());
+  }
+
+  /**
+   * Get the changes to the feature flags of a project since a given version, including the keys of
+   * deleted flags. Clients pass the {@code version} of their previous response to catch up.
+   *
+   * @param projectId the ID of the project
+   * @param since the version of the project's flags the client is at
+   * @return the flags updated and deleted since the given version
+   */
+  @GetMapping("/changes")
+  public FlagChangesResponse getFlagChangesForProject(
+      @PathVariable Long projectId, @RequestParam(defaultValue = "0") long since) {
+    return flagService.getProjectFlagChangesSince(since, getEvaluationProjectId(projectId));
+  }
+
+  /**
+   * Stream the changes to the feature flags of a project as Server-Sent Events. The stream starts
+   * with a {@code snapshot} event holding the state of every flag, followed by a {@code change}
+   * event with the updated and deleted flags whenever the project's flags change.
+   *
+   * @param projectId the ID of the project
+   * @return the emitter that writes the flag events to the client
+   */
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamFlagChanges(@PathVariable Long projectId) {
+    return flagChangeStream.subscribe(getEvaluationProjectId(projectId),
+                                      sdkKeyProvider.getKeyHash());
+  }
+
+  /**
+   * Export the feature flags of a project as NDJSON, one flag per line in the format accepted by
+   * {@link #importProjectFlags(Long, InputStream)}. The flags are written as they are read, so the
+   * export is never held in memory as a whole.
+   *
+   * @param projectId the ID of the project
+   * @return the body that writes the flags to the client
+   */
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public StreamingResponseBody exportProjectFlags(@PathVariable Long projectId) {
+    Long authorizedProjectId = getAuthorizedProject(projectId).getId();
+    return out -> flagTransferService.exportProjectFlags(authorizedProjectId, out);
+  }
+
+  /**
+   * Import feature flags into a project from NDJSON or a JSON array of flags with the fields of a
+   * new flag. The body is parsed one flag at a time and the flags are saved in chunks. Rows that
+   * are invalid, or whose key is already taken, are reported in the response and skipped.
+   *
+   * @param projectId the ID of the project
+   * @param body the stream of flags to import
+   * @return the number of flags imported and the rejected rows
+   * @throws IOException if the body cannot be read
+   */
+  @PostMapping(value = "/import",
+               consumes = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+  public FlagImportResponse importProjectFlags(@PathVariable Long projectId, InputStream body)
+      throws IOException {
+    Project project = getAuthorizedProject(projectId);
+    return flagTransferService.importProjectFlags(project, body);
+  }
+
+  /**
+   * Get a feature flag for a project by its ID.
+   *
+   * @param flagId the ID of the flag
+   * @param projectId the ID of the project
+   * @return the feature flag, with its entity tag in the {@code ETag} header
+   */
+  @GetMapping("/{flagId}")
+  public ResponseEntity<FlagResponse> getProjectFlagById(@PathVariable Long flagId,
+                                                         @PathVariable Long projectId) {
+    Project project = getAuthorizedProject(projectId);
+    Flag flag =
+        flagService.getProjectFlagById(flagId, project).orElseThrow(() -> new FlagNotFoundException(flagId));
+    return ResponseEntity.ok()
+        .eTag(flag.getETag())
+        .body(FlagResponse.fromFlag(flag, flagService.getFlagEvaluationSummary(flagId)));
+  }
+
+  /**
+   * Get the evaluation counts of a feature flag per minute. Counts are written in batches, so the
+   * latest evaluations show up after a short delay.
+   *
+   * @param flagId the ID of the flag
+   * @param projectId the ID of the project
+   * @param minutes the number of recent minutes to get counts for, between 1 and 30 days' worth
+   * @return the flag's evaluation counts, oldest first, without the minutes in which the flag was
+   *     not evaluated
+   */
+  @GetMapping("/{flagId}/evaluations")
+  public List<FlagEvaluationCount> getProjectFlagEvaluations(
+      @PathVariable Long flagId, @PathVariable Long projectId,
+      @RequestParam(defaultValue = "60") int minutes) {
+    Project project = getAuthorizedProject(projectId);
+    int clampedMinutes = Math.max(1, Math.min(minutes, MAX_EVALUATION_MINUTES));
+    return flagService.getProjectFlagEvaluations(flagId, project, clampedMinutes);
+  }
+
+  /**
+   * Update a feature flag for a project by its ID. A request with an {@code If-Match} header is
+   * only applied if the flag still matches one of its entity tags, and is answered with
+   * {@code 412 Precondition Failed} otherwise. An update that races with another change to the
+   * flag fails the same way, with or without the header.
+   *
+   * @param flagId the ID of the flag
+   * @param projectId the ID of the project
+   * @param updateFlag the payload with information to be updated for the flag
+   * @param ifMatch the entity tags of the client's copy of the flag, or {@code null}
+   * @return the updated feature flag, with its new entity tag in the {@code ETag} header
+   */
+  @PutMapping("/{flagId}")
+  public ResponseEntity<FlagResponse> updateProjectFlagById(
+      @PathVariable Long flagId, @PathVariable Long projectId,
+      @RequestBody @Valid UpdateFlag updateFlag,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Project project = getAuthorizedProject(projectId);
+    Flag flag = flagService.updateProjectFlagById(flagId, project, updateFlag, ifMatch);
+    return ResponseEntity.ok()
+        .eTag(flag.getETag())
+        .body(FlagResponse.fromFlag(flag, flagService.getFlagEvaluationSummary(flagId)));
+  }
+
+  /**
+   * Apply the same status and description change to several feature flags of a project at once.
+   *
+   * @param projectId the ID of the project
+   * @param bulkUpdate the {@link BulkUpdateFlags} payload with the flags and the change
+   * @return the updated flags and the requested flags that were not found
+   */
+  @PatchMapping
+  public FlagBulkUpdateResponse updateProjectFlags(@PathVariable Long projectId,
+                                                   @RequestBody @Valid BulkUpdateFlags bulkUpdate) {
+    Project project = getAuthorizedProject(projectId);
+    return flagService.updateProjectFlags(project, bulkUpdate);
+  }
+
+  /**
+   * Delete a feature flag for a project by its ID. A request with an {@code If-Match} header is
+   * only applied if the flag still matches one of its entity tags, and is answered with
+   * {@code 412 Precondition Failed} otherwise.
+   *
+   * @param flagId the ID of the flag
+   * @param projectId the ID of the project
+   * @param ifMatch the entity tags of the client's copy of the flag, or {@code null}
+   * @return the deleted feature flag
+   */
+  @DeleteMapping("/{flagId}")
+  public FlagResponse deleteProjectFlagById(
+      @PathVariable Long flagId, @PathVariable Long projectId,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    Project project = getAuthorizedProject(projectId);
+    Flag flag = flagService.deleteProjectFlagById(flagId, project, ifMatch);
+    return FlagResponse.fromFlag(flag);
+  }
+
+  /**
+   * Evaluate the state of a feature flag for a project by its key.
+   *
+   * @param flagKey the key of the flag
+   * @param projectId the ID of the project
+   * @param context the context to evaluate the flag for, or {@code null} for an empty context
+   * @return the evaluated flag state
+   */
+  @PostMapping("/{flagKey}/evaluate")
+  public FlagState evaluateFlag(@PathVariable String flagKey, @PathVariable Long projectId,
+                                @RequestBody(required = false) @Valid EvaluationContext context) {
+    Long authorizedProjectId = getEvaluationProjectId(projectId);
+    return flagService
+        .evaluateProjectFlag(
+            flagKey, authorizedProjectId, context == null ? EvaluationContext.EMPTY : context)
+        .orElseThrow(() -> new FlagNotFoundException(flagKey));
+  }
+
+  /**
+   * Evaluate several feature flags for a project by their keys. Keys that do not match a flag are
+   * reported in the results instead of failing the request.
+   *
+   * @param projectId the ID of the project
+   * @param evaluateFlags the payload with the keys of the flags to evaluate
+   * @return the evaluation results, in the same order as the requested keys
+   */
+  @PostMapping("/evaluate")
+  public List<FlagEvaluationResult> evaluateFlags(@PathVariable Long projectId,
+                                                  @RequestBody @Valid EvaluateFlags evaluateFlags) {
+    Long authorizedProjectId = getEvaluationProjectId(projectId);
+    EvaluationContext context =
+        evaluateFlags.context() == null ? EvaluationContext.EMPTY : evaluateFlags.context();
+    return flagService.evaluateProjectFlags(evaluateFlags.keys(), authorizedProjectId, context);
+  }
+
+  /**
+   * Get the ID of the project for the current route if the request is authorized to evaluate its
+   * flags. Requests authenticated with an SDK key are authorized without querying the database.
+   *
+   * @param projectId the project ID
+   * @return the authorized project ID
+   * @throws ProjectNotFoundException if no project is found with the given ID
+   * @throws UnauthenticatedException if the request is not authenticated
+   * @throws UnauthorizedException if the request is not authorized to access the project
+   */
+  private Long getEvaluationProjectId(Long projectId)
+      throws ProjectNotFoundException, UnauthenticatedException, UnauthorizedException {
+    Long sdkKeyProjectId = sdkKeyProvider.getProjectId();
+    if (sdkKeyProjectId == null) return getAuthorizedProject(projectId).getId();
+
+    if (!sdkKeyProjectId.equals(projectId)) {
+      throw new UnauthorizedException("SDK key is not authorized to access project");
+    }
+    return projectId;
+  }
+
+  /**
+   * Get the project for the current route if it exists and if the authenticated user is authorized
+   * to access it.
+   *
+   * @param projectId the project ID
+   * @return the authorized project
+   * @throws ProjectNotFoundException if no project is found with the given ID
+   * @throws UnauthenticatedException if there is no authenticated user
+   * @throws UnauthorizedException if the authenticated user is not authorized to access the project
+   */
+  private Project getAuthorizedProject(Long projectId)
+      throws ProjectNotFoundException, UnauthenticatedException, UnauthorizedException {
+    Long userId = appUserProvider.getLoggedInUserId();
+    if (userId == null) throw new UnauthenticatedException();
+
+    return projectService.getAuthorizedProject(projectId, userId);
+  }
+}
@@ -0,0 +1,95 @@
+package com.rishirajdhr.flagship.flag;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Represents the number of evaluations of a feature flag by result during one minute. Buckets are
+ * written in batches by {@link FlagEvaluationCounters}, never on the evaluation path.
+ */
+@Entity
+@IdClass(FlagEvaluationBucket.BucketId.class)
+@Table(indexes = @Index(columnList = "bucket_start"))
+public class FlagEvaluationBucket {
+
+  @Id
+  private Long flagId;
+
+  @Id
+  private Instant bucketStart;
+
+  @Column(nullable = false)
+  private long enabledCount;
+
+  @Column(nullable = false)
+  private long disabledCount;
+
+  @Column(nullable = false)
+  private Instant lastEvaluatedAt;
+
+  /**
+   * No-arg constructor used by JPA to instantiate a {@link FlagEvaluationBucket} object.
+   */
+  protected FlagEvaluationBucket() {}
+
+  /**
+   * Get the ID of the evaluated flag.
+   *
+   * @return the flag ID
+   */
+  public Long getFlagId() {
+    return flagId;
+  }
+
+  /**
+   * Get the start of the minute the bucket counts evaluations for.
+   *
+   * @return the start of the bucket
+   */
+  public Instant getBucketStart() {
+    return bucketStart;
+  }
+
+  /**
+   * Get the number of evaluations in the bucket that were enabled.
+   *
+   * @return the number of enabled evaluations
+   */
+  public long getEnabledCount() {
+    return enabledCount;
+  }
+
+  /**
+   * Get the number of evaluations in the bucket that were disabled.
+   *
+   * @return the number of disabled evaluations
+   */
+  public long getDisabledCount() {
+    return disabledCount;
+  }
+
+  /**
+   * Get the time the bucket's latest evaluations were flushed, which is at most one flush interval
+   * after the latest evaluation.
+   *
+   * @return the time of the latest evaluation
+   */
+  public Instant getLastEvaluatedAt() {
+    return lastEvaluatedAt;
+  }
+
+  /**
+   * Represents the primary key of a {@link FlagEvaluationBucket}.
+   *
+   * @param flagId the ID of the evaluated flag
+   * @param bucketStart the start of the minute the bucket counts evaluations for
+   */
+  public record BucketId(Long flagId, Instant bucketStart) implements Serializable {}
+}
@@ -0,0 +1,71 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.flag.dto.FlagEvaluationCount;
+import com.rishirajdhr.flagship.flag.dto.FlagEvaluationSummary;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Represents a repository to access and modify {@link FlagEvaluationBucket} entities.
+ */
+public interface FlagEvaluationBucketRepository
+    extends JpaRepository<FlagEvaluationBucket, FlagEvaluationBucket.BucketId> {
+  /**
+   * Get the evaluation counts of a feature flag per minute since a given time.
+   *
+   * @param flagId the ID of the flag
+   * @param since the inclusive lower bound of the bucket starts
+   * @return a list of the flag's evaluation counts, oldest first, without the minutes in which
+   *     the flag was not evaluated
+   */
+  @Query("""
+      select new com.rishirajdhr.flagship.flag.dto.FlagEvaluationCount(
+          b.bucketStart, b.enabledCount, b.disabledCount)
+      from FlagEvaluationBucket b
+      where b.flagId = :flagId and b.bucketStart >= :since
+      order by b.bucketStart
+      """)
+  List<FlagEvaluationCount> findCountsByFlagIdSince(Long flagId, Instant since);
+
+  /**
+   * Get the evaluation counts of a feature flag since a given time, along with the time it was
+   * last evaluated.
+   *
+   * @param flagId the ID of the flag
+   * @param since the start of the period the evaluation counts cover
+   * @return the flag's evaluation summary
+   */
+  @Query("""
+      select new com.rishirajdhr.flagship.flag.dto.FlagEvaluationSummary(
+          coalesce(sum(case when b.bucketStart >= :since then b.enabledCount else 0L end), 0L),
+          coalesce(sum(case when b.bucketStart >= :since then b.disabledCount else 0L end), 0L),
+          max(b.lastEvaluatedAt))
+      from FlagEvaluationBucket b
+      where b.flagId = :flagId
+      """)
+  FlagEvaluationSummary findSummaryByFlagId(Long flagId, Instant since);
+
+  /**
+   * Delete the evaluation counts of a feature flag.
+   *
+   * @param flagId the ID of the flag
+   */
+  @Modifying
+  @Query("delete from FlagEvaluationBucket b where b.flagId = :flagId")
+  void deleteByFlagId(Long flagId);
+
+  /**
+   * Delete the evaluation counts of every feature flag before a given time.
+   *
+   * @param before the exclusive upper bound of the bucket starts
+   * @return the number of deleted buckets
+   */
+  @Modifying
+  @Query("delete from FlagEvaluationBucket b where b.bucketStart < :before")
+  int deleteByBucketStartBefore(Instant before);
+}
@@ -0,0 +1,50 @@
+package com.rishirajdhr.flagship.flag;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the evaluations of a feature flag by result. The counts are striped across cells, so
+ * concurrent evaluations of the same flag do not contend on a single memory location.
+ */
+final class FlagEvaluationCounter {
+  private final LongAdder enabled = new LongAdder();
+  private final LongAdder disabled = new LongAdder();
+
+  /**
+   * Count an evaluation.
+   *
+   * @param result the evaluated flag status - {@code true} if enabled, {@code false} otherwise
+   */
+  void record(boolean result) {
+    (result ? enabled : disabled).increment();
+  }
+
+  /**
+   * Take the number of evaluations that were enabled since the previous drain.
+   *
+   * @return the number of enabled evaluations
+   */
+  long drainEnabled() {
+    return enabled.sumThenReset();
+  }
+
+  /**
+   * Take the number of evaluations that were disabled since the previous drain.
+   *
+   * @return the number of disabled evaluations
+   */
+  long drainDisabled() {
+    return disabled.sumThenReset();
+  }
+
+  /**
+   * Put back drained counts that could not be persisted, so they are taken by the next drain.
+   *
+   * @param enabledCount the number of enabled evaluations
+   * @param disabledCount the number of disabled evaluations
+   */
+  void restore(long enabledCount, long disabledCount) {
+    enabled.add(enabledCount);
+    disabled.add(disabledCount);
+  }
+}
@@ -0,0 +1,226 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.audit.FlagAuditAction;
+import com.rishirajdhr.flagship.audit.FlagAuditEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds a {@link FlagEvaluationCounter} per feature flag and periodically flushes the counts to
+ * per-minute {@link FlagEvaluationBucket} rows.
+ *
+ * <p>Evaluations only increment an in-memory counter that the flag's compiled plan holds on to, so
+ * counting never touches the database or a shared lock. A background thread drains every counter
+ * at a fixed interval and adds the counts to the bucket of the current minute with two batched
+ * statements: an update of the existing buckets, then an insert of the missing ones of flags that
+ * still exist. Counts that cannot be written are put back and retried on the next flush.
+ */
+@Component
+@ManagedResource(objectName = "com.rishirajdhr.flagship:type=FlagEvaluationCounters")
+public class FlagEvaluationCounters implements DisposableBean {
+  private static final Logger LOGGER = LoggerFactory.getLogger(FlagEvaluationCounters.class);
+
+  private static final String UPDATE_BUCKET = """
+      update flag_evaluation_bucket
+      set enabled_count = enabled_count + ?, disabled_count = disabled_count + ?,
+          last_evaluated_at = ?
+      where flag_id = ? and bucket_start = ?
+      """;
+  // Skips flags deleted since their counts were drained, so their buckets are not recreated
+  private static final String INSERT_BUCKET = """
+      insert into flag_evaluation_bucket
+          (enabled_count, disabled_count, last_evaluated_at, flag_id, bucket_start)
+      select ?, ?, ?, f.id, ? from flag f where f.id = ?
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final FlagEvaluationBucketRepository bucketRepository;
+  private final TransactionTemplate writeTransaction;
+  private final Duration retention;
+  private final ConcurrentMap<Long, FlagEvaluationCounter> counters = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService executor;
+  private final LongAdder flushedEvaluations = new LongAdder();
+  private final LongAdder failedFlushes = new LongAdder();
+  private Instant lastRetentionRun = Instant.EPOCH;
+
+  /**
+   * Create a new set of flag evaluation counters.
+   *
+   * @param jdbcTemplate the template used to write buckets in batches
+   * @param bucketRepository the repository that provides database access to buckets
+   * @param transactionManager the transaction manager used to flush the counts
+   * @param flushInterval the interval at which the counts are flushed
+   * @param retention how long buckets are kept
+   */
+  public FlagEvaluationCounters(
+      JdbcTemplate jdbcTemplate, FlagEvaluationBucketRepository bucketRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${flagship.evaluations.flush-interval:10s}") Duration flushInterval,
+      @Value("${flagship.evaluations.retention:30d}") Duration retention) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.bucketRepository = bucketRepository;
+    this.writeTransaction = new TransactionTemplate(transactionManager);
+    this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.retention = retention;
+    this.executor = Executors.newSingleThreadScheduledExecutor(
+        new CustomizableThreadFactory("flag-evaluation-flush-"));
+    this.executor.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(),
+                                         flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Get the evaluation counter of a feature flag, creating it if the flag has none yet.
+   *
+   * @param flagId the ID of the flag
+   * @return the flag's counter
+   */
+  FlagEvaluationCounter getCounter(Long flagId) {
+    return counters.computeIfAbsent(flagId, id -> new FlagEvaluationCounter());
+  }
+
+  /**
+   * Discard the evaluation counter and delete the evaluation counts of a feature flag once its
+   * deletion has been committed. A deletion that is rolled back, for example because it lost a
+   * race with another change, keeps the counter the flag's plan still holds on to.
+   *
+   * <p>This runs under the same lock as {@link #flush()}, so a flush that drained the flag's
+   * counter before the deletion is written before its buckets are deleted, and later flushes skip
+   * the flag because it no longer exists. A failure is logged rather than thrown, since the flag is
+   * already deleted; leftover buckets are deleted with the retention period.
+   *
+   * @param event the committed flag change
+   */
+  @TransactionalEventListener
+  public synchronized void onFlagAudit(FlagAuditEvent event) {
+    if (event.action() != FlagAuditAction.DELETED) return;
+
+    counters.remove(event.flagId());
+    try {
+      writeTransaction.executeWithoutResult(
+          status -> bucketRepository.deleteByFlagId(event.flagId()));
+    } catch (RuntimeException e) {
+      LOGGER.warn("Could not delete the evaluation counts of flag {}", event.flagId(), e);
+    }
+  }
+
+  /**
+   * Write the counts since the previous flush to the bucket of the current minute, and delete the
+   * buckets past the retention period at most once an hour.
+   */
+  @ManagedOperation(description = "Flush the pending evaluation counts to the database")
+  public synchronized void flush() {
+    Instant now = Instant.now();
+    OffsetDateTime flushedAt = OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+    OffsetDateTime bucketStart = flushedAt.truncatedTo(ChronoUnit.MINUTES);
+
+    List<Object[]> rows = new ArrayList<>();
+    List<FlagEvaluationCounter> drained = new ArrayList<>();
+    for (Map.Entry<Long, FlagEvaluationCounter> entry : counters.entrySet()) {
+      long enabledCount = entry.getValue().drainEnabled();
+      long disabledCount = entry.getValue().drainDisabled();
+      if (enabledCount == 0 && disabledCount == 0) continue;
+
+      rows.add(new Object[] {
+          enabledCount, disabledCount, flushedAt, entry.getKey(), bucketStart });
+      drained.add(entry.getValue());
+    }
+
+    boolean pruneBuckets = now.isAfter(lastRetentionRun.plus(Duration.ofHours(1)));
+    if (rows.isEmpty() && !pruneBuckets) return;
+
+    try {
+      writeTransaction.executeWithoutResult(status -> {
+        if (!rows.isEmpty()) writeBuckets(rows);
+        if (pruneBuckets) bucketRepository.deleteByBucketStartBefore(now.minus(retention));
+      });
+    } catch (RuntimeException e) {
+      failedFlushes.increment();
+      for (int i = 0; i < rows.size(); i++) {
+        drained.get(i).restore((long) rows.get(i)[0], (long) rows.get(i)[1]);
+      }
+      throw e;
+    }
+
+    if (pruneBuckets) lastRetentionRun = now;
+    rows.forEach(row -> flushedEvaluations.add((long) row[0] + (long) row[1]));
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+    flushQuietly();
+  }
+
+  @ManagedAttribute(description = "Number of flags with an evaluation counter")
+  public int getSize() {
+    return counters.size();
+  }
+
+  @ManagedAttribute(description = "Number of evaluations written to the database")
+  public long getFlushedEvaluations() {
+    return flushedEvaluations.sum();
+  }
+
+  @ManagedAttribute(description = "Number of flushes that failed and were retried")
+  public long getFailedFlushes() {
+    return failedFlushes.sum();
+  }
+
+  /**
+   * Add the counts to their buckets, inserting the buckets that do not exist yet.
+   *
+   * @param rows the counts, flush time, flag ID and bucket start of every bucket to write
+   */
+  private void writeBuckets(List<Object[]> rows) {
+    int[] updated = jdbcTemplate.batchUpdate(UPDATE_BUCKET, rows);
+    List<Object[]> missing = new ArrayList<>();
+    for (int i = 0; i < updated.length; i++) {
+      if (updated[i] != 0) continue;
+
+      Object[] row = rows.get(i);
+      missing.add(new Object[] { row[0], row[1], row[2], row[4], row[3] });
+    }
+    if (!missing.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_BUCKET, missing);
+    }
+  }
+
+  /**
+   * Flush the counts, logging a failure instead of throwing it.
+   */
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (RuntimeException e) {
+      LOGGER.warn("Could not flush flag evaluation counts", e);
+    }
+  }
+}
@@ -0,0 +1,373 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rishirajdhr.flagship.sdkkey.SdkKeyFilter;
+import com.rishirajdhr.flagship.sdkkey.SdkKeyIndex;
+import com.rishirajdhr.flagship.targeting.EvaluationContext;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Validator;
+
+/**
+ * Serves single-flag evaluations made with an SDK key without going through the security filter
+ * chain or the {@code DispatcherServlet}.
+ *
+ * <p>The filter runs ahead of Spring Security and only answers
+ * {@code POST /api/projects/{projectId}/flags/{flagKey}/evaluate} requests that carry an
+ * {@code X-Flagship-SDK-Key} header. The key is checked against the in-memory {@link SdkKeyIndex},
+ * the flag is evaluated from the in-memory snapshot of the project's flags, and the response is
+ * written from bytes serialized once per flag state. Anything the fast path does not answer
+ * exactly like {@link FlagController#evaluateFlag} does — a key for another project, an unknown
+ * flag, an invalid or oversized body, a cross-origin request — is passed on, so the full chain
+ * produces the usual response. Whatever part of the body the filter has read is replayed to the
+ * full chain, and an unknown flag is passed on before it is evaluated, so it is only timed once.
+ * Requests authenticated with a user's token always take the full chain.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@ManagedResource(objectName = "com.rishirajdhr.flagship:type=FlagEvaluationFilter")
+public class FlagEvaluationFilter extends OncePerRequestFilter {
+  private static final String PATH_PATTERN = "/api/projects/{projectId}/flags/{flagKey}/evaluate";
+  private static final String PROJECTS_PREFIX = "/api/projects/";
+  private static final String FLAGS_SEGMENT = "/flags/";
+  private static final String EVALUATE_SUFFIX = "/evaluate";
+  private static final int MAX_BODY_BYTES = 64 * 1024;
+
+  private final SdkKeyIndex sdkKeyIndex;
+  private final FlagService flagService;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final boolean enabled;
+  private final ConcurrentMap<FlagState, byte[]> serializedStates = new ConcurrentHashMap<>();
+
+  private final LongAdder servedEvaluations = new LongAdder();
+  private final LongAdder passedEvaluations = new LongAdder();
+
+  /**
+   * Create a filter that serves flag evaluations made with an SDK key.
+   *
+   * @param sdkKeyIndex the index used to resolve SDK keys to projects
+   * @param flagService the service that evaluates flags from the in-memory snapshots
+   * @param objectMapper the mapper used to read evaluation contexts and write flag states
+   * @param validator the validator that checks evaluation contexts
+   * @param enabled whether evaluations are served by the filter instead of the full chain
+   */
+  public FlagEvaluationFilter(SdkKeyIndex sdkKeyIndex, FlagService flagService,
+                              ObjectMapper objectMapper, Validator validator,
+                              @Value("${flagship.flags.evaluation-fast-path:true}")
+                              boolean enabled) {
+    this.sdkKeyIndex = sdkKeyIndex;
+    this.flagService = flagService;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.enabled = enabled;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !enabled
+        || !"POST".equals(request.getMethod())
+        || request.getHeader(SdkKeyFilter.SDK_KEY_HEADER) == null
+        || request.getHeader(HttpHeaders.ORIGIN) != null;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    Long projectId = parseProjectId(path);
+    String flagKey = projectId == null ? null : parseFlagKey(path);
+    if (flagKey == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    Optional<Long> sdkKeyProjectId =
+        sdkKeyIndex.findProjectId(request.getHeader(SdkKeyFilter.SDK_KEY_HEADER));
+    if (sdkKeyProjectId.isEmpty() || !sdkKeyProjectId.get().equals(projectId)) {
+      pass(request, response, filterChain);
+      return;
+    }
+
+    if (request.getContentLengthLong() > MAX_BODY_BYTES) {
+      pass(request, response, filterChain);
+      return;
+    }
+
+    // From here on, a request passed on replays the bytes read here before the unread rest.
+    byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+    HttpServletRequest readRequest =
+        new ReadBodyRequest(request, body, body.length <= MAX_BODY_BYTES);
+    EvaluationContext context = body.length > MAX_BODY_BYTES ? null : readContext(request, body);
+    FlagSnapshot snapshot = context == null ? null : flagService.getProjectFlagSnapshot(projectId);
+    if (snapshot == null || snapshot.getPlan(flagKey) == null) {
+      pass(readRequest, response, filterChain);
+      return;
+    }
+
+    Optional<FlagState> state = flagService.evaluateSnapshotFlag(flagKey, snapshot, context);
+    if (state.isEmpty()) {
+      pass(readRequest, response, filterChain);
+      return;
+    }
+
+    ServerHttpObservationFilter.findObservationContext(request)
+        .ifPresent(observation -> observation.setPathPattern(PATH_PATTERN));
+    byte[] content = serializedStates.computeIfAbsent(state.get(), this::serialize);
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(content.length);
+    response.setHeader("X-Content-Type-Options", "nosniff");
+    response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, max-age=0, must-revalidate");
+    response.getOutputStream().write(content);
+    servedEvaluations.increment();
+  }
+
+  /**
+   * Drop the serialized flag states once a project's snapshot is swapped, so that states of
+   * changed and deleted flags are not kept.
+   *
+   * @param event the snapshot swap
+   */
+  @EventListener
+  public void onSnapshotUpdated(FlagSnapshotUpdatedEvent event) {
+    serializedStates.clear();
+  }
+
+  @ManagedAttribute(description = "Number of evaluations served by the fast path")
+  public long getServedEvaluations() {
+    return servedEvaluations.sum();
+  }
+
+  @ManagedAttribute(description = "Number of evaluations passed on to the full filter chain")
+  public long getPassedEvaluations() {
+    return passedEvaluations.sum();
+  }
+
+  @ManagedAttribute(description = "Number of serialized flag states")
+  public int getSerializedStates() {
+    return serializedStates.size();
+  }
+
+  /**
+   * Pass an evaluation request on to the full filter chain.
+   *
+   * @param request the request
+   * @param response the response
+   * @param filterChain the rest of the filter chain
+   */
+  private void pass(HttpServletRequest request, HttpServletResponse response,
+                    FilterChain filterChain) throws ServletException, IOException {
+    passedEvaluations.increment();
+    filterChain.doFilter(request, response);
+  }
+
+  /**
+   * Parse the project ID out of the path of an evaluation request.
+   *
+   * @param path the request path, without the context path
+   * @return the project ID, or {@code null} if the path is not a project path
+   */
+  private static Long parseProjectId(String path) {
+    if (!path.startsWith(PROJECTS_PREFIX)) return null;
+
+    int start = PROJECTS_PREFIX.length();
+    int end = path.indexOf('/', start);
+    if (end == start || end < 0) return null;
+    for (int i = start; i < end; i++) {
+      if (!Character.isDigit(path.charAt(i))) return null;
+    }
+
+    try {
+      return Long.valueOf(path.substring(start, end));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Parse the flag key out of the path of a single-flag evaluation request. Keys that would need
+   * decoding are left to the full chain.
+   *
+   * @param path the request path, without the context path
+   * @return the flag key, or {@code null} if the path is not a single-flag evaluation path
+   */
+  private static String parseFlagKey(String path) {
+    int flags = path.indexOf('/', PROJECTS_PREFIX.length());
+    if (!path.startsWith(FLAGS_SEGMENT, flags) || !path.endsWith(EVALUATE_SUFFIX)) return null;
+
+    int start = flags + FLAGS_SEGMENT.length();
+    int end = path.length() - EVALUATE_SUFFIX.length();
+    if (start >= end) return null;
+
+    String key = path.substring(start, end);
+    if (key.indexOf('/') >= 0 || key.indexOf('%') >= 0 || key.indexOf(';') >= 0) return null;
+    return key;
+  }
+
+  /**
+   * Read and validate the evaluation context in the body of a request.
+   *
+   * @param request the request
+   * @param body the body of the request
+   * @return the evaluation context, or {@code null} if the body is not a valid JSON context
+   */
+  private EvaluationContext readContext(HttpServletRequest request, byte[] body) {
+    if (body.length == 0) return EvaluationContext.EMPTY;
+
+    try {
+      String contentType = request.getContentType();
+      if (contentType == null
+          || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+        return null;
+      }
+
+      EvaluationContext context = objectMapper.readValue(body, EvaluationContext.class);
+      if (context == null) return EvaluationContext.EMPTY;
+      return validator.validate(context).isEmpty() ? context : null;
+    } catch (InvalidMimeTypeException | IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Serialize a flag state as the JSON body of an evaluation response.
+   *
+   * @param state the flag state
+   * @return the serialized state
+   */
+  private byte[] serialize(FlagState state) {
+    try {
+      return objectMapper.writeValueAsBytes(state);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize flag state " + state.flag(), e);
+    }
+  }
+
+  /**
+   * Represents a request whose body has been partly or fully read by the fast path. The full chain
+   * reads the bytes that were read from memory, followed by the rest of the original body, with
+   * blocking or non-blocking reads.
+   */
+  private static class ReadBodyRequest extends HttpServletRequestWrapper {
+    private final ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    /**
+     * Wrap a request whose body has been read from.
+     *
+     * @param request the request
+     * @param read the bytes that were read from the start of the body
+     * @param complete {@code true} if the whole body was read, so the original stream is at its end
+     */
+    ReadBodyRequest(HttpServletRequest request, byte[] read, boolean complete)
+        throws IOException {
+      super(request);
+      ByteArrayInputStream head = new ByteArrayInputStream(read);
+      ServletInputStream rest = request.getInputStream();
+      this.inputStream = new ServletInputStream() {
+        @Override
+        public boolean isFinished() {
+          return head.available() == 0 && (complete || rest.isFinished());
+        }
+
+        @Override
+        public boolean isReady() {
+          return head.available() > 0 || complete || rest.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          if (!complete) {
+            rest.setReadListener(new ReadListener() {
+              @Override
+              public void onDataAvailable() throws IOException {
+                readListener.onDataAvailable();
+              }
+
+              @Override
+              public void onAllDataRead() throws IOException {
+                // The bytes read from memory are offered even if the rest ended first.
+                if (head.available() > 0) readListener.onDataAvailable();
+                readListener.onAllDataRead();
+              }
+
+              @Override
+              public void onError(Throwable t) {
+                readListener.onError(t);
+              }
+            });
+            return;
+          }
+
+          // The whole body is in memory, so it can be read at once.
+          try {
+            if (head.available() > 0) readListener.onDataAvailable();
+            readListener.onAllDataRead();
+          } catch (IOException | RuntimeException e) {
+            readListener.onError(e);
+          }
+        }
+
+        @Override
+        public int read() throws IOException {
+          int b = head.read();
+          return b >= 0 ? b : rest.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+          if (len == 0) return 0;
+          return head.available() > 0 ? head.read(b, off, len) : rest.read(b, off, len);
+        }
+      };
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+      if (reader == null) {
+        String encoding = getCharacterEncoding();
+        reader = new BufferedReader(new InputStreamReader(
+            inputStream, encoding == null ? StandardCharsets.UTF_8.name() : encoding));
+      }
+      return reader;
+    }
+  }
+}
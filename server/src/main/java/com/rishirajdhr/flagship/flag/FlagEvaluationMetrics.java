@@ -0,0 +1,123 @@
+package com.rishirajdhr.flagship.flag;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the latency of flag evaluations per project.
+ *
+ * <p>Timers are tagged with the ID of the evaluated project, and with the key of the evaluated flag
+ * only if {@code flagship.metrics.flag-key-tags} is enabled. To keep the number of time series
+ * bounded, the evaluations of projects and flags beyond the configured limits are recorded under
+ * the tag value {@value #OVERFLOW_TAG} instead of their own.
+ */
+@Component
+public class FlagEvaluationMetrics {
+  /**
+   * The name of the timer of single flag evaluations.
+   */
+  public static final String EVALUATION_TIMER = "flagship.flag.evaluation";
+
+  /**
+   * The name of the timer of batch flag evaluations.
+   */
+  public static final String BATCH_EVALUATION_TIMER = "flagship.flag.batch.evaluation";
+
+  /**
+   * The tag value shared by the projects and flags beyond the limits.
+   */
+  public static final String OVERFLOW_TAG = "other";
+
+  private final MeterRegistry registry;
+  private final boolean flagKeyTags;
+  private final int maxProjects;
+  private final int maxFlags;
+  private final ConcurrentMap<Long, Timer> singleTimers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, Timer> batchTimers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<FlagTags, Timer> flagTimers = new ConcurrentHashMap<>();
+
+  /**
+   * Create the flag evaluation metrics.
+   *
+   * @param registry the registry the timers are registered with
+   * @param flagKeyTags whether single evaluations are also tagged with the flag key
+   * @param maxProjects the maximum number of projects tagged with their own ID
+   * @param maxFlags the maximum number of flags tagged with their own key
+   */
+  public FlagEvaluationMetrics(
+      MeterRegistry registry,
+      @Value("${flagship.metrics.flag-key-tags:false}") boolean flagKeyTags,
+      @Value("${flagship.metrics.max-project-tags:1000}") int maxProjects,
+      @Value("${flagship.metrics.max-flag-tags:1000}") int maxFlags) {
+    this.registry = registry;
+    this.flagKeyTags = flagKeyTags;
+    this.maxProjects = maxProjects;
+    this.maxFlags = maxFlags;
+  }
+
+  /**
+   * Record the latency of the evaluation of a single flag.
+   *
+   * @param projectId the ID of the flag's project
+   * @param key the key of the flag
+   * @param nanos the duration of the evaluation in nanoseconds
+   */
+  void recordEvaluation(Long projectId, String key, long nanos) {
+    Timer timer = flagKeyTags
+        ? getFlagTimer(projectId, key) : getTimer(EVALUATION_TIMER, singleTimers, projectId);
+    timer.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Record the latency of the evaluation of several flags against the same snapshot.
+   *
+   * @param projectId the ID of the flags' project
+   * @param nanos the duration of the evaluations in nanoseconds
+   */
+  void recordBatchEvaluation(Long projectId, long nanos) {
+    getTimer(BATCH_EVALUATION_TIMER, batchTimers, projectId).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private Timer getTimer(String name, ConcurrentMap<Long, Timer> timers, Long projectId) {
+    Timer timer = timers.get(projectId);
+    if (timer != null) return timer;
+
+    if (timers.size() >= maxProjects) return register(name, OVERFLOW_TAG, null);
+    return timers.computeIfAbsent(projectId, id -> register(name, id.toString(), null));
+  }
+
+  private Timer getFlagTimer(Long projectId, String key) {
+    FlagTags tags = new FlagTags(projectId, key);
+    Timer timer = flagTimers.get(tags);
+    if (timer != null) return timer;
+
+    if (flagTimers.size() >= maxFlags) return register(EVALUATION_TIMER, OVERFLOW_TAG, OVERFLOW_TAG);
+    return flagTimers.computeIfAbsent(
+        tags, id -> register(EVALUATION_TIMER, projectId.toString(), key));
+  }
+
+  /**
+   * Register an evaluation timer, or get it if it is already registered.
+   *
+   * @param name the name of the timer
+   * @param project the project tag
+   * @param flag the flag tag, or {@code null} for a timer without one
+   * @return the timer
+   */
+  private Timer register(String name, String project, String flag) {
+    Timer.Builder builder = Timer.builder(name)
+        .description("Latency of flag evaluations")
+        .tag("project", project);
+    if (flag != null) builder.tag("flag", flag);
+    return builder.register(registry);
+  }
+
+  private record FlagTags(Long projectId, String key) {}
+}
@@ -0,0 +1,170 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.flag.dto.FlagDefinition;
+import com.rishirajdhr.flagship.flag.exceptions.InvalidFlagVariantException;
+import com.rishirajdhr.flagship.targeting.EvaluationContext;
+import com.rishirajdhr.flagship.targeting.SegmentResolver;
+import com.rishirajdhr.flagship.targeting.TargetingRule;
+import com.rishirajdhr.flagship.targeting.exceptions.InvalidTargetingRuleException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the immutable, compiled evaluation of one version of a feature flag, which counts the
+ * flag's evaluations. The flag is evaluated by its {@link FlagTargeting}, from the same
+ * {@link FlagDefinition} that is sent to SDKs to evaluate the flag locally.
+ *
+ * <p>Every state the flag can serve, including its variant and pre-parsed variant value, is
+ * created up front, so an evaluation returns a shared instance instead of allocating one or
+ * deserializing a value.
+ */
+final class FlagEvaluationPlan {
+  private final long changeVersion;
+  private final FlagDefinition definition;
+  private final FlagTargeting targeting;
+  private final FlagEvaluationCounter counter;
+
+  private FlagEvaluationPlan(long changeVersion, FlagDefinition definition,
+                             FlagTargeting targeting, FlagEvaluationCounter counter) {
+    this.changeVersion = changeVersion;
+    this.definition = definition;
+    this.targeting = targeting;
+    this.counter = counter;
+  }
+
+  /**
+   * Compile the evaluation plan of a feature flag.
+   *
+   * @param flag the flag to compile
+   * @param segments the resolver of the segments of the flag's project
+   * @return the compiled evaluation plan
+   * @throws InvalidTargetingRuleException if one of the flag's targeting rules is malformed or
+   *     references an unknown segment
+   * @throws InvalidFlagVariantException if the flag's variants are inconsistent
+   */
+  static FlagEvaluationPlan compile(Flag flag, SegmentResolver segments)
+      throws InvalidTargetingRuleException, InvalidFlagVariantException {
+    return compile(flag, segments, new FlagEvaluationCounter());
+  }
+
+  /**
+   * Compile the evaluation plan of a feature flag that counts its evaluations.
+   *
+   * @param flag the flag to compile
+   * @param segments the resolver of the segments of the flag's project
+   * @param counter the counter of the flag's evaluations
+   * @return the compiled evaluation plan
+   * @throws InvalidTargetingRuleException if one of the flag's targeting rules is malformed or
+   *     references an unknown segment
+   * @throws InvalidFlagVariantException if the flag's variants are inconsistent
+   */
+  static FlagEvaluationPlan compile(Flag flag, SegmentResolver segments,
+                                    FlagEvaluationCounter counter)
+      throws InvalidTargetingRuleException, InvalidFlagVariantException {
+    Map<String, FlagVariant> variants = indexVariants(flag.getVariants());
+    FlagState onState = createState(flag.getName(), true, flag.getDefaultVariant(), variants);
+    FlagState offState = createState(flag.getName(), false, flag.getOffVariant(), variants);
+
+    List<TargetingRule> rules = flag.getRules();
+    List<FlagState> ruleStates = new ArrayList<>(rules.size());
+    for (TargetingRule rule : rules) {
+      if (rule.variant() == null) {
+        ruleStates.add(rule.enabled() ? onState : offState);
+      } else {
+        ruleStates.add(createState(flag.getName(), rule.enabled(), rule.variant(), variants));
+      }
+    }
+
+    FlagDefinition definition = new FlagDefinition(
+        flag.isEnabled(), List.copyOf(rules), flag.getRolloutPercentage(), flag.getRolloutSalt(),
+        onState, offState, List.copyOf(ruleStates));
+    return new FlagEvaluationPlan(flag.getChangeVersion(), definition,
+                                  FlagTargeting.compile(flag.getKey(), definition, segments),
+                                  counter);
+  }
+
+  /**
+   * Get the version of the project's flags in which the compiled flag was last changed.
+   *
+   * @return the flags version the plan was compiled from
+   */
+  long getChangeVersion() {
+    return changeVersion;
+  }
+
+  /**
+   * Get the definition the plan was compiled from.
+   *
+   * @return the flag definition
+   */
+  FlagDefinition getDefinition() {
+    return definition;
+  }
+
+  /**
+   * Get the state of the flag for a context without any attributes, which no targeting rule
+   * matches and which is only included in a full rollout.
+   *
+   * @return the default flag state
+   */
+  FlagState getDefaultState() {
+    return targeting.getDefaultState();
+  }
+
+  /**
+   * Evaluate the flag for a context and count the evaluation.
+   *
+   * @param context the evaluation context
+   * @return the evaluated flag state
+   */
+  FlagState evaluate(EvaluationContext context) {
+    FlagState state = targeting.evaluate(context);
+    counter.record(state.enabled());
+    return state;
+  }
+
+  private static Map<String, FlagVariant> indexVariants(List<FlagVariant> variants)
+      throws InvalidFlagVariantException {
+    Map<String, FlagVariant> index = new HashMap<>();
+    for (FlagVariant variant : variants) {
+      if (index.putIfAbsent(variant.key(), variant) != null) {
+        throw new InvalidFlagVariantException("duplicate variant " + variant.key());
+      }
+
+      boolean valid = switch (variant.type()) {
+        case STRING -> variant.value().isTextual();
+        case NUMBER -> variant.value().isNumber();
+        case JSON -> !variant.value().isNull() && !variant.value().isMissingNode();
+      };
+      if (!valid) {
+        throw new InvalidFlagVariantException(
+            "value of variant " + variant.key() + " is not of type " + variant.type());
+      }
+    }
+    return index;
+  }
+
+  private static FlagState createState(String flag, boolean enabled, String variantKey,
+                                       Map<String, FlagVariant> variants)
+      throws InvalidFlagVariantException {
+    if (variants.isEmpty()) {
+      if (variantKey != null) {
+        throw new InvalidFlagVariantException("flag has no variant " + variantKey);
+      }
+      return new FlagState(flag, enabled);
+    }
+
+    if (variantKey == null) {
+      throw new InvalidFlagVariantException(
+          "flag with variants needs " + (enabled ? "a default" : "an off") + " variant");
+    }
+    FlagVariant variant = variants.get(variantKey);
+    if (variant == null) {
+      throw new InvalidFlagVariantException("flag has no variant " + variantKey);
+    }
+    return new FlagState(flag, enabled, variant.key(), variant.value().deepCopy());
+  }
+}
@@ -0,0 +1,41 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.flag.exceptions.FlagNotFoundException;
+import com.rishirajdhr.flagship.flag.exceptions.FlagVersionConflictException;
+import com.rishirajdhr.flagship.flag.exceptions.InvalidBulkUpdateException;
+import com.rishirajdhr.flagship.flag.exceptions.InvalidFlagVariantException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Handles exceptions when accessing {@link Flag} entities and maps them to HTTP REST responses.
+ */
+@RestControllerAdvice
+public class FlagExceptionAdvice {
+  @ExceptionHandler(FlagNotFoundException.class)
+  @ResponseStatus(HttpStatus.NOT_FOUND)
+  public String flagNotFoundHandler(FlagNotFoundException ex) {
+    return ex.getMessage();
+  }
+
+  @ExceptionHandler(InvalidFlagVariantException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public String invalidFlagVariantHandler(InvalidFlagVariantException ex) {
+    return ex.getMessage();
+  }
+
+  @ExceptionHandler(InvalidBulkUpdateException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public String invalidBulkUpdateHandler(InvalidBulkUpdateException ex) {
+    return ex.getMessage();
+  }
+
+  @ExceptionHandler(FlagVersionConflictException.class)
+  @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+  public String flagVersionConflictHandler(FlagVersionConflictException ex) {
+    return ex.getMessage();
+  }
+}
@@ -0,0 +1,171 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.flag.dto.FlagResponse;
+import com.rishirajdhr.flagship.project.Project;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Represents a repository to access and modify {@link Flag} entities.
+ */
+public interface FlagRepository extends JpaRepository<Flag, Long> {
+
+  /**
+   * Get a feature flag within a project by its key.
+   *
+   * @param key the key of the flag
+   * @param project the project of the flag
+   * @return an {@link Optional} containing the flag if found
+   */
+  Optional<Flag> findFlagByKeyAndProject(String key, Project project);
+
+  /**
+   * Get a feature flag within a project by its ID.
+   *
+   * @param id the ID of the flag
+   * @param project the project of the flag
+   * @return an {@link Optional} containing the flag if found
+   */
+  Optional<Flag> findFlagByIdAndProject(Long id, Project project);
+
+  /**
+   * Get a page of the responses for the feature flags of a project whose keys match a pattern,
+   * sorted by key. The page starts after a given key, so it is read from the
+   * {@code (project_id, key)} index at the same cost no matter how deep it is.
+   *
+   * @param projectId the ID of the parent project of the flags
+   * @param keyPattern the {@code LIKE} pattern the flag keys must match
+   * @param afterKey the exclusive lower bound of the flag keys
+   * @param evaluatedSince the start of the period the evaluation counts cover
+   * @param limit the maximum number of flags to return
+   * @return a list of the flag responses, ordered by key
+   */
+  @Query("""
+      select new com.rishirajdhr.flagship.flag.dto.FlagResponse(
+          f.id, f.key, f.name, f.description, f.enabled, f.rules, f.rolloutPercentage,
+          f.rolloutSalt, f.variants, f.defaultVariant, f.offVariant, p.id, o.username,
+          f.createdAt, f.updatedAt,
+          (select coalesce(sum(b.enabledCount), 0L) from FlagEvaluationBucket b
+           where b.flagId = f.id and b.bucketStart >= :evaluatedSince),
+          (select coalesce(sum(b.disabledCount), 0L) from FlagEvaluationBucket b
+           where b.flagId = f.id and b.bucketStart >= :evaluatedSince),
+          (select max(b.lastEvaluatedAt) from FlagEvaluationBucket b where b.flagId = f.id))
+      from Flag f join f.project p join p.owner o
+      where p.id = :projectId and f.key like :keyPattern escape '\\' and f.key > :afterKey
+      order by f.key
+      """)
+  List<FlagResponse> findFlagResponsePageByKey(Long projectId, String keyPattern, String afterKey,
+                                               Instant evaluatedSince, Limit limit);
+
+  /**
+   * Get a page of the responses for the feature flags of a project whose keys match a pattern,
+   * sorted with the most recently modified flags first. The page starts after a given flag, so it
+   * is read from the {@code (project_id, updated_at, id)} index at the same cost no matter how
+   * deep it is.
+   *
+   * @param projectId the ID of the parent project of the flags
+   * @param keyPattern the {@code LIKE} pattern the flag keys must match
+   * @param beforeUpdatedAt the modification time of the last flag of the previous page
+   * @param beforeId the ID of the last flag of the previous page
+   * @param evaluatedSince the start of the period the evaluation counts cover
+   * @param limit the maximum number of flags to return
+   * @return a list of the flag responses, most recently modified first
+   */
+  @Query("""
+      select new com.rishirajdhr.flagship.flag.dto.FlagResponse(
+          f.id, f.key, f.name, f.description, f.enabled, f.rules, f.rolloutPercentage,
+          f.rolloutSalt, f.variants, f.defaultVariant, f.offVariant, p.id, o.username,
+          f.createdAt, f.updatedAt,
+          (select coalesce(sum(b.enabledCount), 0L) from FlagEvaluationBucket b
+           where b.flagId = f.id and b.bucketStart >= :evaluatedSince),
+          (select coalesce(sum(b.disabledCount), 0L) from FlagEvaluationBucket b
+           where b.flagId = f.id and b.bucketStart >= :evaluatedSince),
+          (select max(b.lastEvaluatedAt) from FlagEvaluationBucket b where b.flagId = f.id))
+      from Flag f join f.project p join p.owner o
+      where p.id = :projectId and f.key like :keyPattern escape '\\'
+          and (f.updatedAt < :beforeUpdatedAt
+               or (f.updatedAt = :beforeUpdatedAt and f.id < :beforeId))
+      order by f.updatedAt desc, f.id desc
+      """)
+  List<FlagResponse> findFlagResponsePageByUpdatedAt(Long projectId, String keyPattern,
+                                                     Instant beforeUpdatedAt, Long beforeId,
+                                                     Instant evaluatedSince, Limit limit);
+
+  /**
+   * Get the feature flags for a project by the project's ID.
+   *
+   * @param projectId the ID of the parent project of the flags
+   * @return a list of the project flags
+   */
+  List<Flag> findFlagsByProjectId(Long projectId);
+
+  /**
+   * Get a page of the feature flags of a project ordered by key, starting after a given key.
+   *
+   * @param projectId the ID of the parent project of the flags
+   * @param key the exclusive lower bound of the flag keys
+   * @param limit the maximum number of flags to return
+   * @return a list of the project flags, ordered by key
+   */
+  List<Flag> findFlagsByProjectIdAndKeyGreaterThanOrderByKey(Long projectId, String key,
+                                                             Limit limit);
+
+  /**
+   * Get which of the given keys are taken by the feature flags of a project.
+   *
+   * @param projectId the ID of the parent project of the flags
+   * @param keys the keys to look up
+   * @return the keys that belong to a flag of the project
+   */
+  @Query("select f.key from Flag f where f.project.id = :projectId and f.key in :keys")
+  Set<String> findKeysByProjectIdAndKeyIn(Long projectId, Collection<String> keys);
+
+  /**
+   * Get the feature flags of a project that match any of the given IDs or keys.
+   *
+   * @param projectId the ID of the parent project of the flags
+   * @param ids the IDs of the flags
+   * @param keys the keys of the flags
+   * @return a list of the matching flags
+   */
+  @Query("""
+      select f from Flag f
+      where f.project.id = :projectId and (f.id in :ids or f.key in :keys)
+      """)
+  List<Flag> findFlagsByProjectIdAndIdInOrKeyIn(Long projectId, Collection<Long> ids,
+                                                Collection<String> keys);
+
+  /**
+   * Set the status and description of several feature flags with a single statement, incrementing
+   * their optimistic lock versions. Loaded flags are not refreshed, so callers must not read the
+   * updated flags afterwards in the same persistence context.
+   *
+   * @param ids the IDs of the flags
+   * @param enabled the updated status, or {@code null} to keep each flag's status
+   * @param description the updated description, or {@code null} to keep each flag's description
+   * @param changeVersion the version of the project's flags that includes the change
+   * @param updatedAt the time of the change
+   * @return the number of updated flags
+   */
+  @Modifying
+  @Query("""
+      update Flag f
+      set f.enabled = coalesce(:enabled, f.enabled),
+          f.description = coalesce(:description, f.description),
+          f.changeVersion = :changeVersion,
+          f.updatedAt = :updatedAt,
+          f.version = f.version + 1
+      where f.id in :ids
+      """)
+  int updateFlags(Collection<Long> ids, Boolean enabled, String description, long changeVersion,
+                  Instant updatedAt);
+}
@@ -0,0 +1,579 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.audit.FlagAuditEvent;
+import com.rishirajdhr.flagship.audit.FlagAuditState;
+import com.rishirajdhr.flagship.flag.dto.FlagBulkUpdateResponse;
+import com.rishirajdhr.flagship.flag.dto.FlagChangesResponse;
+import com.rishirajdhr.flagship.flag.dto.FlagEvaluationCount;
+import com.rishirajdhr.flagship.flag.dto.FlagEvaluationResult;
+import com.rishirajdhr.flagship.flag.dto.FlagEvaluationSummary;
+import com.rishirajdhr.flagship.flag.dto.FlagResponse;
+import com.rishirajdhr.flagship.flag.exceptions.FlagNotFoundException;
+import com.rishirajdhr.flagship.flag.exceptions.FlagVersionConflictException;
+import com.rishirajdhr.flagship.flag.exceptions.InvalidBulkUpdateException;
+import com.rishirajdhr.flagship.flag.exceptions.InvalidFlagVariantException;
+import com.rishirajdhr.flagship.pagination.PageCursor;
+import com.rishirajdhr.flagship.pagination.PageResponse;
+import com.rishirajdhr.flagship.pagination.Pagination;
+import com.rishirajdhr.flagship.pagination.exceptions.InvalidCursorException;
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.project.ProjectService;
+import com.rishirajdhr.flagship.segment.SegmentMembershipCache;
+import com.rishirajdhr.flagship.targeting.EvaluationContext;
+import com.rishirajdhr.flagship.targeting.SegmentResolver;
+import com.rishirajdhr.flagship.targeting.TargetingRule;
+import com.rishirajdhr.flagship.targeting.exceptions.InvalidTargetingRuleException;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Encapsulates business logic for feature flags.
+ */
+@Service
+public class FlagService {
+  /**
+   * The period covered by the evaluation counts in flag responses.
+   */
+  public static final Duration RECENT_EVALUATIONS = Duration.ofHours(1);
+
+  private final FlagRepository flagRepository;
+  private final DeletedFlagRepository deletedFlagRepository;
+  private final FlagEvaluationBucketRepository flagEvaluationBucketRepository;
+  private final ProjectService projectService;
+  private final FlagSnapshotCache flagSnapshotCache;
+  private final SegmentMembershipCache segmentMembershipCache;
+  private final FlagEvaluationMetrics evaluationMetrics;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Create a new service to access and modify feature flags.
+   *
+   * @param flagRepository the repository that provides database access to {@link Flag} entities
+   * @param deletedFlagRepository the repository that provides database access to flag tombstones
+   * @param flagEvaluationBucketRepository the repository that provides database access to flag
+   *     evaluation counts
+   * @param projectService the service that tracks the version of a project's flags
+   * @param flagSnapshotCache the in-memory cache of project flag snapshots used for evaluation
+   * @param segmentMembershipCache the cache that resolves the segments referenced by flags
+   * @param evaluationMetrics the metrics that record the latency of flag evaluations
+   * @param eventPublisher the publisher used to announce changes to feature flags
+   */
+  public FlagService(FlagRepository flagRepository, DeletedFlagRepository deletedFlagRepository,
+                     FlagEvaluationBucketRepository flagEvaluationBucketRepository,
+                     ProjectService projectService, FlagSnapshotCache flagSnapshotCache,
+                     SegmentMembershipCache segmentMembershipCache,
+                     FlagEvaluationMetrics evaluationMetrics,
+                     ApplicationEventPublisher eventPublisher) {
+    this.flagRepository = flagRepository;
+    this.deletedFlagRepository = deletedFlagRepository;
+    this.flagEvaluationBucketRepository = flagEvaluationBucketRepository;
+    this.projectService = projectService;
+    this.flagSnapshotCache = flagSnapshotCache;
+    this.segmentMembershipCache = segmentMembershipCache;
+    this.evaluationMetrics = evaluationMetrics;
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * Create a new feature flag for a project.
+   *
+   * @param key the key of the feature flag
+   * @param name the name of the feature flag
+   * @param description the description of the feature flag
+   * @param enabled the feature flag status - {@code} true if enabled, {@code false} otherwise
+   * @param rules the targeting rules of the feature flag, in evaluation order
+   * @param rolloutPercentage the percentage of users the flag is rolled out to when no targeting
+   *     rule matches
+   * @param rolloutSalt the salt that assigns users to rollout buckets, or {@code null} for a random
+   *     salt
+   * @param variants the variants the feature flag can serve, empty for a plain boolean flag
+   * @param defaultVariant the key of the variant served when the flag is on
+   * @param offVariant the key of the variant served when the flag is off
+   * @param project the project to create the flag for
+   * @return the newly created feature flag
+   * @throws InvalidTargetingRuleException if one of the targeting rules is malformed or references
+   *     an unknown segment
+   * @throws InvalidFlagVariantException if the variants are inconsistent
+   */
+  @Transactional
+  public Flag createProjectFlag(String key, String name, String description, boolean enabled,
+                                List<TargetingRule> rules, int rolloutPercentage,
+                                String rolloutSalt, List<FlagVariant> variants,
+                                String defaultVariant, String offVariant, Project project)
+      throws InvalidTargetingRuleException, InvalidFlagVariantException {
+    Flag flag = buildProjectFlag(key, name, description, enabled, rules, rolloutPercentage,
+                                 rolloutSalt, variants, defaultVariant, offVariant, project);
+    flag.setChangeVersion(recordFlagChange(project));
+    Flag created = flagRepository.save(flag);
+    eventPublisher.publishEvent(FlagAuditEvent.created(created));
+    return created;
+  }
+
+  /**
+   * Build and validate a new feature flag for a project without saving it.
+   *
+   * @param key the key of the feature flag
+   * @param name the name of the feature flag
+   * @param description the description of the feature flag
+   * @param enabled the feature flag status - {@code} true if enabled, {@code false} otherwise
+   * @param rules the targeting rules of the feature flag, in evaluation order
+   * @param rolloutPercentage the percentage of users the flag is rolled out to when no targeting
+   *     rule matches
+   * @param rolloutSalt the salt that assigns users to rollout buckets, or {@code null} for a random
+   *     salt
+   * @param variants the variants the feature flag can serve, empty for a plain boolean flag
+   * @param defaultVariant the key of the variant served when the flag is on
+   * @param offVariant the key of the variant served when the flag is off
+   * @param project the project to build the flag for
+   * @return the new, unsaved feature flag
+   * @throws IllegalArgumentException if the key, name, description or rollout percentage is invalid
+   * @throws InvalidTargetingRuleException if one of the targeting rules is malformed or references
+   *     an unknown segment
+   * @throws InvalidFlagVariantException if the variants are inconsistent
+   */
+  Flag buildProjectFlag(String key, String name, String description, boolean enabled,
+                        List<TargetingRule> rules, int rolloutPercentage, String rolloutSalt,
+                        List<FlagVariant> variants, String defaultVariant, String offVariant,
+                        Project project)
+      throws IllegalArgumentException, InvalidTargetingRuleException, InvalidFlagVariantException {
+    Flag flag = new Flag(key, name, description, enabled, project);
+    flag.setRules(rules);
+    flag.setRolloutPercentage(rolloutPercentage);
+    flag.setRolloutSalt(rolloutSalt == null ? UUID.randomUUID().toString() : rolloutSalt);
+    flag.setVariants(variants, defaultVariant, offVariant);
+    FlagEvaluationPlan.compile(flag, segmentMembershipCache.getResolver(project.getId()));
+    return flag;
+  }
+
+  /**
+   * Save a chunk of feature flags built with
+   * {@link #buildProjectFlag(String, String, String, boolean, List, int, String, List, String,
+   * String, Project)} as one change to the project's flags. Flags whose key is already taken in
+   * the project are skipped. The flags are inserted with batched statements and share a single
+   * version bump, so listeners rebuild their state once per chunk instead of once per flag.
+   *
+   * @param flags the flags to save, with distinct keys
+   * @param project the project of the flags
+   * @return the flags that were skipped because their key is taken
+   */
+  @Transactional
+  public List<Flag> createProjectFlags(List<Flag> flags, Project project) {
+    Set<String> takenKeys = flagRepository.findKeysByProjectIdAndKeyIn(
+        project.getId(), flags.stream().map(Flag::getKey).toList());
+    List<Flag> created = new ArrayList<>(flags.size());
+    List<Flag> skipped = new ArrayList<>();
+    for (Flag flag : flags) {
+      (takenKeys.contains(flag.getKey()) ? skipped : created).add(flag);
+    }
+    if (created.isEmpty()) return skipped;
+
+    long version = recordFlagChange(project);
+    created.forEach(flag -> flag.setChangeVersion(version));
+    flagRepository.saveAll(created);
+    created.forEach(flag -> eventPublisher.publishEvent(FlagAuditEvent.created(flag)));
+    return skipped;
+  }
+
+  /**
+   * Get a page of the responses for the feature flags of a project.
+   *
+   * @param projectId the ID of the project to get the flags for
+   * @param keyPrefix the prefix the flag keys must start with, or {@code null} for every flag
+   * @param sort the order to list the flags in
+   * @param cursor the cursor of the page to get, or {@code null} for the first page
+   * @param limit the maximum number of flags on the page
+   * @return the page of project feature flag responses
+   * @throws InvalidCursorException if the cursor is invalid for the sort order
+   */
+  public PageResponse<FlagResponse> getProjectFlags(Long projectId, String keyPrefix, FlagSort sort,
+                                                    String cursor, int limit)
+      throws InvalidCursorException {
+    String keyPattern = Pagination.prefixPattern(keyPrefix);
+    Instant evaluatedSince = Instant.now().minus(RECENT_EVALUATIONS);
+    int pageSize = Pagination.clampLimit(limit);
+    Limit fetchLimit = Limit.of(pageSize + 1);
+
+    return switch (sort) {
+      case KEY -> {
+        String afterKey =
+            cursor == null ? "" : PageCursor.decode(cursor, sort.name(), 1).values().get(0);
+        List<FlagResponse> rows =
+            flagRepository.findFlagResponsePageByKey(
+            projectId, keyPattern, afterKey, evaluatedSince, fetchLimit);
+        yield PageResponse.of(rows, pageSize, flag -> PageCursor.of(sort.name(), flag.key()));
+      }
+      case UPDATED -> {
+        Instant beforeUpdatedAt = Pagination.LATEST;
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null) {
+          List<String> values = PageCursor.decode(cursor, sort.name(), 2).values();
+          try {
+            beforeUpdatedAt = Instant.parse(values.get(0));
+            beforeId = Long.parseLong(values.get(1));
+          } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+          }
+        }
+        List<FlagResponse> rows = flagRepository.findFlagResponsePageByUpdatedAt(
+            projectId, keyPattern, beforeUpdatedAt, beforeId, evaluatedSince, fetchLimit);
+        yield PageResponse.of(rows, pageSize, flag -> PageCursor.of(
+            sort.name(), flag.updatedAt().toString(), flag.id().toString()));
+      }
+    };
+  }
+
+  /**
+   * Get a feature flag for a project by its key.
+   *
+   * @param key the key of the flag
+   * @param project the project of the flag
+   * @return an {@link Optional} containing the flag if it exists
+   */
+  public Optional<Flag> getProjectFlagByKey(String key, Project project) {
+    return flagRepository.findFlagByKeyAndProject(key, project);
+  }
+
+  /**
+   * Get a feature flag for a project by its ID.
+   *
+   * @param flagId the ID of the flag
+   * @param project the project of the flag
+   * @return an {@link Optional} containing the flag if it exists
+   */
+  public Optional<Flag> getProjectFlagById(Long flagId, Project project) {
+    return flagRepository.findFlagByIdAndProject(flagId, project);
+  }
+
+  /**
+   * Get the recent evaluation counts of a feature flag.
+   *
+   * @param flagId the ID of the flag
+   * @return the flag's evaluation counts over the last hour and the time it was last evaluated
+   */
+  public FlagEvaluationSummary getFlagEvaluationSummary(Long flagId) {
+    return flagEvaluationBucketRepository.findSummaryByFlagId(
+        flagId, Instant.now().minus(RECENT_EVALUATIONS));
+  }
+
+  /**
+   * Get the evaluation counts of a feature flag per minute over a recent period.
+   *
+   * @param flagId the ID of the flag
+   * @param project the project of the flag
+   * @param minutes the number of minutes, up to and including the current one, to get counts for
+   * @return the flag's evaluation counts, oldest first, without the minutes in which the flag was
+   *     not evaluated
+   * @throws FlagNotFoundException if no flag exists with the given ID
+   */
+  public List<FlagEvaluationCount> getProjectFlagEvaluations(Long flagId, Project project,
+                                                             int minutes)
+      throws FlagNotFoundException {
+    Flag flag =
+        getProjectFlagById(flagId, project).orElseThrow(() -> new FlagNotFoundException(flagId));
+    Instant since =
+        Instant.now().truncatedTo(ChronoUnit.MINUTES).minus(minutes - 1L, ChronoUnit.MINUTES);
+    return flagEvaluationBucketRepository.findCountsByFlagIdSince(flag.getId(), since);
+  }
+
+  /**
+   * Update an existing feature flag by its ID. The flag is read once, since a partial update is
+   * merged into and validated against its current values, and the audit entry records them. The
+   * write is a single statement conditional on the version that was read.
+   *
+   * @param flagId the ID of the flag
+   * @param project the project of the flag
+   * @param updateFlag the {@link UpdateFlag} payload with the updated data
+   * @param ifMatch the entity tags the flag must match, or {@code null} to update any version
+   * @return the updated feature flag
+   * @throws FlagNotFoundException if no flag exists with the given ID
+   * @throws FlagVersionConflictException if the flag does not match the expected entity tags, or
+   *     was changed by another request while it was being updated
+   * @throws InvalidTargetingRuleException if one of the updated targeting rules is malformed or
+   *     references an unknown segment
+   * @throws InvalidFlagVariantException if the updated variants are inconsistent
+   */
+  @Transactional
+  public Flag updateProjectFlagById(Long flagId, Project project, UpdateFlag updateFlag,
+                                    String ifMatch)
+      throws FlagNotFoundException, FlagVersionConflictException, InvalidTargetingRuleException,
+             InvalidFlagVariantException {
+    Flag flag = getProjectFlagForWrite(flagId, project, ifMatch);
+    FlagAuditState before = FlagAuditState.of(flag);
+
+    if (updateFlag.description() != null) {
+      flag.setDescription(updateFlag.description());
+    }
+
+    if (updateFlag.enabled() != null) {
+      flag.setEnabled(updateFlag.enabled());
+    }
+
+    if (updateFlag.rules() != null) {
+      flag.setRules(updateFlag.rules());
+    }
+
+    if (updateFlag.rolloutPercentage() != null) {
+      flag.setRolloutPercentage(updateFlag.rolloutPercentage());
+    }
+
+    if (updateFlag.rolloutSalt() != null) {
+      flag.setRolloutSalt(updateFlag.rolloutSalt());
+    }
+
+    if (updateFlag.variants() != null) {
+      // The variants are replaced as a whole, so the default and off variants go with them.
+      flag.setVariants(updateFlag.variants(), updateFlag.defaultVariant(), updateFlag.offVariant());
+    } else if (updateFlag.defaultVariant() != null || updateFlag.offVariant() != null) {
+      String defaultVariant = updateFlag.defaultVariant() != null
+          ? updateFlag.defaultVariant() : flag.getDefaultVariant();
+      String offVariant =
+          updateFlag.offVariant() != null ? updateFlag.offVariant() : flag.getOffVariant();
+      flag.setVariants(flag.getVariants(), defaultVariant, offVariant);
+    }
+
+    FlagEvaluationPlan.compile(flag, segmentMembershipCache.getResolver(project.getId()));
+    flag.setChangeVersion(recordFlagChange(project));
+    Flag updated;
+    try {
+      updated = flagRepository.saveAndFlush(flag);
+    } catch (OptimisticLockingFailureException e) {
+      throw new FlagVersionConflictException(flagId);
+    }
+    eventPublisher.publishEvent(FlagAuditEvent.updated(before, updated));
+    return updated;
+  }
+
+  /**
+   * Apply the same status and description change to several feature flags of a project, such as
+   * to switch off a group of flags during an incident. The flags are updated with one statement
+   * and the change is announced to listeners once, no matter how many flags it covers. Requested
+   * flags that do not exist are reported instead of failing the update.
+   *
+   * @param project the project of the flags
+   * @param bulkUpdate the {@link BulkUpdateFlags} payload with the flags and the change
+   * @return the updated flags and the requested flags that were not found
+   * @throws InvalidBulkUpdateException if the payload selects no flags or changes nothing
+   */
+  @Transactional
+  public FlagBulkUpdateResponse updateProjectFlags(Project project, BulkUpdateFlags bulkUpdate)
+      throws InvalidBulkUpdateException {
+    List<Long> ids = bulkUpdate.ids() == null ? List.of() : bulkUpdate.ids();
+    List<String> keys = bulkUpdate.keys() == null ? List.of() : bulkUpdate.keys();
+    if (ids.isEmpty() && keys.isEmpty()) {
+      throw new InvalidBulkUpdateException("no flag IDs or keys given");
+    }
+    if (bulkUpdate.enabled() == null && bulkUpdate.description() == null) {
+      throw new InvalidBulkUpdateException("no changes given");
+    }
+
+    Boolean enabled = bulkUpdate.enabled();
+    String description = bulkUpdate.description() == null ? null : bulkUpdate.description().strip();
+    List<Flag> flags =
+        flagRepository.findFlagsByProjectIdAndIdInOrKeyIn(project.getId(), ids, keys);
+    List<Long> updatedIds = flags.stream().map(Flag::getId).toList();
+    if (!flags.isEmpty()) {
+      flagRepository.updateFlags(
+          updatedIds, enabled, description, recordFlagChange(project), Instant.now());
+      for (Flag flag : flags) {
+        FlagAuditState before = FlagAuditState.of(flag);
+        eventPublisher.publishEvent(
+            FlagAuditEvent.updated(before, before.withChanges(enabled, description), flag));
+      }
+    }
+
+    Set<Long> foundIds = Set.copyOf(updatedIds);
+    Set<String> foundKeys = flags.stream().map(Flag::getKey).collect(Collectors.toSet());
+    return new FlagBulkUpdateResponse(
+        updatedIds,
+        ids.stream().filter(id -> !foundIds.contains(id)).distinct().toList(),
+        keys.stream().filter(key -> !foundKeys.contains(key)).distinct().toList());
+  }
+
+  /**
+   * Delete a feature flag by its ID. The flag is read once for its tombstone and audit entry, and
+   * deleted with a single statement conditional on the version that was read.
+   *
+   * @param flagId the ID of the flag
+   * @param project the project of the flag
+   * @param ifMatch the entity tags the flag must match, or {@code null} to delete any version
+   * @return the deleted feature flag
+   * @throws FlagNotFoundException if no flag is found with the given ID
+   * @throws FlagVersionConflictException if the flag does not match the expected entity tags, or
+   *     was changed by another request while it was being deleted
+   */
+  @Transactional
+  public Flag deleteProjectFlagById(Long flagId, Project project, String ifMatch)
+      throws FlagNotFoundException, FlagVersionConflictException {
+    Flag flag = getProjectFlagForWrite(flagId, project, ifMatch);
+    try {
+      flagRepository.delete(flag);
+      flagRepository.flush();
+    } catch (OptimisticLockingFailureException e) {
+      throw new FlagVersionConflictException(flagId);
+    }
+    deletedFlagRepository.save(new DeletedFlag(flag.getKey(), recordFlagChange(project), project));
+    eventPublisher.publishEvent(FlagAuditEvent.deleted(flag));
+    return flag;
+  }
+
+  /**
+   * Get the changes to a project's feature flags since a given version. The changes are read from
+   * the in-memory snapshot of the project's flags and carry only the flags' evaluated states. Every
+   * flag is returned and the response is marked as a reset if the version is 0, ahead of the
+   * snapshot, or behind the tombstones of deleted flags that were pruned.
+   *
+   * @param version the version of the project's flags the client is at
+   * @param projectId the ID of the project of the flags
+   * @return the flags updated and deleted since the given version
+   */
+  @Transactional(readOnly = true)
+  public FlagChangesResponse getProjectFlagChangesSince(long version, Long projectId) {
+    FlagSnapshot snapshot = getProjectFlagSnapshot(projectId);
+    boolean reset = version == 0 || version > snapshot.getVersion()
+                    || version < projectService.getPrunedFlagsVersion(projectId);
+    if (reset) {
+      return new FlagChangesResponse(snapshot.getVersion(), true, snapshot.getStates(), List.of());
+    }
+
+    // Bound the deletions by the snapshot's version, so that a flag deleted after the snapshot was
+    // built is reported by the next poll rather than before its last update.
+    Map<String, FlagState> updated = snapshot.getStatesChangedSince(version);
+    List<String> deleted = deletedFlagRepository
+        .findDeletedKeysBetween(projectId, version, snapshot.getVersion()).stream()
+        .filter(key -> snapshot.getState(key).isEmpty())
+        .toList();
+
+    return new FlagChangesResponse(snapshot.getVersion(), false, updated, deleted);
+  }
+
+  /**
+   * Evaluate a feature flag for a project by its key. The evaluation is served from the compiled
+   * plans in the in-memory snapshot of the project's flags and does not query the database once
+   * the snapshot is loaded.
+   *
+   * @param key the key of the flag
+   * @param projectId the ID of the project of the flag
+   * @param context the context to evaluate the flag for
+   * @return an {@link Optional} containing the evaluated flag state if the flag exists
+   */
+  public Optional<FlagState> evaluateProjectFlag(String key, Long projectId,
+                                                 EvaluationContext context) {
+    return evaluateSnapshotFlag(key, flagSnapshotCache.getSnapshot(projectId), context);
+  }
+
+  /**
+   * Evaluate a feature flag against a snapshot of its project's flags the caller already holds,
+   * for example after checking that the flag exists.
+   *
+   * @param key the key of the flag
+   * @param snapshot the snapshot of the project's flags
+   * @param context the context to evaluate the flag for
+   * @return an {@link Optional} containing the evaluated flag state if the flag exists
+   */
+  Optional<FlagState> evaluateSnapshotFlag(String key, FlagSnapshot snapshot,
+                                           EvaluationContext context) {
+    long start = System.nanoTime();
+    Optional<FlagState> state = snapshot.evaluate(key, context);
+    evaluationMetrics.recordEvaluation(snapshot.getProjectId(), key, System.nanoTime() - start);
+    return state;
+  }
+
+  /**
+   * Evaluate several feature flags for a project by their keys. All the flags are evaluated against
+   * the same snapshot of the project's flags, so the results are consistent with each other.
+   *
+   * @param keys the keys of the flags
+   * @param projectId the ID of the project of the flags
+   * @param context the context to evaluate the flags for
+   * @return the evaluation results, in the same order as the given keys
+   */
+  public List<FlagEvaluationResult> evaluateProjectFlags(List<String> keys, Long projectId,
+                                                         EvaluationContext context) {
+    long start = System.nanoTime();
+    FlagSnapshot snapshot = flagSnapshotCache.getSnapshot(projectId);
+    List<FlagEvaluationResult> results = keys.stream()
+        .map(key -> snapshot.evaluate(key, context)
+            .map(state -> FlagEvaluationResult.evaluated(key, state))
+            .orElseGet(() -> FlagEvaluationResult.notFound(key)))
+        .toList();
+    evaluationMetrics.recordBatchEvaluation(projectId, System.nanoTime() - start);
+    return results;
+  }
+
+  /**
+   * Get the current snapshot of the evaluated states of a project's feature flags.
+   *
+   * @param projectId the ID of the project to get the snapshot for
+   * @return the project's flag snapshot
+   */
+  public FlagSnapshot getProjectFlagSnapshot(Long projectId) {
+    return flagSnapshotCache.getSnapshot(projectId);
+  }
+
+  /**
+   * Evaluate a feature flag's state for a context without any attributes. Such a context is a
+   * member of no segment, so the flag's segments do not need to be resolved.
+   *
+   * @param flag the flag to be evaluated
+   * @return the evaluated flag state
+   */
+  public FlagState createFlagState(Flag flag) {
+    return FlagEvaluationPlan.compile(flag, SegmentResolver.EMPTY).getDefaultState();
+  }
+
+  /**
+   * Get a feature flag that is about to be changed, checking it against the entity tags of the
+   * client's copy. The check only covers the loaded state; the flag's version is checked again by
+   * the {@code UPDATE} or {@code DELETE} statement, which the caller flushes right away so that a
+   * change committed in between fails with a {@link FlagVersionConflictException} instead of being
+   * overwritten.
+   *
+   * @param flagId the ID of the flag
+   * @param project the project of the flag
+   * @param ifMatch the value of the {@code If-Match} header, or {@code null} to accept any version
+   * @return the flag
+   * @throws FlagNotFoundException if no flag exists with the given ID
+   * @throws FlagVersionConflictException if none of the entity tags matches the flag
+   */
+  private Flag getProjectFlagForWrite(Long flagId, Project project, String ifMatch)
+      throws FlagNotFoundException, FlagVersionConflictException {
+    Flag flag =
+        getProjectFlagById(flagId, project).orElseThrow(() -> new FlagNotFoundException(flagId));
+    if (ifMatch == null) return flag;
+
+    // If-Match uses the strong comparison, so weak entity tags never match
+    for (String eTag : ifMatch.split(",")) {
+      if (eTag.strip().equals("*") || eTag.strip().equals(flag.getETag())) return flag;
+    }
+    throw new FlagVersionConflictException(flagId);
+  }
+
+  /**
+   * Increment the version of a project's flags and announce the change to listeners. Must be
+   * called from within the transaction that changes the flags.
+   *
+   * @param project the project whose flags changed
+   * @return the version of the project's flags after the change
+   */
+  private long recordFlagChange(Project project) {
+    long version = projectService.incrementFlagsVersion(project.getId());
+    eventPublisher.publishEvent(new FlagChangeEvent(project.getId(), version));
+    return version;
+  }
+}
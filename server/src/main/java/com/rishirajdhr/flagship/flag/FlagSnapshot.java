@@ -0,0 +1,148 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.flag.dto.FlagDefinition;
+import com.rishirajdhr.flagship.targeting.EvaluationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Represents an immutable, point-in-time view of the evaluated states of all the feature flags in
+ * a project.
+ */
+public final class FlagSnapshot {
+  private final Long projectId;
+  private final long version;
+  private final Map<String, FlagEvaluationPlan> plans;
+  private final Map<String, FlagState> states;
+  private final Map<String, Boolean> enabledStates;
+  private final Map<String, FlagDefinition> definitions;
+
+  /**
+   * Create a new snapshot. The given plans are copied, so later changes to the map are not
+   * reflected in the snapshot.
+   *
+   * @param projectId the ID of the project
+   * @param version the version of the project's flags captured by the snapshot
+   * @param plans the compiled flag evaluation plans, keyed by flag key
+   */
+  FlagSnapshot(Long projectId, long version, Map<String, FlagEvaluationPlan> plans) {
+    this.projectId = projectId;
+    this.version = version;
+    this.plans = Map.copyOf(plans);
+
+    Map<String, FlagState> states = new HashMap<>();
+    Map<String, Boolean> enabledStates = new HashMap<>();
+    Map<String, FlagDefinition> definitions = new HashMap<>();
+    plans.forEach((key, plan) -> {
+      states.put(key, plan.getDefaultState());
+      enabledStates.put(key, plan.getDefaultState().enabled());
+      definitions.put(key, plan.getDefinition());
+    });
+    this.states = Map.copyOf(states);
+    this.enabledStates = Map.copyOf(enabledStates);
+    this.definitions = Map.copyOf(definitions);
+  }
+
+  /**
+   * Get the ID of the project.
+   *
+   * @return the project ID
+   */
+  public Long getProjectId() {
+    return projectId;
+  }
+
+  /**
+   * Get the version of the project's flags captured by this snapshot.
+   *
+   * @return the flags version
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Get a strong entity tag that identifies the content of this snapshot.
+   *
+   * @return the quoted entity tag
+   */
+  public String getETag() {
+    return "\"" + projectId + "-" + version + "\"";
+  }
+
+  /**
+   * Get the state of a feature flag by its key, for a context without any attributes.
+   *
+   * @param key the key of the flag
+   * @return an {@link Optional} containing the flag state if the flag exists
+   */
+  public Optional<FlagState> getState(String key) {
+    return Optional.ofNullable(states.get(key));
+  }
+
+  /**
+   * Evaluate a feature flag by its key for a context, with the flag's compiled evaluation plan.
+   *
+   * @param key the key of the flag
+   * @param context the evaluation context
+   * @return an {@link Optional} containing the evaluated flag state if the flag exists
+   */
+  public Optional<FlagState> evaluate(String key, EvaluationContext context) {
+    FlagEvaluationPlan plan = plans.get(key);
+    return plan == null ? Optional.empty() : Optional.of(plan.evaluate(context));
+  }
+
+  /**
+   * Get the compiled evaluation plan of a feature flag by its key.
+   *
+   * @param key the key of the flag
+   * @return the evaluation plan, or {@code null} if the flag does not exist
+   */
+  FlagEvaluationPlan getPlan(String key) {
+    return plans.get(key);
+  }
+
+  /**
+   * Get the states of all the flags in the snapshot, for a context without any attributes.
+   *
+   * @return an unmodifiable map of flag key to flag state
+   */
+  public Map<String, FlagState> getStates() {
+    return states;
+  }
+
+  /**
+   * Get the states of the flags in the snapshot that were created or updated after a given version
+   * of the project's flags, for a context without any attributes.
+   *
+   * @param version the exclusive lower bound of the flags version
+   * @return a map of flag key to flag state
+   */
+  public Map<String, FlagState> getStatesChangedSince(long version) {
+    Map<String, FlagState> changed = new HashMap<>();
+    plans.forEach((key, plan) -> {
+      if (plan.getChangeVersion() > version) changed.put(key, states.get(key));
+    });
+    return changed;
+  }
+
+  /**
+   * Get the definitions of all the flags in the snapshot, which SDKs evaluate flags from locally.
+   *
+   * @return an unmodifiable map of flag key to flag definition
+   */
+  public Map<String, FlagDefinition> getDefinitions() {
+    return definitions;
+  }
+
+  /**
+   * Get whether each flag in the snapshot is enabled.
+   *
+   * @return an unmodifiable map of flag key to flag status
+   */
+  public Map<String, Boolean> getEnabledStates() {
+    return enabledStates;
+  }
+}
@@ -0,0 +1,187 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.project.ProjectService;
+import com.rishirajdhr.flagship.segment.SegmentMembershipCache;
+import com.rishirajdhr.flagship.targeting.SegmentResolver;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds an in-memory {@link FlagSnapshot} per project so that flag evaluations can be served
+ * without querying the database.
+ *
+ * <p>Snapshots are loaded lazily on the first evaluation for a project and are rebuilt and
+ * atomically swapped whenever a {@link FlagChangeEvent} for the project is committed. Loads and
+ * rebuilds for a project are serialized, so a load that raced with a write can never replace the
+ * snapshot built after the write was committed.
+ */
+@Component
+@ManagedResource(objectName = "com.rishirajdhr.flagship:type=FlagSnapshotCache")
+public class FlagSnapshotCache {
+  private final FlagRepository flagRepository;
+  private final ProjectService projectService;
+  private final SegmentMembershipCache segmentMembershipCache;
+  private final FlagEvaluationCounters evaluationCounters;
+  private final TransactionTemplate readTransaction;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ConcurrentMap<Long, FlagSnapshot> snapshots = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, Object> locks = new ConcurrentHashMap<>();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder rebuilds = new LongAdder();
+
+  /**
+   * Create a new cache of project flag snapshots.
+   *
+   * @param flagRepository the repository that provides database access to {@link Flag} entities
+   * @param projectService the service that provides the version of a project's flags
+   * @param segmentMembershipCache the cache that resolves the segments referenced by flags
+   * @param evaluationCounters the counters of the evaluations of each flag
+   * @param transactionManager the transaction manager used to load snapshots
+   * @param eventPublisher the publisher used to announce rebuilt snapshots
+   */
+  public FlagSnapshotCache(FlagRepository flagRepository, ProjectService projectService,
+                           SegmentMembershipCache segmentMembershipCache,
+                           FlagEvaluationCounters evaluationCounters,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher) {
+    this.flagRepository = flagRepository;
+    this.projectService = projectService;
+    this.segmentMembershipCache = segmentMembershipCache;
+    this.evaluationCounters = evaluationCounters;
+    this.readTransaction = new TransactionTemplate(transactionManager);
+    this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.readTransaction.setReadOnly(true);
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * Get the flag snapshot for a project, loading it from the database if it is not cached yet.
+   *
+   * @param projectId the ID of the project
+   * @return the current flag snapshot of the project
+   */
+  public FlagSnapshot getSnapshot(Long projectId) {
+    FlagSnapshot snapshot = snapshots.get(projectId);
+    if (snapshot != null) {
+      hits.increment();
+      return snapshot;
+    }
+
+    misses.increment();
+    synchronized (getLock(projectId)) {
+      snapshot = snapshots.get(projectId);
+      if (snapshot == null) {
+        snapshot = loadSnapshot(projectId, null);
+        snapshots.put(projectId, snapshot);
+      }
+      return snapshot;
+    }
+  }
+
+  /**
+   * Rebuild the snapshot of a project once a change to its flags has been committed, and publish a
+   * {@link FlagSnapshotUpdatedEvent} for the swap. Projects without a cached snapshot are skipped;
+   * they are loaded on their next evaluation.
+   *
+   * <p>The snapshot is only looked up under the project's lock. A first load that is still in
+   * progress may have read the flags before the change committed, so the change waits for it and
+   * rebuilds the snapshot it stored.
+   *
+   * @param event the committed flag change
+   */
+  @TransactionalEventListener
+  public void onFlagChange(FlagChangeEvent event) {
+    Long projectId = event.projectId();
+    FlagSnapshot previous;
+    FlagSnapshot current;
+    synchronized (getLock(projectId)) {
+      previous = snapshots.get(projectId);
+      if (previous == null) return;
+
+      rebuilds.increment();
+      current = loadSnapshot(projectId, previous);
+      snapshots.put(projectId, current);
+    }
+    eventPublisher.publishEvent(new FlagSnapshotUpdatedEvent(previous, current));
+  }
+
+  @ManagedAttribute(description = "Number of evaluations served from a cached snapshot")
+  public long getHits() {
+    return hits.sum();
+  }
+
+  @ManagedAttribute(description = "Number of evaluations that had to load a snapshot")
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  @ManagedAttribute(description = "Number of snapshots rebuilt after a flag change")
+  public long getRebuilds() {
+    return rebuilds.sum();
+  }
+
+  @ManagedAttribute(description = "Number of projects with a cached snapshot")
+  public int getSize() {
+    return snapshots.size();
+  }
+
+  /**
+   * Get the lock that serializes the loads and rebuilds of a project's snapshot. The database is
+   * read while holding it, so it is a lock of the project's own rather than the bin of the
+   * snapshot map, which would also block the projects that share the bin.
+   *
+   * @param projectId the ID of the project
+   * @return the lock of the project
+   */
+  private Object getLock(Long projectId) {
+    return locks.computeIfAbsent(projectId, id -> new Object());
+  }
+
+  /**
+   * Load the flag snapshot of a project from the database.
+   *
+   * <p>The version is read before the flags. If a change commits in between, the snapshot holds
+   * newer flags under an older version, which only costs clients an extra refresh; the reverse
+   * order could tag stale flags with a newer version. The snapshot is rebuilt again once the
+   * change's event is delivered.
+   *
+   * <p>Each flag's targeting rules are compiled once per flag version: the evaluation plan of a
+   * flag that has not changed since the previous snapshot is reused instead of compiled again.
+   * Segment members are not part of the plan, so uploading members does not rebuild snapshots.
+   *
+   * @param projectId the ID of the project
+   * @param previous the previous snapshot of the project, or {@code null} if there is none
+   * @return the loaded snapshot
+   */
+  private FlagSnapshot loadSnapshot(Long projectId, FlagSnapshot previous) {
+    return readTransaction.execute(status -> {
+      long version = projectService.getFlagsVersion(projectId);
+      SegmentResolver segments = segmentMembershipCache.getResolver(projectId);
+      Map<String, FlagEvaluationPlan> plans = new HashMap<>();
+      for (Flag flag : flagRepository.findFlagsByProjectId(projectId)) {
+        FlagEvaluationPlan plan = previous == null ? null : previous.getPlan(flag.getKey());
+        if (plan == null || plan.getChangeVersion() != flag.getChangeVersion()) {
+          plan = FlagEvaluationPlan.compile(
+              flag, segments, evaluationCounters.getCounter(flag.getId()));
+        }
+        plans.put(flag.getKey(), plan);
+      }
+      return new FlagSnapshot(projectId, version, plans);
+    });
+  }
+}
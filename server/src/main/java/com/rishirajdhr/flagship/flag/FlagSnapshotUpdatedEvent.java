@@ -0,0 +1,10 @@
+package com.rishirajdhr.flagship.flag;
+
+/**
+ * Represents the replacement of a project's cached {@link FlagSnapshot} with a newer one. The
+ * event is published by {@link FlagSnapshotCache} after the new snapshot has been swapped in.
+ *
+ * @param previous the snapshot that was replaced
+ * @param current the snapshot that replaced it
+ */
+public record FlagSnapshotUpdatedEvent(FlagSnapshot previous, FlagSnapshot current) {}
@@ -0,0 +1,12 @@
+package com.rishirajdhr.flagship.flag;
+
+/**
+ * Represents the orders a project's feature flags can be listed in.
+ */
+public enum FlagSort {
+  /** Sort the flags by key, in ascending order. */
+  KEY,
+
+  /** Sort the flags by the time they were last modified, most recent first. */
+  UPDATED
+}
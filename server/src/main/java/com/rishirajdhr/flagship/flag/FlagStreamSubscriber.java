@@ -0,0 +1,195 @@
+package com.rishirajdhr.flagship.flag;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents a single client connected to a project's flag stream.
+ *
+ * <p>Events are never written from the publishing thread. They are placed in a bounded buffer and
+ * written to the client by a shared executor, at most one drain per subscriber at a time. A
+ * subscriber whose buffer overflows, or whose current write has been blocked for too long, is too
+ * slow to keep up and is closed; the client reconnects and starts again from a fresh snapshot.
+ *
+ * <p>The emitter of a closed subscriber is completed by the thread that drains it once its write
+ * returns, because completing an emitter waits for the write in progress and would otherwise hold
+ * another executor thread for as long as the write is blocked.
+ */
+class FlagStreamSubscriber {
+  private static final long NO_VERSION = -1;
+  private static final long NOT_WRITING = 0;
+
+  private final Long projectId;
+  private final String keyHash;
+  private final SseEmitter emitter;
+  private final BlockingQueue<Set<DataWithMediaType>> buffer;
+  private final Executor executor;
+  private final AtomicBoolean draining = new AtomicBoolean();
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private final AtomicBoolean completed = new AtomicBoolean();
+  private volatile long writeStartedAt = NOT_WRITING;
+  private long version = NO_VERSION;
+
+  /**
+   * Create a new subscriber to a project's flag stream.
+   *
+   * @param projectId the ID of the project
+   * @param keyHash the hash of the SDK key the client connected with, or {@code null} if the client
+   *                connected as a user
+   * @param emitter the emitter used to write events to the client
+   * @param bufferSize the maximum number of events waiting to be written to the client
+   * @param executor the executor used to write buffered events to the client
+   */
+  FlagStreamSubscriber(Long projectId, String keyHash, SseEmitter emitter, int bufferSize,
+                       Executor executor) {
+    this.projectId = projectId;
+    this.keyHash = keyHash;
+    this.emitter = emitter;
+    this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    this.executor = executor;
+  }
+
+  /**
+   * Get the ID of the project the subscriber listens to.
+   *
+   * @return the project ID
+   */
+  Long getProjectId() {
+    return projectId;
+  }
+
+  /**
+   * Get the hash of the SDK key the client connected with.
+   *
+   * @return the key hash, or {@code null} if the client connected as a user
+   */
+  String getKeyHash() {
+    return keyHash;
+  }
+
+  /**
+   * Get the emitter used to write events to the client.
+   *
+   * @return the subscriber's emitter
+   */
+  SseEmitter getEmitter() {
+    return emitter;
+  }
+
+  /**
+   * Get the version of the project's flags that the client will be at once all buffered events
+   * are written.
+   *
+   * @return the version of the last buffered event, or a negative number if none was buffered
+   */
+  synchronized long getVersion() {
+    return version;
+  }
+
+  /**
+   * Check whether the write in progress to the client has been blocked for longer than a timeout.
+   *
+   * @param now the current value of {@link System#nanoTime()}
+   * @param timeoutNanos the longest time a single write may take, in nanoseconds
+   * @return {@code true} if a write is in progress and has exceeded the timeout
+   */
+  boolean isWriteStalled(long now, long timeoutNanos) {
+    long startedAt = writeStartedAt;
+    return startedAt != NOT_WRITING && now - startedAt > timeoutNanos;
+  }
+
+  /**
+   * Buffer an event that moves the client to a new version of the project's flags.
+   *
+   * @param event the event to send
+   * @param version the version of the project's flags after the event
+   * @return {@code true} if the event was buffered, {@code false} if the subscriber was closed
+   */
+  synchronized boolean send(Set<DataWithMediaType> event, long version) {
+    if (!send(event)) return false;
+    this.version = version;
+    return true;
+  }
+
+  /**
+   * Buffer an event that does not change the client's version, such as a heartbeat.
+   *
+   * @param event the event to send
+   * @return {@code true} if the event was buffered, {@code false} if the subscriber was closed
+   */
+  boolean send(Set<DataWithMediaType> event) {
+    if (closed.get()) return false;
+    if (!buffer.offer(event)) {
+      close();
+      return false;
+    }
+
+    scheduleDrain();
+    return true;
+  }
+
+  /**
+   * Close the connection to the client and discard any buffered events. If no drain is running,
+   * the connection is completed on the executor; otherwise the drain completes it once its write
+   * returns.
+   */
+  void close() {
+    if (closed.compareAndSet(false, true)) {
+      buffer.clear();
+      if (!draining.get()) executor.execute(this::complete);
+    }
+  }
+
+  /**
+   * Schedule the buffered events to be written, unless a drain is already scheduled or running.
+   */
+  private void scheduleDrain() {
+    if (draining.compareAndSet(false, true)) {
+      executor.execute(this::drain);
+    }
+  }
+
+  /**
+   * Write the buffered events to the client.
+   */
+  private void drain() {
+    try {
+      Set<DataWithMediaType> event;
+      while (!closed.get() && (event = buffer.poll()) != null) {
+        writeStartedAt = System.nanoTime();
+        emitter.send(event);
+        writeStartedAt = NOT_WRITING;
+      }
+    } catch (IOException | IllegalStateException e) {
+      close();
+    } finally {
+      writeStartedAt = NOT_WRITING;
+      draining.set(false);
+    }
+
+    // The subscriber may have been closed while the drain was running, in which case closing it
+    // left the connection for the drain to complete.
+    if (closed.get()) {
+      complete();
+    } else if (!buffer.isEmpty()) {
+      // An event may have been buffered after the last poll but before the flag was reset.
+      scheduleDrain();
+    }
+  }
+
+  /**
+   * Complete the connection to the client, once.
+   */
+  private void complete() {
+    if (completed.compareAndSet(false, true)) {
+      emitter.complete();
+    }
+  }
+}
@@ -0,0 +1,222 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rishirajdhr.flagship.flag.dto.FlagImportError;
+import com.rishirajdhr.flagship.flag.dto.FlagImportResponse;
+import com.rishirajdhr.flagship.flag.exceptions.InvalidFlagVariantException;
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.targeting.exceptions.InvalidTargetingRuleException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Provides business logic to export the feature flags of a project as a stream of JSON objects and
+ * to import flags from such a stream.
+ *
+ * <p>Both directions stream: an export reads the flags a page at a time and writes each one as a
+ * line of NDJSON, and an import parses one flag at a time and saves them in chunks. An import
+ * accepts NDJSON or a JSON array of the same objects, so an export can be imported as is. Rows
+ * that cannot be read or are invalid are reported and skipped without stopping the import.
+ */
+@Service
+public class FlagTransferService {
+  private static final int EXPORT_PAGE_SIZE = 500;
+
+  private final FlagService flagService;
+  private final FlagRepository flagRepository;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final int chunkSize;
+
+  /**
+   * Create a new service to export and import feature flags.
+   *
+   * @param flagService the {@link Flag} business logic service
+   * @param flagRepository the repository that provides database access to {@link Flag} entities
+   * @param objectMapper the mapper used to read and write flags
+   * @param validator the validator that checks each imported flag
+   * @param chunkSize the number of flags saved in one transaction during an import
+   */
+  public FlagTransferService(FlagService flagService, FlagRepository flagRepository,
+                             ObjectMapper objectMapper, Validator validator,
+                             @Value("${flagship.flags.import-chunk-size:500}") int chunkSize) {
+    this.flagService = flagService;
+    this.flagRepository = flagRepository;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Write the feature flags of a project as NDJSON, one {@link NewFlag} object per line, ordered
+   * by key.
+   *
+   * @param projectId the ID of the project
+   * @param out the stream to write the flags to
+   * @throws IOException if the flags cannot be written
+   */
+  public void exportProjectFlags(Long projectId, OutputStream out) throws IOException {
+    String afterKey = "";
+    List<Flag> page;
+    do {
+      page = flagRepository.findFlagsByProjectIdAndKeyGreaterThanOrderByKey(
+          projectId, afterKey, Limit.of(EXPORT_PAGE_SIZE));
+      for (Flag flag : page) {
+        out.write(objectMapper.writeValueAsBytes(toNewFlag(flag)));
+        out.write('\n');
+      }
+      out.flush();
+      if (!page.isEmpty()) afterKey = page.get(page.size() - 1).getKey();
+    } while (page.size() == EXPORT_PAGE_SIZE);
+  }
+
+  /**
+   * Create feature flags for a project from a stream of NDJSON or a JSON array of {@link NewFlag}
+   * objects. The flags are saved in chunks, each in its own transaction, so an import that fails
+   * part way keeps the chunks saved before the failure.
+   *
+   * @param project the project to create the flags for
+   * @param in the stream to read the flags from
+   * @return the number of flags created and the rows that were rejected
+   * @throws IOException if the stream cannot be read
+   */
+  public FlagImportResponse importProjectFlags(Project project, InputStream in)
+      throws IOException {
+    List<FlagImportError> errors = new ArrayList<>();
+    Map<Flag, Integer> rowsByFlag = new IdentityHashMap<>();
+    Set<String> keys = new HashSet<>();
+    int imported = 0;
+
+    try (MappingIterator<NewFlag> rows = objectMapper.readerFor(NewFlag.class).readValues(in)) {
+      for (int row = 1; ; row++) {
+        NewFlag newFlag;
+        try {
+          if (!rows.hasNextValue()) break;
+          newFlag = rows.nextValue();
+        } catch (StreamReadException e) {
+          // Malformed JSON leaves no reliable place to resume from
+          errors.add(new FlagImportError(row, null, e.getOriginalMessage()));
+          break;
+        } catch (JsonProcessingException e) {
+          errors.add(new FlagImportError(row, null, e.getOriginalMessage()));
+          continue;
+        }
+
+        try {
+          Flag flag = toFlag(newFlag, project);
+          if (!keys.add(flag.getKey())) {
+            throw new IllegalArgumentException("Key is repeated in the import");
+          }
+          rowsByFlag.put(flag, row);
+        } catch (IllegalArgumentException | InvalidTargetingRuleException
+                 | InvalidFlagVariantException e) {
+          errors.add(new FlagImportError(row, newFlag.key(), e.getMessage()));
+        }
+
+        if (rowsByFlag.size() == chunkSize) {
+          imported += saveChunk(rowsByFlag, project, errors);
+        }
+      }
+    }
+    imported += saveChunk(rowsByFlag, project, errors);
+
+    errors.sort(Comparator.comparingInt(FlagImportError::row));
+    return new FlagImportResponse(imported, errors);
+  }
+
+  /**
+   * Save a chunk of imported flags and clear it, reporting the flags that could not be saved.
+   *
+   * @param rowsByFlag the flags of the chunk and their rows
+   * @param project the project of the flags
+   * @param errors the list to add the rejected rows to
+   * @return the number of flags saved
+   */
+  private int saveChunk(Map<Flag, Integer> rowsByFlag, Project project,
+                        List<FlagImportError> errors) {
+    if (rowsByFlag.isEmpty()) return 0;
+
+    List<Flag> chunk = new ArrayList<>(rowsByFlag.keySet());
+    int saved;
+    try {
+      List<Flag> skipped = flagService.createProjectFlags(chunk, project);
+      for (Flag flag : skipped) {
+        errors.add(new FlagImportError(rowsByFlag.get(flag), flag.getKey(),
+                                       "A flag with this key already exists"));
+      }
+      saved = chunk.size() - skipped.size();
+    } catch (DataAccessException e) {
+      for (Flag flag : chunk) {
+        errors.add(new FlagImportError(rowsByFlag.get(flag), flag.getKey(),
+                                       "Could not save flag: " + e.getMostSpecificCause()));
+      }
+      saved = 0;
+    }
+    rowsByFlag.clear();
+    return saved;
+  }
+
+  /**
+   * Validate an imported flag and build the flag to create for it, with the same defaults as a
+   * flag created through the API.
+   *
+   * @param newFlag the imported flag
+   * @param project the project to create the flag for
+   * @return the new, unsaved flag
+   * @throws IllegalArgumentException if the flag is invalid
+   * @throws InvalidTargetingRuleException if one of the targeting rules is malformed or references
+   *     an unknown segment
+   * @throws InvalidFlagVariantException if the variants are inconsistent
+   */
+  private Flag toFlag(NewFlag newFlag, Project project)
+      throws IllegalArgumentException, InvalidTargetingRuleException, InvalidFlagVariantException {
+    Set<ConstraintViolation<NewFlag>> violations = validator.validate(newFlag);
+    if (!violations.isEmpty()) {
+      throw new IllegalArgumentException(violations.stream()
+          .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+          .sorted()
+          .collect(Collectors.joining(", ")));
+    }
+
+    return flagService.buildProjectFlag(
+        newFlag.key(), newFlag.name(), newFlag.description(), newFlag.enabled(),
+        newFlag.rules() == null ? List.of() : newFlag.rules(),
+        newFlag.rolloutPercentage() == null ? 100 : newFlag.rolloutPercentage(),
+        newFlag.rolloutSalt(),
+        newFlag.variants() == null ? List.of() : newFlag.variants(),
+        newFlag.defaultVariant(), newFlag.offVariant(), project);
+  }
+
+  /**
+   * Convert a flag to the object written for it in an export.
+   *
+   * @param flag the flag to convert
+   * @return the exported flag
+   */
+  private static NewFlag toNewFlag(Flag flag) {
+    return new NewFlag(flag.getKey(), flag.getName(), flag.getDescription(), flag.isEnabled(),
+                       flag.getRules(), flag.getRolloutPercentage(), flag.getRolloutSalt(),
+                       flag.getVariants(), flag.getDefaultVariant(), flag.getOffVariant());
+  }
+}
@@ -0,0 +1,28 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Represents a named value a feature flag can serve, such as a timeout or a block of
+ * configuration.
+ *
+ * @param key the key of the variant, unique within the flag
+ * @param type the type of the variant's value
+ * @param value the value of the variant
+ */
+public record FlagVariant(
+    @NotNull
+    @NotBlank
+    @Size(max = 255)
+    String key,
+
+    @NotNull
+    VariantType type,
+
+    @NotNull
+    JsonNode value
+) {}
@@ -0,0 +1,62 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.targeting.TargetingRule;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Represents the payload for creating a new flag.
+ *
+ * @param key the key of the flag
+ * @param name the name of the flag
+ * @param description the description of the flag
+ * @param enabled the status of the flag - {@code true} if enabled, {@code false} otherwise
+ * @param rules the targeting rules of the flag, in evaluation order, or {@code null} for none
+ * @param rolloutPercentage the percentage of users the flag is rolled out to when no rule matches,
+ *     or {@code null} for every user
+ * @param rolloutSalt the salt that assigns users to rollout buckets, or {@code null} for a random
+ *     salt
+ * @param variants the variants the flag can serve, or {@code null} for a plain boolean flag
+ * @param defaultVariant the key of the variant served when the flag is on, required with variants
+ * @param offVariant the key of the variant served when the flag is off, required with variants
+ */
+public record NewFlag(
+    @NotNull
+    @NotBlank
+    String key,
+
+    @NotNull
+    @NotBlank
+    String name,
+
+    @NotNull
+    String description,
+
+    boolean enabled,
+
+    @Size(max = 100)
+    List<@NotNull @Valid TargetingRule> rules,
+
+    @Min(0)
+    @Max(100)
+    Integer rolloutPercentage,
+
+    @Size(max = 255)
+    String rolloutSalt,
+
+    @Size(max = 100)
+    List<@NotNull @Valid FlagVariant> variants,
+
+    @Size(max = 255)
+    String defaultVariant,
+
+    @Size(max = 255)
+    String offVariant
+) {}
@@ -0,0 +1,37 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.rishirajdhr.flagship.targeting.TargetingRule;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Represents the payload for updating an existing feature flag. The payload may omit fields that
+ * do not need to be updated.
+ *
+ * @param description the updated description of the flag
+ * @param enabled the updated status of the flag - {@code true} if enabled, {@code false} otherwise
+ * @param rules the updated targeting rules of the flag, in evaluation order
+ * @param rolloutPercentage the updated percentage of users the flag is rolled out to
+ * @param rolloutSalt the updated salt that assigns users to rollout buckets
+ * @param variants the updated variants of the flag, which replace the default and off variants
+ *     along with them
+ * @param defaultVariant the updated key of the variant served when the flag is on
+ * @param offVariant the updated key of the variant served when the flag is off
+ */
+public record UpdateFlag(
+    @Nullable String description,
+    @Nullable Boolean enabled,
+    @Nullable @Size(max = 100) List<@NotNull @Valid TargetingRule> rules,
+    @Nullable @Min(0) @Max(100) Integer rolloutPercentage,
+    @Nullable @Size(max = 255) String rolloutSalt,
+    @Nullable @Size(max = 100) List<@NotNull @Valid FlagVariant> variants,
+    @Nullable @Size(max = 255) String defaultVariant,
+    @Nullable @Size(max = 255) String offVariant) {}
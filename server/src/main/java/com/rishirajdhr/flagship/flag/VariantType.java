@@ -0,0 +1,15 @@
+package com.rishirajdhr.flagship.flag;
+
+/**
+ * Represents the type of the value of a feature flag variant.
+ */
+public enum VariantType {
+  /** The value is a JSON string. */
+  STRING,
+
+  /** The value is a JSON number. */
+  NUMBER,
+
+  /** The value is any JSON value, such as an object holding a block of configuration. */
+  JSON
+}
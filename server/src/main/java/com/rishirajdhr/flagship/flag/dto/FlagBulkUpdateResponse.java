@@ -0,0 +1,13 @@
+package com.rishirajdhr.flagship.flag.dto;
+
+import java.util.List;
+
+/**
+ * Represents the outcome of a bulk update of flags sent in a response to a bulk update request.
+ *
+ * @param updatedIds the IDs of the updated flags
+ * @param missingIds the requested IDs that match no flag of the project
+ * @param missingKeys the requested keys that match no flag of the project
+ */
+public record FlagBulkUpdateResponse(List<Long> updatedIds, List<Long> missingIds,
+                                     List<String> missingKeys) {}
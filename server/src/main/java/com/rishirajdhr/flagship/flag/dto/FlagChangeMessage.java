@@ -0,0 +1,18 @@
+package com.rishirajdhr.flagship.flag.dto;
+
+import com.rishirajdhr.flagship.flag.FlagState;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a message in a project's flag stream that carries the flags changed between two
+ * versions.
+ *
+ * @param previousVersion the version of the project's flags the changes apply to
+ * @param version the version of the project's flags after the changes
+ * @param updated the evaluated states of the created or updated flags, keyed by flag key
+ * @param deleted the keys of the deleted flags
+ */
+public record FlagChangeMessage(
+    long previousVersion, long version, Map<String, FlagState> updated, List<String> deleted) {}
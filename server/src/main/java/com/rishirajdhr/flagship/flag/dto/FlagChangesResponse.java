@@ -0,0 +1,20 @@
+package com.rishirajdhr.flagship.flag.dto;
+
+import com.rishirajdhr.flagship.flag.FlagState;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the changes to a project's feature flags since a given version.
+ *
+ * @param version the version of the project's flags the client is at after applying the changes
+ * @param reset {@code true} if the changes since the requested version are unknown and the
+ *              response holds every flag, so the client must replace its copy instead of applying
+ *              the changes to it
+ * @param updated the evaluated states of the flags that were created or updated since the
+ *                requested version, keyed by flag key
+ * @param deleted the keys of the flags that were deleted since the requested version
+ */
+public record FlagChangesResponse(
+    long version, boolean reset, Map<String, FlagState> updated, List<String> deleted) {}
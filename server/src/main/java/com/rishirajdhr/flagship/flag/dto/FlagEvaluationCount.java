@@ -0,0 +1,12 @@
+package com.rishirajdhr.flagship.flag.dto;
+
+import java.time.Instant;
+
+/**
+ * Represents the number of evaluations of a flag by result during one minute.
+ *
+ * @param minute the start of the minute
+ * @param enabledCount the number of evaluations that were enabled
+ * @param disabledCount the number of evaluations that were disabled
+ */
+public record FlagEvaluationCount(Instant minute, long enabledCount, long disabledCount) {}
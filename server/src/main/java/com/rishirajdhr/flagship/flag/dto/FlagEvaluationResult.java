@@ -0,0 +1,34 @@
+package com.rishirajdhr.flagship.flag.dto;
+
+import com.rishirajdhr.flagship.flag.FlagState;
+
+/**
+ * Represents the result of evaluating a single flag as part of a batch evaluation. Flags that do
+ * not exist are reported with an error instead of failing the whole batch.
+ *
+ * @param key the key of the evaluated flag
+ * @param state the evaluated flag state, or {@code null} if the flag does not exist
+ * @param error the reason the flag could not be evaluated, or {@code null} if it was evaluated
+ */
+public record FlagEvaluationResult(String key, FlagState state, String error) {
+  /**
+   * Create the result for a flag that was evaluated successfully.
+   *
+   * @param key the key of the flag
+   * @param state the evaluated flag state
+   * @return the created evaluation result
+   */
+  public static FlagEvaluationResult evaluated(String key, FlagState state) {
+    return new FlagEvaluationResult(key, state, null);
+  }
+
+  /**
+   * Create the result for a flag that does not exist in the project.
+   *
+   * @param key the key of the flag
+   * @return the created evaluation result
+   */
+  public static FlagEvaluationResult notFound(String key) {
+    return new FlagEvaluationResult(key, null, "No flag found in project with key: " + key);
+  }
+}
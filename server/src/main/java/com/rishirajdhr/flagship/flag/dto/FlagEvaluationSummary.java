@@ -0,0 +1,19 @@
+package com.rishirajdhr.flagship.flag.dto;
+
+import java.time.Instant;
+
+/**
+ * Represents the recent evaluation counts of a flag.
+ *
+ * @param enabledCount the number of evaluations in the last hour that were enabled
+ * @param disabledCount the number of evaluations in the last hour that were disabled
+ * @param lastEvaluatedAt the time the flag was last evaluated, or {@code null} if it was not
+ *     evaluated within the retention period
+ */
+public record FlagEvaluationSummary(long enabledCount, long disabledCount,
+                                    Instant lastEvaluatedAt) {
+  /**
+   * The summary of a flag that has not been evaluated.
+   */
+  public static final FlagEvaluationSummary NONE = new FlagEvaluationSummary(0, 0, null);
+}
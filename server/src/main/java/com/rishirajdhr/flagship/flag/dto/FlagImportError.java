@@ -0,0 +1,10 @@
+package com.rishirajdhr.flagship.flag.dto;
+
+/**
+ * Represents a row of a flag import that was not imported.
+ *
+ * @param row the 1-based position of the row in the imported stream
+ * @param key the key of the flag in the row, or {@code null} if the row could not be read
+ * @param message the reason the row was rejected
+ */
+public record FlagImportError(int row, String key, String message) {}
@@ -0,0 +1,11 @@
+package com.rishirajdhr.flagship.flag.dto;
+
+import java.util.List;
+
+/**
+ * Represents the outcome of a flag import sent in a response to an import request.
+ *
+ * @param imported the number of flags created
+ * @param errors the rows that were rejected, in stream order
+ */
+public record FlagImportResponse(int imported, List<FlagImportError> errors) {}
@@ -0,0 +1,90 @@
+package com.rishirajdhr.flagship.flag.dto;
+
+import com.rishirajdhr.flagship.flag.Flag;
+import com.rishirajdhr.flagship.flag.FlagVariant;
+import com.rishirajdhr.flagship.targeting.TargetingRule;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Represents the data for a flag sent in a response to a flag request.
+ *
+ * @param id the flag ID
+ * @param key the flag key
+ * @param name the flag name
+ * @param description the flag description
+ * @param enabled the flag status - {@code true} if the flag is enabled, false otherwise
+ * @param rules the targeting rules of the flag, in evaluation order
+ * @param rolloutPercentage the percentage of users the flag is rolled out to when no rule matches
+ * @param rolloutSalt the salt that assigns users to rollout buckets
+ * @param variants the variants the flag can serve, empty for a plain boolean flag
+ * @param defaultVariant the key of the variant served when the flag is on
+ * @param offVariant the key of the variant served when the flag is off
+ * @param projectId the ID of the flag's project
+ * @param owner the username of the flag's owner
+ * @param createdAt the timestamp when the flag was created
+ * @param updatedAt the timestamp when the flag was last modified
+ * @param enabledEvaluations the number of evaluations in the last hour that were enabled
+ * @param disabledEvaluations the number of evaluations in the last hour that were disabled
+ * @param lastEvaluatedAt the time the flag was last evaluated, or {@code null} if it was not
+ *     evaluated recently
+ */
+public record FlagResponse(
+    Long id,
+    String key,
+    String name,
+    String description,
+    boolean enabled,
+    List<TargetingRule> rules,
+    int rolloutPercentage,
+    String rolloutSalt,
+    List<FlagVariant> variants,
+    String defaultVariant,
+    String offVariant,
+    Long projectId,
+    String owner,
+    Instant createdAt,
+    Instant updatedAt,
+    long enabledEvaluations,
+    long disabledEvaluations,
+    Instant lastEvaluatedAt) {
+  /**
+   * Create a flag response object for a flag that has not been evaluated.
+   *
+   * @param flag the flag to create the response for
+   * @return the created flag response
+   */
+  public static FlagResponse fromFlag(Flag flag) {
+    return fromFlag(flag, FlagEvaluationSummary.NONE);
+  }
+
+  /**
+   * Create a flag response object for a flag.
+   *
+   * @param flag the flag to create the response for
+   * @param evaluations the recent evaluation counts of the flag
+   * @return the created flag response
+   */
+  public static FlagResponse fromFlag(Flag flag, FlagEvaluationSummary evaluations) {
+    return new FlagResponse(
+        flag.getId(),
+        flag.getKey(),
+        flag.getName(),
+        flag.getDescription(),
+        flag.isEnabled(),
+        flag.getRules(),
+        flag.getRolloutPercentage(),
+        flag.getRolloutSalt(),
+        flag.getVariants(),
+        flag.getDefaultVariant(),
+        flag.getOffVariant(),
+        flag.getProject().getId(),
+        flag.getProject().getOwner().getUsername(),
+        flag.getCreatedAt(),
+        flag.getUpdatedAt(),
+        evaluations.enabledCount(),
+        evaluations.disabledCount(),
+        evaluations.lastEvaluatedAt());
+  }
+}
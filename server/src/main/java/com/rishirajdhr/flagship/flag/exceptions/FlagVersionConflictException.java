@@ -0,0 +1,16 @@
+package com.rishirajdhr.flagship.flag.exceptions;
+
+/**
+ * Represents an exception when a flag was changed after the version a request was based on, so
+ * applying the request would overwrite the newer change.
+ */
+public class FlagVersionConflictException extends RuntimeException {
+  /**
+   * Create an exception when a flag no longer matches the entity tag a request expects.
+   *
+   * @param id the ID of the flag
+   */
+  public FlagVersionConflictException(Long id) {
+    super("Flag with ID " + id + " was changed by another request");
+  }
+}
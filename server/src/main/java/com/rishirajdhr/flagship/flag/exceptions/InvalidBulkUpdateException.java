@@ -0,0 +1,15 @@
+package com.rishirajdhr.flagship.flag.exceptions;
+
+/**
+ * Represents an exception when a bulk update of flags selects no flags or changes nothing.
+ */
+public class InvalidBulkUpdateException extends RuntimeException {
+  /**
+   * Create an exception when a bulk update of flags is invalid.
+   *
+   * @param message the description of the problem with the update
+   */
+  public InvalidBulkUpdateException(String message) {
+    super("Invalid bulk update: " + message);
+  }
+}
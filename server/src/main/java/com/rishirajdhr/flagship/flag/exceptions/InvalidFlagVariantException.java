@@ -0,0 +1,16 @@
+package com.rishirajdhr.flagship.flag.exceptions;
+
+/**
+ * Represents an exception when the variants of a flag are inconsistent, for example when a value
+ * does not match its variant's type or a flag references a variant it does not define.
+ */
+public class InvalidFlagVariantException extends RuntimeException {
+  /**
+   * Create an exception when the variants of a flag are invalid.
+   *
+   * @param message the description of the problem with the variants
+   */
+  public InvalidFlagVariantException(String message) {
+    super("Invalid flag variants: " + message);
+  }
+}
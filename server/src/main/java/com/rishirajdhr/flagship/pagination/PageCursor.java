@@ -0,0 +1,74 @@
+package com.rishirajdhr.flagship.pagination;
+
+import com.rishirajdhr.flagship.pagination.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Represents the position after the last row of a page in a list sorted by a set of columns. The
+ * cursor holds the sort order and the sort column values of the last row, so the next page is read
+ * with a keyset condition on those values instead of an offset, and costs the same no matter how
+ * deep in the list it is.
+ *
+ * @param sort the name of the sort order the cursor was created for
+ * @param values the sort column values of the last row of the page
+ */
+public record PageCursor(String sort, List<String> values) {
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  /**
+   * Create a cursor after a row with the given sort column values.
+   *
+   * @param sort the name of the sort order
+   * @param values the sort column values of the row
+   * @return the created cursor
+   */
+  public static PageCursor of(String sort, String... values) {
+    return new PageCursor(sort, List.of(values));
+  }
+
+  /**
+   * Encode the cursor into an opaque string that is safe to use in a URL.
+   *
+   * @return the encoded cursor
+   */
+  public String encode() {
+    List<String> parts = new ArrayList<>(values.size() + 1);
+    parts.add(sort);
+    for (String value : values) {
+      parts.add(ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8)));
+    }
+    return String.join(".", parts);
+  }
+
+  /**
+   * Decode a cursor created for a given sort order.
+   *
+   * @param cursor the encoded cursor
+   * @param sort the name of the sort order the cursor is expected to be for
+   * @param size the expected number of sort column values
+   * @return the decoded cursor
+   * @throws InvalidCursorException if the cursor is malformed or was created for another sort order
+   */
+  public static PageCursor decode(String cursor, String sort, int size)
+      throws InvalidCursorException {
+    String[] parts = cursor.split("\\.", -1);
+    if (parts.length != size + 1 || !parts[0].equals(sort)) {
+      throw new InvalidCursorException(cursor);
+    }
+
+    try {
+      List<String> values = Arrays.stream(parts, 1, parts.length)
+          .map(part -> new String(DECODER.decode(part), StandardCharsets.UTF_8))
+          .toList();
+      return new PageCursor(sort, values);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException(cursor);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.rishirajdhr.flagship.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Represents one page of a list sent in a response to a paginated request.
+ *
+ * @param items the items on the page
+ * @param nextCursor the cursor of the next page, or {@code null} if this is the last page
+ * @param <T> the type of the items
+ */
+public record PageResponse<T>(List<T> items, String nextCursor) {
+  /**
+   * Create a page from rows fetched with a limit of one more than the page size. The extra row
+   * only signals that a next page exists, and is not included in the page.
+   *
+   * @param rows the fetched rows
+   * @param limit the page size
+   * @param cursorOf the function creating the cursor positioned after a row
+   * @return the created page
+   * @param <T> the type of the items
+   */
+  public static <T> PageResponse<T> of(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+    if (rows.size() <= limit) return new PageResponse<>(rows, null);
+
+    List<T> items = rows.subList(0, limit);
+    return new PageResponse<>(List.copyOf(items), cursorOf.apply(items.get(limit - 1)).encode());
+  }
+}
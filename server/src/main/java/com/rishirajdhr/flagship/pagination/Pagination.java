@@ -0,0 +1,45 @@
+package com.rishirajdhr.flagship.pagination;
+
+import java.time.Instant;
+
+/**
+ * Provides helpers shared by paginated list queries.
+ */
+public final class Pagination {
+  /** The number of items on a page when the client does not ask for a page size. */
+  public static final int DEFAULT_LIMIT = 100;
+
+  /** The largest number of items a client may ask for on a single page. */
+  public static final int MAX_LIMIT = 1000;
+
+  /**
+   * An instant later than any stored timestamp, used as the keyset bound of the first page of a
+   * list sorted with the most recently modified items first.
+   */
+  public static final Instant LATEST = Instant.parse("9999-12-31T23:59:59Z");
+
+  private Pagination() {}
+
+  /**
+   * Clamp a requested page size to the range of allowed page sizes.
+   *
+   * @param limit the requested page size
+   * @return the page size to use
+   */
+  public static int clampLimit(int limit) {
+    return Math.min(Math.max(limit, 1), MAX_LIMIT);
+  }
+
+  /**
+   * Create a {@code LIKE} pattern matching the values that start with a prefix. The wildcard
+   * characters in the prefix are escaped with a backslash, so they match themselves.
+   *
+   * @param prefix the prefix, or {@code null} to match every value
+   * @return the created pattern
+   */
+  public static String prefixPattern(String prefix) {
+    if (prefix == null) return "%";
+
+    return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+  }
+}
@@ -0,0 +1,21 @@
+package com.rishirajdhr.flagship.pagination;
+
+import com.rishirajdhr.flagship.pagination.exceptions.InvalidCursorException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Handles pagination exceptions and maps them to HTTP REST responses.
+ */
+@RestControllerAdvice
+public class PaginationExceptionAdvice {
+
+  @ExceptionHandler(InvalidCursorException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public String invalidCursorHandler(InvalidCursorException ex) {
+    return ex.getMessage();
+  }
+}
@@ -0,0 +1,16 @@
+package com.rishirajdhr.flagship.pagination.exceptions;
+
+/**
+ * Represents an exception when a page cursor is malformed or does not match the requested sort
+ * order.
+ */
+public class InvalidCursorException extends RuntimeException {
+  /**
+   * Create an exception when a page cursor is invalid.
+   *
+   * @param cursor the invalid cursor
+   */
+  public InvalidCursorException(String cursor) {
+    super("Invalid page cursor: " + cursor);
+  }
+}
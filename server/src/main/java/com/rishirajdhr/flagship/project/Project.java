@@ -14,6 +14,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
@@ -24,7 +25,11 @@ import jakarta.validation.constraints.NotNull;
  * Represents a project for which feature flags can be configured.
  */
 @Entity
-@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"name", "owner_id" }))
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"name", "owner_id" }),
+       indexes = {
+           @Index(columnList = "owner_id, name"),
+           @Index(columnList = "owner_id, updated_at, id")
+       })
 @EntityListeners(AuditingEntityListener.class)
 public class Project {
 
@@ -50,6 +55,12 @@ public class Project {
   @NotNull
   private AppUser owner;
 
+  @Column(nullable = false, columnDefinition = "bigint default 0")
+  private long flagsVersion;
+
+  @Column(nullable = false, columnDefinition = "bigint default 0")
+  private long prunedFlagsVersion;
+
   /**
    * No-arg constructor used by JPA to instantiate a {@link Project} object.
    */
@@ -140,6 +151,26 @@ public class Project {
     return description;
   }
 
+  /**
+   * Get the version of the project's feature flags. The version is incremented every time a flag
+   * of the project is created, updated or deleted.
+   *
+   * @return the current version of the project's flags
+   */
+  public long getFlagsVersion() {
+    return flagsVersion;
+  }
+
+  /**
+   * Get the latest version of the project's feature flags whose deleted flag tombstones were
+   * pruned. Clients behind this version may have missed deletions.
+   *
+   * @return the latest pruned version of the project's flags, or 0 if none were pruned
+   */
+  public long getPrunedFlagsVersion() {
+    return prunedFlagsVersion;
+  }
+
   /**
    * Set the name of the project.
    *
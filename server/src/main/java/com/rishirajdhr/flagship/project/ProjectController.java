@@ -3,6 +3,9 @@ package com.rishirajdhr.flagship.project;
 import com.rishirajdhr.flagship.auth.AppUser;
 import com.rishirajdhr.flagship.auth.AppUserProvider;
 import com.rishirajdhr.flagship.auth.exceptions.UnauthenticatedException;
+import com.rishirajdhr.flagship.auth.exceptions.UnauthorizedException;
+import com.rishirajdhr.flagship.pagination.PageResponse;
+import com.rishirajdhr.flagship.pagination.Pagination;
 import com.rishirajdhr.flagship.project.dto.NewProjectRequest;
 import com.rishirajdhr.flagship.project.dto.ProjectResponse;
 import com.rishirajdhr.flagship.project.exceptions.ProjectNotFoundException;
@@ -12,10 +15,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 import jakarta.validation.Valid;
 
 /**
@@ -47,7 +49,7 @@ public class ProjectController {
    */
   @PostMapping
   public ProjectResponse createProjectForUser(@RequestBody @Valid NewProjectRequest newProjectRequest) throws UnauthenticatedException {
-    AppUser owner = appUserProvider.getLoggedInAppUser();
+    AppUser owner = appUserProvider.getLoggedInAppUserReference();
     if (owner == null) throw new UnauthenticatedException();
 
     Project project = projectService.createProject(newProjectRequest.name(),
@@ -56,28 +58,49 @@ public class ProjectController {
   }
 
   /**
-   * Get all the projects for the logged-in user.
+   * Get a page of the projects for the logged-in user. Pages are read with a keyset cursor, so
+   * every page costs the same no matter how deep it is.
    *
-   * @return a list of all the user's projects
+   * @param prefix the prefix the project names must start with, or {@code null} for every project
+   * @param sort the order to list the projects in
+   * @param cursor the cursor of the page from the previous response, or {@code null} for the first
+   *     page
+   * @param limit the maximum number of projects on the page
+   * @return the page of the user's projects
    * @throws UnauthenticatedException if there is no authenticated user
    */
   @GetMapping
-  public List<ProjectResponse> getAllProjectsForUser() throws UnauthenticatedException {
-    AppUser owner = appUserProvider.getLoggedInAppUser();
-    if (owner == null) throw new UnauthenticatedException();
+  public PageResponse<ProjectResponse> getProjectsForUser(
+      @RequestParam(required = false) String prefix,
+      @RequestParam(defaultValue = "NAME") ProjectSort sort,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "" + Pagination.DEFAULT_LIMIT) int limit)
+      throws UnauthenticatedException {
+    Long ownerId = appUserProvider.getLoggedInUserId();
+    if (ownerId == null) throw new UnauthenticatedException();
 
-    return projectService.getAllProjectsForUser(owner).stream()
-        .map(ProjectResponse::fromProject)
-        .toList();
+    return projectService.getProjectsForUser(ownerId, prefix, sort, cursor, limit);
   }
 
+  /**
+   * Get a project of the logged-in user by its ID.
+   *
+   * @param projectId the ID of the project
+   * @return the project
+   * @throws UnauthenticatedException if there is no authenticated user
+   * @throws UnauthorizedException if the project is not owned by the authenticated user
+   */
   @GetMapping("/{projectId}")
-  public ProjectResponse getProjectByIdForUser(@PathVariable Long projectId) {
-    AppUser owner = appUserProvider.getLoggedInAppUser();
-    if (owner == null) throw new UnauthenticatedException();
+  public ProjectResponse getProjectByIdForUser(@PathVariable Long projectId)
+      throws UnauthenticatedException, UnauthorizedException {
+    Long ownerId = appUserProvider.getLoggedInUserId();
+    if (ownerId == null) throw new UnauthenticatedException();
 
     Project project =
         projectService.getProjectById(projectId).orElseThrow(() -> new ProjectNotFoundException(projectId));
+    if (!project.getOwner().getId().equals(ownerId)) {
+      throw new UnauthorizedException("User is not authorized to access project");
+    }
     return ProjectResponse.fromProject(project);
   }
 }
@@ -0,0 +1,47 @@
+package com.rishirajdhr.flagship.project;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the owner ID of each project in memory, so that checking whether a user may access a
+ * project does not query the database on every request. Projects that do not exist are not
+ * cached.
+ *
+ * <p>Entries are never evicted: a project's owner is set when the project is created and cannot
+ * be changed, and projects cannot be deleted. A path that transfers or deletes projects must evict
+ * the project's entry once its change is committed.
+ */
+@Component
+public class ProjectOwnerCache {
+  private final ProjectRepository projectRepository;
+  private final ConcurrentMap<Long, Long> ownerIds = new ConcurrentHashMap<>();
+
+  /**
+   * Create a new cache of project owners.
+   *
+   * @param projectRepository the repository that provides database access to project entities
+   */
+  public ProjectOwnerCache(ProjectRepository projectRepository) {
+    this.projectRepository = projectRepository;
+  }
+
+  /**
+   * Get the ID of the owner of a project, loading it from the database if it is not cached yet.
+   *
+   * @param projectId the ID of the project
+   * @return an {@link Optional} containing the owner ID if the project exists
+   */
+  public Optional<Long> getOwnerId(Long projectId) {
+    Long ownerId = ownerIds.get(projectId);
+    if (ownerId != null) return Optional.of(ownerId);
+
+    // Loaded outside the map, since the owner never changes and a racing load reads the same one
+    Optional<Long> loaded = projectRepository.findOwnerIdById(projectId);
+    loaded.ifPresent(id -> ownerIds.putIfAbsent(projectId, id));
+    return loaded;
+  }
+}
@@ -0,0 +1,102 @@
+package com.rishirajdhr.flagship.project;
+
+import com.rishirajdhr.flagship.project.dto.ProjectResponse;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Represents a repository to access and modify {@link Project} entities.
+ */
+public interface ProjectRepository extends JpaRepository<Project, Long> {
+  /**
+   * Retrieve a page of the responses for the projects of an application user whose names match a
+   * pattern, sorted by name. The page starts after a given name, so it is read from the
+   * {@code (owner_id, name)} index at the same cost no matter how deep it is.
+   *
+   * @param ownerId the ID of the application user
+   * @param namePattern the {@code LIKE} pattern the project names must match
+   * @param afterName the exclusive lower bound of the project names
+   * @param limit the maximum number of projects to return
+   * @return a list of the project responses, ordered by name
+   */
+  @Query("""
+      select new com.rishirajdhr.flagship.project.dto.ProjectResponse(
+          p.name, p.description, o.username, p.id, p.createdAt, p.updatedAt)
+      from Project p join p.owner o
+      where o.id = :ownerId and p.name like :namePattern escape '\\' and p.name > :afterName
+      order by p.name
+      """)
+  List<ProjectResponse> findProjectResponsePageByName(Long ownerId, String namePattern,
+                                                      String afterName, Limit limit);
+
+  /**
+   * Retrieve a page of the responses for the projects of an application user whose names match a
+   * pattern, sorted with the most recently modified projects first. The page starts after a given
+   * project, so it is read from the {@code (owner_id, updated_at, id)} index at the same cost no
+   * matter how deep it is.
+   *
+   * @param ownerId the ID of the application user
+   * @param namePattern the {@code LIKE} pattern the project names must match
+   * @param beforeUpdatedAt the modification time of the last project of the previous page
+   * @param beforeId the ID of the last project of the previous page
+   * @param limit the maximum number of projects to return
+   * @return a list of the project responses, most recently modified first
+   */
+  @Query("""
+      select new com.rishirajdhr.flagship.project.dto.ProjectResponse(
+          p.name, p.description, o.username, p.id, p.createdAt, p.updatedAt)
+      from Project p join p.owner o
+      where o.id = :ownerId and p.name like :namePattern escape '\\'
+          and (p.updatedAt < :beforeUpdatedAt
+               or (p.updatedAt = :beforeUpdatedAt and p.id < :beforeId))
+      order by p.updatedAt desc, p.id desc
+      """)
+  List<ProjectResponse> findProjectResponsePageByUpdatedAt(Long ownerId, String namePattern,
+                                                           Instant beforeUpdatedAt, Long beforeId,
+                                                           Limit limit);
+
+  /**
+   * Get the ID of the owner of a project, without loading the project or its owner.
+   *
+   * @param projectId the ID of the project
+   * @return an {@link Optional} containing the owner ID if the project exists
+   */
+  @Query("select p.owner.id from Project p where p.id = :projectId")
+  Optional<Long> findOwnerIdById(Long projectId);
+
+  /**
+   * Increment the version of a project's feature flags. The updated row stays locked until the
+   * surrounding transaction completes, so concurrent flag changes commit in version order.
+   *
+   * @param projectId the ID of the project
+   * @return the number of updated projects
+   */
+  @Modifying
+  @Query("update Project p set p.flagsVersion = p.flagsVersion + 1 where p.id = :projectId")
+  int incrementFlagsVersion(Long projectId);
+
+  /**
+   * Get the version of a project's feature flags.
+   *
+   * @param projectId the ID of the project
+   * @return an {@link Optional} containing the version if the project exists
+   */
+  @Query("select p.flagsVersion from Project p where p.id = :projectId")
+  Optional<Long> findFlagsVersionById(Long projectId);
+
+  /**
+   * Get the latest version of a project's feature flags whose deleted flag tombstones were pruned.
+   *
+   * @param projectId the ID of the project
+   * @return an {@link Optional} containing the pruned version if the project exists
+   */
+  @Query("select p.prunedFlagsVersion from Project p where p.id = :projectId")
+  Optional<Long> findPrunedFlagsVersionById(Long projectId);
+}
@@ -0,0 +1,180 @@
+package com.rishirajdhr.flagship.project;
+
+import com.rishirajdhr.flagship.auth.AppUser;
+import com.rishirajdhr.flagship.auth.exceptions.UnauthorizedException;
+import com.rishirajdhr.flagship.pagination.PageCursor;
+import com.rishirajdhr.flagship.pagination.PageResponse;
+import com.rishirajdhr.flagship.pagination.Pagination;
+import com.rishirajdhr.flagship.pagination.exceptions.InvalidCursorException;
+import com.rishirajdhr.flagship.project.dto.ProjectResponse;
+import com.rishirajdhr.flagship.project.exceptions.DuplicateProjectException;
+import com.rishirajdhr.flagship.project.exceptions.ProjectNotFoundException;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Encapsulates business logic for projects.
+ */
+@Service
+public class ProjectService {
+  private final ProjectRepository projectRepository;
+  private final ProjectOwnerCache projectOwnerCache;
+
+  /**
+   * Create a service to access and modify {@link Project} entities.
+   *
+   * @param projectRepository the repository that provides database access to project entities
+   * @param projectOwnerCache the in-memory cache of project owners used for authorization
+   */
+  public ProjectService(ProjectRepository projectRepository, ProjectOwnerCache projectOwnerCache) {
+    this.projectRepository = projectRepository;
+    this.projectOwnerCache = projectOwnerCache;
+  }
+
+  /**
+   * Create a new project for a user.
+   *
+   * @param name the name of the project
+   * @param description the description of the project
+   * @param owner the owner of the project.
+   * @return the newly created project
+   * @throws DuplicateProjectException if the user has an existing project with the same name
+   */
+  public Project createProject(String name, String description, AppUser owner) throws DuplicateProjectException {
+    Project project = new Project(name, description, owner);
+    try {
+      return projectRepository.save(project);
+    } catch (DataIntegrityViolationException e) {
+      throw new DuplicateProjectException(name);
+    }
+  }
+
+  /**
+   * Get a page of the responses for the projects owned by a user.
+   *
+   * @param ownerId the ID of the owner of the projects
+   * @param namePrefix the prefix the project names must start with, or {@code null} for every
+   *     project
+   * @param sort the order to list the projects in
+   * @param cursor the cursor of the page to get, or {@code null} for the first page
+   * @param limit the maximum number of projects on the page
+   * @return the page of responses for the owner's projects
+   * @throws InvalidCursorException if the cursor is invalid for the sort order
+   */
+  public PageResponse<ProjectResponse> getProjectsForUser(Long ownerId, String namePrefix,
+                                                          ProjectSort sort, String cursor,
+                                                          int limit)
+      throws InvalidCursorException {
+    String namePattern = Pagination.prefixPattern(namePrefix);
+    int pageSize = Pagination.clampLimit(limit);
+    Limit fetchLimit = Limit.of(pageSize + 1);
+
+    return switch (sort) {
+      case NAME -> {
+        String afterName =
+            cursor == null ? "" : PageCursor.decode(cursor, sort.name(), 1).values().get(0);
+        List<ProjectResponse> rows = projectRepository.findProjectResponsePageByName(
+            ownerId, namePattern, afterName, fetchLimit);
+        yield PageResponse.of(
+            rows, pageSize, project -> PageCursor.of(sort.name(), project.name()));
+      }
+      case UPDATED -> {
+        Instant beforeUpdatedAt = Pagination.LATEST;
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null) {
+          List<String> values = PageCursor.decode(cursor, sort.name(), 2).values();
+          try {
+            beforeUpdatedAt = Instant.parse(values.get(0));
+            beforeId = Long.parseLong(values.get(1));
+          } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+          }
+        }
+        List<ProjectResponse> rows = projectRepository.findProjectResponsePageByUpdatedAt(
+            ownerId, namePattern, beforeUpdatedAt, beforeId, fetchLimit);
+        yield PageResponse.of(rows, pageSize, project -> PageCursor.of(
+            sort.name(), project.updatedAt().toString(), project.id().toString()));
+      }
+    };
+  }
+
+  /**
+   * Get a project by its ID.
+   *
+   * @param projectId the project ID
+   * @return an {@link Optional} containing the project if found
+   */
+  public Optional<Project> getProjectById(Long projectId) {
+    return projectRepository.findById(projectId);
+  }
+
+  /**
+   * Get a project if it is owned by a given user. The ownership check is served from an
+   * in-memory cache, and the returned project is a lazy reference that is only loaded from the
+   * database if one of its fields other than the ID is accessed.
+   *
+   * @param projectId the project ID
+   * @param userId the ID of the user requesting access
+   * @return a reference to the authorized project
+   * @throws ProjectNotFoundException if no project is found with the given ID
+   * @throws UnauthorizedException if the project is not owned by the user
+   */
+  public Project getAuthorizedProject(Long projectId, Long userId)
+      throws ProjectNotFoundException, UnauthorizedException {
+    Long ownerId = projectOwnerCache.getOwnerId(projectId)
+        .orElseThrow(() -> new ProjectNotFoundException(projectId));
+    if (!ownerId.equals(userId)) {
+      throw new UnauthorizedException("User is not authorized to access project");
+    }
+    return projectRepository.getReferenceById(projectId);
+  }
+
+  /**
+   * Increment the version of a project's feature flags. Must be called from within the transaction
+   * that changes the flags.
+   *
+   * @param projectId the project ID
+   * @return the new version of the project's flags
+   * @throws ProjectNotFoundException if no project is found with the given ID
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public long incrementFlagsVersion(Long projectId) throws ProjectNotFoundException {
+    if (projectRepository.incrementFlagsVersion(projectId) == 0) {
+      throw new ProjectNotFoundException(projectId);
+    }
+    return getFlagsVersion(projectId);
+  }
+
+  /**
+   * Get the current version of a project's feature flags.
+   *
+   * @param projectId the project ID
+   * @return the current version of the project's flags
+   * @throws ProjectNotFoundException if no project is found with the given ID
+   */
+  public long getFlagsVersion(Long projectId) throws ProjectNotFoundException {
+    return projectRepository.findFlagsVersionById(projectId)
+        .orElseThrow(() -> new ProjectNotFoundException(projectId));
+  }
+
+  /**
+   * Get the latest version of a project's feature flags whose deleted flag tombstones were pruned.
+   *
+   * @param projectId the project ID
+   * @return the latest pruned version of the project's flags, or 0 if none were pruned
+   * @throws ProjectNotFoundException if no project is found with the given ID
+   */
+  public long getPrunedFlagsVersion(Long projectId) throws ProjectNotFoundException {
+    return projectRepository.findPrunedFlagsVersionById(projectId)
+        .orElseThrow(() -> new ProjectNotFoundException(projectId));
+  }
+}
@@ -0,0 +1,12 @@
+package com.rishirajdhr.flagship.project;
+
+/**
+ * Represents the orders a user's projects can be listed in.
+ */
+public enum ProjectSort {
+  /** Sort the projects by name, in ascending order. */
+  NAME,
+
+  /** Sort the projects by the time they were last modified, most recent first. */
+  UPDATED
+}
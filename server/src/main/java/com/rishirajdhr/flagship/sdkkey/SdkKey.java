@@ -0,0 +1,169 @@
+package com.rishirajdhr.flagship.sdkkey;
+
+import com.rishirajdhr.flagship.project.Project;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * Represents a key that SDKs use to evaluate the feature flags of a single project. Only a hash of
+ * the key is stored; the key itself is shown once, when it is created.
+ */
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+public class SdkKey {
+
+  @Id @GeneratedValue
+  private Long id;
+
+  @CreatedDate
+  private Instant createdAt;
+
+  @Column(nullable = false)
+  private String name;
+
+  @Column(nullable = false, unique = true)
+  private String keyHash;
+
+  @Column(nullable = false)
+  private String keyPrefix;
+
+  private Instant expiresAt;
+
+  private Instant revokedAt;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "project_id", referencedColumnName = "id", nullable = false)
+  private Project project;
+
+  /**
+   * No-arg constructor used by JPA to instantiate a {@link SdkKey} object.
+   */
+  protected SdkKey() {}
+
+  /**
+   * Create a new SDK key.
+   *
+   * @param name a name that describes where the key is used
+   * @param key the raw key; only its hash and a short prefix are stored
+   * @param project the project the key grants access to
+   */
+  public SdkKey(String name, String key, Project project) {
+    this.name = name;
+    this.keyHash = hashKey(key);
+    this.keyPrefix = key.substring(0, SdkKeyService.KEY_PREFIX_LENGTH);
+    this.project = project;
+  }
+
+  /**
+   * Hash a raw SDK key for storage and lookup. Keys are long random strings, so a fast
+   * cryptographic hash is sufficient and keeps lookups cheap on every request.
+   *
+   * @param key the raw key
+   * @return the hex-encoded SHA-256 hash of the key
+   */
+  public static String hashKey(String key) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  /**
+   * Get the ID of the SDK key.
+   *
+   * @return the key's ID
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * Get the timestamp when the SDK key was created.
+   *
+   * @return the {@link Instant} representing the creation time
+   */
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  /**
+   * Get the name of the SDK key.
+   *
+   * @return the key's name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the first few characters of the SDK key, used to identify the key.
+   *
+   * @return the key's prefix
+   */
+  public String getKeyPrefix() {
+    return keyPrefix;
+  }
+
+  /**
+   * Get the timestamp after which the SDK key is no longer accepted, if it is being rotated out.
+   *
+   * @return the {@link Instant} representing the expiry time, or {@code null} if it does not expire
+   */
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+
+  /**
+   * Get the timestamp when the SDK key was revoked.
+   *
+   * @return the {@link Instant} representing the revocation time, or {@code null} if not revoked
+   */
+  public Instant getRevokedAt() {
+    return revokedAt;
+  }
+
+  /**
+   * Get the project that the SDK key grants access to.
+   *
+   * @return the key's project
+   */
+  public Project getProject() {
+    return project;
+  }
+
+  /**
+   * Set the timestamp after which the SDK key is no longer accepted.
+   *
+   * @param expiresAt the expiry time
+   */
+  public void setExpiresAt(Instant expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * Revoke the SDK key, so it is no longer accepted.
+   *
+   * @param revokedAt the revocation time
+   */
+  public void setRevokedAt(Instant revokedAt) {
+    this.revokedAt = revokedAt;
+  }
+}
@@ -0,0 +1,57 @@
+package com.rishirajdhr.flagship.sdkkey;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+/**
+ * Represents a request authenticated with an SDK key. The authentication only grants access to the
+ * evaluation endpoints of the key's project.
+ */
+public class SdkKeyAuthentication extends AbstractAuthenticationToken {
+  /** The role granted to requests authenticated with an SDK key. */
+  public static final String ROLE = "SDK";
+
+  private final Long projectId;
+  private final String keyHash;
+
+  /**
+   * Create an authentication for a request with a valid SDK key.
+   *
+   * @param projectId the ID of the project the key grants access to
+   * @param keyHash the hash of the key
+   */
+  public SdkKeyAuthentication(Long projectId, String keyHash) {
+    super(AuthorityUtils.createAuthorityList("ROLE_" + ROLE));
+    this.projectId = projectId;
+    this.keyHash = keyHash;
+    setAuthenticated(true);
+  }
+
+  /**
+   * Get the ID of the project the SDK key grants access to.
+   *
+   * @return the project ID
+   */
+  public Long getProjectId() {
+    return projectId;
+  }
+
+  /**
+   * Get the hash of the SDK key, which identifies the key without exposing it.
+   *
+   * @return the hex-encoded hash of the key
+   */
+  public String getKeyHash() {
+    return keyHash;
+  }
+
+  @Override
+  public Object getCredentials() {
+    return null;
+  }
+
+  @Override
+  public Object getPrincipal() {
+    return projectId;
+  }
+}
@@ -0,0 +1,9 @@
+package com.rishirajdhr.flagship.sdkkey;
+
+/**
+ * Represents the creation, rotation or revocation of an SDK key. The event is published by
+ * {@link SdkKeyService} from within the transaction that modifies the key.
+ *
+ * @param projectId the ID of the project of the key
+ */
+public record SdkKeyChangeEvent(Long projectId) {}
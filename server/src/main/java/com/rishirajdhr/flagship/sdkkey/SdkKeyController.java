@@ -0,0 +1,121 @@
+package com.rishirajdhr.flagship.sdkkey;
+
+import com.rishirajdhr.flagship.auth.AppUserProvider;
+import com.rishirajdhr.flagship.auth.exceptions.UnauthenticatedException;
+import com.rishirajdhr.flagship.auth.exceptions.UnauthorizedException;
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.project.ProjectService;
+import com.rishirajdhr.flagship.project.exceptions.ProjectNotFoundException;
+import com.rishirajdhr.flagship.sdkkey.dto.NewSdkKeyRequest;
+import com.rishirajdhr.flagship.sdkkey.dto.SdkKeyResponse;
+
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+
+/**
+ * Exposes REST endpoints to manage the {@link SdkKey} entities of a project.
+ */
+@RestController
+@RequestMapping("/api/projects/{projectId}/sdk-keys")
+public class SdkKeyController {
+  private final SdkKeyService sdkKeyService;
+  private final ProjectService projectService;
+  private final AppUserProvider appUserProvider;
+
+  /**
+   * Create a new SDK key controller.
+   *
+   * @param sdkKeyService the {@link SdkKey} business logic service
+   * @param projectService the {@link Project} business logic service
+   * @param appUserProvider the provider that supplies information about the logged-in user
+   */
+  public SdkKeyController(SdkKeyService sdkKeyService, ProjectService projectService,
+                          AppUserProvider appUserProvider) {
+    this.sdkKeyService = sdkKeyService;
+    this.projectService = projectService;
+    this.appUserProvider = appUserProvider;
+  }
+
+  /**
+   * Create a new SDK key for a project. The raw key is only returned in this response.
+   *
+   * @param projectId the ID of the project
+   * @param newSdkKeyRequest the payload with the information for the new key
+   * @return the newly created key, including the raw key
+   */
+  @PostMapping
+  public SdkKeyResponse createProjectSdkKey(@PathVariable Long projectId,
+                                            @RequestBody @Valid NewSdkKeyRequest newSdkKeyRequest) {
+    Project project = getAuthorizedProject(projectId);
+    return sdkKeyService.createProjectSdkKey(newSdkKeyRequest.name(), project);
+  }
+
+  /**
+   * Get all the SDK keys for a project.
+   *
+   * @param projectId the ID of the project
+   * @return a list of the project's keys, without the raw keys
+   */
+  @GetMapping
+  public List<SdkKeyResponse> getAllSdkKeysForProject(@PathVariable Long projectId) {
+    Project project = getAuthorizedProject(projectId);
+    return sdkKeyService.getAllSdkKeysForProject(project).stream()
+        .map(SdkKeyResponse::fromSdkKey)
+        .toList();
+  }
+
+  /**
+   * Rotate an SDK key of a project. The old key keeps working for a grace period.
+   *
+   * @param sdkKeyId the ID of the key
+   * @param projectId the ID of the project
+   * @return the newly created replacement key, including the raw key
+   */
+  @PostMapping("/{sdkKeyId}/rotate")
+  public SdkKeyResponse rotateProjectSdkKeyById(@PathVariable Long sdkKeyId,
+                                                @PathVariable Long projectId) {
+    Project project = getAuthorizedProject(projectId);
+    return sdkKeyService.rotateProjectSdkKeyById(sdkKeyId, project);
+  }
+
+  /**
+   * Revoke an SDK key of a project.
+   *
+   * @param sdkKeyId the ID of the key
+   * @param projectId the ID of the project
+   * @return the revoked key
+   */
+  @DeleteMapping("/{sdkKeyId}")
+  public SdkKeyResponse revokeProjectSdkKeyById(@PathVariable Long sdkKeyId,
+                                                @PathVariable Long projectId) {
+    Project project = getAuthorizedProject(projectId);
+    return SdkKeyResponse.fromSdkKey(sdkKeyService.revokeProjectSdkKeyById(sdkKeyId, project));
+  }
+
+  /**
+   * Get the project for the current route if it exists and if the authenticated user is authorized
+   * to access it.
+   *
+   * @param projectId the project ID
+   * @return the authorized project
+   * @throws ProjectNotFoundException if no project is found with the given ID
+   * @throws UnauthenticatedException if there is no authenticated user
+   * @throws UnauthorizedException if the authenticated user is not authorized to access the project
+   */
+  private Project getAuthorizedProject(Long projectId)
+      throws ProjectNotFoundException, UnauthenticatedException, UnauthorizedException {
+    Long userId = appUserProvider.getLoggedInUserId();
+    if (userId == null) throw new UnauthenticatedException();
+
+    return projectService.getAuthorizedProject(projectId, userId);
+  }
+}
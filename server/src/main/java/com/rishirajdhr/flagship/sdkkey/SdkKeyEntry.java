@@ -0,0 +1,22 @@
+package com.rishirajdhr.flagship.sdkkey;
+
+import java.time.Instant;
+
+/**
+ * Represents an active SDK key in the in-memory {@link SdkKeyIndex}.
+ *
+ * @param keyHash the hash of the key
+ * @param projectId the ID of the project the key grants access to
+ * @param expiresAt the time after which the key is no longer accepted, or {@code null}
+ */
+public record SdkKeyEntry(String keyHash, Long projectId, Instant expiresAt) {
+  /**
+   * Check whether the key is accepted at a given time.
+   *
+   * @param now the time to check
+   * @return {@code true} if the key has not expired, {@code false} otherwise
+   */
+  public boolean isActive(Instant now) {
+    return expiresAt == null || expiresAt.isAfter(now);
+  }
+}
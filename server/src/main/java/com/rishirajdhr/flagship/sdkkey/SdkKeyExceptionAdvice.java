@@ -0,0 +1,20 @@
+package com.rishirajdhr.flagship.sdkkey;
+
+import com.rishirajdhr.flagship.sdkkey.exceptions.SdkKeyNotFoundException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Handles exceptions when accessing {@link SdkKey} entities and maps them to HTTP REST responses.
+ */
+@RestControllerAdvice
+public class SdkKeyExceptionAdvice {
+  @ExceptionHandler(SdkKeyNotFoundException.class)
+  @ResponseStatus(HttpStatus.NOT_FOUND)
+  public String sdkKeyNotFoundHandler(SdkKeyNotFoundException ex) {
+    return ex.getMessage();
+  }
+}
@@ -0,0 +1,63 @@
+package com.rishirajdhr.flagship.sdkkey;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Represents a Spring Security filter that authenticates incoming HTTP requests with an SDK key
+ * provided in the {@code X-Flagship-SDK-Key} header. Keys are resolved with the in-memory
+ * {@link SdkKeyIndex}, so no database query is made.
+ */
+@Component
+public class SdkKeyFilter extends OncePerRequestFilter {
+  /** The header that carries the SDK key. */
+  public static final String SDK_KEY_HEADER = "X-Flagship-SDK-Key";
+
+  private final AuthenticationEntryPoint authenticationEntryPoint;
+  private final SdkKeyIndex sdkKeyIndex;
+
+  /**
+   * Create a filter that attempts to authenticate incoming HTTP requests with an SDK key.
+   *
+   * @param authenticationEntryPoint the authentication entry point that handles auth errors
+   * @param sdkKeyIndex the index used to resolve SDK keys to projects
+   */
+  public SdkKeyFilter(AuthenticationEntryPoint authenticationEntryPoint, SdkKeyIndex sdkKeyIndex) {
+    this.authenticationEntryPoint = authenticationEntryPoint;
+    this.sdkKeyIndex = sdkKeyIndex;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String key = request.getHeader(SDK_KEY_HEADER);
+    if (key == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    String keyHash = SdkKey.hashKey(key);
+    Optional<Long> projectId = sdkKeyIndex.findProjectIdByHash(keyHash);
+    if (projectId.isEmpty()) {
+      authenticationEntryPoint.commence(
+          request, response, new BadCredentialsException("Invalid SDK key"));
+      return;
+    }
+
+    SecurityContextHolder.getContext()
+        .setAuthentication(new SdkKeyAuthentication(projectId.get(), keyHash));
+    filterChain.doFilter(request, response);
+  }
+}
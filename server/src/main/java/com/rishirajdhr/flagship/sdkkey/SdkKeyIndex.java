@@ -0,0 +1,84 @@
+package com.rishirajdhr.flagship.sdkkey;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Holds the active SDK keys in memory, so requests authenticated with an SDK key are resolved to a
+ * project without querying the database.
+ *
+ * <p>The index is reloaded and atomically swapped after every SDK key change committed on this
+ * node, and periodically to pick up changes made on other nodes, which bounds how long a rotated
+ * or revoked key stays usable elsewhere.
+ */
+@Component
+public class SdkKeyIndex {
+  private final SdkKeyRepository sdkKeyRepository;
+  private volatile Map<String, SdkKeyEntry> entries = Map.of();
+
+  /**
+   * Create a new index of SDK keys.
+   *
+   * @param sdkKeyRepository the repository that provides database access to {@link SdkKey} entities
+   */
+  public SdkKeyIndex(SdkKeyRepository sdkKeyRepository) {
+    this.sdkKeyRepository = sdkKeyRepository;
+  }
+
+  /**
+   * Get the project that an SDK key grants access to.
+   *
+   * @param key the raw SDK key
+   * @return an {@link Optional} containing the project ID if the key is active
+   */
+  public Optional<Long> findProjectId(String key) {
+    return findProjectIdByHash(SdkKey.hashKey(key));
+  }
+
+  /**
+   * Get the project that an SDK key grants access to, by the hash of the key.
+   *
+   * @param keyHash the hash of the key
+   * @return an {@link Optional} containing the project ID if the key is active
+   */
+  public Optional<Long> findProjectIdByHash(String keyHash) {
+    SdkKeyEntry entry = entries.get(keyHash);
+    if (entry == null || !entry.isActive(Instant.now())) return Optional.empty();
+    return Optional.of(entry.projectId());
+  }
+
+  /**
+   * Reload the index once a change to an SDK key has been committed. The index is reloaded before
+   * any other listener of the change runs, so those listeners see the changed key.
+   *
+   * @param event the committed SDK key change
+   */
+  @TransactionalEventListener
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+  public void onSdkKeyChange(SdkKeyChangeEvent event) {
+    refresh();
+  }
+
+  /**
+   * Reload the active SDK keys from the database and swap them in.
+   */
+  @Scheduled(initialDelay = 0, fixedDelayString = "${flagship.sdk-keys.refresh-interval:10s}")
+  public void refresh() {
+    Map<String, SdkKeyEntry> entries = new HashMap<>();
+    for (SdkKeyEntry entry : sdkKeyRepository.findActiveEntries(Instant.now())) {
+      entries.put(entry.keyHash(), entry);
+    }
+    this.entries = Map.copyOf(entries);
+  }
+}
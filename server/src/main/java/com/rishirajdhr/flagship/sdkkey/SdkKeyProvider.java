@@ -0,0 +1,35 @@
+package com.rishirajdhr.flagship.sdkkey;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provides access to the project of the SDK key that authenticated the current request.
+ */
+@Component
+public class SdkKeyProvider {
+  /**
+   * Get the ID of the project that the current request's SDK key grants access to.
+   *
+   * @return the project ID if the request was authenticated with an SDK key, {@code null} otherwise
+   */
+  public Long getProjectId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return (authentication instanceof SdkKeyAuthentication sdkKeyAuthentication)
+        ? sdkKeyAuthentication.getProjectId()
+        : null;
+  }
+
+  /**
+   * Get the hash of the SDK key that authenticated the current request.
+   *
+   * @return the key hash if the request was authenticated with an SDK key, {@code null} otherwise
+   */
+  public String getKeyHash() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return (authentication instanceof SdkKeyAuthentication sdkKeyAuthentication)
+        ? sdkKeyAuthentication.getKeyHash()
+        : null;
+  }
+}
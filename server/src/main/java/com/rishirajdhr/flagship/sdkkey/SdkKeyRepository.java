@@ -0,0 +1,42 @@
+package com.rishirajdhr.flagship.sdkkey;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Represents a repository to access and modify {@link SdkKey} entities.
+ */
+public interface SdkKeyRepository extends JpaRepository<SdkKey, Long> {
+  /**
+   * Get the SDK keys of a project.
+   *
+   * @param projectId the ID of the project
+   * @return a list of the project's keys
+   */
+  List<SdkKey> findSdkKeysByProjectIdOrderByCreatedAtDesc(Long projectId);
+
+  /**
+   * Get an SDK key of a project by its ID.
+   *
+   * @param id the ID of the key
+   * @param projectId the ID of the project
+   * @return an {@link Optional} containing the key if found
+   */
+  Optional<SdkKey> findSdkKeyByIdAndProjectId(Long id, Long projectId);
+
+  /**
+   * Get all the SDK keys that are neither revoked nor expired.
+   *
+   * @param now the current time
+   * @return the index entries of the active keys
+   */
+  @Query("""
+      select new com.rishirajdhr.flagship.sdkkey.SdkKeyEntry(k.keyHash, k.project.id, k.expiresAt)
+      from SdkKey k
+      where k.revokedAt is null and (k.expiresAt is null or k.expiresAt > :now)""")
+  List<SdkKeyEntry> findActiveEntries(Instant now);
+}
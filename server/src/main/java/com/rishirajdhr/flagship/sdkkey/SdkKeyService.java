@@ -0,0 +1,135 @@
+package com.rishirajdhr.flagship.sdkkey;
+
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.sdkkey.dto.SdkKeyResponse;
+import com.rishirajdhr.flagship.sdkkey.exceptions.SdkKeyNotFoundException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encapsulates business logic for SDK keys.
+ */
+@Service
+public class SdkKeyService {
+  static final String KEY_PREFIX = "fs_sdk_";
+  static final int KEY_PREFIX_LENGTH = KEY_PREFIX.length() + 6;
+  private static final int KEY_BYTES = 32;
+
+  private final SdkKeyRepository sdkKeyRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final Duration rotationGracePeriod;
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  /**
+   * Create a new service to access and modify SDK keys.
+   *
+   * @param sdkKeyRepository the repository that provides database access to {@link SdkKey} entities
+   * @param eventPublisher the publisher used to announce changes to SDK keys
+   * @param rotationGracePeriod how long a rotated key keeps working alongside its replacement
+   */
+  public SdkKeyService(
+      SdkKeyRepository sdkKeyRepository, ApplicationEventPublisher eventPublisher,
+      @Value("${flagship.sdk-keys.rotation-grace-period:1h}") Duration rotationGracePeriod) {
+    this.sdkKeyRepository = sdkKeyRepository;
+    this.eventPublisher = eventPublisher;
+    this.rotationGracePeriod = rotationGracePeriod;
+  }
+
+  /**
+   * Create a new SDK key for a project.
+   *
+   * @param name a name that describes where the key is used
+   * @param project the project the key grants access to
+   * @return the newly created key, including the raw key
+   */
+  @Transactional
+  public SdkKeyResponse createProjectSdkKey(String name, Project project) {
+    String key = generateKey();
+    SdkKey sdkKey = sdkKeyRepository.save(new SdkKey(name, key, project));
+    eventPublisher.publishEvent(new SdkKeyChangeEvent(project.getId()));
+    return SdkKeyResponse.fromSdkKey(sdkKey, key);
+  }
+
+  /**
+   * Get all the SDK keys of a project, including revoked and expired keys.
+   *
+   * @param project the project to get the keys for
+   * @return a list of the project's keys, newest first
+   */
+  public List<SdkKey> getAllSdkKeysForProject(Project project) {
+    return sdkKeyRepository.findSdkKeysByProjectIdOrderByCreatedAtDesc(project.getId());
+  }
+
+  /**
+   * Rotate an SDK key of a project. A new key with the same name is created, and the old key keeps
+   * working for the configured grace period so clients can switch over.
+   *
+   * @param sdkKeyId the ID of the key to rotate
+   * @param project the project of the key
+   * @return the newly created replacement key, including the raw key
+   * @throws SdkKeyNotFoundException if no key exists with the given ID
+   */
+  @Transactional
+  public SdkKeyResponse rotateProjectSdkKeyById(Long sdkKeyId, Project project)
+      throws SdkKeyNotFoundException {
+    SdkKey sdkKey = getProjectSdkKeyById(sdkKeyId, project);
+    Instant expiresAt = Instant.now().plus(rotationGracePeriod);
+    if (sdkKey.getExpiresAt() == null || sdkKey.getExpiresAt().isAfter(expiresAt)) {
+      sdkKey.setExpiresAt(expiresAt);
+    }
+    return createProjectSdkKey(sdkKey.getName(), project);
+  }
+
+  /**
+   * Revoke an SDK key of a project, so it is no longer accepted.
+   *
+   * @param sdkKeyId the ID of the key to revoke
+   * @param project the project of the key
+   * @return the revoked key
+   * @throws SdkKeyNotFoundException if no key exists with the given ID
+   */
+  @Transactional
+  public SdkKey revokeProjectSdkKeyById(Long sdkKeyId, Project project)
+      throws SdkKeyNotFoundException {
+    SdkKey sdkKey = getProjectSdkKeyById(sdkKeyId, project);
+    if (sdkKey.getRevokedAt() == null) {
+      sdkKey.setRevokedAt(Instant.now());
+      eventPublisher.publishEvent(new SdkKeyChangeEvent(project.getId()));
+    }
+    return sdkKey;
+  }
+
+  /**
+   * Get an SDK key of a project by its ID.
+   *
+   * @param sdkKeyId the ID of the key
+   * @param project the project of the key
+   * @return the key
+   * @throws SdkKeyNotFoundException if no key exists with the given ID
+   */
+  private SdkKey getProjectSdkKeyById(Long sdkKeyId, Project project)
+      throws SdkKeyNotFoundException {
+    return sdkKeyRepository.findSdkKeyByIdAndProjectId(sdkKeyId, project.getId())
+        .orElseThrow(() -> new SdkKeyNotFoundException(sdkKeyId));
+  }
+
+  /**
+   * Generate a new random SDK key.
+   *
+   * @return the generated key
+   */
+  private String generateKey() {
+    byte[] bytes = new byte[KEY_BYTES];
+    secureRandom.nextBytes(bytes);
+    return KEY_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+}
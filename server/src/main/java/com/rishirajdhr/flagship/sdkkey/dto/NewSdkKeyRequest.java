@@ -0,0 +1,15 @@
+package com.rishirajdhr.flagship.sdkkey.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Payload for creating a new SDK key.
+ *
+ * @param name a name that describes where the key is used
+ */
+public record NewSdkKeyRequest(
+    @NotNull
+    @NotBlank
+    String name
+) {}
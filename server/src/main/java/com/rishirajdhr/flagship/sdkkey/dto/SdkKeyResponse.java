@@ -0,0 +1,54 @@
+package com.rishirajdhr.flagship.sdkkey.dto;
+
+import com.rishirajdhr.flagship.sdkkey.SdkKey;
+
+import java.time.Instant;
+
+/**
+ * Represents the data for an SDK key sent in a response to an SDK key request. The key itself is
+ * only included in the response to the request that created it.
+ *
+ * @param id the key ID
+ * @param name the key name
+ * @param key the raw key, or {@code null} if the key was not just created
+ * @param keyPrefix the first few characters of the key
+ * @param createdAt the timestamp when the key was created
+ * @param expiresAt the timestamp after which the key is no longer accepted, or {@code null}
+ * @param revokedAt the timestamp when the key was revoked, or {@code null}
+ */
+public record SdkKeyResponse(
+    Long id,
+    String name,
+    String key,
+    String keyPrefix,
+    Instant createdAt,
+    Instant expiresAt,
+    Instant revokedAt) {
+  /**
+   * Create an SDK key response for an existing key.
+   *
+   * @param sdkKey the key to create the response for
+   * @return the created SDK key response
+   */
+  public static SdkKeyResponse fromSdkKey(SdkKey sdkKey) {
+    return fromSdkKey(sdkKey, null);
+  }
+
+  /**
+   * Create an SDK key response for a key that was just created, including the raw key.
+   *
+   * @param sdkKey the key to create the response for
+   * @param key the raw key
+   * @return the created SDK key response
+   */
+  public static SdkKeyResponse fromSdkKey(SdkKey sdkKey, String key) {
+    return new SdkKeyResponse(
+        sdkKey.getId(),
+        sdkKey.getName(),
+        key,
+        sdkKey.getKeyPrefix(),
+        sdkKey.getCreatedAt(),
+        sdkKey.getExpiresAt(),
+        sdkKey.getRevokedAt());
+  }
+}
@@ -0,0 +1,15 @@
+package com.rishirajdhr.flagship.sdkkey.exceptions;
+
+/**
+ * Represents an exception when a requested SDK key is not found.
+ */
+public class SdkKeyNotFoundException extends RuntimeException {
+  /**
+   * Create an exception when no SDK key with a given ID exists.
+   *
+   * @param id the ID for which no SDK key exists
+   */
+  public SdkKeyNotFoundException(Long id) {
+    super("No SDK key found in project with ID: " + id);
+  }
+}
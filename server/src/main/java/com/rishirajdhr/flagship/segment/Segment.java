@@ -0,0 +1,161 @@
+package com.rishirajdhr.flagship.segment;
+
+import com.rishirajdhr.flagship.project.Project;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Represents a reusable list of users of a project that targeting rules can reference by key. The
+ * members themselves are stored separately, as a {@link SegmentMembers} entity.
+ */
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = { "project_id", "key" }))
+public class Segment {
+
+  @Id @GeneratedValue
+  private Long id;
+
+  @CreatedDate
+  private Instant createdAt;
+
+  @LastModifiedDate
+  private Instant updatedAt;
+
+  @Column(nullable = false)
+  private String key;
+
+  @Column(nullable = false)
+  private String name;
+
+  @Column(nullable = false)
+  private String description;
+
+  @Column(nullable = false)
+  private int memberCount;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "project_id", referencedColumnName = "id", nullable = false)
+  private Project project;
+
+  /**
+   * No-arg constructor used by JPA to instantiate a {@link Segment} object.
+   */
+  protected Segment() {}
+
+  /**
+   * Create a new segment without any members.
+   *
+   * @param key the key that targeting rules reference the segment by
+   * @param name the name of the segment
+   * @param description the description of the segment
+   * @param project the project of the segment
+   */
+  public Segment(String key, String name, String description, Project project) {
+    this.key = key;
+    this.name = name;
+    this.description = description;
+    this.project = project;
+  }
+
+  /**
+   * Get the ID of the segment.
+   *
+   * @return the segment's ID
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * Get the timestamp when this segment was created.
+   *
+   * @return the {@link Instant} representing the creation time
+   */
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  /**
+   * Get the timestamp when this segment was last updated.
+   *
+   * @return the {@link Instant} representing the latest modification time
+   */
+  public Instant getUpdatedAt() {
+    return updatedAt;
+  }
+
+  /**
+   * Get the key that targeting rules reference the segment by.
+   *
+   * @return the segment's key
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * Get the name of the segment.
+   *
+   * @return the segment's name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the description of the segment.
+   *
+   * @return the segment's description
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * Get the number of members of the segment.
+   *
+   * @return the segment's member count
+   */
+  public int getMemberCount() {
+    return memberCount;
+  }
+
+  /**
+   * Get the project that this segment belongs to.
+   *
+   * @return the segment's parent project
+   */
+  public Project getProject() {
+    return project;
+  }
+
+  /**
+   * Set the number of members of the segment.
+   *
+   * @param memberCount the member count to be set
+   */
+  public void setMemberCount(int memberCount) {
+    this.memberCount = memberCount;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Segment(id=%s, key='%s', members=%d)", id, key, memberCount);
+  }
+}
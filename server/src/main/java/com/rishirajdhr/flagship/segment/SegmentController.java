@@ -0,0 +1,134 @@
+package com.rishirajdhr.flagship.segment;
+
+import com.rishirajdhr.flagship.auth.AppUserProvider;
+import com.rishirajdhr.flagship.auth.exceptions.UnauthenticatedException;
+import com.rishirajdhr.flagship.auth.exceptions.UnauthorizedException;
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.project.ProjectService;
+import com.rishirajdhr.flagship.project.exceptions.ProjectNotFoundException;
+import com.rishirajdhr.flagship.segment.dto.NewSegmentRequest;
+import com.rishirajdhr.flagship.segment.dto.SegmentResponse;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+
+/**
+ * Exposes REST endpoints to manage the {@link Segment} entities of a project.
+ */
+@RestController
+@RequestMapping("/api/projects/{projectId}/segments")
+public class SegmentController {
+  private final SegmentService segmentService;
+  private final ProjectService projectService;
+  private final AppUserProvider appUserProvider;
+
+  /**
+   * Create a new segment controller.
+   *
+   * @param segmentService the {@link Segment} business logic service
+   * @param projectService the {@link Project} business logic service
+   * @param appUserProvider the provider that supplies information about the logged-in user
+   */
+  public SegmentController(SegmentService segmentService, ProjectService projectService,
+                           AppUserProvider appUserProvider) {
+    this.segmentService = segmentService;
+    this.projectService = projectService;
+    this.appUserProvider = appUserProvider;
+  }
+
+  /**
+   * Create a new segment without any members for a project.
+   *
+   * @param projectId the ID of the project
+   * @param newSegmentRequest the payload with the information for the new segment
+   * @return the newly created segment
+   */
+  @PostMapping
+  public SegmentResponse createProjectSegment(
+      @PathVariable Long projectId, @RequestBody @Valid NewSegmentRequest newSegmentRequest) {
+    Project project = getAuthorizedProject(projectId);
+    Segment segment = segmentService.createProjectSegment(
+        newSegmentRequest.key(), newSegmentRequest.name(), newSegmentRequest.description(),
+        project);
+    return SegmentResponse.fromSegment(segment);
+  }
+
+  /**
+   * Get all the segments for a project.
+   *
+   * @param projectId the ID of the project
+   * @return a list of the project's segments, ordered by key
+   */
+  @GetMapping
+  public List<SegmentResponse> getAllSegmentsForProject(@PathVariable Long projectId) {
+    Project project = getAuthorizedProject(projectId);
+    return segmentService.getAllSegmentsForProject(project).stream()
+        .map(SegmentResponse::fromSegment)
+        .toList();
+  }
+
+  /**
+   * Get a segment of a project by its ID.
+   *
+   * @param segmentId the ID of the segment
+   * @param projectId the ID of the project
+   * @return the segment
+   */
+  @GetMapping("/{segmentId}")
+  public SegmentResponse getProjectSegmentById(@PathVariable Long segmentId,
+                                               @PathVariable Long projectId) {
+    Project project = getAuthorizedProject(projectId);
+    return SegmentResponse.fromSegment(segmentService.getProjectSegmentById(segmentId, project));
+  }
+
+  /**
+   * Replace the members of a segment of a project with the members in the request body, one
+   * member per line. The body is streamed rather than buffered, and the request thread is released
+   * while the members are read and indexed.
+   *
+   * @param segmentId the ID of the segment
+   * @param projectId the ID of the project
+   * @param request the request whose body holds the new members
+   * @return a future that completes with the updated segment
+   * @throws IOException if the request body cannot be opened
+   */
+  @PutMapping(path = "/{segmentId}/members", consumes = MediaType.TEXT_PLAIN_VALUE)
+  public CompletableFuture<SegmentResponse> replaceProjectSegmentMembers(
+      @PathVariable Long segmentId, @PathVariable Long projectId, HttpServletRequest request)
+      throws IOException {
+    Project project = getAuthorizedProject(projectId);
+    return segmentService.replaceProjectSegmentMembers(segmentId, project, request.getInputStream())
+        .thenApply(SegmentResponse::fromSegment);
+  }
+
+  /**
+   * Get the project for the current route if it exists and if the authenticated user is authorized
+   * to access it.
+   *
+   * @param projectId the project ID
+   * @return the authorized project
+   * @throws ProjectNotFoundException if no project is found with the given ID
+   * @throws UnauthenticatedException if there is no authenticated user
+   * @throws UnauthorizedException if the authenticated user is not authorized to access the project
+   */
+  private Project getAuthorizedProject(Long projectId)
+      throws ProjectNotFoundException, UnauthenticatedException, UnauthorizedException {
+    Long userId = appUserProvider.getLoggedInUserId();
+    if (userId == null) throw new UnauthenticatedException();
+
+    return projectService.getAuthorizedProject(projectId, userId);
+  }
+}
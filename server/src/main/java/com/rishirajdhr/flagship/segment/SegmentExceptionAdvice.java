@@ -0,0 +1,34 @@
+package com.rishirajdhr.flagship.segment;
+
+import com.rishirajdhr.flagship.segment.exceptions.DuplicateSegmentException;
+import com.rishirajdhr.flagship.segment.exceptions.InvalidSegmentMembersException;
+import com.rishirajdhr.flagship.segment.exceptions.SegmentNotFoundException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Handles exceptions when accessing {@link Segment} entities and maps them to HTTP REST responses.
+ */
+@RestControllerAdvice
+public class SegmentExceptionAdvice {
+  @ExceptionHandler(SegmentNotFoundException.class)
+  @ResponseStatus(HttpStatus.NOT_FOUND)
+  public String segmentNotFoundHandler(SegmentNotFoundException ex) {
+    return ex.getMessage();
+  }
+
+  @ExceptionHandler(DuplicateSegmentException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public String duplicateSegmentHandler(DuplicateSegmentException ex) {
+    return ex.getMessage();
+  }
+
+  @ExceptionHandler(InvalidSegmentMembersException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public String invalidSegmentMembersHandler(InvalidSegmentMembersException ex) {
+    return ex.getMessage();
+  }
+}
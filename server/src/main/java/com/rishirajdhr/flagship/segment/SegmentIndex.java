@@ -0,0 +1,231 @@
+package com.rishirajdhr.flagship.segment;
+
+import com.rishirajdhr.flagship.segment.exceptions.InvalidSegmentMembersException;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Represents an immutable, compact index of the members of a segment.
+ *
+ * <p>Members that are non-negative decimal numbers are held in a sorted primitive array and looked
+ * up with a binary search, so millions of numeric user IDs take eight bytes each and are never
+ * boxed. Every other member is held in an immutable hash set of interned strings.
+ */
+public final class SegmentIndex {
+  /** The index without any members. */
+  public static final SegmentIndex EMPTY = new SegmentIndex(new long[0], Set.of());
+
+  /** The maximum length of a member. */
+  public static final int MAX_MEMBER_LENGTH = 255;
+
+  private static final byte FORMAT = 1;
+
+  private final long[] numericMembers;
+  private final Set<String> stringMembers;
+
+  private SegmentIndex(long[] numericMembers, Set<String> stringMembers) {
+    this.numericMembers = numericMembers;
+    this.stringMembers = stringMembers;
+  }
+
+  /**
+   * Build an index by streaming the members of a segment, one member per line. Blank lines and
+   * surrounding whitespace are ignored, as are duplicate members.
+   *
+   * @param members the stream of members, encoded as UTF-8
+   * @return the built index
+   * @throws IOException if the stream cannot be read
+   * @throws InvalidSegmentMembersException if a member is too long
+   */
+  public static SegmentIndex read(InputStream members)
+      throws IOException, InvalidSegmentMembersException {
+    Builder builder = new Builder();
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(members, StandardCharsets.UTF_8));
+    String line;
+    while ((line = reader.readLine()) != null) {
+      builder.add(line);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Decode an index from its {@linkplain #encode() encoded} form.
+   *
+   * @param data the encoded index
+   * @return the decoded index
+   * @throws IllegalArgumentException if the data is not an encoded index
+   */
+  public static SegmentIndex decode(byte[] data) throws IllegalArgumentException {
+    ByteBuffer buffer = ByteBuffer.wrap(data);
+    if (buffer.get() != FORMAT) {
+      throw new IllegalArgumentException("Unsupported segment index format");
+    }
+
+    long[] numericMembers = new long[readCount(buffer)];
+    long previous = 0;
+    for (int i = 0; i < numericMembers.length; i++) {
+      previous += readVarLong(buffer);
+      numericMembers[i] = previous;
+    }
+
+    String[] stringMembers = new String[readCount(buffer)];
+    for (int i = 0; i < stringMembers.length; i++) {
+      byte[] bytes = new byte[readCount(buffer)];
+      buffer.get(bytes);
+      stringMembers[i] = new String(bytes, StandardCharsets.UTF_8).intern();
+    }
+    return new SegmentIndex(numericMembers, Set.of(stringMembers));
+  }
+
+  /**
+   * Encode the index compactly, with the numeric members delta-encoded as variable-length
+   * integers.
+   *
+   * @return the encoded index
+   */
+  public byte[] encode() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(numericMembers.length * 2 + 16);
+    out.write(FORMAT);
+
+    writeVarLong(out, numericMembers.length);
+    long previous = 0;
+    for (long member : numericMembers) {
+      writeVarLong(out, member - previous);
+      previous = member;
+    }
+
+    writeVarLong(out, stringMembers.size());
+    for (String member : stringMembers) {
+      byte[] bytes = member.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(out, bytes.length);
+      out.write(bytes, 0, bytes.length);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Check whether a value is a member of the segment.
+   *
+   * @param member the value to check
+   * @return {@code true} if the value is a member, {@code false} otherwise
+   */
+  public boolean contains(String member) {
+    long numeric = parseNumericMember(member);
+    if (numeric >= 0) return Arrays.binarySearch(numericMembers, numeric) >= 0;
+    return stringMembers.contains(member);
+  }
+
+  /**
+   * Get the number of members in the segment.
+   *
+   * @return the number of members
+   */
+  public int size() {
+    return numericMembers.length + stringMembers.size();
+  }
+
+  /**
+   * Parse a member that is a non-negative decimal number without leading zeros, so that every
+   * numeric member has exactly one string form.
+   *
+   * @param member the member to parse
+   * @return the parsed number, or a negative value if the member is not such a number
+   */
+  private static long parseNumericMember(CharSequence member) {
+    int length = member.length();
+    if (length == 0 || length > 19 || (length > 1 && member.charAt(0) == '0')) return -1;
+
+    long value = 0;
+    for (int i = 0; i < length; i++) {
+      char c = member.charAt(i);
+      if (c < '0' || c > '9') return -1;
+      value = value * 10 + (c - '0');
+    }
+    // Nineteen digits can overflow, which always wraps to a negative value.
+    return value;
+  }
+
+  private static int readCount(ByteBuffer buffer) {
+    return Math.toIntExact(readVarLong(buffer));
+  }
+
+  private static long readVarLong(ByteBuffer buffer) {
+    long value = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte b = buffer.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) return value;
+    }
+  }
+
+  private static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  /**
+   * Builds a {@link SegmentIndex} one member at a time.
+   */
+  public static final class Builder {
+    private long[] numericMembers = new long[1024];
+    private int numericCount;
+    private final Set<String> stringMembers = new HashSet<>();
+
+    /**
+     * Add a member to the index. Surrounding whitespace is ignored, and so are blank members.
+     *
+     * @param member the member to add
+     * @return this builder
+     * @throws InvalidSegmentMembersException if the member is too long
+     */
+    public Builder add(String member) throws InvalidSegmentMembersException {
+      String stripped = member.strip();
+      if (stripped.isEmpty()) return this;
+      if (stripped.length() > MAX_MEMBER_LENGTH) {
+        throw new InvalidSegmentMembersException(
+            "member is longer than " + MAX_MEMBER_LENGTH + " characters");
+      }
+
+      long numeric = parseNumericMember(stripped);
+      if (numeric >= 0) {
+        if (numericCount == numericMembers.length) {
+          numericMembers = Arrays.copyOf(numericMembers, numericCount * 2);
+        }
+        numericMembers[numericCount++] = numeric;
+      } else {
+        stringMembers.add(stripped.intern());
+      }
+      return this;
+    }
+
+    /**
+     * Build the index from the added members.
+     *
+     * @return the built index
+     */
+    public SegmentIndex build() {
+      long[] sorted = Arrays.copyOf(numericMembers, numericCount);
+      Arrays.sort(sorted);
+      int unique = 0;
+      for (int i = 0; i < sorted.length; i++) {
+        if (unique == 0 || sorted[i] != sorted[unique - 1]) {
+          sorted[unique++] = sorted[i];
+        }
+      }
+      return new SegmentIndex(Arrays.copyOf(sorted, unique), Set.copyOf(stringMembers));
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.rishirajdhr.flagship.segment;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Represents the members of a {@link Segment}, stored as a single {@linkplain SegmentIndex#encode()
+ * encoded index} so that millions of members are written and read as one row.
+ */
+@Entity
+public class SegmentMembers {
+
+  @Id
+  private Long segmentId;
+
+  @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+  @Column(nullable = false)
+  private byte[] data;
+
+  /**
+   * No-arg constructor used by JPA to instantiate a {@link SegmentMembers} object.
+   */
+  protected SegmentMembers() {}
+
+  /**
+   * Create the members of a segment.
+   *
+   * @param segmentId the ID of the segment
+   * @param index the index of the segment's members
+   */
+  public SegmentMembers(Long segmentId, SegmentIndex index) {
+    this.segmentId = segmentId;
+    this.data = index.encode();
+  }
+
+  /**
+   * Get the ID of the segment.
+   *
+   * @return the segment's ID
+   */
+  public Long getSegmentId() {
+    return segmentId;
+  }
+
+  /**
+   * Decode the index of the segment's members.
+   *
+   * @return the member index
+   */
+  public SegmentIndex getIndex() {
+    return SegmentIndex.decode(data);
+  }
+}
@@ -0,0 +1,8 @@
+package com.rishirajdhr.flagship.segment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Represents a repository to access and modify {@link SegmentMembers} entities.
+ */
+public interface SegmentMembersRepository extends JpaRepository<SegmentMembers, Long> {}
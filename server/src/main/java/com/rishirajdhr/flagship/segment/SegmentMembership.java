@@ -0,0 +1,50 @@
+package com.rishirajdhr.flagship.segment;
+
+import java.util.function.Predicate;
+
+/**
+ * Represents the current members of a segment, as seen by the targeting rules that reference it.
+ * The index of the members is swapped atomically when new members are uploaded, so compiled rules
+ * see the new members without being recompiled, and evaluations never wait for an upload.
+ */
+public final class SegmentMembership implements Predicate<String> {
+  private volatile SegmentIndex index;
+
+  /**
+   * Create the membership of a segment.
+   *
+   * @param index the index of the segment's current members
+   */
+  SegmentMembership(SegmentIndex index) {
+    this.index = index;
+  }
+
+  /**
+   * Check whether a value is a current member of the segment.
+   *
+   * @param member the value to check
+   * @return {@code true} if the value is a member, {@code false} otherwise
+   */
+  @Override
+  public boolean test(String member) {
+    return index.contains(member);
+  }
+
+  /**
+   * Get the index of the segment's current members.
+   *
+   * @return the current member index
+   */
+  public SegmentIndex getIndex() {
+    return index;
+  }
+
+  /**
+   * Replace the index of the segment's members.
+   *
+   * @param index the index of the new members
+   */
+  void setIndex(SegmentIndex index) {
+    this.index = index;
+  }
+}
@@ -0,0 +1,93 @@
+package com.rishirajdhr.flagship.segment;
+
+import com.rishirajdhr.flagship.targeting.SegmentResolver;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the {@link SegmentMembership} of each segment in memory, so that targeting rules can check
+ * segment membership without querying the database.
+ *
+ * <p>A membership is loaded the first time a rule referencing its segment is compiled. When new
+ * members are committed, the membership's index is swapped in place, so rules compiled against the
+ * old members see the new ones on their next evaluation.
+ */
+@Component
+@ManagedResource(objectName = "com.rishirajdhr.flagship:type=SegmentMembershipCache")
+public class SegmentMembershipCache {
+  private final SegmentRepository segmentRepository;
+  private final SegmentMembersRepository segmentMembersRepository;
+  private final ConcurrentMap<Long, SegmentMembership> memberships = new ConcurrentHashMap<>();
+
+  /**
+   * Create a new cache of segment memberships.
+   *
+   * @param segmentRepository the repository that provides database access to segments
+   * @param segmentMembersRepository the repository that provides database access to segment members
+   */
+  public SegmentMembershipCache(SegmentRepository segmentRepository,
+                                SegmentMembersRepository segmentMembersRepository) {
+    this.segmentRepository = segmentRepository;
+    this.segmentMembersRepository = segmentMembersRepository;
+  }
+
+  /**
+   * Get the resolver of the segments of a project.
+   *
+   * @param projectId the ID of the project
+   * @return the resolver that resolves the keys of the project's segments to their memberships
+   */
+  public SegmentResolver getResolver(Long projectId) {
+    return key -> segmentRepository.findIdByProjectIdAndKey(projectId, key)
+        .map(this::getMembership)
+        .orElse(null);
+  }
+
+  /**
+   * Get the membership of a segment, loading its members from the database if they are not
+   * cached yet.
+   *
+   * @param segmentId the ID of the segment
+   * @return the segment's membership
+   */
+  public SegmentMembership getMembership(Long segmentId) {
+    SegmentMembership membership = memberships.get(segmentId);
+    if (membership != null) return membership;
+
+    return memberships.computeIfAbsent(segmentId, id -> new SegmentMembership(
+        segmentMembersRepository.findById(id)
+            .map(SegmentMembers::getIndex)
+            .orElse(SegmentIndex.EMPTY)));
+  }
+
+  /**
+   * Swap in the index of a segment's members once the members have been committed. Segments
+   * without a cached membership are skipped; they are loaded when they are next referenced.
+   *
+   * @param segmentId the ID of the segment
+   * @param index the index of the committed members
+   */
+  void replaceIndex(Long segmentId, SegmentIndex index) {
+    memberships.computeIfPresent(segmentId, (id, membership) -> {
+      membership.setIndex(index);
+      return membership;
+    });
+  }
+
+  @ManagedAttribute(description = "Number of segments with a cached membership")
+  public int getSize() {
+    return memberships.size();
+  }
+
+  @ManagedAttribute(description = "Number of members across the cached segments")
+  public long getMemberCount() {
+    return memberships.values().stream()
+        .mapToLong(membership -> membership.getIndex().size())
+        .sum();
+  }
+}
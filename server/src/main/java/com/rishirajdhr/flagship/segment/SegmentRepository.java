@@ -0,0 +1,48 @@
+package com.rishirajdhr.flagship.segment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Represents a repository to access and modify {@link Segment} entities.
+ */
+public interface SegmentRepository extends JpaRepository<Segment, Long> {
+  /**
+   * Get the segments of a project.
+   *
+   * @param projectId the ID of the project
+   * @return a list of the project's segments, ordered by key
+   */
+  List<Segment> findSegmentsByProjectIdOrderByKey(Long projectId);
+
+  /**
+   * Get a segment of a project by its ID.
+   *
+   * @param id the ID of the segment
+   * @param projectId the ID of the project
+   * @return an {@link Optional} containing the segment if found
+   */
+  Optional<Segment> findSegmentByIdAndProjectId(Long id, Long projectId);
+
+  /**
+   * Check whether a project has a segment with a given key.
+   *
+   * @param projectId the ID of the project
+   * @param key the key of the segment
+   * @return {@code true} if the segment exists, {@code false} otherwise
+   */
+  boolean existsByProjectIdAndKey(Long projectId, String key);
+
+  /**
+   * Get the ID of a segment of a project by its key.
+   *
+   * @param projectId the ID of the project
+   * @param key the key of the segment
+   * @return an {@link Optional} containing the segment ID if found
+   */
+  @Query("select s.id from Segment s where s.project.id = :projectId and s.key = :key")
+  Optional<Long> findIdByProjectIdAndKey(Long projectId, String key);
+}
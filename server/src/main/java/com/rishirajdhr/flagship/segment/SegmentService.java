@@ -0,0 +1,156 @@
+package com.rishirajdhr.flagship.segment;
+
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.segment.exceptions.DuplicateSegmentException;
+import com.rishirajdhr.flagship.segment.exceptions.InvalidSegmentMembersException;
+import com.rishirajdhr.flagship.segment.exceptions.SegmentNotFoundException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Encapsulates business logic for segments.
+ */
+@Service
+public class SegmentService implements DisposableBean {
+  private final SegmentRepository segmentRepository;
+  private final SegmentMembersRepository segmentMembersRepository;
+  private final SegmentMembershipCache segmentMembershipCache;
+  private final TransactionTemplate writeTransaction;
+  private final ExecutorService uploadExecutor;
+
+  /**
+   * Create a new service to access and modify segments.
+   *
+   * @param segmentRepository the repository that provides database access to {@link Segment}
+   *     entities
+   * @param segmentMembersRepository the repository that provides database access to segment members
+   * @param segmentMembershipCache the in-memory cache of segment memberships used for evaluation
+   * @param transactionManager the transaction manager used to save uploaded members
+   * @param uploadThreads the number of threads used to build the indexes of uploaded members
+   */
+  public SegmentService(SegmentRepository segmentRepository,
+                        SegmentMembersRepository segmentMembersRepository,
+                        SegmentMembershipCache segmentMembershipCache,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${flagship.segments.upload-threads:2}") int uploadThreads) {
+    this.segmentRepository = segmentRepository;
+    this.segmentMembersRepository = segmentMembersRepository;
+    this.segmentMembershipCache = segmentMembershipCache;
+    this.writeTransaction = new TransactionTemplate(transactionManager);
+    this.uploadExecutor = Executors.newFixedThreadPool(
+        uploadThreads, new CustomizableThreadFactory("segment-upload-"));
+  }
+
+  /**
+   * Create a new segment without any members for a project.
+   *
+   * @param key the key that targeting rules reference the segment by
+   * @param name the name of the segment
+   * @param description the description of the segment
+   * @param project the project to create the segment for
+   * @return the newly created segment
+   * @throws DuplicateSegmentException if the project already has a segment with the key
+   */
+  @Transactional
+  public Segment createProjectSegment(String key, String name, String description,
+                                      Project project) throws DuplicateSegmentException {
+    if (segmentRepository.existsByProjectIdAndKey(project.getId(), key)) {
+      throw new DuplicateSegmentException(key);
+    }
+    return segmentRepository.save(new Segment(key, name, description, project));
+  }
+
+  /**
+   * Get all the segments of a project.
+   *
+   * @param project the project to get the segments for
+   * @return a list of the project's segments, ordered by key
+   */
+  public List<Segment> getAllSegmentsForProject(Project project) {
+    return segmentRepository.findSegmentsByProjectIdOrderByKey(project.getId());
+  }
+
+  /**
+   * Get a segment of a project by its ID.
+   *
+   * @param segmentId the ID of the segment
+   * @param project the project of the segment
+   * @return the segment
+   * @throws SegmentNotFoundException if no segment exists with the given ID
+   */
+  public Segment getProjectSegmentById(Long segmentId, Project project)
+      throws SegmentNotFoundException {
+    return segmentRepository.findSegmentByIdAndProjectId(segmentId, project.getId())
+        .orElseThrow(() -> new SegmentNotFoundException(segmentId));
+  }
+
+  /**
+   * Replace the members of a segment of a project with the members read from a stream, one member
+   * per line.
+   *
+   * <p>The stream is read and indexed on an upload thread, without holding any lock, and the
+   * new members are committed in one write. Only then is the new index swapped in, so evaluations
+   * keep using the previous members until the upload is complete.
+   *
+   * @param segmentId the ID of the segment
+   * @param project the project of the segment
+   * @param members the stream of new members, encoded as UTF-8
+   * @return a future that completes with the updated segment, or fails with an
+   *     {@link InvalidSegmentMembersException} if the members cannot be read
+   * @throws SegmentNotFoundException if no segment exists with the given ID
+   */
+  public CompletableFuture<Segment> replaceProjectSegmentMembers(Long segmentId, Project project,
+                                                                 InputStream members)
+      throws SegmentNotFoundException {
+    getProjectSegmentById(segmentId, project);
+    return CompletableFuture.supplyAsync(() -> {
+      SegmentIndex index;
+      try {
+        index = SegmentIndex.read(members);
+      } catch (IOException e) {
+        throw new InvalidSegmentMembersException(e.getMessage());
+      }
+      return saveMembers(segmentId, index);
+    }, uploadExecutor);
+  }
+
+  @Override
+  public void destroy() {
+    uploadExecutor.shutdownNow();
+  }
+
+  /**
+   * Commit the members of a segment and swap in their index. Saves are serialized, so the index
+   * left in memory is always the one committed last.
+   *
+   * @param segmentId the ID of the segment
+   * @param index the index of the new members
+   * @return the updated segment
+   * @throws SegmentNotFoundException if the segment was deleted during the upload
+   */
+  private synchronized Segment saveMembers(Long segmentId, SegmentIndex index)
+      throws SegmentNotFoundException {
+    Segment segment = writeTransaction.execute(status -> {
+      Segment updated = segmentRepository.findById(segmentId)
+          .orElseThrow(() -> new SegmentNotFoundException(segmentId));
+      updated.setMemberCount(index.size());
+      segmentMembersRepository.save(new SegmentMembers(segmentId, index));
+      return updated;
+    });
+    segmentMembershipCache.replaceIndex(segmentId, index);
+    return segment;
+  }
+}
@@ -0,0 +1,27 @@
+package com.rishirajdhr.flagship.segment.dto;
+
+import com.rishirajdhr.flagship.flag.FlagKeys;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Payload for creating a new segment.
+ *
+ * @param key the key that targeting rules reference the segment by
+ * @param name the name of the segment
+ * @param description the description of the segment
+ */
+public record NewSegmentRequest(
+    @NotNull
+    @Pattern(regexp = FlagKeys.PATTERN)
+    String key,
+
+    @NotNull
+    @NotBlank
+    String name,
+
+    @NotNull
+    String description
+) {}
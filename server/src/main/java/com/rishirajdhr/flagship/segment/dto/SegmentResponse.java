@@ -0,0 +1,46 @@
+package com.rishirajdhr.flagship.segment.dto;
+
+import com.rishirajdhr.flagship.segment.Segment;
+
+import java.time.Instant;
+
+/**
+ * Represents the data for a segment sent in a response to a segment request. The members
+ * themselves are not included.
+ *
+ * @param id the segment ID
+ * @param key the segment key
+ * @param name the segment name
+ * @param description the segment description
+ * @param memberCount the number of members of the segment
+ * @param projectId the ID of the segment's project
+ * @param createdAt the timestamp when the segment was created
+ * @param updatedAt the timestamp when the segment was last modified
+ */
+public record SegmentResponse(
+    Long id,
+    String key,
+    String name,
+    String description,
+    int memberCount,
+    Long projectId,
+    Instant createdAt,
+    Instant updatedAt) {
+  /**
+   * Create a segment response for a segment.
+   *
+   * @param segment the segment to create the response for
+   * @return the created segment response
+   */
+  public static SegmentResponse fromSegment(Segment segment) {
+    return new SegmentResponse(
+        segment.getId(),
+        segment.getKey(),
+        segment.getName(),
+        segment.getDescription(),
+        segment.getMemberCount(),
+        segment.getProject().getId(),
+        segment.getCreatedAt(),
+        segment.getUpdatedAt());
+  }
+}
@@ -0,0 +1,17 @@
+package com.rishirajdhr.flagship.segment.exceptions;
+
+/**
+ * Represents an exception when a segment is created with the same key as another segment of the
+ * project.
+ */
+public class DuplicateSegmentException extends RuntimeException {
+  /**
+   * Create an exception when a segment is created with the same key as another segment of the
+   * project.
+   *
+   * @param key the key of the existing segment
+   */
+  public DuplicateSegmentException(String key) {
+    super("Project already has a segment with key: " + key);
+  }
+}
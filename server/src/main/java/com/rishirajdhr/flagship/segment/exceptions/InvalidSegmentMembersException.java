@@ -0,0 +1,15 @@
+package com.rishirajdhr.flagship.segment.exceptions;
+
+/**
+ * Represents an exception when the uploaded members of a segment cannot be read.
+ */
+public class InvalidSegmentMembersException extends RuntimeException {
+  /**
+   * Create an exception when the uploaded members of a segment cannot be read.
+   *
+   * @param reason why the members cannot be read
+   */
+  public InvalidSegmentMembersException(String reason) {
+    super("Invalid segment members: " + reason);
+  }
+}
@@ -0,0 +1,15 @@
+package com.rishirajdhr.flagship.segment.exceptions;
+
+/**
+ * Represents an exception when a requested segment is not found.
+ */
+public class SegmentNotFoundException extends RuntimeException {
+  /**
+   * Create an exception when no segment with a given ID exists.
+   *
+   * @param id the ID for which no segment exists
+   */
+  public SegmentNotFoundException(Long id) {
+    super("No segment found in project with ID: " + id);
+  }
+}
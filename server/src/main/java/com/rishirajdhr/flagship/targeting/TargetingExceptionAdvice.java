@@ -0,0 +1,21 @@
+package com.rishirajdhr.flagship.targeting;
+
+import com.rishirajdhr.flagship.targeting.exceptions.InvalidTargetingRuleException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Handles targeting exceptions and maps them to HTTP REST responses.
+ */
+@RestControllerAdvice
+public class TargetingExceptionAdvice {
+
+  @ExceptionHandler(InvalidTargetingRuleException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public String invalidTargetingRuleHandler(InvalidTargetingRuleException ex) {
+    return ex.getMessage();
+  }
+}
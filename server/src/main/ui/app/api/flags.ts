@@ -1,12 +1,32 @@
-import type { Auth, Flag } from "~/types";
+import type { Auth, Flag, FlagSort } from "~/types";
 import { withBase } from "./base";
 
-export async function getAllFlagsForProject(projectId: string, auth: Auth) {
-  const result = await fetch(withBase(`/api/projects/${projectId}/flags`), {
-    headers: {
-      Authorization: `Bearer ${auth.token}`,
-    },
-  });
+export interface FlagPageParams {
+  prefix?: string;
+  sort?: FlagSort;
+  cursor?: string;
+  limit?: number;
+}
+
+export async function getFlagsForProject(
+  projectId: string,
+  params: FlagPageParams,
+  auth: Auth
+) {
+  const searchParams = new URLSearchParams();
+  if (params.prefix) searchParams.set("prefix", params.prefix);
+  if (params.sort) searchParams.set("sort", params.sort);
+  if (params.cursor) searchParams.set("cursor", params.cursor);
+  if (params.limit) searchParams.set("limit", params.limit.toString());
+
+  const result = await fetch(
+    withBase(`/api/projects/${projectId}/flags?${searchParams}`),
+    {
+      headers: {
+        Authorization: `Bearer ${auth.token}`,
+      },
+    }
+  );
   return result;
 }
 
@@ -14,29 +14,44 @@ import { cloneElement, useEffect, useState } from "react";
 import {
   createFlagForProject,
   deleteFlagForProject,
-  getAllFlagsForProject,
+  getFlagsForProject,
   updateFlagForProject,
   type FlagParams,
   type NewFlagParams,
   type UpdateFlagParams,
 } from "~/api/flags";
 import { authContext } from "~/middleware-context";
-import type { Flag, Project } from "~/types";
+import type { Flag, FlagSort, Page, Project } from "~/types";
 import { getProject } from "~/api/projects";
 import { withBase } from "~/api/base";
 import { Input } from "~/components/ui/input";
 
+function parseFlagSort(value: string | null): FlagSort {
+  return value === "UPDATED" ? "UPDATED" : "KEY";
+}
+
 export async function clientLoader({
   context,
   params,
+  request,
 }: Route.ClientLoaderArgs) {
   const auth = context.get(authContext);
   if (auth === null) {
     throw redirect("/login");
   }
 
+  const searchParams = new URL(request.url).searchParams;
+  const cursor = searchParams.get("cursor");
   const [flagsResult, projectResult] = await Promise.all([
-    getAllFlagsForProject(params.projectId, auth),
+    getFlagsForProject(
+      params.projectId,
+      {
+        prefix: searchParams.get("q") ?? undefined,
+        sort: parseFlagSort(searchParams.get("sort")),
+        cursor: cursor ?? undefined,
+      },
+      auth
+    ),
     getProject(params.projectId, auth),
   ]);
 
@@ -57,12 +72,9 @@ export async function clientLoader({
   }
 
   const project: Project = await projectResult.json();
-  const flags: Flag[] = await flagsResult.json();
-  flags.sort((a, b) =>
-    a.name.toLowerCase().localeCompare(b.name.toLowerCase())
-  );
+  const flags: Page<Flag> = await flagsResult.json();
 
-  return { project, flags };
+  return { project, flags, cursor };
 }
 
 async function createFlag({
@@ -204,6 +216,47 @@ export default function Project({ loaderData, params }: Route.ComponentProps) {
   const modal = searchParams.get("modal");
   const initialFlagQuery = searchParams.get("q") ?? "";
   const [flagQuery, setFlagQuery] = useState(initialFlagQuery);
+  const flagSort = parseFlagSort(searchParams.get("sort"));
+
+  // Pages after the first are loaded through a fetcher and kept by cursor, so
+  // a revalidated page replaces its previous copy instead of being appended.
+  const moreFlagsFetcher = useFetcher<typeof clientLoader>();
+  const [morePages, setMorePages] = useState<Record<string, Page<Flag>>>({});
+
+  useEffect(() => {
+    setMorePages({});
+  }, [initialFlagQuery, flagSort]);
+
+  useEffect(() => {
+    const data = moreFlagsFetcher.data;
+    const cursor = data?.cursor;
+    if (data && cursor) {
+      setMorePages((prevPages) => ({ ...prevPages, [cursor]: data.flags }));
+    }
+  }, [moreFlagsFetcher.data]);
+
+  const pages = [flags, ...Object.values(morePages)];
+  const nextCursor = pages[pages.length - 1].nextCursor;
+
+  const handleLoadMore = () => {
+    if (nextCursor === null) return;
+    const moreSearchParams = new URLSearchParams({
+      sort: flagSort,
+      cursor: nextCursor,
+    });
+    if (initialFlagQuery !== "") moreSearchParams.set("q", initialFlagQuery);
+    moreFlagsFetcher.load(`/projects/${params.projectId}?${moreSearchParams}`);
+  };
+
+  const handleFlagSortChange = (sort: FlagSort) => {
+    setSearchParams(
+      (prevSearchParams) => {
+        prevSearchParams.set("sort", sort);
+        return prevSearchParams;
+      },
+      { replace: true }
+    );
+  };
 
   const debouncedFlagQuery = useDebounce(flagQuery, 400);
 
@@ -235,7 +288,7 @@ export default function Project({ loaderData, params }: Route.ComponentProps) {
     );
   };
 
-  const filteredFlags = flags.filter(({ name }) => name.includes(flagQuery));
+  const listedFlags = pages.flatMap((page) => page.items);
 
   return (
     <main className="p-8">
@@ -267,30 +320,42 @@ export default function Project({ loaderData, params }: Route.ComponentProps) {
             {project.name}
           </h1>
           <div className="mb-4 flex flex-row items-center justify-between">
-            <span className="relative">
-              <input
-                className="w-sm rounded-sm border border-gray-300 px-3 py-1.5 pl-7 text-sm text-gray-800 placeholder:text-gray-400"
-                placeholder="Search for a flag"
-                value={flagQuery}
-                onChange={(e) => setFlagQuery(e.target.value)}
-              />
-              <span className="absolute top-1/2 left-2 -translate-y-1/2 text-gray-400">
-                <svg
-                  xmlns="http://www.w3.org/2000/svg"
-                  fill="none"
-                  viewBox="0 0 24 24"
-                  strokeWidth={1.5}
-                  stroke="currentColor"
-                  className="size-4"
-                >
-                  <path
-                    strokeLinecap="round"
-                    strokeLinejoin="round"
-                    d="m21 21-5.197-5.197m0 0A7.5 7.5 0 1 0 5.196 5.196a7.5 7.5 0 0 0 10.607 10.607Z"
-                  />
-                </svg>
+            <div className="flex flex-row items-center gap-2">
+              <span className="relative">
+                <input
+                  className="w-sm rounded-sm border border-gray-300 px-3 py-1.5 pl-7 text-sm text-gray-800 placeholder:text-gray-400"
+                  placeholder="Search by flag key"
+                  value={flagQuery}
+                  onChange={(e) => setFlagQuery(e.target.value)}
+                />
+                <span className="absolute top-1/2 left-2 -translate-y-1/2 text-gray-400">
+                  <svg
+                    xmlns="http://www.w3.org/2000/svg"
+                    fill="none"
+                    viewBox="0 0 24 24"
+                    strokeWidth={1.5}
+                    stroke="currentColor"
+                    className="size-4"
+                  >
+                    <path
+                      strokeLinecap="round"
+                      strokeLinejoin="round"
+                      d="m21 21-5.197-5.197m0 0A7.5 7.5 0 1 0 5.196 5.196a7.5 7.5 0 0 0 10.607 10.607Z"
+                    />
+                  </svg>
+                </span>
               </span>
-            </span>
+              <select
+                className="rounded-sm border border-gray-300 px-2 py-1.5 text-sm text-gray-800"
+                value={flagSort}
+                onChange={(e) =>
+                  handleFlagSortChange(parseFlagSort(e.target.value))
+                }
+              >
+                <option value="KEY">Sort by key</option>
+                <option value="UPDATED">Recently updated</option>
+              </select>
+            </div>
             <Dialog.Root
               open={modal === "create-flag"}
               onOpenChange={handleCreateFlagDialogOpenChange}
@@ -477,12 +542,23 @@ export default function Project({ loaderData, params }: Route.ComponentProps) {
                 </tr>
               </thead>
               <tbody className="divide-y divide-gray-300">
-                {filteredFlags.map((flag) => (
+                {listedFlags.map((flag) => (
                   <FlagRecord key={flag.id} flag={flag} />
                 ))}
               </tbody>
             </table>
           </div>
+          {nextCursor !== null && (
+            <div className="mt-4 flex flex-row justify-center">
+              <button
+                className="cursor-pointer rounded-sm border border-gray-300 px-3 py-1.5 text-sm text-gray-800 hover:bg-gray-50 disabled:cursor-default disabled:text-gray-400"
+                disabled={moreFlagsFetcher.state !== "idle"}
+                onClick={handleLoadMore}
+              >
+                {moreFlagsFetcher.state !== "idle" ? "Loading..." : "Load more"}
+              </button>
+            </div>
+          )}
         </section>
       </TooltipProvider>
     </main>
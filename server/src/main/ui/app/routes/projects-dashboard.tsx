@@ -7,7 +7,7 @@ import {
   getAllProjects,
   type NewProjectParams,
 } from "~/api/projects";
-import type { Project } from "~/types";
+import type { Page, Project } from "~/types";
 
 export async function clientLoader({ context }: Route.ClientLoaderArgs) {
   const auth = context.get(authContext);
@@ -25,8 +25,8 @@ export async function clientLoader({ context }: Route.ClientLoaderArgs) {
     throw new Response("Failed to load projects", { status: result.status });
   }
 
-  const projects = await result.json();
-  return projects as Project[];
+  const page: Page<Project> = await result.json();
+  return page.items;
 }
 
 export async function clientAction({
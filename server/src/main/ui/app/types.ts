@@ -0,0 +1,113 @@
+export type Auth = {
+  token: string;
+  username: string;
+};
+
+export type TargetingOperator =
+  | "EQUALS"
+  | "IN"
+  | "NOT_IN"
+  | "SEMVER_GTE"
+  | "SEMVER_LT"
+  | "REGEX"
+  | "IN_SEGMENT"
+  | "NOT_IN_SEGMENT";
+
+export type TargetingCondition = {
+  attribute: string;
+  operator: TargetingOperator;
+  values: string[];
+};
+
+export type TargetingRule = {
+  conditions: TargetingCondition[];
+  enabled: boolean;
+  variant?: string | null;
+};
+
+export type VariantType = "STRING" | "NUMBER" | "JSON";
+
+export type FlagVariant = {
+  key: string;
+  type: VariantType;
+  value: unknown;
+};
+
+export type Flag = {
+  id: number;
+  key: string;
+  name: string;
+  description: string;
+  enabled: boolean;
+  rules: TargetingRule[];
+  rolloutPercentage: number;
+  rolloutSalt: string | null;
+  variants: FlagVariant[];
+  defaultVariant: string | null;
+  offVariant: string | null;
+  projectId: number;
+  owner: string;
+  createdAt: string;
+  updatedAt: string;
+  enabledEvaluations: number;
+  disabledEvaluations: number;
+  lastEvaluatedAt: string | null;
+};
+
+export type FlagEvaluationCount = {
+  minute: string;
+  enabledCount: number;
+  disabledCount: number;
+};
+
+export type FlagSort = "KEY" | "UPDATED";
+
+export type FlagAuditState = {
+  key: string;
+  name: string;
+  description: string;
+  enabled: boolean;
+  rules: TargetingRule[];
+  rolloutPercentage: number;
+  rolloutSalt: string;
+  variants: FlagVariant[];
+  defaultVariant: string | null;
+  offVariant: string | null;
+};
+
+export type FlagAuditEntry = {
+  id: number;
+  flagId: number;
+  flagKey: string;
+  action: "CREATED" | "UPDATED" | "DELETED";
+  actorId: number | null;
+  actor: string | null;
+  occurredAt: string;
+  before: FlagAuditState | null;
+  after: FlagAuditState | null;
+};
+
+export type Page<T> = {
+  items: T[];
+  nextCursor: string | null;
+};
+
+export type Project = {
+  id: number;
+  name: string;
+  description: string;
+  owner: string;
+  createdAt: string;
+  updatedAt: string;
+};
+
+export type Segment = {
+  id: number;
+  key: string;
+  name: string;
+  description: string;
+  memberCount: number;
+  projectId: number;
+  createdAt: string;
+  updatedAt: string;
+};
@@ -0,0 +1,158 @@
+package com.rishirajdhr.flagship;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rishirajdhr.flagship.flag.Flag;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Asserts the number of SQL statements executed per API call, so that regressions on the hot
+ * paths show up as test failures.
+ */
+class ApiQueryCountTests extends ApiTestSupport {
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private long projectId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    projectId = createProject("project");
+    createFlag(projectId, "new-ui", true);
+  }
+
+  @Test
+  void evaluateFlagRunsNoQueries() throws Exception {
+    RequestBuilder evaluate = post("/api/projects/{projectId}/flags/new-ui/evaluate", projectId)
+        .header("Authorization", authorization);
+    perform(evaluate);
+
+    assertThat(countStatements(evaluate)).isZero();
+  }
+
+  @Test
+  void listFlagsRunsSingleQuery() throws Exception {
+    RequestBuilder listFlags =
+        get("/api/projects/{projectId}/flags", projectId).header("Authorization", authorization);
+    perform(listFlags);
+
+    assertThat(countStatements(listFlags)).isEqualTo(1);
+  }
+
+  @Test
+  void listFlagsPageAfterCursorRunsSingleQuery() throws Exception {
+    for (String key : new String[] { "beta-search", "new-checkout", "new-header" }) {
+      createFlag(projectId, key, false);
+    }
+    JsonNode firstPage = perform(get("/api/projects/{projectId}/flags", projectId)
+                                     .header("Authorization", authorization)
+                                     .param("prefix", "new-")
+                                     .param("limit", "2"));
+    RequestBuilder nextPage = get("/api/projects/{projectId}/flags", projectId)
+        .header("Authorization", authorization)
+        .param("prefix", "new-")
+        .param("limit", "2")
+        .param("cursor", firstPage.get("nextCursor").asText());
+
+    assertThat(firstPage.get("items").findValuesAsText("key"))
+        .containsExactly("new-checkout", "new-header");
+    assertThat(perform(nextPage).get("items").findValuesAsText("key")).containsExactly("new-ui");
+    assertThat(countStatements(nextPage)).isEqualTo(1);
+  }
+
+  @Test
+  void bulkUpdateRunsSameQueriesForAnyNumberOfFlags() throws Exception {
+    StringBuilder keys = new StringBuilder("\"new-ui\"");
+    for (int i = 0; i < 10; i++) {
+      createFlag(projectId, "flag-" + i, true);
+      keys.append(",\"flag-").append(i).append('"');
+    }
+    RequestBuilder bulkUpdate = patch("/api/projects/{projectId}/flags", projectId)
+        .header("Authorization", authorization)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"keys\":[" + keys + ",\"missing\"],\"enabled\":false}");
+
+    statistics.clear();
+    JsonNode result = perform(bulkUpdate);
+
+    // Select the flags and their project, bump and read the flags version, update the flags
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+    assertThat(result.get("updatedIds")).hasSize(11);
+    assertThat(result.get("missingKeys").get(0).asText()).isEqualTo("missing");
+    JsonNode flags = perform(get("/api/projects/{projectId}/flags/states", projectId)
+                                 .header("Authorization", authorization)).get("flags");
+    assertThat(flags.findValuesAsText("enabled")).hasSize(11).containsOnly("false");
+  }
+
+  @Test
+  void updateFlagReadsFlagOnce() throws Exception {
+    long flagId = createFlag(projectId, "beta-search", true);
+    RequestBuilder update = put("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+        .header("Authorization", authorization)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"enabled\":false}");
+
+    // Select the flag and its project, bump and read the flags version, update the flag with its
+    // version, and sum the evaluation counts for the response
+    assertThat(countStatements(update)).isEqualTo(6);
+    assertThat(statistics.getEntityStatistics(Flag.class.getName()).getLoadCount()).isOne();
+  }
+
+  @Test
+  void deleteFlagReadsFlagOnce() throws Exception {
+    long flagId = createFlag(projectId, "beta-search", true);
+    RequestBuilder delete = delete("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+        .header("Authorization", authorization);
+
+    // Select the flag and its project, delete the flag with its version, bump and read the flags
+    // version, record the tombstone, and delete the evaluation counts. The tombstone IDs are
+    // fetched from their sequence in blocks, so only some deletes fetch one.
+    assertThat(countStatements(delete)).isBetween(7L, 8L);
+    assertThat(statistics.getEntityStatistics(Flag.class.getName()).getLoadCount()).isOne();
+  }
+
+  @Test
+  void listProjectsRunsSingleQuery() throws Exception {
+    RequestBuilder listProjects = get("/api/projects").header("Authorization", authorization);
+
+    assertThat(countStatements(listProjects)).isEqualTo(1);
+  }
+
+  @Test
+  void getProjectDoesNotLoadUser() throws Exception {
+    RequestBuilder getProject =
+        get("/api/projects/{projectId}", projectId).header("Authorization", authorization);
+
+    assertThat(countStatements(getProject)).isEqualTo(1);
+  }
+
+  /**
+   * Perform a request and count the SQL statements it executes.
+   *
+   * @param request the request to perform
+   * @return the number of prepared SQL statements
+   */
+  private long countStatements(RequestBuilder request) throws Exception {
+    statistics.clear();
+    perform(request);
+    return statistics.getPrepareStatementCount();
+  }
+}
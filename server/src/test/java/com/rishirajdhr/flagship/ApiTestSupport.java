@@ -0,0 +1,148 @@
+package com.rishirajdhr.flagship;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Base class of the tests that exercise the API through {@link MockMvc}. A new user is signed up
+ * before every test, so tests sharing an application context never see each other's projects.
+ *
+ * <p>The test profile gives every application context a database of its own, so a test class that
+ * sets its own properties gets a fresh schema instead of recreating the one of another context.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class ApiTestSupport {
+  @Autowired
+  protected MockMvc mockMvc;
+
+  @Autowired
+  protected ObjectMapper objectMapper;
+
+  /** The username of the user signed up for the current test. */
+  protected String username;
+
+  /** The authorization header value of the user signed up for the current test. */
+  protected String authorization;
+
+  @BeforeEach
+  void signUpUser() throws Exception {
+    username = "user-" + UUID.randomUUID();
+    authorization = signUp(username);
+  }
+
+  /**
+   * Sign up a new user.
+   *
+   * @param username the username of the user
+   * @return the authorization header value for the user
+   */
+  protected String signUp(String username) throws Exception {
+    String credentials = objectMapper.writeValueAsString(new Credentials(username, "password"));
+    JsonNode auth = perform(post("/api/signup").contentType(MediaType.APPLICATION_JSON)
+                                .content(credentials));
+    return "Bearer " + auth.get("token").asText();
+  }
+
+  /**
+   * Create a project for the signed up user.
+   *
+   * @param name the name of the project, unique among the user's projects
+   * @return the ID of the created project
+   */
+  protected long createProject(String name) throws Exception {
+    JsonNode project = perform(post("/api/projects").header("Authorization", authorization)
+                                   .contentType(MediaType.APPLICATION_JSON)
+                                   .content("{\"name\":\"" + name + "\",\"description\":\"\"}"));
+    return project.get("id").asLong();
+  }
+
+  /**
+   * Create a flag in a project of the signed up user.
+   *
+   * @param projectId the ID of the project
+   * @param flag the JSON payload of the flag
+   * @return the created flag
+   */
+  protected JsonNode createFlag(long projectId, String flag) throws Exception {
+    return perform(post("/api/projects/{projectId}/flags", projectId)
+                       .header("Authorization", authorization)
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(flag));
+  }
+
+  /**
+   * Create a flag without targeting rules in a project of the signed up user.
+   *
+   * @param projectId the ID of the project
+   * @param key the key of the flag, also used as its name
+   * @param enabled whether the flag is enabled
+   * @return the ID of the created flag
+   */
+  protected long createFlag(long projectId, String key, boolean enabled) throws Exception {
+    return createFlag(projectId, "{\"key\":\"" + key + "\",\"name\":\"" + key + "\","
+                                 + "\"description\":\"\",\"enabled\":" + enabled + "}")
+        .get("id").asLong();
+  }
+
+  /**
+   * Create an SDK key for a project of the signed up user.
+   *
+   * @param projectId the ID of the project
+   * @return the created key
+   */
+  protected JsonNode createSdkKey(long projectId) throws Exception {
+    return perform(post("/api/projects/{projectId}/sdk-keys", projectId)
+                       .header("Authorization", authorization)
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content("{\"name\":\"server\"}"));
+  }
+
+  /**
+   * Perform a request that is expected to succeed and parse its JSON response.
+   *
+   * @param request the request to perform
+   * @return the parsed response body
+   */
+  protected JsonNode perform(RequestBuilder request) throws Exception {
+    return readJson(performForResult(request));
+  }
+
+  /**
+   * Perform a request that is expected to succeed.
+   *
+   * @param request the request to perform
+   * @return the result of the request
+   */
+  protected MvcResult performForResult(RequestBuilder request) throws Exception {
+    return mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+  }
+
+  /**
+   * Parse the JSON body of a response.
+   *
+   * @param result the result of a request
+   * @return the parsed response body
+   */
+  protected JsonNode readJson(MvcResult result) throws Exception {
+    return objectMapper.readTree(result.getResponse().getContentAsString());
+  }
+
+  private record Credentials(String username, String password) {}
+}
@@ -0,0 +1,81 @@
+package com.rishirajdhr.flagship;
+
+import com.rishirajdhr.flagship.auth.AppUserService;
+import com.rishirajdhr.flagship.auth.jwt.JWTFilter;
+import com.rishirajdhr.flagship.flag.FlagEvaluationMetrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Asserts that the API and evaluation paths are instrumented with timers whose tags stay bounded.
+ */
+@TestPropertySource(properties = "flagship.metrics.max-project-tags=1")
+class MetricsTests extends ApiTestSupport {
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  void evaluationsAreTimedPerProjectWithoutFlagKeys() throws Exception {
+    long firstProjectId = createProjectWithFlag("first");
+    long secondProjectId = createProjectWithFlag("second");
+    evaluate(firstProjectId);
+    evaluate(secondProjectId);
+
+    Timer timer = meterRegistry.find(FlagEvaluationMetrics.EVALUATION_TIMER)
+        .tag("project", Long.toString(firstProjectId)).timer();
+    Timer overflowTimer = meterRegistry.find(FlagEvaluationMetrics.EVALUATION_TIMER)
+        .tag("project", FlagEvaluationMetrics.OVERFLOW_TAG).timer();
+    assertThat(timer).isNotNull();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.getId().getTag("flag")).isNull();
+    assertThat(overflowTimer).isNotNull();
+    assertThat(meterRegistry.find(FlagEvaluationMetrics.EVALUATION_TIMER)
+                   .tag("project", Long.toString(secondProjectId)).timer()).isNull();
+  }
+
+  @Test
+  void authenticationAndQueriesAreTimed() throws Exception {
+    perform(get("/api/projects").header("Authorization", authorization));
+
+    assertThat(meterRegistry.find(AppUserService.PASSWORD_TIMER)
+                   .tag("operation", "encode").timer().count()).isPositive();
+    assertThat(meterRegistry.find(JWTFilter.AUTHENTICATION_TIMER)
+                   .tag("outcome", "success").timer().count()).isPositive();
+    assertThat(meterRegistry.find("spring.data.repository.invocations")
+                   .tag("repository", "ProjectRepository").timers()).isNotEmpty();
+  }
+
+  /**
+   * Create a project with an enabled flag.
+   *
+   * @param name the name of the project
+   * @return the ID of the project
+   */
+  private long createProjectWithFlag(String name) throws Exception {
+    long projectId = createProject(name);
+    createFlag(projectId, "new-ui", true);
+    return projectId;
+  }
+
+  /**
+   * Evaluate the flag of a project.
+   *
+   * @param projectId the ID of the project
+   */
+  private void evaluate(long projectId) throws Exception {
+    perform(post("/api/projects/{projectId}/flags/new-ui/evaluate", projectId)
+                .header("Authorization", authorization)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"));
+  }
+}
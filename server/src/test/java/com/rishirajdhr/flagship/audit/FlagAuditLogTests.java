@@ -0,0 +1,182 @@
+package com.rishirajdhr.flagship.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rishirajdhr.flagship.ApiTestSupport;
+import com.rishirajdhr.flagship.auth.AppUserProvider;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts that flag changes are written to the audit log and paged newest first, and that neither
+ * a stalled database nor a rejected entry can stall the log.
+ */
+class FlagAuditLogTests extends ApiTestSupport {
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  @Autowired
+  private FlagAuditLog flagAuditLog;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private AppUserProvider appUserProvider;
+
+  private long projectId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    projectId = createProject("project");
+  }
+
+  @Test
+  void flagChangesArePagedNewestFirst() throws Exception {
+    long flagId = createFlag(projectId, "new-ui", true);
+    createFlag(projectId, "dark-mode", true);
+    perform(put("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                .header("Authorization", authorization)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"enabled\":false}"));
+    perform(delete("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                .header("Authorization", authorization));
+    flagAuditLog.flush();
+
+    JsonNode first = history("flagKey=new-ui&limit=2");
+    assertThat(first.get("items")).hasSize(2);
+    JsonNode deleted = first.get("items").get(0);
+    assertThat(deleted.get("action").asText()).isEqualTo("DELETED");
+    assertThat(deleted.get("actor").asText()).isEqualTo(username);
+    assertThat(deleted.get("before").get("enabled").asBoolean()).isFalse();
+    assertThat(deleted.get("after").isNull()).isTrue();
+
+    JsonNode updated = first.get("items").get(1);
+    assertThat(updated.get("action").asText()).isEqualTo("UPDATED");
+    assertThat(updated.get("before").get("enabled").asBoolean()).isTrue();
+    assertThat(updated.get("after").get("enabled").asBoolean()).isFalse();
+
+    JsonNode second = history("flagKey=new-ui&limit=2&cursor=" + first.get("nextCursor").asText());
+    assertThat(second.get("items")).hasSize(1);
+    assertThat(second.get("items").get(0).get("action").asText()).isEqualTo("CREATED");
+    assertThat(second.get("items").get(0).get("before").isNull()).isTrue();
+    assertThat(second.get("nextCursor").isNull()).isTrue();
+
+    assertThat(history("limit=10").get("items")).hasSize(4);
+  }
+
+  @Test
+  void historyIsOnlyVisibleToProjectOwner() throws Exception {
+    String otherAuthorization = signUp("user-" + UUID.randomUUID());
+
+    mockMvc.perform(get("/api/projects/{projectId}/audit", projectId)
+                        .header("Authorization", otherAuthorization))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void entriesAreDroppedWhileBufferStaysFull() throws Exception {
+    JdbcTemplate unreachable = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+      @Override
+      public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+        throw new DataAccessResourceFailureException("Database is unreachable");
+      }
+
+      @Override
+      public int update(String sql, Object... args) {
+        throw new DataAccessResourceFailureException("Database is unreachable");
+      }
+    };
+    FlagAuditLog log = createLog(unreachable, 1);
+    try {
+      // At most one entry is held by the writer and one by the buffer.
+      for (int i = 0; i < 3; i++) log.onFlagAudit(event("flag-" + i));
+
+      assertThat(log.getDroppedEntries()).isPositive();
+      assertThat(log.getDeadLetteredEntries()).isZero();
+      assertThat(log.getWrittenEntries()).isZero();
+    } finally {
+      log.destroy();
+    }
+  }
+
+  @Test
+  void rejectedEntryIsDeadLetteredAfterRetries() throws Exception {
+    FlagAuditLog log = createLog(jdbcTemplate, 16);
+    try {
+      log.onFlagAudit(event("first"));
+      // Longer than the flag_key column, so the database rejects the entry every time.
+      log.onFlagAudit(event("x".repeat(300)));
+      log.onFlagAudit(event("second"));
+
+      long deadline = System.nanoTime() + TIMEOUT.toNanos();
+      while (log.getWrittenEntries() + log.getDeadLetteredEntries() < 3
+             && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(log.getDeadLetteredEntries()).isEqualTo(1);
+      assertThat(log.getWrittenEntries()).isEqualTo(2);
+      assertThat(jdbcTemplate.queryForList(
+          "select flag_key from flag_audit_entry where project_id = ? order by id", String.class,
+          projectId)).containsExactly("first", "second");
+    } finally {
+      log.destroy();
+    }
+  }
+
+  /**
+   * Create an audit log that retries quickly and gives up on a batch after two failed writes.
+   *
+   * @param template the template the log writes its entries with
+   * @param bufferSize the number of entries that can wait to be written
+   * @return the started audit log
+   */
+  private FlagAuditLog createLog(JdbcTemplate template, int bufferSize) {
+    return new FlagAuditLog(template, transactionManager, objectMapper, appUserProvider,
+                            bufferSize, 500, Duration.ofMillis(10), Duration.ofMillis(10), 2);
+  }
+
+  /**
+   * Create the audit event of an update to a flag of the project.
+   *
+   * @param flagKey the key of the flag
+   * @return the audit event
+   */
+  private FlagAuditEvent event(String flagKey) {
+    return new FlagAuditEvent(projectId, 1L, flagKey, FlagAuditAction.UPDATED, null, null,
+                              Instant.now());
+  }
+
+  /**
+   * Get a page of the project's history.
+   *
+   * @param query the query string of the request
+   * @return the parsed page
+   */
+  private JsonNode history(String query) throws Exception {
+    return perform(get("/api/projects/{projectId}/audit?" + query, projectId)
+                       .header("Authorization", authorization));
+  }
+}
@@ -0,0 +1,43 @@
+package com.rishirajdhr.flagship.auth.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rishirajdhr.flagship.ApiTestSupport;
+import com.rishirajdhr.flagship.auth.AppUser;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts that requests are authenticated from the claims of their bearer token alone.
+ */
+class JWTFilterTests extends ApiTestSupport {
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void authenticationDoesNotLoadUser() throws Exception {
+    createProject("project");
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    JsonNode projects = perform(get("/api/projects").header("Authorization", authorization));
+    assertThat(projects.get("items").findValuesAsText("owner")).containsExactly(username);
+    assertThat(statistics.getEntityStatistics(AppUser.class.getName()).getLoadCount()).isZero();
+  }
+
+  @Test
+  void invalidTokenIsRejected() throws Exception {
+    mockMvc.perform(get("/api/projects").header("Authorization", authorization + "x"))
+        .andExpect(status().isUnauthorized());
+    mockMvc.perform(get("/api/projects").header("Authorization", "Bearer not-a-token"))
+        .andExpect(status().isUnauthorized());
+  }
+}
@@ -0,0 +1,52 @@
+package com.rishirajdhr.flagship.auth.jwt;
+
+import com.rishirajdhr.flagship.auth.AppUserPrincipal;
+import com.rishirajdhr.flagship.auth.exceptions.UnauthenticatedException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JWTServiceTests {
+  private static final AppUserPrincipal PRINCIPAL =
+      new AppUserPrincipal(42L, "alice", "encoded", List.of("USER"));
+
+  private final JWTService jwtService = new JWTService(10);
+
+  @Test
+  void principalIsBuiltFromClaims() throws Exception {
+    AppUserPrincipal principal = jwtService.authenticate(jwtService.generateToken(PRINCIPAL));
+
+    assertThat(principal.getId()).isEqualTo(42L);
+    assertThat(principal.getUsername()).isEqualTo("alice");
+    assertThat(principal.getPassword()).isNull();
+    assertThat(principal.getRoles()).containsExactly("USER");
+    assertThat(principal.getAuthorities()).extracting(Object::toString)
+        .containsExactly("ROLE_USER");
+  }
+
+  @Test
+  void verifiedTokenIsServedFromCache() throws Exception {
+    String token = jwtService.generateToken(PRINCIPAL);
+
+    assertThat(jwtService.authenticate(token)).isSameAs(jwtService.authenticate(token));
+  }
+
+  @Test
+  void tamperedOrForeignTokenIsRejected() {
+    String token = jwtService.generateToken(PRINCIPAL);
+    String[] parts = token.split("\\.");
+    String tampered = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+    String foreign = new JWTService(10).generateToken(PRINCIPAL);
+
+    assertThatThrownBy(() -> jwtService.authenticate(tampered))
+        .isInstanceOf(UnauthenticatedException.class);
+    assertThatThrownBy(() -> jwtService.authenticate(foreign))
+        .isInstanceOf(UnauthenticatedException.class);
+    assertThatThrownBy(() -> jwtService.authenticate("not-a-token"))
+        .isInstanceOf(UnauthenticatedException.class);
+  }
+}
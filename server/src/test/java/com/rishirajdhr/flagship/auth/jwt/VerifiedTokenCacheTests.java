@@ -0,0 +1,41 @@
+package com.rishirajdhr.flagship.auth.jwt;
+
+import com.rishirajdhr.flagship.auth.AppUserPrincipal;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTests {
+  private static final AppUserPrincipal PRINCIPAL =
+      new AppUserPrincipal(42L, "alice", null, List.of("USER"));
+  private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+  private static final Instant EXPIRES_AT = NOW.plus(Duration.ofHours(1));
+
+  @Test
+  void fullCacheEvictsLeastRecentlyUsedToken() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(2);
+    cache.put("first", PRINCIPAL, EXPIRES_AT);
+    cache.put("second", PRINCIPAL, EXPIRES_AT);
+    cache.get("first", NOW);
+
+    cache.put("third", PRINCIPAL, EXPIRES_AT);
+
+    assertThat(cache.get("third", NOW)).isSameAs(PRINCIPAL);
+    assertThat(cache.get("first", NOW)).isSameAs(PRINCIPAL);
+    assertThat(cache.get("second", NOW)).isNull();
+  }
+
+  @Test
+  void expiredTokenIsNotReturned() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(2);
+    cache.put("token", PRINCIPAL, EXPIRES_AT);
+
+    assertThat(cache.get("token", EXPIRES_AT)).isNull();
+    assertThat(cache.get("token", NOW)).isNull();
+  }
+}
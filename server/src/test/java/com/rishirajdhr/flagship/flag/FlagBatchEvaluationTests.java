@@ -0,0 +1,82 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rishirajdhr.flagship.ApiTestSupport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts that several flags are evaluated in one request, with unknown keys reported inline.
+ */
+class FlagBatchEvaluationTests extends ApiTestSupport {
+  private long projectId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    projectId = createProject("project");
+    createFlag(projectId, "{\"key\":\"new-ui\",\"name\":\"New UI\",\"description\":\"\","
+                          + "\"enabled\":true,\"rules\":[{\"conditions\":[{\"attribute\":"
+                          + "\"country\",\"operator\":\"EQUALS\",\"values\":[\"CA\"]}],"
+                          + "\"enabled\":false}]}");
+    createFlag(projectId, "dark-mode", false);
+  }
+
+  @Test
+  void flagsAreEvaluatedInRequestedOrder() throws Exception {
+    JsonNode results = perform(evaluate(authorization,
+                                        "{\"keys\":[\"dark-mode\",\"missing\",\"new-ui\"],"
+                                        + "\"context\":{\"userId\":\"user-1\","
+                                        + "\"country\":\"CA\"}}"));
+
+    assertThat(results.findValuesAsText("key")).containsExactly("dark-mode", "missing", "new-ui");
+    assertThat(results.get(0).get("state").get("enabled").asBoolean()).isFalse();
+    assertThat(results.get(0).get("error").isNull()).isTrue();
+    assertThat(results.get(1).get("state").isNull()).isTrue();
+    assertThat(results.get(1).get("error").asText()).contains("missing");
+    assertThat(results.get(2).get("state").get("enabled").asBoolean()).isFalse();
+  }
+
+  @Test
+  void missingContextIsEvaluatedAsEmpty() throws Exception {
+    JsonNode results = perform(evaluate(authorization, "{\"keys\":[\"new-ui\"]}"));
+
+    assertThat(results).hasSize(1);
+    assertThat(results.get(0).get("state").get("enabled").asBoolean()).isTrue();
+  }
+
+  @Test
+  void invalidBatchIsRejected() throws Exception {
+    mockMvc.perform(evaluate(authorization, "{\"keys\":[]}")).andExpect(status().isBadRequest());
+    mockMvc.perform(evaluate(authorization, "{\"keys\":[\" \"]}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void batchIsOnlyAvailableToProjectOwner() throws Exception {
+    String otherAuthorization = signUp("other-" + username);
+
+    mockMvc.perform(evaluate(otherAuthorization, "{\"keys\":[\"new-ui\"]}"))
+        .andExpect(status().isForbidden());
+  }
+
+  /**
+   * Build a request that evaluates several flags of the project.
+   *
+   * @param authorizationHeader the authorization header value of the requesting user
+   * @param body the JSON payload with the keys and the context
+   * @return the evaluation request
+   */
+  private RequestBuilder evaluate(String authorizationHeader, String body) {
+    return post("/api/projects/{projectId}/flags/evaluate", projectId)
+        .header("Authorization", authorizationHeader)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(body);
+  }
+}
@@ -0,0 +1,122 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rishirajdhr.flagship.ApiTestSupport;
+import com.rishirajdhr.flagship.sdkkey.SdkKeyFilter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Asserts that a project's flag stream starts with a snapshot, follows with the changes of the
+ * project's flags, and is closed once the SDK key it was opened with is revoked.
+ */
+class FlagChangeStreamTests extends ApiTestSupport {
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  @Autowired
+  private FlagChangeStream flagChangeStream;
+
+  private long projectId;
+  private long sdkKeyId;
+  private String sdkKey;
+  private long flagId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    projectId = createProject("project");
+    JsonNode key = createSdkKey(projectId);
+    sdkKeyId = key.get("id").asLong();
+    sdkKey = key.get("key").asText();
+    flagId = createFlag(projectId, "new-ui", true);
+    createFlag(projectId, "dark-mode", true);
+  }
+
+  @Test
+  void streamSendsSnapshotThenChanges() throws Exception {
+    MvcResult stream = subscribe();
+    awaitEvent(stream, "event:snapshot", 1);
+    assertThat(stream.getResponse().getContentAsString()).contains("\"new-ui\"", "\"dark-mode\"");
+
+    perform(put("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                .header("Authorization", authorization)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"enabled\":false}"));
+    String change = awaitEvent(stream, "event:change", 1);
+    assertThat(change).contains("\"updated\":{\"new-ui\":").doesNotContain("\"dark-mode\"");
+
+    perform(delete("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                .header("Authorization", authorization));
+    assertThat(awaitEvent(stream, "event:change", 2)).contains("\"deleted\":[\"new-ui\"]");
+  }
+
+  @Test
+  void revokingKeyClosesItsStreams() throws Exception {
+    MvcResult stream = subscribe();
+    awaitEvent(stream, "event:snapshot", 1);
+    assertThat(flagChangeStream.getSubscriberCount(projectId)).isEqualTo(1);
+
+    perform(delete("/api/projects/{projectId}/sdk-keys/{sdkKeyId}", projectId, sdkKeyId)
+                .header("Authorization", authorization));
+
+    // The emitter is completed, which resolves the asynchronous result of the request.
+    stream.getAsyncResult(TIMEOUT.toMillis());
+  }
+
+  /**
+   * Open the project's flag stream with the SDK key.
+   *
+   * @return the result of the streaming request
+   */
+  private MvcResult subscribe() throws Exception {
+    return mockMvc.perform(get("/api/projects/{projectId}/flags/stream", projectId)
+                               .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+  }
+
+  /**
+   * Wait for the stream to receive a number of events of a kind and return the last of them.
+   * Events are written to the stream asynchronously and in parts, so the response is polled until
+   * the last of the events is terminated by its blank line or the timeout elapses.
+   *
+   * @param stream the result of the streaming request
+   * @param prefix the line the events start with, such as {@code event:change}
+   * @param count the number of events to wait for
+   * @return the text of the stream from the last of the events
+   */
+  private static String awaitEvent(MvcResult stream, String prefix, int count) throws Exception {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    String content = stream.getResponse().getContentAsString();
+    while (!hasEvents(content, prefix, count) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      content = stream.getResponse().getContentAsString();
+    }
+    assertThat(hasEvents(content, prefix, count)).as("%d events of %s", count, prefix).isTrue();
+    return content.substring(content.lastIndexOf(prefix));
+  }
+
+  /**
+   * Check whether the text of a stream holds a number of complete events of a kind.
+   *
+   * @param content the text of the stream
+   * @param prefix the line the events start with
+   * @param count the number of events
+   * @return {@code true} if there are enough events and the last of them is complete
+   */
+  private static boolean hasEvents(String content, String prefix, int count) {
+    return content.split(prefix, -1).length > count
+        && content.indexOf("\n\n", content.lastIndexOf(prefix)) >= 0;
+  }
+}
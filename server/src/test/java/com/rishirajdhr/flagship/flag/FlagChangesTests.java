@@ -0,0 +1,125 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rishirajdhr.flagship.ApiTestSupport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Asserts that clients catch up with the flags changed and deleted since their version, and are
+ * told to reset when the changes since their version can no longer be listed.
+ */
+class FlagChangesTests extends ApiTestSupport {
+  @Autowired
+  private DeletedFlagPruner deletedFlagPruner;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private long projectId;
+  private long newUiId;
+  private long darkModeId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    projectId = createProject("project");
+    newUiId = createFlag(projectId, "new-ui", true);
+    darkModeId = createFlag(projectId, "dark-mode", true);
+    createFlag(projectId, "beta", false);
+  }
+
+  @Test
+  void initialSyncResetsToAllFlags() throws Exception {
+    JsonNode changes = changesSince(0);
+
+    assertThat(changes.get("reset").asBoolean()).isTrue();
+    assertThat(changes.get("updated").properties()).hasSize(3);
+    assertThat(changes.get("deleted")).isEmpty();
+  }
+
+  @Test
+  void deltaHoldsChangedAndDeletedFlags() throws Exception {
+    long version = changesSince(0).get("version").asLong();
+    perform(put("/api/projects/{projectId}/flags/{flagId}", projectId, newUiId)
+                .header("Authorization", authorization)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"enabled\":false}"));
+    deleteFlag(darkModeId);
+
+    JsonNode changes = changesSince(version);
+    assertThat(changes.get("reset").asBoolean()).isFalse();
+    assertThat(changes.get("version").asLong()).isGreaterThan(version);
+    assertThat(changes.get("updated").properties()).hasSize(1);
+    assertThat(changes.get("updated").get("new-ui").get("enabled").asBoolean()).isFalse();
+    assertThat(changes.get("deleted")).hasSize(1);
+    assertThat(changes.get("deleted").get(0).asText()).isEqualTo("dark-mode");
+
+    JsonNode current = changesSince(changes.get("version").asLong());
+    assertThat(current.get("reset").asBoolean()).isFalse();
+    assertThat(current.get("updated")).isEmpty();
+    assertThat(current.get("deleted")).isEmpty();
+  }
+
+  @Test
+  void versionAheadOfProjectResets() throws Exception {
+    long version = changesSince(0).get("version").asLong();
+
+    JsonNode changes = changesSince(version + 100);
+    assertThat(changes.get("reset").asBoolean()).isTrue();
+    assertThat(changes.get("version").asLong()).isEqualTo(version);
+    assertThat(changes.get("updated").properties()).hasSize(3);
+  }
+
+  @Test
+  void versionBeforePrunedDeletionsResets() throws Exception {
+    long version = changesSince(0).get("version").asLong();
+    deleteFlag(darkModeId);
+    long deletedVersion = changesSince(version).get("version").asLong();
+
+    Instant expired = Instant.now().minus(Duration.ofDays(365));
+    jdbcTemplate.update("update deleted_flag set deleted_at = ? where project_id = ?",
+                        Timestamp.from(expired), projectId);
+    assertThat(deletedFlagPruner.prune()).isPositive();
+
+    JsonNode changes = changesSince(version);
+    assertThat(changes.get("reset").asBoolean()).isTrue();
+    assertThat(changes.get("updated").properties()).hasSize(2);
+    assertThat(changes.get("updated").has("dark-mode")).isFalse();
+    assertThat(changesSince(deletedVersion).get("reset").asBoolean()).isFalse();
+  }
+
+  /**
+   * Get the changes to the project's flags since a version.
+   *
+   * @param version the version the client is at
+   * @return the parsed changes
+   */
+  private JsonNode changesSince(long version) throws Exception {
+    return perform(get("/api/projects/{projectId}/flags/changes", projectId)
+                       .header("Authorization", authorization)
+                       .param("since", Long.toString(version)));
+  }
+
+  /**
+   * Delete a flag of the project.
+   *
+   * @param flagId the ID of the flag
+   */
+  private void deleteFlag(long flagId) throws Exception {
+    perform(delete("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                .header("Authorization", authorization));
+  }
+}
@@ -0,0 +1,154 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rishirajdhr.flagship.ApiTestSupport;
+import com.rishirajdhr.flagship.flag.exceptions.FlagVersionConflictException;
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.project.ProjectRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Asserts that flag evaluations are counted in memory and reported once flushed.
+ */
+class FlagEvaluationCountersTests extends ApiTestSupport {
+  @Autowired
+  private FlagEvaluationCounters counters;
+
+  @Autowired
+  private FlagEvaluationBucketRepository bucketRepository;
+
+  @Autowired
+  private FlagService flagService;
+
+  @Autowired
+  private FlagRepository flagRepository;
+
+  @Autowired
+  private ProjectRepository projectRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private long projectId;
+  private long flagId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    projectId = createProject("project");
+    JsonNode flag = createFlag(projectId, "{\"key\":\"new-ui\",\"name\":\"New UI\","
+                                          + "\"description\":\"\",\"enabled\":true,"
+                                          + "\"rules\":[{\"conditions\":[{\"attribute\":"
+                                          + "\"country\",\"operator\":\"EQUALS\","
+                                          + "\"values\":[\"CA\"]}],\"enabled\":false}]}");
+    flagId = flag.get("id").asLong();
+  }
+
+  @Test
+  void flushedEvaluationsAreReportedWithFlag() throws Exception {
+    evaluate("US");
+    evaluate("US");
+    evaluate("CA");
+    counters.flush();
+    evaluate("US");
+    counters.flush();
+
+    JsonNode flag = perform(get("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                                .header("Authorization", authorization));
+    assertThat(flag.get("enabledEvaluations").asLong()).isEqualTo(3);
+    assertThat(flag.get("disabledEvaluations").asLong()).isEqualTo(1);
+    assertThat(flag.get("lastEvaluatedAt").isNull()).isFalse();
+
+    JsonNode page = perform(get("/api/projects/{projectId}/flags", projectId)
+                                .header("Authorization", authorization));
+    assertThat(page.get("items").get(0).get("enabledEvaluations").asLong()).isEqualTo(3);
+
+    JsonNode minutes = perform(get("/api/projects/{projectId}/flags/{flagId}/evaluations",
+                                   projectId, flagId)
+                                   .header("Authorization", authorization));
+    long enabled = 0;
+    long disabled = 0;
+    for (JsonNode minute : minutes) {
+      enabled += minute.get("enabledCount").asLong();
+      disabled += minute.get("disabledCount").asLong();
+    }
+    assertThat(enabled).isEqualTo(3);
+    assertThat(disabled).isEqualTo(1);
+  }
+
+  @Test
+  void unflushedEvaluationsAreNotReported() throws Exception {
+    evaluate("US");
+
+    JsonNode page = perform(get("/api/projects/{projectId}/flags", projectId)
+                                .header("Authorization", authorization));
+    JsonNode flag = page.get("items").get(0);
+    assertThat(flag.get("enabledEvaluations").asLong()).isZero();
+    assertThat(flag.get("lastEvaluatedAt").isNull()).isTrue();
+  }
+
+  @Test
+  void countsOfDeletedFlagAreDropped() throws Exception {
+    evaluate("US");
+    counters.flush();
+    evaluate("US");
+
+    perform(delete("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                .header("Authorization", authorization));
+    counters.flush();
+    assertThat(bucketRepository.findCountsByFlagIdSince(flagId, Instant.EPOCH)).isEmpty();
+
+    // Counts drained by a flush that raced the deletion are not written either
+    counters.getCounter(flagId).record(true);
+    counters.flush();
+    assertThat(bucketRepository.findCountsByFlagIdSince(flagId, Instant.EPOCH)).isEmpty();
+  }
+
+  @Test
+  void flagWhoseDeletionFailedKeepsCounting() throws Exception {
+    Project project = projectRepository.findById(projectId).orElseThrow();
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    TransactionTemplate otherTransaction = new TransactionTemplate(transactionManager);
+    otherTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    UpdateFlag update = new UpdateFlag("updated", null, null, null, null, null, null, null);
+
+    assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+      flagRepository.findById(flagId).orElseThrow();
+      otherTransaction.executeWithoutResult(
+          other -> flagService.updateProjectFlagById(flagId, project, update, null));
+      flagService.deleteProjectFlagById(flagId, project, null);
+    })).isInstanceOf(FlagVersionConflictException.class);
+
+    evaluate("US");
+    counters.flush();
+    JsonNode flag = perform(get("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                                .header("Authorization", authorization));
+    assertThat(flag.get("enabledEvaluations").asLong()).isEqualTo(1);
+  }
+
+  /**
+   * Evaluate the flag for a user in a country.
+   *
+   * @param country the country of the user
+   */
+  private void evaluate(String country) throws Exception {
+    perform(post("/api/projects/{projectId}/flags/new-ui/evaluate", projectId)
+                .header("Authorization", authorization)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":\"user-1\",\"country\":\"" + country + "\"}"));
+  }
+}
@@ -0,0 +1,243 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rishirajdhr.flagship.ApiTestSupport;
+import com.rishirajdhr.flagship.sdkkey.SdkKeyFilter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts that evaluations made with an SDK key are served by {@link FlagEvaluationFilter} with
+ * the same response as the controller, and that every other request is left to the full chain.
+ */
+class FlagEvaluationFilterTests extends ApiTestSupport {
+  private static final String CONTEXT = "{\"userId\":\"user-1\",\"country\":\"CA\"}";
+
+  @Autowired
+  private FlagEvaluationFilter filter;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private String sdkKey;
+  private long projectId;
+  private long flagId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    projectId = createProject("project");
+    sdkKey = createSdkKey(projectId).get("key").asText();
+
+    JsonNode flag = createFlag(projectId, "{\"key\":\"new-ui\",\"name\":\"New UI\","
+                                          + "\"description\":\"\",\"enabled\":true,"
+                                          + "\"rules\":[{\"conditions\":[{\"attribute\":"
+                                          + "\"country\",\"operator\":\"EQUALS\","
+                                          + "\"values\":[\"CA\"]}],\"enabled\":false}]}");
+    flagId = flag.get("id").asLong();
+  }
+
+  @Test
+  void sdkKeyEvaluationIsServedByFilter() throws Exception {
+    MvcResult fastPath = mockMvc.perform(evaluate(projectId, "new-ui", CONTEXT)
+                                             .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+        .andExpect(status().isOk())
+        .andReturn();
+    MvcResult fullStack = mockMvc.perform(evaluate(projectId, "new-ui", CONTEXT)
+                                              .header("Authorization", authorization))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    assertThat(fastPath.getHandler()).isNull();
+    assertThat(fullStack.getHandler()).isNotNull();
+    assertThat(fastPath.getResponse().getContentType())
+        .isEqualTo(fullStack.getResponse().getContentType());
+    assertThat(readJson(fastPath)).isEqualTo(readJson(fullStack));
+    assertThat(readJson(fastPath).get("enabled").asBoolean()).isFalse();
+  }
+
+  @Test
+  void emptyBodyIsEvaluatedWithEmptyContext() throws Exception {
+    MvcResult result = mockMvc.perform(post("/api/projects/{projectId}/flags/new-ui/evaluate",
+                                            projectId)
+                                           .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    assertThat(result.getHandler()).isNull();
+    assertThat(readJson(result).get("enabled").asBoolean()).isTrue();
+  }
+
+  @Test
+  void updatedFlagIsServedWithNewState() throws Exception {
+    mockMvc.perform(evaluate(projectId, "new-ui", "").header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+        .andExpect(status().isOk());
+    perform(put("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                .header("Authorization", authorization)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"enabled\":false}"));
+
+    MvcResult result = mockMvc.perform(evaluate(projectId, "new-ui", "")
+                                           .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+        .andExpect(status().isOk())
+        .andReturn();
+    assertThat(readJson(result).get("enabled").asBoolean()).isFalse();
+  }
+
+  @Test
+  void unknownFlagIsLeftToController() throws Exception {
+    MvcResult result = mockMvc.perform(evaluate(projectId, "missing", CONTEXT)
+                                           .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+        .andExpect(status().isNotFound())
+        .andReturn();
+
+    assertThat(result.getHandler()).isNotNull();
+  }
+
+  @Test
+  void unknownFlagIsTimedOnce() throws Exception {
+    mockMvc.perform(evaluate(projectId, "new-ui", CONTEXT)
+                        .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+        .andExpect(status().isOk());
+    Timer timer = meterRegistry.find(FlagEvaluationMetrics.EVALUATION_TIMER)
+        .tag("project", String.valueOf(projectId))
+        .timer();
+    assertThat(timer).isNotNull();
+    long count = timer.count();
+
+    mockMvc.perform(evaluate(projectId, "missing", CONTEXT)
+                        .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+        .andExpect(status().isNotFound());
+    assertThat(timer.count()).isEqualTo(count + 1);
+  }
+
+  @Test
+  void oversizedChunkedBodyIsReplayedToFullChain() throws Exception {
+    byte[] context = ("{\"userId\":\"" + "x".repeat(70_000) + "\"}")
+        .getBytes(StandardCharsets.UTF_8);
+    MockHttpServletRequest request = new MockHttpServletRequest(
+        "POST", "/api/projects/" + projectId + "/flags/new-ui/evaluate") {
+      // A chunked request does not announce its length
+      @Override
+      public long getContentLengthLong() {
+        return -1;
+      }
+    };
+    request.addHeader(SdkKeyFilter.SDK_KEY_HEADER, sdkKey);
+    request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    request.setContent(context);
+    MockFilterChain filterChain = new MockFilterChain();
+
+    filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+    assertThat(filterChain.getRequest()).isNotNull();
+    assertThat(filterChain.getRequest().getInputStream().readAllBytes()).isEqualTo(context);
+  }
+
+  @Test
+  void readBodyCanBeReadWithReadListener() throws Exception {
+    byte[] context = CONTEXT.getBytes(StandardCharsets.UTF_8);
+    MockHttpServletRequest request = new MockHttpServletRequest(
+        "POST", "/api/projects/" + projectId + "/flags/unknown/evaluate");
+    request.addHeader(SdkKeyFilter.SDK_KEY_HEADER, sdkKey);
+    request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    request.setContent(context);
+    MockFilterChain filterChain = new MockFilterChain();
+
+    filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+    assertThat(filterChain.getRequest()).isNotNull();
+    ServletInputStream body = filterChain.getRequest().getInputStream();
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    AtomicBoolean allDataRead = new AtomicBoolean();
+    body.setReadListener(new ReadListener() {
+      @Override
+      public void onDataAvailable() throws IOException {
+        while (body.isReady() && !body.isFinished()) {
+          int read = body.read();
+          if (read != -1) received.write(read);
+        }
+      }
+
+      @Override
+      public void onAllDataRead() {
+        allDataRead.set(true);
+      }
+
+      @Override
+      public void onError(Throwable t) {
+        throw new AssertionError(t);
+      }
+    });
+
+    assertThat(allDataRead).isTrue();
+    assertThat(received.toByteArray()).isEqualTo(context);
+  }
+
+  @Test
+  void invalidContextIsLeftToController() throws Exception {
+    MvcResult result = mockMvc.perform(evaluate(projectId, "new-ui", "{\"userId\":")
+                                           .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+        .andExpect(status().isBadRequest())
+        .andReturn();
+
+    assertThat(result.getHandler()).isNotNull();
+  }
+
+  @Test
+  void keyForAnotherProjectIsLeftToController() throws Exception {
+    long otherProjectId = createProject("other");
+
+    MvcResult result = mockMvc.perform(evaluate(otherProjectId, "new-ui", CONTEXT)
+                                           .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+        .andExpect(status().isForbidden())
+        .andReturn();
+
+    assertThat(result.getHandler()).isNotNull();
+  }
+
+  @Test
+  void invalidKeyIsRejected() throws Exception {
+    mockMvc.perform(evaluate(projectId, "new-ui", CONTEXT)
+                        .header(SdkKeyFilter.SDK_KEY_HEADER, "not-a-key"))
+        .andExpect(status().isUnauthorized());
+  }
+
+  /**
+   * Build a request that evaluates a flag of a project.
+   *
+   * @param projectId the ID of the project
+   * @param flagKey the key of the flag
+   * @param context the JSON evaluation context
+   * @return the request, without credentials
+   */
+  private static MockHttpServletRequestBuilder evaluate(long projectId, String flagKey,
+                                                        String context) {
+    return post("/api/projects/{projectId}/flags/{flagKey}/evaluate", projectId, flagKey)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(context);
+  }
+}
@@ -0,0 +1,72 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.rishirajdhr.flagship.flag.exceptions.InvalidFlagVariantException;
+import com.rishirajdhr.flagship.targeting.EvaluationContext;
+import com.rishirajdhr.flagship.targeting.SegmentResolver;
+import com.rishirajdhr.flagship.targeting.TargetingCondition;
+import com.rishirajdhr.flagship.targeting.TargetingOperator;
+import com.rishirajdhr.flagship.targeting.TargetingRule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlagEvaluationPlanTests {
+  private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+  private static final List<FlagVariant> VARIANTS = List.of(
+      new FlagVariant("small", VariantType.NUMBER, JSON.numberNode(10)),
+      new FlagVariant("large", VariantType.NUMBER, JSON.numberNode(50)),
+      new FlagVariant("layout", VariantType.JSON, JSON.objectNode().put("columns", 3)));
+
+  @Test
+  void servesVariantOfMatchingRuleOrDefault() {
+    Flag flag = flag(true, "small", "large");
+    flag.setRules(List.of(new TargetingRule(
+        List.of(new TargetingCondition("country", TargetingOperator.EQUALS, List.of("IN"))),
+        true, "layout")));
+    FlagEvaluationPlan plan = compile(flag);
+
+    FlagState matched = plan.evaluate(new EvaluationContext(null, "IN", null, null, Map.of()));
+    assertThat(matched.variant()).isEqualTo("layout");
+    assertThat(matched.value().get("columns").asInt()).isEqualTo(3);
+    assertThat(plan.evaluate(EvaluationContext.EMPTY).value().asInt()).isEqualTo(10);
+    assertThat(plan.evaluate(EvaluationContext.EMPTY)).isSameAs(plan.getDefaultState());
+  }
+
+  @Test
+  void servesOffVariantWhenDisabled() {
+    FlagState state = compile(flag(false, "small", "large")).evaluate(EvaluationContext.EMPTY);
+
+    assertThat(state.enabled()).isFalse();
+    assertThat(state.variant()).isEqualTo("large");
+  }
+
+  @Test
+  void rejectsInconsistentVariants() {
+    assertThatThrownBy(() -> compile(flag(true, "small", null)))
+        .isInstanceOf(InvalidFlagVariantException.class);
+    assertThatThrownBy(() -> compile(flag(true, "small", "medium")))
+        .isInstanceOf(InvalidFlagVariantException.class);
+
+    Flag mistyped = new Flag("checkout", "Checkout", "", true, null);
+    mistyped.setVariants(
+        List.of(new FlagVariant("ten", VariantType.NUMBER, JSON.textNode("10"))), "ten", "ten");
+    assertThatThrownBy(() -> compile(mistyped))
+        .isInstanceOf(InvalidFlagVariantException.class);
+  }
+
+  private static FlagEvaluationPlan compile(Flag flag) {
+    return FlagEvaluationPlan.compile(flag, SegmentResolver.NONE);
+  }
+
+  private static Flag flag(boolean enabled, String defaultVariant, String offVariant) {
+    Flag flag = new Flag("checkout", "Checkout", "", enabled, null);
+    flag.setVariants(VARIANTS, defaultVariant, offVariant);
+    return flag;
+  }
+}
@@ -0,0 +1,139 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rishirajdhr.flagship.ApiTestSupport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts that evaluations are served from the cached snapshot of a project, and that the snapshot
+ * is rebuilt whenever a change to the project's flags commits.
+ */
+class FlagSnapshotCacheTests extends ApiTestSupport {
+  @Autowired
+  private FlagSnapshotCache flagSnapshotCache;
+
+  @MockitoSpyBean
+  private FlagEvaluationCounters evaluationCounters;
+
+  private long projectId;
+  private long flagId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    projectId = createProject("project");
+    flagId = createFlag(projectId, "new-ui", true);
+  }
+
+  @Test
+  void evaluationsAreServedFromCachedSnapshot() throws Exception {
+    perform(evaluate("new-ui"));
+    long hits = flagSnapshotCache.getHits();
+    long misses = flagSnapshotCache.getMisses();
+
+    assertThat(perform(evaluate("new-ui")).get("enabled").asBoolean()).isTrue();
+    assertThat(flagSnapshotCache.getHits()).isEqualTo(hits + 1);
+    assertThat(flagSnapshotCache.getMisses()).isEqualTo(misses);
+  }
+
+  @Test
+  void committedChangesRebuildSnapshot() throws Exception {
+    perform(evaluate("new-ui"));
+    long rebuilds = flagSnapshotCache.getRebuilds();
+
+    perform(put("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                .header("Authorization", authorization)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"enabled\":false}"));
+    assertThat(perform(evaluate("new-ui")).get("enabled").asBoolean()).isFalse();
+
+    createFlag(projectId, "dark-mode", true);
+    assertThat(perform(evaluate("dark-mode")).get("enabled").asBoolean()).isTrue();
+
+    perform(delete("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                .header("Authorization", authorization));
+    mockMvc.perform(evaluate("new-ui")).andExpect(status().isNotFound());
+    assertThat(flagSnapshotCache.getRebuilds()).isEqualTo(rebuilds + 3);
+  }
+
+  @Test
+  void rejectedChangeLeavesSnapshot() throws Exception {
+    perform(evaluate("new-ui"));
+    long rebuilds = flagSnapshotCache.getRebuilds();
+
+    mockMvc.perform(put("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                        .header("Authorization", authorization)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enabled\":false,\"defaultVariant\":\"missing\"}"))
+        .andExpect(status().isBadRequest());
+
+    JsonNode state = perform(evaluate("new-ui"));
+    assertThat(state.get("enabled").asBoolean()).isTrue();
+    assertThat(flagSnapshotCache.getRebuilds()).isEqualTo(rebuilds);
+  }
+
+  @Test
+  void changeCommittedDuringFirstLoadRebuildsSnapshot() throws Exception {
+    CountDownLatch flagsRead = new CountDownLatch(1);
+    CountDownLatch resume = new CountDownLatch(1);
+    Thread loader = new Thread(() -> flagSnapshotCache.getSnapshot(projectId));
+    // Hold the first load after it has read the flags, before it stores the snapshot.
+    doAnswer(invocation -> {
+      if (Thread.currentThread() == loader) {
+        flagsRead.countDown();
+        resume.await(10, TimeUnit.SECONDS);
+      }
+      return invocation.callRealMethod();
+    }).when(evaluationCounters).getCounter(anyLong());
+
+    loader.start();
+    assertThat(flagsRead.await(10, TimeUnit.SECONDS)).isTrue();
+
+    FutureTask<JsonNode> update = new FutureTask<>(
+        () -> perform(put("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                          .header("Authorization", authorization)
+                          .contentType(MediaType.APPLICATION_JSON)
+                          .content("{\"enabled\":false}")));
+    Thread writer = new Thread(update);
+    writer.start();
+    // The update commits, then its rebuild either waits for the load or returns without one.
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!update.isDone() && writer.getState() != Thread.State.BLOCKED
+           && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    resume.countDown();
+    update.get(10, TimeUnit.SECONDS);
+    loader.join(TimeUnit.SECONDS.toMillis(10));
+    assertThat(perform(evaluate("new-ui")).get("enabled").asBoolean()).isFalse();
+  }
+
+  /**
+   * Build a request that evaluates a flag of the project for an empty context.
+   *
+   * @param flagKey the key of the flag
+   * @return the evaluation request
+   */
+  private RequestBuilder evaluate(String flagKey) {
+    return post("/api/projects/{projectId}/flags/{flagKey}/evaluate", projectId, flagKey)
+        .header("Authorization", authorization);
+  }
+}
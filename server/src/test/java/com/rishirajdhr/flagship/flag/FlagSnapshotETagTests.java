@@ -0,0 +1,93 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rishirajdhr.flagship.ApiTestSupport;
+import com.rishirajdhr.flagship.sdkkey.SdkKeyFilter;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts that the snapshot endpoints are tagged with the version of the project's flags, and that
+ * a client whose copy is current is answered with {@code 304 Not Modified}.
+ */
+class FlagSnapshotETagTests extends ApiTestSupport {
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private String sdkKey;
+  private long projectId;
+  private long flagId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    projectId = createProject("project");
+    sdkKey = createSdkKey(projectId).get("key").asText();
+    flagId = createFlag(projectId, "new-ui", true);
+    createFlag(projectId, "dark-mode", false);
+  }
+
+  @Test
+  void snapshotMapsKeysToStatus() throws Exception {
+    MvcResult result = performForResult(get("/api/projects/{projectId}/flags/snapshot", projectId)
+                                            .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey));
+
+    JsonNode snapshot = readJson(result);
+    assertThat(snapshot).hasSize(2);
+    assertThat(snapshot.get("new-ui").asBoolean()).isTrue();
+    assertThat(snapshot.get("dark-mode").asBoolean()).isFalse();
+    assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).startsWith("\"");
+  }
+
+  @Test
+  void currentCopyIsNotModified() throws Exception {
+    for (String path : new String[] { "snapshot", "states" }) {
+      String eTag = performForResult(get("/api/projects/{projectId}/flags/" + path, projectId)
+                                         .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+          .getResponse().getHeader(HttpHeaders.ETAG);
+
+      Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+      statistics.clear();
+      mockMvc.perform(get("/api/projects/{projectId}/flags/" + path, projectId)
+                          .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey)
+                          .header(HttpHeaders.IF_NONE_MATCH, eTag))
+          .andExpect(status().isNotModified())
+          .andExpect(content().string(""));
+      assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+  }
+
+  @Test
+  void changedFlagsAreSentWithNewETag() throws Exception {
+    String eTag = performForResult(get("/api/projects/{projectId}/flags/states", projectId)
+                                       .header("Authorization", authorization))
+        .getResponse().getHeader(HttpHeaders.ETAG);
+
+    perform(put("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                .header("Authorization", authorization)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"enabled\":false}"));
+
+    MvcResult result = performForResult(get("/api/projects/{projectId}/flags/states", projectId)
+                                            .header("Authorization", authorization)
+                                            .header(HttpHeaders.IF_NONE_MATCH, eTag));
+    JsonNode states = readJson(result);
+    assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    assertThat(states.get("flags").get("new-ui").get("enabled").asBoolean()).isFalse();
+    assertThat(states.get("definitions").get("new-ui").get("enabled").asBoolean()).isFalse();
+  }
+}
@@ -0,0 +1,109 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rishirajdhr.flagship.ApiTestSupport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts that flags are imported row by row and exported in the format the import accepts.
+ */
+@TestPropertySource(properties = "flagship.flags.import-chunk-size=2")
+class FlagTransferTests extends ApiTestSupport {
+  private long projectId;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    projectId = createProject("project");
+  }
+
+  @Test
+  void invalidRowsAreReportedWithoutStoppingImport() throws Exception {
+    importFlags(MediaType.APPLICATION_NDJSON, flag("existing", true));
+
+    JsonNode result = importFlags(MediaType.APPLICATION_NDJSON, String.join("\n",
+        flag("new-ui", true),
+        flag("Not A Key", true),
+        "{\"key\":\"broken\",\"name\":\"broken\",\"rolloutPercentage\":\"half\"}",
+        flag("dark-mode", false),
+        flag("new-ui", false),
+        flag("existing", false),
+        "{\"key\":\"no-name\",\"description\":\"\"}",
+        flag("beta", true)));
+
+    assertThat(result.get("imported").asInt()).isEqualTo(3);
+    JsonNode errors = result.get("errors");
+    assertThat(errors).hasSize(5);
+    assertThat(errors.get(0).get("row").asInt()).isEqualTo(2);
+    assertThat(errors.get(0).get("key").asText()).isEqualTo("Not A Key");
+    assertThat(errors.get(1).get("row").asInt()).isEqualTo(3);
+    assertThat(errors.get(1).get("key").isNull()).isTrue();
+    assertThat(errors.get(2).get("row").asInt()).isEqualTo(5);
+    assertThat(errors.get(3).get("row").asInt()).isEqualTo(6);
+    assertThat(errors.get(3).get("message").asText()).contains("already exists");
+    assertThat(errors.get(4).get("row").asInt()).isEqualTo(7);
+  }
+
+  @Test
+  void exportedFlagsCanBeImported() throws Exception {
+    JsonNode imported = importFlags(MediaType.APPLICATION_JSON,
+                                    "[" + flag("b-flag", true) + "," + flag("a-flag", false) + "]");
+    assertThat(imported.get("imported").asInt()).isEqualTo(2);
+
+    MvcResult export = mockMvc.perform(get("/api/projects/{projectId}/flags/export", projectId)
+                                           .header("Authorization", authorization))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    String body = mockMvc.perform(asyncDispatch(export))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(objectMapper.readTree(lines[0]).get("key").asText()).isEqualTo("a-flag");
+    assertThat(objectMapper.readTree(lines[0]).get("enabled").asBoolean()).isFalse();
+    assertThat(objectMapper.readTree(lines[1]).get("key").asText()).isEqualTo("b-flag");
+
+    projectId = createProject("copy");
+    JsonNode copied = importFlags(MediaType.APPLICATION_NDJSON, body);
+    assertThat(copied.get("imported").asInt()).isEqualTo(2);
+    assertThat(copied.get("errors")).isEmpty();
+  }
+
+  /**
+   * Create the JSON of a flag to import.
+   *
+   * @param key the key of the flag
+   * @param enabled whether the flag is enabled
+   * @return the JSON object of the flag
+   */
+  private static String flag(String key, boolean enabled) {
+    return "{\"key\":\"" + key + "\",\"name\":\"" + key + "\",\"description\":\"\","
+           + "\"enabled\":" + enabled + "}";
+  }
+
+  /**
+   * Import flags into the project.
+   *
+   * @param contentType the content type of the flags
+   * @param content the flags to import
+   * @return the parsed import response
+   */
+  private JsonNode importFlags(MediaType contentType, String content) throws Exception {
+    return perform(post("/api/projects/{projectId}/flags/import", projectId)
+                       .header("Authorization", authorization)
+                       .contentType(contentType)
+                       .content(content));
+  }
+}
@@ -0,0 +1,145 @@
+package com.rishirajdhr.flagship.flag;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rishirajdhr.flagship.ApiTestSupport;
+import com.rishirajdhr.flagship.flag.exceptions.FlagVersionConflictException;
+import com.rishirajdhr.flagship.project.Project;
+import com.rishirajdhr.flagship.project.ProjectRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts that flag updates and deletes are checked against the entity tag of the client's copy.
+ */
+class FlagVersionTests extends ApiTestSupport {
+  @Autowired
+  private FlagService flagService;
+
+  @Autowired
+  private FlagRepository flagRepository;
+
+  @Autowired
+  private ProjectRepository projectRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private long projectId;
+  private long flagId;
+  private String eTag;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    projectId = createProject("project");
+    MvcResult created = performForResult(post("/api/projects/{projectId}/flags", projectId)
+                                             .header("Authorization", authorization)
+                                             .contentType(MediaType.APPLICATION_JSON)
+                                             .content("{\"key\":\"new-ui\",\"name\":\"New UI\","
+                                                      + "\"description\":\"\",\"enabled\":true}"));
+    flagId = readJson(created).get("id").asLong();
+    eTag = created.getResponse().getHeader(HttpHeaders.ETAG);
+  }
+
+  @Test
+  void updateWithCurrentETagIsApplied() throws Exception {
+    MvcResult fetched = performForResult(get("/api/projects/{projectId}/flags/{flagId}",
+                                             projectId, flagId)
+                                             .header("Authorization", authorization));
+    assertThat(fetched.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+
+    MvcResult updated = performForResult(update(eTag, false));
+    String updatedETag = updated.getResponse().getHeader(HttpHeaders.ETAG);
+    assertThat(updatedETag).isNotEqualTo(eTag);
+    assertThat(readJson(updated).get("enabled").asBoolean()).isFalse();
+
+    perform(update(updatedETag + ", " + eTag, true));
+    perform(update("*", false));
+    perform(update(null, true));
+  }
+
+  @Test
+  void staleETagIsRejected() throws Exception {
+    perform(update(eTag, false));
+
+    mockMvc.perform(update(eTag, true)).andExpect(status().isPreconditionFailed());
+    mockMvc.perform(update("W/" + eTag, true)).andExpect(status().isPreconditionFailed());
+    mockMvc.perform(delete("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                        .header("Authorization", authorization)
+                        .header(HttpHeaders.IF_MATCH, eTag))
+        .andExpect(status().isPreconditionFailed());
+
+    JsonNode flag = perform(get("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+                                .header("Authorization", authorization));
+    assertThat(flag.get("enabled").asBoolean()).isFalse();
+  }
+
+  @Test
+  void bulkUpdateChangesETag() throws Exception {
+    perform(patch("/api/projects/{projectId}/flags", projectId)
+                .header("Authorization", authorization)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + flagId + "],\"enabled\":false}"));
+
+    mockMvc.perform(update(eTag, true)).andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  void changeRacingAnotherChangeIsRejected() {
+    Project project = projectRepository.findById(projectId).orElseThrow();
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    TransactionTemplate otherTransaction = new TransactionTemplate(transactionManager);
+    otherTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    UpdateFlag disable = new UpdateFlag(null, false, null, null, null, null, null, null);
+
+    // The flag is loaded, then changed and committed by another request before it is written.
+    assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+      flagRepository.findById(flagId).orElseThrow();
+      otherTransaction.executeWithoutResult(
+          other -> flagService.updateProjectFlagById(flagId, project, disable, null));
+      flagService.updateProjectFlagById(flagId, project, disable, null);
+    })).isInstanceOf(FlagVersionConflictException.class);
+
+    assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+      flagRepository.findById(flagId).orElseThrow();
+      otherTransaction.executeWithoutResult(
+          other -> flagService.updateProjectFlagById(flagId, project, disable, null));
+      flagService.deleteProjectFlagById(flagId, project, null);
+    })).isInstanceOf(FlagVersionConflictException.class);
+    assertThat(flagRepository.findById(flagId)).isPresent();
+  }
+
+  /**
+   * Create a request that sets whether the flag is enabled.
+   *
+   * @param ifMatch the value of the {@code If-Match} header, or {@code null} to omit it
+   * @param enabled the new status of the flag
+   * @return the update request
+   */
+  private RequestBuilder update(String ifMatch, boolean enabled) {
+    MockHttpServletRequestBuilder request =
+        put("/api/projects/{projectId}/flags/{flagId}", projectId, flagId)
+        .header("Authorization", authorization)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"enabled\":" + enabled + "}");
+    return ifMatch == null ? request : request.header(HttpHeaders.IF_MATCH, ifMatch);
+  }
+}
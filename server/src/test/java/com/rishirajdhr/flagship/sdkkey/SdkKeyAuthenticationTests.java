@@ -0,0 +1,110 @@
+package com.rishirajdhr.flagship.sdkkey;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rishirajdhr.flagship.ApiTestSupport;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts that SDK keys only authenticate the evaluation endpoints of their own project, and stop
+ * doing so once revoked or expired.
+ */
+class SdkKeyAuthenticationTests extends ApiTestSupport {
+  @Autowired
+  private SdkKeyIndex sdkKeyIndex;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private long projectId;
+  private long sdkKeyId;
+  private String sdkKey;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    projectId = createProject("project");
+    createFlag(projectId, "new-ui", true);
+    JsonNode key = createSdkKey(projectId);
+    sdkKeyId = key.get("id").asLong();
+    sdkKey = key.get("key").asText();
+  }
+
+  @Test
+  void keyOnlyGrantsEvaluationOfItsProject() throws Exception {
+    long otherProjectId = createProject("other");
+    createFlag(otherProjectId, "new-ui", true);
+
+    assertThat(perform(evaluate(projectId, sdkKey)).get("enabled").asBoolean()).isTrue();
+    mockMvc.perform(evaluate(otherProjectId, sdkKey)).andExpect(status().isForbidden());
+    mockMvc.perform(get("/api/projects/{projectId}/flags", projectId)
+                        .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+        .andExpect(status().isForbidden());
+    mockMvc.perform(get("/api/projects/{projectId}/sdk-keys", projectId)
+                        .header(SdkKeyFilter.SDK_KEY_HEADER, sdkKey))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void rawKeyIsOnlyReturnedOnCreation() throws Exception {
+    JsonNode keys = perform(get("/api/projects/{projectId}/sdk-keys", projectId)
+                                .header("Authorization", authorization));
+
+    assertThat(keys).hasSize(1);
+    assertThat(keys.get(0).get("key").isNull()).isTrue();
+    assertThat(sdkKey).startsWith(keys.get(0).get("keyPrefix").asText());
+  }
+
+  @Test
+  void revokedKeyIsRejected() throws Exception {
+    JsonNode revoked = perform(delete("/api/projects/{projectId}/sdk-keys/{sdkKeyId}",
+                                      projectId, sdkKeyId)
+                                   .header("Authorization", authorization));
+
+    assertThat(revoked.get("revokedAt").isNull()).isFalse();
+    mockMvc.perform(evaluate(projectId, sdkKey)).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void rotatedKeyWorksUntilItExpires() throws Exception {
+    String rotatedKey = perform(post("/api/projects/{projectId}/sdk-keys/{sdkKeyId}/rotate",
+                                     projectId, sdkKeyId)
+                                    .header("Authorization", authorization))
+        .get("key").asText();
+
+    perform(evaluate(projectId, rotatedKey));
+    perform(evaluate(projectId, sdkKey));
+
+    Instant expired = Instant.now().minus(Duration.ofMinutes(1));
+    jdbcTemplate.update("update sdk_key set expires_at = ? where id = ?",
+                        Timestamp.from(expired), sdkKeyId);
+    sdkKeyIndex.refresh();
+    mockMvc.perform(evaluate(projectId, sdkKey)).andExpect(status().isUnauthorized());
+    perform(evaluate(projectId, rotatedKey));
+  }
+
+  /**
+   * Build a request that evaluates the {@code new-ui} flag of a project with an SDK key.
+   *
+   * @param projectId the ID of the project
+   * @param key the raw SDK key
+   * @return the evaluation request
+   */
+  private static RequestBuilder evaluate(long projectId, String key) {
+    return post("/api/projects/{projectId}/flags/new-ui/evaluate", projectId)
+        .header(SdkKeyFilter.SDK_KEY_HEADER, key);
+  }
+}
@@ -0,0 +1,71 @@
+package com.rishirajdhr.flagship.segment;
+
+import com.rishirajdhr.flagship.segment.exceptions.InvalidSegmentMembersException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentIndexTests {
+  private static final String MEMBERS = """
+      42
+        7
+      9223372036854775807
+      42
+
+      tenant-acme
+      007
+      """;
+
+  @Test
+  void checksNumericAndStringMembers() throws Exception {
+    SegmentIndex index = read(MEMBERS);
+
+    assertThat(index.size()).isEqualTo(5);
+    assertThat(index.contains("7")).isTrue();
+    assertThat(index.contains("9223372036854775807")).isTrue();
+    assertThat(index.contains("tenant-acme")).isTrue();
+    assertThat(index.contains("007")).isTrue();
+    assertThat(index.contains("07")).isFalse();
+    assertThat(index.contains("43")).isFalse();
+    assertThat(index.contains("9223372036854775808")).isFalse();
+    assertThat(index.contains("")).isFalse();
+  }
+
+  @Test
+  void survivesEncoding() throws Exception {
+    SegmentIndex decoded = SegmentIndex.decode(read(MEMBERS).encode());
+
+    assertThat(decoded.size()).isEqualTo(5);
+    assertThat(decoded.contains("42")).isTrue();
+    assertThat(decoded.contains("tenant-acme")).isTrue();
+    assertThat(SegmentIndex.decode(SegmentIndex.EMPTY.encode()).size()).isZero();
+  }
+
+  @Test
+  void encodesSequentialIdsInAboutOneByteEach() {
+    SegmentIndex.Builder builder = new SegmentIndex.Builder();
+    for (long id = 1_000_000; id < 2_000_000; id++) {
+      builder.add(Long.toString(id));
+    }
+    SegmentIndex index = builder.build();
+
+    assertThat(index.contains("1500000")).isTrue();
+    assertThat(index.contains("2000000")).isFalse();
+    assertThat(index.encode().length).isLessThan(1_000_100);
+  }
+
+  @Test
+  void rejectsOverlongMembers() {
+    assertThatThrownBy(() -> read("x".repeat(SegmentIndex.MAX_MEMBER_LENGTH + 1)))
+        .isInstanceOf(InvalidSegmentMembersException.class);
+  }
+
+  private static SegmentIndex read(String members) throws Exception {
+    return SegmentIndex.read(new ByteArrayInputStream(members.getBytes(StandardCharsets.UTF_8)));
+  }
+}
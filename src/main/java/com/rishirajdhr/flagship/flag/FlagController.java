@@ -1,166 +0,0 @@
-package com.rishirajdhr.flagship.flag;
-
-import com.rishirajdhr.flagship.auth.AppUser;
-import com.rishirajdhr.flagship.auth.AppUserProvider;
-import com.rishirajdhr.flagship.auth.exceptions.UnauthenticatedException;
-import com.rishirajdhr.flagship.auth.exceptions.UnauthorizedException;
-import com.rishirajdhr.flagship.flag.dto.FlagResponse;
-import com.rishirajdhr.flagship.flag.exceptions.FlagNotFoundException;
-import com.rishirajdhr.flagship.project.Project;
-import com.rishirajdhr.flagship.project.ProjectService;
-import com.rishirajdhr.flagship.project.exceptions.ProjectNotFoundException;
-
-import org.springframework.web.bind.annotation.DeleteMapping;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
-import java.util.Optional;
-
-import jakarta.validation.Valid;
-
-/**
- * Exposes REST endpoints to access {@link Flag} entities.
- */
-@RestController
-@RequestMapping("/api/projects/{projectId}/flags")
-public class FlagController {
-  private final FlagService flagService;
-  private final ProjectService projectService;
-  private final AppUserProvider appUserProvider;
-
-  /**
-   * Create a new Flag controller.
-   *
-   * @param flagService the {@link Flag} business logic service
-   * @param projectService the {@link Project} business logic service
-   * @param appUserProvider the provider that supplies information about the logged-in user
-   */
-  public FlagController(FlagService flagService,
-                        ProjectService projectService, AppUserProvider appUserProvider) {
-    this.flagService = flagService;
-    this.projectService = projectService;
-    this.appUserProvider = appUserProvider;
-  }
-
-  /**
-   * Create a new feature flag for a project
-   *
-   * @param projectId the ID of the project
-   * @param newFlag the data for the new flag to be created
-   * @return the newly created flag
-   */
-  @PostMapping
-  public FlagResponse createProjectFlag(@PathVariable Long projectId,
-                                        @RequestBody @Valid NewFlag newFlag) {
-    Project project = getAuthorizedProject(projectId);
-    Flag flag = flagService.createProjectFlag(
-        newFlag.key(), newFlag.name(), newFlag.description(), newFlag.enabled(), project);
-    return FlagResponse.fromFlag(flag);
-  }
-
-  /**
-   * Get all the feature flags for a project.
-   *
-   * @return a list of the project feature flags
-   */
-  @GetMapping
-  public List<FlagResponse> getAllFlagsForProject(@PathVariable Long projectId) {
-    Project project = getAuthorizedProject(projectId);
-    return flagService.getAllFlagsForProject(project).stream().map(FlagResponse::fromFlag).toList();
-  }
-
-  /**
-   * Get a feature flag for a project by its ID.
-   *
-   * @param flagId the ID of the flag
-   * @param projectId the ID of the project
-   * @return the feature flag
-   */
-  @GetMapping("/{flagId}")
-  public FlagResponse getProjectFlagById(@PathVariable Long flagId, @PathVariable Long projectId) {
-    Project project = getAuthorizedProject(projectId);
-    Flag flag =
-        flagService.getProjectFlagById(flagId, project).orElseThrow(() -> new FlagNotFoundException(flagId));
-    return FlagResponse.fromFlag(flag);
-  }
-
-  /**
-   * Update a feature flag for a project by its ID.
-   *
-   * @param flagId the ID of the flag
-   * @param projectId the ID of the project
-   * @param updateFlag the payload with information to be updated for the flag
-   * @return the updated feature flag
-   */
-  @PutMapping("/{flagId}")
-  public FlagResponse updateProjectFlagById(@PathVariable Long flagId, @PathVariable Long projectId,
-                                    @RequestBody @Valid UpdateFlag updateFlag) {
-    Project project = getAuthorizedProject(projectId);
-    Flag flag = flagService.updateProjectFlagById(flagId, project, updateFlag);
-    return FlagResponse.fromFlag(flag);
-  }
-
-  /**
-   * Delete a feature flag for a project by its ID.
-   *
-   * @param flagId the ID of the flag
-   * @param projectId the ID of the project
-   * @return the deleted feature flag
-   */
-  @DeleteMapping("/{flagId}")
-  public FlagResponse deleteProjectFlagById(@PathVariable Long flagId, @PathVariable Long projectId) {
-    Project project = getAuthorizedProject(projectId);
-    Flag flag = flagService.deleteProjectFlagById(flagId, project);
-    return FlagResponse.fromFlag(flag);
-  }
-
-  /**
-   * Evaluate the state of a feature flag for a project by its key.
-   *
-   * @param flagKey the key of the flag
-   * @param projectId the ID of the project
-   * @return the evaluated flag state
-   */
-  @PostMapping("/{flagKey}/evaluate")
-  public FlagState evaluateFlag(@PathVariable String flagKey, @PathVariable Long projectId) {
-    Project project = getAuthorizedProject(projectId);
-    Optional<Flag> result = flagService.getProjectFlagByKey(flagKey, project);
-    if (result.isEmpty()) throw new FlagNotFoundException(flagKey);
-
-    Flag flag = result.get();
-    return flagService.createFlagState(flag);
-  }
-
-  /**
-   * Get the project for the current route if it exists and if the authenticated user is authorized
-   * to access it.
-   *
-   * @param projectId the project ID
-   * @return the authorized project
-   * @throws ProjectNotFoundException if no project is found with the given ID
-   * @throws UnauthenticatedException if there is no authenticated user
-   * @throws UnauthorizedException if the authenticated user is not authorized to access the project
-   */
-  private Project getAuthorizedProject(Long projectId)
-      throws ProjectNotFoundException, UnauthenticatedException, UnauthorizedException {
-    AppUser appUser = appUserProvider.getLoggedInAppUser();
-    if (appUser == null) throw new UnauthenticatedException();
-
-    Optional<Project> result = projectService.getProjectById(projectId);
-    if (result.isEmpty()) throw new ProjectNotFoundException(projectId);
-
-    Project project = result.get();
-    AppUser owner = project.getOwner();
-    if (!owner.equals(appUser)) {
-      throw new UnauthorizedException("User is not authorized to access project");
-    }
-
-    return project;
-  }
-}